@@ -0,0 +1,93 @@
+package com.example.banking.benchmark;
+
+import com.example.banking.Sample01Application;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * ベンチマーク用にアプリケーションを起動し、HTTP経由でAPIを呼び出すためのハーネス。
+ * H2のインメモリDB（devプロファイル）を使い、ランダムなポートで起動します。
+ * 口座ごとの振込上限と適応的な流量制限（`banking.admission`）は無効にします。
+ */
+final class BankingApplicationHarness implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+    private final HttpClient client;
+    private final URI baseUri;
+    private final List<UUID> accountIds = new ArrayList<>();
+
+    BankingApplicationHarness(String... profiles) {
+        this.context = new SpringApplicationBuilder(Sample01Application.class)
+                .profiles(profiles)
+                .properties(
+                        "server.port=0",
+                        "logging.level.root=WARN",
+                        "management.tracing.sampling.probability=0.0",
+                        // 少数の口座に振込が集中するため、口座ごとの振込上限は無効にする
+                        "banking.transfer.limits.enabled=false",
+                        // 比較したいのはスレッドモデル・Webスタックの処理能力のため、適応的な流量制限で負荷を捨てないようにする
+                        "banking.admission.enabled=false")
+                .run();
+        Integer port = context.getEnvironment().getProperty("local.server.port", Integer.class);
+        this.baseUri = URI.create("http://localhost:" + port);
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * 十分な残高を持つ口座を指定数だけ開設します。
+     *
+     * @param count 開設する口座数
+     */
+    void openAccounts(int count) throws IOException, InterruptedException {
+        for (int i = 0; i < count; i++) {
+            HttpResponse<String> response = post("/api/accounts",
+                    "{\"customerName\":\"Benchmark " + i + "\",\"initialDeposit\":100000000}");
+            String location = response.headers().firstValue("Location")
+                    .orElseThrow(() -> new IllegalStateException("Account could not be opened: " + response.statusCode()));
+            accountIds.add(UUID.fromString(location.substring(location.lastIndexOf('/') + 1)));
+        }
+    }
+
+    /** ランダムな口座の詳細を取得し、HTTPステータスを返します。 */
+    int getRandomAccount() throws IOException, InterruptedException {
+        UUID accountId = accountIds.get(ThreadLocalRandom.current().nextInt(accountIds.size()));
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/api/accounts/" + accountId)).GET().build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    /** ランダムな2口座間で少額の振込を依頼し、HTTPステータスを返します。 */
+    int requestRandomTransfer() throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int source = random.nextInt(accountIds.size());
+        int destination = (source + 1 + random.nextInt(accountIds.size() - 1)) % accountIds.size();
+        return post("/api/transfers", "{\"sourceAccountId\":\"" + accountIds.get(source)
+                + "\",\"destinationAccountId\":\"" + accountIds.get(destination)
+                + "\",\"amount\":1}").statusCode();
+    }
+
+    private HttpResponse<String> post(String path, String json) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.banking.benchmark;
+
+import com.example.banking.application.fee.FeeProperties;
+import com.example.banking.application.fee.FeeRequest;
+import com.example.banking.application.fee.FeeRuleEngine;
+import com.example.banking.application.fee.FeeRuleSet;
+import com.example.banking.domain.account.Money;
+import com.example.banking.domain.transfer.TransferChannel;
+import com.example.banking.domain.transfer.TransferPriority;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Currency;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 振込手数料のルール（Groovyスクリプト）の評価コストを計測するベンチマーク。
+ *
+ * - evaluate: 1スレッドでの評価（振込依頼1件あたりの追加コスト）
+ * - evaluateContended: 8スレッドから同時に評価した場合（コンパイル済みのルールを共有し、ロックを取得しない）
+ * - reload: 評価スレッドと並行して、1スレッドがルールを差し替え続けた場合の評価コスト
+ * - compile: ルールを1回コンパイルするコスト（評価ごとにコンパイルした場合に振込ごとにかかるコスト）
+ *
+ * いずれの評価もマイクロ秒の単位に収まること、コンパイルがそれより桁違いに重いことを確認します。
+ *
+ * 実行方法:
+ * <pre>
+ * ./gradlew jmh -PjmhIncludes=FeeRuleBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FeeRuleBenchmark {
+
+    private static final Currency USD = Currency.getInstance("USD");
+
+    private String source;
+    private FeeRuleEngine engine;
+    private FeeRuleSet[] ruleSets;
+    private int nextRuleSet;
+
+    /**
+     * 評価する振込の条件（金額の帯・口座の種類・チャネル・優先度の組み合わせ）。スレッドごとに順に使用する。
+     */
+    @State(Scope.Thread)
+    public static class Requests {
+
+        private final FeeRequest[] requests = {
+                new FeeRequest(Money.of("3000"), TransferChannel.API, TransferPriority.NORMAL, false),
+                new FeeRequest(Money.of("50000"), TransferChannel.GRPC, TransferPriority.URGENT, false),
+                new FeeRequest(Money.of("2000000"), TransferChannel.API, TransferPriority.NORMAL, true),
+                new FeeRequest(Money.of("10000"), TransferChannel.STANDING_ORDER, TransferPriority.BULK, false),
+                new FeeRequest(Money.of("1234.56", USD), TransferChannel.API, TransferPriority.NORMAL, false),
+                new FeeRequest(Money.of("98765.43", USD), TransferChannel.GRPC, TransferPriority.URGENT, true),
+                new FeeRequest(Money.of("29999"), TransferChannel.GRPC, TransferPriority.NORMAL, false),
+                new FeeRequest(Money.of("999999"), TransferChannel.STANDING_ORDER, TransferPriority.BULK, true)
+        };
+        private int next;
+
+        FeeRequest next() {
+            next = (next + 1) & 7;
+            return requests[next];
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream in = FeeRuleBenchmark.class.getResourceAsStream("/fee/transfer-fee.groovy")) {
+            source = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        engine = new FeeRuleEngine(new FeeProperties(true, "classpath:fee/transfer-fee.groovy", Duration.ofSeconds(10)));
+        // 差し替え用に、内容の異なる2つのルールをコンパイルしておく
+        ruleSets = new FeeRuleSet[]{FeeRuleSet.compile("a", source), FeeRuleSet.compile("b", source + "\n// b\n")};
+        engine.replace(ruleSets[0]);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Money evaluate(Requests requests) {
+        return engine.evaluate(requests.next());
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Money evaluateContended(Requests requests) {
+        return engine.evaluate(requests.next());
+    }
+
+    @Benchmark
+    @Group("reload")
+    @GroupThreads(7)
+    public Money evaluateDuringReload(Requests requests) {
+        return engine.evaluate(requests.next());
+    }
+
+    @Benchmark
+    @Group("reload")
+    @GroupThreads(1)
+    public Object swapRuleSet() {
+        nextRuleSet ^= 1;
+        return engine.replace(ruleSets[nextRuleSet]);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public FeeRuleSet compile() {
+        return FeeRuleSet.compile("benchmark", source);
+    }
+}
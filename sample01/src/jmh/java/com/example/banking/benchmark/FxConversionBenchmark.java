@@ -0,0 +1,106 @@
+package com.example.banking.benchmark;
+
+import com.example.banking.application.fx.FxRateProvider;
+import com.example.banking.application.fx.FxRateTable;
+import com.example.banking.domain.account.Money;
+import com.example.banking.domain.fx.ExchangeRate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 通貨換算のコストと、レート更新中の参照性能を計測するベンチマーク。
+ *
+ * - sameCurrency: 同一通貨の振込（換算なし）の基準値
+ * - lockedRate: 見積もりでロックしたレートによる換算（Saga実行時の経路）
+ * - lookupAndConvert: テーブルからレートを検索してから換算（振込上限の円換算の経路）
+ * - swap: 参照スレッドと並行して、1スレッドがテーブルを差し替え続けた場合の参照性能
+ *
+ * 実行方法:
+ * <pre>
+ * ./gradlew jmh -PjmhIncludes=FxConversionBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FxConversionBenchmark {
+
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final Currency GBP = Currency.getInstance("GBP");
+    private static final Currency CNY = Currency.getInstance("CNY");
+
+    private final FxRateProvider provider = new FxRateProvider();
+    private final Money jpyAmount = Money.of("12345");
+    private final Money usdAmount = Money.of("123.45", USD);
+    private ExchangeRate lockedRate;
+    private List<FxRateTable> tables;
+    private int nextTable;
+
+    @Setup
+    public void setUp() {
+        tables = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            BigDecimal drift = BigDecimal.valueOf(i, 2);
+            tables.add(FxRateTable.of(Instant.EPOCH.plusSeconds(i), List.of(
+                    new ExchangeRate(USD, Money.JPY, new BigDecimal("150.25").add(drift)),
+                    new ExchangeRate(EUR, Money.JPY, new BigDecimal("162.80").add(drift)),
+                    new ExchangeRate(GBP, Money.JPY, new BigDecimal("190.10").add(drift)),
+                    new ExchangeRate(CNY, Money.JPY, new BigDecimal("20.85").add(drift)),
+                    new ExchangeRate(EUR, USD, new BigDecimal("1.0835")),
+                    new ExchangeRate(GBP, USD, new BigDecimal("1.2652")))));
+        }
+        provider.replace(tables.get(0));
+        lockedRate = provider.current().find(USD, Money.JPY).orElseThrow();
+    }
+
+    @Benchmark
+    public Money sameCurrency() {
+        return jpyAmount;
+    }
+
+    @Benchmark
+    public Money lockedRate() {
+        return lockedRate.convert(usdAmount);
+    }
+
+    @Benchmark
+    public Money lookupAndConvert() {
+        return provider.current().find(USD, Money.JPY).orElseThrow().convert(usdAmount);
+    }
+
+    @Benchmark
+    @Group("swap")
+    @GroupThreads(3)
+    public Money readDuringSwap() {
+        return provider.current().find(USD, Money.JPY).orElseThrow().convert(usdAmount);
+    }
+
+    @Benchmark
+    @Group("swap")
+    @GroupThreads(1)
+    public FxRateTable swapTable() {
+        nextTable = (nextTable + 1) & 15;
+        return provider.replace(tables.get(nextTable));
+    }
+}
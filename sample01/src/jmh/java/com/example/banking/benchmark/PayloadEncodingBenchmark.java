@@ -0,0 +1,92 @@
+package com.example.banking.benchmark;
+
+import com.example.banking.domain.transfer.TransferPriority;
+import com.example.banking.presentation.rest.AccountDetailsResponse;
+import com.example.banking.presentation.rest.CborWebConfig;
+import com.example.banking.presentation.rest.TransferRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 振込リクエストと口座詳細のレスポンスを、JSONとCBOR（`application/cbor`）で変換するコストを比較するベンチマーク。
+ * ObjectMapperはアプリケーションと同じビルダーの設定から生成します。
+ *
+ * - encodeTransferRequest / decodeTransferRequest: 振込リクエストの書き込み・読み込み
+ * - encodeAccountDetails / decodeAccountDetails: 口座詳細のレスポンスの書き込み・読み込み
+ *
+ * 各形式のペイロードのサイズ（バイト数）は、計測の開始時に標準出力に表示します。
+ *
+ * 実行方法:
+ * <pre>
+ * ./gradlew jmh -PjmhIncludes=PayloadEncodingBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PayloadEncodingBenchmark {
+
+    @Param({"json", "cbor"})
+    public String format;
+
+    private final TransferRequest transferRequest = new TransferRequest(
+            UUID.randomUUID(), UUID.randomUUID(), new BigDecimal("123456.78"), "JPY", null, TransferPriority.NORMAL);
+    private final AccountDetailsResponse accountDetails = new AccountDetailsResponse(
+            UUID.randomUUID(), "1234567890", "Taro Yamada",
+            new BigDecimal("1234567.89"), new BigDecimal("20000.00"), new BigDecimal("1214567.89"), "JPY");
+    private ObjectMapper objectMapper;
+    private byte[] transferRequestPayload;
+    private byte[] accountDetailsPayload;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json().build();
+            case "cbor" -> CborWebConfig.cborObjectMapper(Jackson2ObjectMapperBuilder.json());
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+        transferRequestPayload = objectMapper.writeValueAsBytes(transferRequest);
+        accountDetailsPayload = objectMapper.writeValueAsBytes(accountDetails);
+        System.out.printf("%n[%s] TransferRequest: %d bytes, AccountDetailsResponse: %d bytes%n",
+                format, transferRequestPayload.length, accountDetailsPayload.length);
+    }
+
+    @Benchmark
+    public byte[] encodeTransferRequest() throws IOException {
+        return objectMapper.writeValueAsBytes(transferRequest);
+    }
+
+    @Benchmark
+    public TransferRequest decodeTransferRequest() throws IOException {
+        return objectMapper.readValue(transferRequestPayload, TransferRequest.class);
+    }
+
+    @Benchmark
+    public byte[] encodeAccountDetails() throws IOException {
+        return objectMapper.writeValueAsBytes(accountDetails);
+    }
+
+    @Benchmark
+    public AccountDetailsResponse decodeAccountDetails() throws IOException {
+        return objectMapper.readValue(accountDetailsPayload, AccountDetailsResponse.class);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.banking.benchmark;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * HTTPのベンチマークの応答を、成功と拒否に分けて数えるカウンタ。
+ *
+ * JMHの主の値は応答のステータスにかかわらず呼び出しの回数を数えるため、
+ * 満杯のSagaのレーンなどで拒否された応答（429, 503）もスループットに含まれます。
+ * このカウンタは結果に副次的な値（`succeeded`, `rejected`）として出力されるため、成功した応答だけのスループットを確認できます。
+ * それ以外の2xx以外の応答は、負荷ではなくベンチマークの誤りのため、例外で計測を中断します。
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class ResponseCounters {
+
+    /** 2xxで応答したリクエストの数 */
+    public long succeeded;
+    /** 429または503で拒否されたリクエストの数 */
+    public long rejected;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        succeeded = 0;
+        rejected = 0;
+    }
+
+    /**
+     * 応答のステータスを数えます。
+     *
+     * @param status HTTPステータス
+     * @throws IllegalStateException 2xx・429・503以外のステータスの場合
+     */
+    void record(int status) {
+        if (status >= 200 && status < 300) {
+            succeeded++;
+        } else if (status == 429 || status == 503) {
+            rejected++;
+        } else {
+            throw new IllegalStateException("Unexpected HTTP status: " + status);
+        }
+    }
+}
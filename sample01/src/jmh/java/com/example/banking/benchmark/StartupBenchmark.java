@@ -0,0 +1,155 @@
+package com.example.banking.benchmark;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * アプリケーションの起動方式ごとに、プロセスの起動から最初のリクエストに応答するまでの時間と、その時点のRSSを比較するベンチマーク。
+ * JMHはプロセスの起動を計測できないため、起動するプロセスを外から計測する単独のプログラムとして実装しています。
+ *
+ * - jar: 現在の実行可能jar（AOTなし、springdocあり）
+ * - aot: AOTで生成したBean定義を使用する（`-Dspring.aot.enabled=true`、`aot`プロファイル）
+ * - aot+cds: AOTに加えて、学習実行で作成したCDSアーカイブを使用する
+ * - native: GraalVMのネイティブイメージ
+ *
+ * AOT・CDS・ネイティブイメージは、`-Paot`でビルドしたものがある場合のみ計測します。
+ * いずれも組み込みのH2で起動し、`/actuator/health`が200を返した時点を最初のリクエストへの応答とします。
+ * RSSはLinuxの`/proc/[pid]/status`から読み込みます。
+ *
+ * 実行方法:
+ * <pre>
+ * ./gradlew cdsArchive nativeCompile -Paot
+ * ./gradlew startupBenchmark -Paot -PstartupRuns=10
+ * </pre>
+ */
+public final class StartupBenchmark {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    public static void main(String[] args) throws Exception {
+        String java = System.getProperty("startup.java", "java");
+        Path jar = Path.of(System.getProperty("startup.jar"));
+        boolean aot = Boolean.getBoolean("startup.aot");
+        Path cdsDir = Path.of(System.getProperty("startup.cdsDir"));
+        Path nativeImage = Path.of(System.getProperty("startup.native"));
+        int runs = Integer.getInteger("startup.runs", 5);
+
+        List<Variant> variants = new ArrayList<>();
+        variants.add(new Variant("jar", null, List.of(java, "-jar", jar.toString())));
+        if (aot) {
+            variants.add(new Variant("aot", null,
+                    List.of(java, "-Dspring.aot.enabled=true", "-jar", jar.toString(), "--spring.profiles.active=aot")));
+            Path archive = cdsDir.resolve("application.jsa");
+            if (Files.exists(archive)) {
+                variants.add(new Variant("aot+cds", cdsDir, List.of(java, "-XX:SharedArchiveFile=application.jsa",
+                        "-Dspring.aot.enabled=true", "-jar", jar.getFileName().toString(), "--spring.profiles.active=aot")));
+            }
+            if (Files.isExecutable(nativeImage)) {
+                variants.add(new Variant("native", null, List.of(nativeImage.toString(), "--spring.profiles.active=aot")));
+            }
+        }
+
+        StartupBenchmark benchmark = new StartupBenchmark();
+        System.out.printf("%-10s %25s %15s%n", "variant", "time to first request (ms)", "RSS (MB)");
+        for (Variant variant : variants) {
+            long[] millis = new long[runs];
+            long[] rssKb = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                Sample sample = benchmark.measure(variant);
+                millis[i] = sample.millis();
+                rssKb[i] = sample.rssKb();
+            }
+            // 起動時間はばらつくため中央値で比較する
+            System.out.printf("%-10s %25d %15s%n", variant.name(), median(millis),
+                    median(rssKb) < 0 ? "n/a" : String.valueOf(median(rssKb) / 1024));
+        }
+    }
+
+    private Sample measure(Variant variant) throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = new ArrayList<>(variant.command());
+        command.add("--server.port=" + port);
+        command.add("--logging.level.root=WARN");
+        command.add("--management.tracing.sampling.probability=0.0");
+        ProcessBuilder builder = new ProcessBuilder(command).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD);
+        if (variant.workingDir() != null) {
+            builder.directory(variant.workingDir().toFile());
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                .timeout(Duration.ofSeconds(1))
+                .GET()
+                .build();
+
+        long startedAt = System.nanoTime();
+        Process process = builder.start();
+        try {
+            while (System.nanoTime() - startedAt < STARTUP_TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(variant.name() + " exited with " + process.exitValue());
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+                        return new Sample(millis, rssKb(process.pid()));
+                    }
+                } catch (IOException e) {
+                    // まだポートを待ち受けていない
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException(variant.name() + " did not start within " + STARTUP_TIMEOUT);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static long rssKb(long pid) throws IOException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        for (String line : Files.readAllLines(status)) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("[^0-9]", ""));
+            }
+        }
+        return -1;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private record Variant(String name, Path workingDir, List<String> command) {
+    }
+
+    private record Sample(long millis, long rssKb) {
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.banking.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * プラットフォームスレッドモデルと仮想スレッドモデルのスループット・レイテンシを比較するベンチマーク。
+ * 多数のクライアントスレッドから同時にAPIを呼び出し、ブロッキングなJDBC呼び出しを含む
+ * 口座照会と振込依頼のスループット（Throughput）とレイテンシ分布（SampleTime）を計測します。
+ *
+ * 適応的な流量制限は無効にして起動します（{@link BankingApplicationHarness}）。
+ * 満杯のSagaのレーンで拒否された振込依頼は、成功した応答とは別に数えます（{@link ResponseCounters}）。
+ *
+ * 実行方法（仮想スレッドにはJava 21が必要）:
+ * <pre>
+ * ./gradlew jmh -PjavaVersion=21 -PjmhIncludes=ThreadModelBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(512)
+@Fork(1)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+public class ThreadModelBenchmark {
+
+    @Param({"platform", "virtual"})
+    public String threadModel;
+
+    private BankingApplicationHarness harness;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws Exception {
+        boolean virtual = "virtual".equals(threadModel);
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads require Java 21. Run with -PjavaVersion=21.");
+        }
+        harness = virtual
+                ? new BankingApplicationHarness("dev", "virtual-threads")
+                : new BankingApplicationHarness("dev");
+        harness.openAccounts(1_000);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        harness.close();
+    }
+
+    @Benchmark
+    public void getAccount(ResponseCounters counters) throws Exception {
+        counters.record(harness.getRandomAccount());
+    }
+
+    @Benchmark
+    public void requestTransfer(ResponseCounters counters) throws Exception {
+        counters.record(harness.requestRandomTransfer());
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.banking.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spring MVC + JDBC（スレッドプール型）とWebFlux + R2DBC（イベントループ型）のスループット・レイテンシを比較するベンチマーク。
+ * ThreadModelBenchmarkと同じ負荷を、`reactive`プロファイルの有無を切り替えて計測します。
+ *
+ * 適応的な流量制限は無効にして起動します（{@link BankingApplicationHarness}）。
+ * 満杯のSagaのレーンで拒否された振込依頼は、成功した応答とは別に数えます（{@link ResponseCounters}）。
+ *
+ * 実行方法:
+ * <pre>
+ * ./gradlew jmh -PjmhIncludes=WebStackBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(512)
+@Fork(1)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+public class WebStackBenchmark {
+
+    @Param({"mvc", "reactive"})
+    public String webStack;
+
+    private BankingApplicationHarness harness;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws Exception {
+        harness = "reactive".equals(webStack)
+                ? new BankingApplicationHarness("dev", "reactive")
+                : new BankingApplicationHarness("dev");
+        harness.openAccounts(1_000);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        harness.close();
+    }
+
+    @Benchmark
+    public void getAccount(ResponseCounters counters) throws Exception {
+        counters.record(harness.getRandomAccount());
+    }
+
+    @Benchmark
+    public void requestTransfer(ResponseCounters counters) throws Exception {
+        counters.record(harness.requestRandomTransfer());
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.banking.application.event;
+
+import com.example.banking.domain.event.DomainEvent;
+import com.example.banking.domain.event.DomainEventPublisher;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ドメインイベントを、パーティションごとにバッチにまとめて発行先（{@link EventTransport}）に送信するコンポーネント。
+ *
+ * リポジトリから渡されたイベントは、トランザクションのコミット後にパーティションのバッファに入れます。
+ * ロールバックされたトランザクションのイベントは発行されません。
+ * パーティションは口座ID（{@link DomainEvent#partitionKey()}）から決まり、パーティションごとに1つのスレッドが次の規則で送信します。
+ * - バッファの最初のイベントから{@code linger}だけ後続のイベントを待ち、最大{@code batchSize}件を1つのバッチにまとめる
+ * - バッチを符号化（{@link EventBatchEncoder}）して{@code compression}で圧縮し、発行先に送信する
+ * - 送信に失敗したバッチは、成功するまで同じ順序で再送する（後続のバッチは追い越さない）
+ *
+ * 同じ口座のイベントは同じパーティションで、バッファに入った順に送信されます。
+ * 同じ口座の更新は行ロック・楽観的ロックで直列化されるため、バッファに入る順はほぼコミットの順となりますが、
+ * コミットからバッファに入れるまでの間に同じ口座の次のトランザクションがコミットした場合は前後することがあります。
+ * 購読側はイベントIDで重複を除き、残高イベントの順序が厳密に必要な場合は口座の照会で確認してください。
+ *
+ * 発行先の障害が続いてバッファが一杯になると、コミットしたスレッドは{@code maxBlock}まで待ち、それでも空かなければイベントを破棄します
+ * （`banking.events.dropped`）。オンラインの取引を発行先の障害で止めないためです。
+ * プロセスが異常終了した場合、バッファ内のイベントは失われます。
+ */
+@Slf4j
+@Component
+public class DomainEventBus implements DomainEventPublisher {
+
+    private final DomainEventProperties properties;
+    private final EventTransport transport;
+    private final EventBatchEncoder encoder;
+    private final List<Partition> partitions = new ArrayList<>();
+    private final Counter published;
+    private final Counter dropped;
+    private final Counter sendFailures;
+    private final DistributionSummary batchSize;
+    private final DistributionSummary batchBytes;
+    private volatile boolean closed;
+
+    public DomainEventBus(DomainEventProperties properties, EventTransport transport, EventBatchEncoder encoder,
+                          MeterRegistry meterRegistry) {
+        if (properties.partitions() < 1 || properties.batchSize() < 1 || properties.bufferCapacity() < properties.partitions()) {
+            throw new IllegalArgumentException("partitions and batch-size must be positive, and buffer-capacity at least partitions: "
+                    + properties);
+        }
+        this.properties = properties;
+        this.transport = transport;
+        this.encoder = encoder;
+        int capacity = properties.bufferCapacity() / properties.partitions();
+        for (int i = 0; i < properties.partitions(); i++) {
+            partitions.add(new Partition(i, capacity));
+        }
+        Gauge.builder("banking.events.buffered", partitions, ps -> ps.stream().mapToInt(p -> p.queue.size()).sum())
+                .description("Domain events committed and waiting to be sent")
+                .register(meterRegistry);
+        this.published = Counter.builder("banking.events.published")
+                .description("Domain events accepted by the transport")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("banking.events.dropped")
+                .description("Domain events dropped because the buffer stayed full for max-block")
+                .register(meterRegistry);
+        this.sendFailures = Counter.builder("banking.events.send.failures")
+                .description("Batch sends that failed and were retried")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("banking.events.batch.size")
+                .description("Domain events per sent batch")
+                .register(meterRegistry);
+        this.batchBytes = DistributionSummary.builder("banking.events.batch.bytes")
+                .description("Encoded and compressed size of sent batches")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        for (Partition partition : partitions) {
+            partition.worker.start();
+        }
+    }
+
+    /**
+     * 新しいイベントの受け付けを止め、バッファに残ったイベントの送信を{@code closeTimeout}まで待ちます。
+     */
+    @PreDestroy
+    void stop() throws InterruptedException {
+        closed = true;
+        long deadline = System.nanoTime() + properties.closeTimeout().toNanos();
+        for (Partition partition : partitions) {
+            partition.worker.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+        }
+    }
+
+    /**
+     * イベントを発行します。トランザクション内で呼び出された場合は、コミット後にバッファに入れます。
+     *
+     * @param events 発生した順のイベント
+     */
+    @Override
+    public void publish(List<DomainEvent> events) {
+        if (!properties.enabled() || events.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(events);
+                }
+            });
+        } else {
+            enqueue(events);
+        }
+    }
+
+    /**
+     * 口座IDからイベントのパーティションを決めます。
+     */
+    int partitionOf(DomainEvent event) {
+        return Math.floorMod(event.partitionKey().value().hashCode(), partitions.size());
+    }
+
+    private void enqueue(List<DomainEvent> events) {
+        for (DomainEvent event : events) {
+            if (closed) {
+                dropped.increment();
+                continue;
+            }
+            try {
+                if (!partitions.get(partitionOf(event)).queue.offer(event, properties.maxBlock().toNanos(), TimeUnit.NANOSECONDS)) {
+                    dropped.increment();
+                    log.warn("Domain event buffer is full. Dropped eventId: {}", event.eventId());
+                }
+            } catch (InterruptedException e) {
+                dropped.increment();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * 1つのパーティションのバッファと、そのイベントを順に送信するスレッド。
+     */
+    private final class Partition {
+
+        private final int number;
+        private final BlockingQueue<DomainEvent> queue;
+        private final Thread worker;
+
+        Partition(int number, int capacity) {
+            this.number = number;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.worker = new Thread(this::run, "domain-events-" + number);
+            this.worker.setDaemon(true);
+        }
+
+        private void run() {
+            List<DomainEvent> batch = new ArrayList<>(properties.batchSize());
+            try {
+                while (true) {
+                    DomainEvent first = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        if (closed) {
+                            return;
+                        }
+                        continue;
+                    }
+                    batch.add(first);
+                    fill(batch, System.nanoTime() + properties.linger().toNanos());
+                    send(batch);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * バッチが一杯になるか、期限を過ぎるまで後続のイベントを加えます。
+         */
+        private void fill(List<DomainEvent> batch, long deadline) throws InterruptedException {
+            int limit = properties.batchSize();
+            queue.drainTo(batch, limit - batch.size());
+            while (batch.size() < limit) {
+                long remaining = deadline - System.nanoTime();
+                DomainEvent next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                if (next == null) {
+                    return;
+                }
+                batch.add(next);
+                queue.drainTo(batch, limit - batch.size());
+            }
+        }
+
+        private void send(List<DomainEvent> events) throws InterruptedException {
+            EventCompression compression = properties.compression();
+            EventBatch batch = new EventBatch(number, events.size(), compression, compression.compress(encoder.encode(events)));
+            while (true) {
+                try {
+                    transport.send(batch);
+                    published.increment(events.size());
+                    batchSize.record(events.size());
+                    batchBytes.record(batch.payload().length);
+                    return;
+                } catch (Exception e) {
+                    sendFailures.increment();
+                    if (closed) {
+                        // 停止中は再送せずに破棄し、停止を妨げない
+                        dropped.increment(events.size());
+                        log.error("Dropped {} domain events of partition {} on shutdown", events.size(), number, e);
+                        return;
+                    }
+                    log.warn("Failed to send {} domain events of partition {}. Retrying in {}", events.size(), number,
+                            properties.retryBackoff(), e);
+                    Thread.sleep(properties.retryBackoff().toMillis());
+                }
+            }
+        }
+    }
+}
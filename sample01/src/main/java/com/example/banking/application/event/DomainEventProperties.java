@@ -0,0 +1,59 @@
+package com.example.banking.application.event;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * ドメインイベントの発行の設定値。
+ *
+ * @param enabled ドメインイベントを発行するかどうか
+ * @param transport 発行先（{@code memory}: メモリ上に保持、{@code file}: ファイルに追記、{@code kafka}: Kafkaに送信）
+ * @param partitions パーティションの数。同じ口座のイベントは同じパーティションで発生した順に送信される
+ * @param batchSize 1回に送信するイベントの上限
+ * @param linger バッチの最初のイベントから、後続のイベントを待って送信を遅らせる時間
+ * @param compression バッチの圧縮方式
+ * @param bufferCapacity 送信を待つイベントの上限（全パーティションの合計）
+ * @param maxBlock バッファが一杯の場合に、空きを待つ時間。これを過ぎたイベントは破棄する
+ * @param retryBackoff 送信に失敗したバッチを再送するまでの待ち時間
+ * @param closeTimeout 停止時に、バッファに残ったイベントの送信を待つ時間
+ * @param file {@code file}の発行先の設定
+ * @param kafka {@code kafka}の発行先の設定
+ */
+@ConfigurationProperties(prefix = "banking.events")
+public record DomainEventProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("memory") String transport,
+        @DefaultValue("16") int partitions,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("PT0.005S") Duration linger,
+        @DefaultValue("NONE") EventCompression compression,
+        @DefaultValue("100000") int bufferCapacity,
+        @DefaultValue("PT0.05S") Duration maxBlock,
+        @DefaultValue("PT1S") Duration retryBackoff,
+        @DefaultValue("PT5S") Duration closeTimeout,
+        @DefaultValue File file,
+        @DefaultValue Kafka kafka
+) {
+
+    /**
+     * ファイルへの発行の設定。
+     *
+     * @param directory パーティションごとのファイル（{@code partition-<番号>.log}）を作成するディレクトリ
+     */
+    public record File(@DefaultValue("build/events") String directory) {
+    }
+
+    /**
+     * Kafkaへの発行の設定。
+     *
+     * @param bootstrapServers Kafkaのブローカーのアドレス
+     * @param topic 送信先のトピック。パーティションの数は{@code partitions}以上にすること
+     */
+    public record Kafka(
+            @DefaultValue("localhost:9092") String bootstrapServers,
+            @DefaultValue("banking.domain-events") String topic
+    ) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.banking.application.event;
+
+/**
+ * 1つのパーティションから1回で送信するドメインイベントのバッチ。
+ *
+ * @param partition パーティションの番号
+ * @param eventCount バッチに含まれるイベントの数
+ * @param compression ペイロードの圧縮方式
+ * @param payload {@link EventBatchEncoder}で符号化し、圧縮したイベントの列
+ */
+public record EventBatch(int partition, int eventCount, EventCompression compression, byte[] payload) {
+}
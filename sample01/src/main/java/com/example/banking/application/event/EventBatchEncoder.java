@@ -0,0 +1,23 @@
+package com.example.banking.application.event;
+
+import com.example.banking.domain.event.DomainEvent;
+
+import java.util.List;
+
+/**
+ * ドメインイベントの列をバイト列に符号化するインターフェース。
+ */
+public interface EventBatchEncoder {
+
+    /**
+     * イベントの列を符号化します。
+     * @param events 発生した順のイベント
+     * @return 符号化したバイト列（圧縮前）
+     */
+    byte[] encode(List<DomainEvent> events);
+
+    /**
+     * {@link #encode}で符号化したバイト列をイベントの列に戻します。
+     */
+    List<DomainEvent> decode(byte[] data);
+}
@@ -0,0 +1,58 @@
+package com.example.banking.application.event;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * ドメインイベントのバッチの圧縮方式。
+ * イベントはフィールド名や通貨コードの繰り返しが多いため、バッチ単位で圧縮すると送信量を大きく減らせます。
+ */
+public enum EventCompression {
+
+    /** 圧縮しない */
+    NONE,
+    /** gzip形式（RFC 1952） */
+    GZIP,
+    /** zlib形式（RFC 1950）。gzipよりヘッダが小さい */
+    DEFLATE;
+
+    /**
+     * バイト列を圧縮します。
+     */
+    public byte[] compress(byte[] data) {
+        if (this == NONE) {
+            return data;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 64);
+        try (OutputStream compressor = this == GZIP ? new GZIPOutputStream(out) : new DeflaterOutputStream(out)) {
+            compressor.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * {@link #compress}で圧縮したバイト列を元に戻します。
+     */
+    public byte[] decompress(byte[] data) {
+        if (this == NONE) {
+            return data;
+        }
+        try (InputStream in = this == GZIP
+                ? new GZIPInputStream(new ByteArrayInputStream(data))
+                : new InflaterInputStream(new ByteArrayInputStream(data))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
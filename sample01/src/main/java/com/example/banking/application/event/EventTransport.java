@@ -0,0 +1,33 @@
+package com.example.banking.application.event;
+
+import java.util.function.Consumer;
+
+/**
+ * ドメインイベントのバッチの発行先。
+ * 同じパーティションのバッチは1つのスレッドから順に渡されるため、実装は受け取った順に永続化・送信すればパーティション内の順序を保てます。
+ *
+ * 発行先によっては、送信されたバッチを購読できます（{@link #subscribe}）。
+ * 購読者には、同じ発行先を共有するすべてのノードが送信したバッチが届きます。
+ */
+public interface EventTransport {
+
+    /**
+     * バッチを送信します。このメソッドが戻った時点で、バッチは発行先に受け入れられている必要があります。
+     *
+     * @param batch 送信するバッチ
+     * @throws Exception 送信に失敗した場合。同じバッチが再送される
+     */
+    void send(EventBatch batch) throws Exception;
+
+    /**
+     * 購読を開始した後に発行先が受け入れたバッチを、受け入れた順に購読者に渡します。
+     * 購読者は発行先のスレッドから呼び出されるため、時間のかかる処理は別のスレッドで行ってください。
+     * 購読者が投げた例外は記録され、他の購読者と後続のバッチの受け渡しには影響しません。
+     *
+     * @param listener 購読者
+     * @throws UnsupportedOperationException 発行先が購読に対応していない場合
+     */
+    default void subscribe(Consumer<EventBatch> listener) {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support subscriptions");
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.banking.application.fee;
+
+/**
+ * 振込手数料のルールを評価できなかったことを示す例外。
+ * ルールが例外を送出した場合や、数値以外・負の値を返した場合に発生し、振込は受け付けません。
+ */
+public class FeeEvaluationException extends RuntimeException {
+    public FeeEvaluationException(String message) {
+        super(message);
+    }
+
+    public FeeEvaluationException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.banking.application.fee;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 振込手数料の設定値。
+ *
+ * @param enabled 振込手数料を徴収するかどうか。無効（既定）の場合、ルールを読み込まず手数料は常にゼロとなる
+ * @param rulesLocation 手数料のルール（Groovyスクリプト）の場所（`classpath:`、`file:`のいずれかで始まるリソースの場所）
+ * @param reloadInterval ルールの変更を確認する間隔。内容が変わった場合のみコンパイルし直す
+ */
+@ConfigurationProperties(prefix = "banking.fee")
+public record FeeProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("classpath:fee/transfer-fee.groovy") String rulesLocation,
+        @DefaultValue("PT10S") Duration reloadInterval
+) {
+}
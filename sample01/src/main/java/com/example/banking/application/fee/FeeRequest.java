@@ -0,0 +1,42 @@
+package com.example.banking.application.fee;
+
+import com.example.banking.domain.account.Money;
+import com.example.banking.domain.transfer.TransferChannel;
+import com.example.banking.domain.transfer.TransferPriority;
+
+import java.util.Objects;
+
+/**
+ * 振込手数料のルールに渡す振込の条件。
+ *
+ * @param money 振込金額（振込元口座の通貨）
+ * @param channel 振込を受け付けたチャネル
+ * @param priority 振込の優先度
+ * @param crossCurrency 通貨をまたぐ振込（為替見積もりを指定した振込）かどうか
+ */
+public record FeeRequest(Money money, TransferChannel channel, TransferPriority priority, boolean crossCurrency) {
+
+    public FeeRequest {
+        Objects.requireNonNull(money, "money");
+        Objects.requireNonNull(channel, "channel");
+        Objects.requireNonNull(priority, "priority");
+    }
+
+    /**
+     * 振込元口座の種類。
+     * 口座の通貨は開設時の初期預金で決まり、以降は変わらないため、振込金額の通貨から判定します。
+     */
+    public AccountType accountType() {
+        return money.currency().equals(Money.JPY) ? AccountType.YEN : AccountType.FOREIGN_CURRENCY;
+    }
+
+    /**
+     * 口座の種類。
+     */
+    public enum AccountType {
+        /** 円預金口座 */
+        YEN,
+        /** 外貨預金口座 */
+        FOREIGN_CURRENCY
+    }
+}
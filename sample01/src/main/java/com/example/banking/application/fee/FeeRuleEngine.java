@@ -0,0 +1,61 @@
+package com.example.banking.application.fee;
+
+import com.example.banking.domain.account.Money;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 現在有効な振込手数料のルールを保持し、振込の手数料を評価するコンポーネント。
+ *
+ * ルール（{@link FeeRuleSet}）は不変オブジェクトであり、更新時は参照のみを差し替えます。
+ * 評価中の振込は差し替え前のルールで評価を終え、後続の振込から新しいルールが適用されます。
+ * 参照側はロックを取得しないため、多数のスレッドから同時に評価しても互いに待ち合わせません。
+ */
+@Component
+public class FeeRuleEngine {
+
+    private final FeeProperties properties;
+    private final AtomicReference<FeeRuleSet> ruleSet = new AtomicReference<>();
+
+    public FeeRuleEngine(FeeProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * 振込の手数料を評価します。
+     *
+     * @param request 振込の条件
+     * @return 振込手数料（振込金額と同じ通貨）。手数料の徴収が無効な場合はゼロ
+     * @throws FeeEvaluationException ルールが読み込まれていないか、ルールの評価に失敗した場合
+     */
+    public Money evaluate(FeeRequest request) {
+        if (!properties.enabled()) {
+            return new Money(BigDecimal.ZERO, request.money().currency());
+        }
+        FeeRuleSet current = ruleSet.get();
+        if (current == null) {
+            throw new FeeEvaluationException("Fee rules are not loaded from " + properties.rulesLocation());
+        }
+        return current.evaluate(request);
+    }
+
+    /**
+     * 現在有効なルールを返します。
+     */
+    public Optional<FeeRuleSet> current() {
+        return Optional.ofNullable(ruleSet.get());
+    }
+
+    /**
+     * ルールを差し替えます。
+     *
+     * @param newRuleSet 新しいルール
+     * @return 差し替える前のルール。初めて読み込んだ場合はOptional.empty()
+     */
+    public Optional<FeeRuleSet> replace(FeeRuleSet newRuleSet) {
+        return Optional.ofNullable(ruleSet.getAndSet(newRuleSet));
+    }
+}
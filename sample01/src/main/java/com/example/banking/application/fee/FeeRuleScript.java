@@ -0,0 +1,65 @@
+package com.example.banking.application.fee;
+
+import groovy.lang.Script;
+
+import java.math.BigDecimal;
+
+/**
+ * 振込手数料のルール（Groovyスクリプト）の基底クラス。
+ *
+ * スクリプトは次の値を参照し、振込元口座の通貨での手数料（数値）を返します。
+ * - {@code amount}: 振込金額（BigDecimal）
+ * - {@code currency}: 振込元口座の通貨コード（{@code JPY}、{@code USD}など）
+ * - {@code accountType}: 振込元口座の種類（{@code YEN}、{@code FOREIGN_CURRENCY}）
+ * - {@code channel}: 振込を受け付けたチャネル（{@code API}、{@code GRPC}、{@code STANDING_ORDER}）
+ * - {@code priority}: 振込の優先度（{@code URGENT}、{@code NORMAL}、{@code BULK}）
+ * - {@code crossCurrency}: 通貨をまたぐ振込かどうか
+ *
+ * スクリプトのインスタンスは評価ごとに生成するため、スクリプト内の変数が他の振込の評価と混ざることはありません。
+ * 値の参照は{@link #getProperty}で直接解決し、評価ごとにBindingの変数表を作りません。
+ */
+public abstract class FeeRuleScript extends Script {
+
+    private FeeRequest request;
+
+    void bind(FeeRequest request) {
+        this.request = request;
+    }
+
+    public BigDecimal getAmount() {
+        return request.money().amount();
+    }
+
+    public String getCurrency() {
+        return request.money().currency().getCurrencyCode();
+    }
+
+    public String getAccountType() {
+        return request.accountType().name();
+    }
+
+    public String getChannel() {
+        return request.channel().name();
+    }
+
+    public String getPriority() {
+        return request.priority().name();
+    }
+
+    public boolean isCrossCurrency() {
+        return request.crossCurrency();
+    }
+
+    @Override
+    public Object getProperty(String property) {
+        return switch (property) {
+            case "amount" -> getAmount();
+            case "currency" -> getCurrency();
+            case "accountType" -> getAccountType();
+            case "channel" -> getChannel();
+            case "priority" -> getPriority();
+            case "crossCurrency" -> isCrossCurrency();
+            default -> super.getProperty(property);
+        };
+    }
+}
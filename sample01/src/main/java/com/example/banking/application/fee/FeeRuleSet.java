@@ -0,0 +1,214 @@
+package com.example.banking.application.fee;
+
+import com.example.banking.domain.account.Money;
+import com.example.banking.domain.transfer.TransferChannel;
+import com.example.banking.domain.transfer.TransferPriority;
+import groovy.lang.GroovyClassLoader;
+import org.codehaus.groovy.ast.expr.ClassExpression;
+import org.codehaus.groovy.ast.expr.ConstructorCallExpression;
+import org.codehaus.groovy.ast.expr.MethodCallExpression;
+import org.codehaus.groovy.ast.expr.MethodPointerExpression;
+import org.codehaus.groovy.ast.expr.PropertyExpression;
+import org.codehaus.groovy.ast.expr.StaticMethodCallExpression;
+import org.codehaus.groovy.control.CompilationFailedException;
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.codehaus.groovy.control.customizers.SecureASTCustomizer;
+
+import java.lang.reflect.Constructor;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Currency;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * コンパイル済みの振込手数料のルール（不変オブジェクト）。
+ *
+ * ルールのスクリプトは生成時に1回だけクラスにコンパイルし、評価ではそのクラスのインスタンスを生成して実行するのみです。
+ * 評価ごとにスクリプトを解析・コンパイルすることはありません。
+ * ルールの更新は、新しいルールを生成して{@link FeeRuleEngine}が保持する参照を差し替えることで行います。
+ * ルールごとにクラスローダーを分けるため、差し替えた古いルールのクラスは参照がなくなるとアンロードされます。
+ *
+ * ルールは業務部門が編集するため、コンパイル時に{@link SecureASTCustomizer}で使える構文を手数料の計算に必要なものに制限します。
+ * 参照できる型は数値・文字列・真偽値と{@link Math}のみで、import・クロージャ・メソッドやクラスの定義・インスタンスの生成はできません。
+ * {@code getClass}・{@code metaClass}・{@code execute}・{@code evaluate}など、リフレクションやコマンドの実行、
+ * 別のスクリプトの評価につながるメソッドとプロパティも拒否するため、{@code System}・{@code Runtime}などには到達できません。
+ */
+public final class FeeRuleSet {
+
+    private static final String SCRIPT_NAME = "TransferFeeRules.groovy";
+    /** 生成時に試し評価する振込金額（通貨ごと） */
+    private static final Money[] SAMPLE_AMOUNTS = {Money.of("10000"), Money.of("100", Currency.getInstance("USD"))};
+    /** ルールから参照・呼び出しできる型 */
+    private static final List<Class> ALLOWED_TYPES = List.of(
+            Object.class, Number.class, BigDecimal.class, BigInteger.class, Integer.class, Long.class, Double.class,
+            String.class, Boolean.class, Math.class);
+    /** 型によらず呼び出しを拒否するメソッド（リフレクション、メタプログラミング、外部コマンド・スクリプトの実行） */
+    private static final Set<String> FORBIDDEN_METHODS = Set.of(
+            "getClass", "forName", "getMetaClass", "setMetaClass", "invokeMethod", "getProperty", "setProperty",
+            "execute", "evaluate", "run", "getBinding", "setBinding", "sleep", "wait", "exit", "halt");
+    /** 型によらず参照を拒否するプロパティ */
+    private static final Set<String> FORBIDDEN_PROPERTIES = Set.of("class", "metaClass", "binding", "declaredMethods", "classLoader");
+
+    private final String location;
+    private final String digest;
+    private final Constructor<? extends FeeRuleScript> constructor;
+
+    private FeeRuleSet(String location, String digest, Constructor<? extends FeeRuleScript> constructor) {
+        this.location = location;
+        this.digest = digest;
+        this.constructor = constructor;
+    }
+
+    /**
+     * ルールのスクリプトをコンパイルします。
+     * コンパイル後、チャネル・優先度・口座の種類のすべての組み合わせで試し評価し、
+     * 存在しない値の参照など実行時にしか分からない誤りのあるルールも、差し替える前に検出します。
+     *
+     * @param location ルールの場所（ログ・エラーメッセージ用）
+     * @param source スクリプトの内容
+     * @return コンパイル済みのルール
+     * @throws IllegalArgumentException コンパイルまたは試し評価に失敗した場合
+     */
+    public static FeeRuleSet compile(String location, String source) {
+        CompilerConfiguration configuration = new CompilerConfiguration();
+        configuration.setScriptBaseClass(FeeRuleScript.class.getName());
+        configuration.addCompilationCustomizers(sandbox());
+        GroovyClassLoader classLoader = new GroovyClassLoader(FeeRuleScript.class.getClassLoader(), configuration);
+        FeeRuleSet ruleSet;
+        try {
+            Class<? extends FeeRuleScript> scriptClass = classLoader.parseClass(source, SCRIPT_NAME).asSubclass(FeeRuleScript.class);
+            ruleSet = new FeeRuleSet(location, digestOf(source), scriptClass.getDeclaredConstructor());
+        } catch (CompilationFailedException | ClassCastException | NoSuchMethodException e) {
+            throw new IllegalArgumentException("Fee rules in " + location + " do not compile: " + e.getMessage(), e);
+        }
+        ruleSet.verify();
+        return ruleSet;
+    }
+
+    /**
+     * ルールで使える構文を、手数料の計算に必要なものに制限するカスタマイザを生成します。
+     */
+    private static SecureASTCustomizer sandbox() {
+        List<String> allowedTypeNames = ALLOWED_TYPES.stream().map(Class::getName).toList();
+        SecureASTCustomizer sandbox = new SecureASTCustomizer();
+        sandbox.setPackageAllowed(false);
+        sandbox.setMethodDefinitionAllowed(false);
+        sandbox.setClosuresAllowed(false);
+        // 自動でimportされるjava.lang.Systemなども含め、許可した型以外への参照をコンパイル時に拒否する
+        sandbox.setIndirectImportCheckEnabled(true);
+        sandbox.setAllowedImports(allowedTypeNames);
+        sandbox.setAllowedStarImports(List.of());
+        sandbox.setAllowedStaticImports(List.of());
+        sandbox.setAllowedStaticStarImports(List.of());
+        sandbox.setAllowedReceiversClasses(ALLOWED_TYPES);
+        sandbox.addExpressionCheckers(expression -> {
+            if (expression instanceof ConstructorCallExpression || expression instanceof MethodPointerExpression) {
+                return false;
+            }
+            if (expression instanceof MethodCallExpression call) {
+                // 名前を動的に決める呼び出し（"${name}"()）は検査できないため拒否する
+                return call.getMethodAsString() != null && !FORBIDDEN_METHODS.contains(call.getMethodAsString());
+            }
+            if (expression instanceof StaticMethodCallExpression call) {
+                return !FORBIDDEN_METHODS.contains(call.getMethod());
+            }
+            if (expression instanceof PropertyExpression property) {
+                return property.getPropertyAsString() != null && !FORBIDDEN_PROPERTIES.contains(property.getPropertyAsString());
+            }
+            if (expression instanceof ClassExpression type) {
+                return allowedTypeNames.contains(type.getType().getName());
+            }
+            return true;
+        });
+        return sandbox;
+    }
+
+    /**
+     * スクリプトの内容のダイジェスト（SHA-256）を返します。内容が変わったかどうかの判定に使用します。
+     */
+    public static String digestOf(String source) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(source.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void verify() {
+        for (Money amount : SAMPLE_AMOUNTS) {
+            for (TransferChannel channel : TransferChannel.values()) {
+                for (TransferPriority priority : TransferPriority.values()) {
+                    for (boolean crossCurrency : new boolean[]{false, true}) {
+                        FeeRequest request = new FeeRequest(amount, channel, priority, crossCurrency);
+                        try {
+                            evaluate(request);
+                        } catch (FeeEvaluationException e) {
+                            throw new IllegalArgumentException("Fee rules in " + location + " failed for " + request + ": "
+                                    + e.getMessage(), e);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 振込の手数料を評価します。
+     *
+     * @param request 振込の条件
+     * @return 振込手数料（振込金額と同じ通貨。通貨の補助単位の桁数に四捨五入）
+     * @throws FeeEvaluationException ルールが例外を送出した場合、数値以外・負の値を返した場合
+     */
+    public Money evaluate(FeeRequest request) {
+        FeeRuleScript script;
+        try {
+            script = constructor.newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new FeeEvaluationException("Cannot instantiate fee rules in " + location, e);
+        }
+        script.bind(request);
+        Object result;
+        try {
+            result = script.run();
+        } catch (RuntimeException e) {
+            throw new FeeEvaluationException("Fee rules in " + location + " failed: " + e.getMessage(), e);
+        }
+        Currency currency = request.money().currency();
+        BigDecimal fee = toAmount(result).setScale(currency.getDefaultFractionDigits(), RoundingMode.HALF_UP);
+        if (fee.signum() < 0) {
+            throw new FeeEvaluationException("Fee rules in " + location + " returned a negative fee: " + fee.toPlainString());
+        }
+        return new Money(fee, currency);
+    }
+
+    private BigDecimal toAmount(Object result) {
+        if (result instanceof BigDecimal decimal) {
+            return decimal;
+        }
+        if (result instanceof Integer || result instanceof Long || result instanceof Short || result instanceof Byte) {
+            return BigDecimal.valueOf(((Number) result).longValue());
+        }
+        if (result instanceof BigInteger integer) {
+            return new BigDecimal(integer);
+        }
+        if (result instanceof Number number) {
+            return new BigDecimal(number.toString());
+        }
+        throw new FeeEvaluationException("Fee rules in " + location + " must return a number, but returned: " + result);
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public String getDigest() {
+        return digest;
+    }
+}
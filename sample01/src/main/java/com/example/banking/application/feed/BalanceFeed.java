@@ -0,0 +1,157 @@
+package com.example.banking.application.feed;
+
+import com.example.banking.domain.account.Account;
+import com.example.banking.domain.account.AccountId;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * コミットされた口座の残高を、このノードに接続している、その口座の購読者に配信するコンポーネント。
+ *
+ * 残高は、ドメインイベントの発行先を購読する{@link BalanceFeedEventListener}がコミット後の口座を読み直して{@link #notifyCommitted}に渡します。
+ * 発行先を複数のノードで共有すれば、他のノードで更新された口座の残高もこのノードの購読者に届きます。
+ * 残高は口座IDの索引から購読者を引いて各購読者のバッファに入れます。購読者のいない口座は索引を1回引くだけです。
+ *
+ * 購読者への送信は少数のスレッド（{@code sendThreads}）で行い、購読者ごとにスレッドを割り当てません。
+ * 受信の遅い購読者のバッファは口座ごとに最新の残高のみを保持するため（{@link BalanceFeedSubscription}）、
+ * 1ノードで多数（10万以上）の購読者を保持できます。
+ */
+@Component
+public class BalanceFeed {
+
+    private final BalanceFeedProperties properties;
+    private final Map<AccountId, Set<BalanceFeedSubscription>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connected = new AtomicInteger();
+    private final ExecutorService sender;
+    private final Counter sentUpdates;
+    private final Counter conflatedUpdates;
+    private final Counter rejectedSubscribers;
+
+    public BalanceFeed(BalanceFeedProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.sender = newSender(properties.sendThreads());
+        Gauge.builder("banking.feed.subscribers", connected, AtomicInteger::get)
+                .description("Connected balance feed subscribers")
+                .register(meterRegistry);
+        Gauge.builder("banking.feed.accounts", subscribers, Map::size)
+                .description("Accounts with at least one balance feed subscriber")
+                .register(meterRegistry);
+        this.sentUpdates = Counter.builder("banking.feed.updates")
+                .description("Balance updates for subscribers, sent or replaced by a newer update before sending")
+                .tag("result", "sent")
+                .register(meterRegistry);
+        this.conflatedUpdates = Counter.builder("banking.feed.updates")
+                .description("Balance updates for subscribers, sent or replaced by a newer update before sending")
+                .tag("result", "conflated")
+                .register(meterRegistry);
+        this.rejectedSubscribers = Counter.builder("banking.feed.rejections")
+                .description("Balance feed connections rejected because max-subscribers was reached")
+                .register(meterRegistry);
+    }
+
+    private static ExecutorService newSender(int threads) {
+        AtomicInteger sequence = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "balance-feed-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sender.shutdownNow();
+    }
+
+    /**
+     * 購読者を接続します。
+     *
+     * @param sink 購読者への送信先
+     * @return 購読者。配信が無効な場合と、接続数が上限に達している場合はOptional.empty()
+     */
+    public Optional<BalanceFeedSubscription> connect(BalanceFeedSubscription.Sink sink) {
+        if (!properties.enabled()) {
+            return Optional.empty();
+        }
+        if (connected.incrementAndGet() > properties.maxSubscribers()) {
+            connected.decrementAndGet();
+            rejectedSubscribers.increment();
+            return Optional.empty();
+        }
+        return Optional.of(new BalanceFeedSubscription(this, sink));
+    }
+
+    /**
+     * このノードに、口座の購読者が接続しているかどうかを返します。
+     */
+    public boolean isFollowed(AccountId accountId) {
+        return subscribers.containsKey(accountId);
+    }
+
+    /**
+     * コミット後に読み込んだ口座の残高を、その口座の購読者に配信します。
+     *
+     * @param account コミット後に読み込んだ口座
+     */
+    public void notifyCommitted(Account account) {
+        publish(BalanceUpdate.of(account));
+    }
+
+    /**
+     * 残高を、その口座の購読者のバッファに入れます。
+     */
+    void publish(BalanceUpdate update) {
+        Set<BalanceFeedSubscription> subscriptions = subscribers.get(update.accountId());
+        if (subscriptions == null) {
+            return;
+        }
+        for (BalanceFeedSubscription subscription : subscriptions) {
+            if (subscription.offer(update)) {
+                conflatedUpdates.increment();
+            }
+        }
+    }
+
+    int maxAccountsPerSubscriber() {
+        return properties.maxAccountsPerSubscriber();
+    }
+
+    void register(AccountId accountId, BalanceFeedSubscription subscription) {
+        subscribers.compute(accountId, (id, subscriptions) -> {
+            Set<BalanceFeedSubscription> registered = subscriptions == null ? ConcurrentHashMap.newKeySet() : subscriptions;
+            registered.add(subscription);
+            return registered;
+        });
+    }
+
+    void unregister(AccountId accountId, BalanceFeedSubscription subscription) {
+        // 購読者が空になった口座は索引から除き、購読者のいない口座の判定を索引の有無だけで行えるようにする
+        subscribers.computeIfPresent(accountId, (id, subscriptions) -> {
+            subscriptions.remove(subscription);
+            return subscriptions.isEmpty() ? null : subscriptions;
+        });
+    }
+
+    void schedule(Runnable drain) {
+        sender.execute(drain);
+    }
+
+    void sent(int updates) {
+        sentUpdates.increment(updates);
+    }
+
+    void disconnected() {
+        connected.decrementAndGet();
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.banking.application.feed;
+
+import com.example.banking.application.event.DomainEventProperties;
+import com.example.banking.application.event.EventBatch;
+import com.example.banking.application.event.EventBatchEncoder;
+import com.example.banking.application.event.EventTransport;
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.AccountRepository;
+import com.example.banking.domain.event.AccountBalanceChanged;
+import com.example.banking.domain.event.AccountHoldChanged;
+import com.example.banking.domain.event.DomainEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ドメインイベントの発行先（{@link EventTransport}）を購読し、残高が変化した口座の残高を{@link BalanceFeed}に渡すコンポーネント。
+ *
+ * 残高の変化（{@link AccountBalanceChanged}）と与信の拘束・解除（{@link AccountHoldChanged}）のイベントのうち、
+ * このノードに購読者がいる口座のみを、コミット後の口座を読み直して配信します。
+ * イベントには利用可能残高と口座のバージョンが含まれないため、口座の照会で最新の状態を取得します。
+ * 同じバッチに同じ口座のイベントが複数ある場合も、読み直すのは1回です。
+ *
+ * 読み直しは1つのスレッドで順に行い、発行先のスレッドを待たせません。
+ * 読み直しが追いつかず待ちが{@link #QUEUE_CAPACITY}に達した場合は、発行先のスレッドで読み直します。
+ * ドメインイベントの発行（{@code banking.events.enabled}）が無効な場合は起動できません。
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "banking.feed", name = "enabled", havingValue = "true")
+public class BalanceFeedEventListener {
+
+    /** 読み直しを待つバッチの上限 */
+    static final int QUEUE_CAPACITY = 1000;
+
+    private final BalanceFeed feed;
+    private final AccountRepository accountRepository;
+    private final EventTransport transport;
+    private final EventBatchEncoder encoder;
+    private final ExecutorService refresher;
+
+    @Autowired
+    public BalanceFeedEventListener(BalanceFeed feed, AccountRepository accountRepository, EventTransport transport,
+                                    EventBatchEncoder encoder, DomainEventProperties eventProperties) {
+        this(feed, accountRepository, transport, encoder, newRefresher());
+        if (!eventProperties.enabled()) {
+            throw new IllegalStateException("banking.feed.enabled requires banking.events.enabled");
+        }
+    }
+
+    BalanceFeedEventListener(BalanceFeed feed, AccountRepository accountRepository, EventTransport transport,
+                             EventBatchEncoder encoder, ExecutorService refresher) {
+        this.feed = feed;
+        this.accountRepository = accountRepository;
+        this.transport = transport;
+        this.encoder = encoder;
+        this.refresher = refresher;
+    }
+
+    private static ExecutorService newRefresher() {
+        return new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "balance-feed-refresh");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PostConstruct
+    void subscribe() {
+        transport.subscribe(batch -> refresher.execute(() -> refresh(batch)));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    void refresh(EventBatch batch) {
+        try {
+            Set<AccountId> changed = new LinkedHashSet<>();
+            for (DomainEvent event : encoder.decode(batch.compression().decompress(batch.payload()))) {
+                if ((event instanceof AccountBalanceChanged || event instanceof AccountHoldChanged)
+                        && feed.isFollowed(event.partitionKey())) {
+                    changed.add(event.partitionKey());
+                }
+            }
+            changed.forEach(accountId -> accountRepository.findById(accountId).ifPresent(feed::notifyCommitted));
+        } catch (RuntimeException e) {
+            log.warn("Failed to refresh balances from domain event batch on partition {}", batch.partition(), e);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.banking.application.feed;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 残高の変化の配信（WebSocket）の設定値。
+ *
+ * @param enabled 残高の変化を配信するかどうか。ドメインイベントの発行（{@code banking.events.enabled}）が必要
+ * @param maxSubscribers 1ノードで同時に接続できる購読者の上限。これを超えた接続は拒否する
+ * @param maxAccountsPerSubscriber 1つの購読者が購読できる口座の上限。未送信の更新も口座ごとに1件までのため、購読者ごとのバッファの上限となる
+ * @param sendThreads 購読者への送信を行うスレッドの数
+ * @param sendTimeout 1回の送信で、購読者の受信を待つ時間。これを超えた購読者は切断する
+ */
+@ConfigurationProperties(prefix = "banking.feed")
+public record BalanceFeedProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("200000") int maxSubscribers,
+        @DefaultValue("100") int maxAccountsPerSubscriber,
+        @DefaultValue("8") int sendThreads,
+        @DefaultValue("PT5S") Duration sendTimeout
+) {
+}
@@ -0,0 +1,156 @@
+package com.example.banking.application.feed;
+
+import com.example.banking.domain.account.AccountId;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 1つの購読者（WebSocketの接続など）の購読と、未送信の更新のバッファ。
+ *
+ * 未送信の更新は口座ごとに最新の1件のみを保持し（コンフレーション）、新しい更新が届くと古い更新を置き換えます。
+ * 受信の遅い購読者には途中の残高が届かず、最新の残高のみが届きます。
+ * バッファは購読している口座の数を超えないため、受信の遅い購読者がいてもメモリの使用量は増え続けません。
+ *
+ * 送信は購読者ごとに同時に1つだけ行い、送信中に届いた更新は次の送信でまとめて送ります。
+ */
+@Slf4j
+public final class BalanceFeedSubscription {
+
+    /**
+     * 購読者への送信先。
+     */
+    @FunctionalInterface
+    public interface Sink {
+
+        /**
+         * 更新を購読者に送信します。
+         *
+         * @param updates 口座ごとに最新の更新
+         * @throws Exception 送信に失敗した場合。購読者は切断される
+         */
+        void send(List<BalanceUpdate> updates) throws Exception;
+    }
+
+    private final BalanceFeed feed;
+    private final Sink sink;
+    private final Set<AccountId> accounts = new HashSet<>();
+    private final Map<AccountId, BalanceUpdate> pending = new LinkedHashMap<>();
+    private boolean sending;
+    private boolean closed;
+
+    BalanceFeedSubscription(BalanceFeed feed, Sink sink) {
+        this.feed = feed;
+        this.sink = sink;
+    }
+
+    /**
+     * 口座を購読します。
+     *
+     * @param accountId 口座ID
+     * @return 購読できた場合（購読済みの場合を含む）はtrue。購読できる口座の上限に達している場合はfalse
+     */
+    public synchronized boolean subscribe(AccountId accountId) {
+        if (closed) {
+            return false;
+        }
+        if (accounts.contains(accountId)) {
+            return true;
+        }
+        if (accounts.size() >= feed.maxAccountsPerSubscriber()) {
+            return false;
+        }
+        accounts.add(accountId);
+        feed.register(accountId, this);
+        return true;
+    }
+
+    /**
+     * 口座の購読をやめます。未送信の更新も破棄します。
+     */
+    public synchronized void unsubscribe(AccountId accountId) {
+        if (accounts.remove(accountId)) {
+            pending.remove(accountId);
+            feed.unregister(accountId, this);
+        }
+    }
+
+    /**
+     * すべての購読をやめ、購読者を切断します。
+     */
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            accounts.forEach(accountId -> feed.unregister(accountId, this));
+            accounts.clear();
+            pending.clear();
+        }
+        feed.disconnected();
+    }
+
+    /**
+     * 購読している口座の数を返します。
+     */
+    public synchronized int accountCount() {
+        return accounts.size();
+    }
+
+    /**
+     * 更新をバッファに入れ、送信中でなければ送信を依頼します。
+     *
+     * @return 未送信の同じ口座の更新を置き換えた場合はtrue
+     */
+    boolean offer(BalanceUpdate update) {
+        boolean conflated;
+        synchronized (this) {
+            if (closed || !accounts.contains(update.accountId())) {
+                return false;
+            }
+            BalanceUpdate previous = pending.get(update.accountId());
+            conflated = previous != null;
+            pending.put(update.accountId(), previous == null ? update : previous.newer(update));
+            if (sending) {
+                return conflated;
+            }
+            sending = true;
+        }
+        feed.schedule(this::drain);
+        return conflated;
+    }
+
+    /**
+     * バッファが空になるまで、溜まった更新をまとめて送信します。
+     */
+    private void drain() {
+        while (true) {
+            List<BalanceUpdate> updates;
+            synchronized (this) {
+                if (closed || pending.isEmpty()) {
+                    sending = false;
+                    return;
+                }
+                updates = new ArrayList<>(pending.values());
+                pending.clear();
+            }
+            try {
+                sink.send(updates);
+                feed.sent(updates.size());
+            } catch (Exception e) {
+                log.debug("Failed to send balance updates. Closing the subscription", e);
+                synchronized (this) {
+                    sending = false;
+                }
+                close();
+                return;
+            }
+        }
+    }
+}
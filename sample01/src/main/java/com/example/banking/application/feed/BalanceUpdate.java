@@ -0,0 +1,31 @@
+package com.example.banking.application.feed;
+
+import com.example.banking.domain.account.Account;
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.Money;
+
+/**
+ * 購読者に配信する、コミットされた口座の残高。
+ * 同じ口座の更新が前後して届いた場合は、バージョンの大きい方が新しい残高です。
+ *
+ * @param accountId 口座ID
+ * @param balance 残高（元帳残高）
+ * @param availableBalance 利用可能残高
+ * @param version 口座のバージョン
+ */
+public record BalanceUpdate(AccountId accountId, Money balance, Money availableBalance, long version) {
+
+    /**
+     * コミット後に読み込んだ口座から、配信する残高を作成します。
+     */
+    public static BalanceUpdate of(Account account) {
+        return new BalanceUpdate(account.getId(), account.getBalance(), account.getAvailableBalance(), account.getVersion());
+    }
+
+    /**
+     * 2つの更新のうち新しい方を返します。
+     */
+    BalanceUpdate newer(BalanceUpdate other) {
+        return other.version >= version ? other : this;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.banking.application.fx;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 為替に関する設定値。
+ *
+ * @param feedLocation 為替レートの配信元（`classpath:`、`file:`、`http(s):`のいずれかで始まるリソースの場所）
+ * @param refreshInterval 為替レートを再読み込みする間隔
+ * @param quoteTtl 為替見積もりの有効期間。この期間内に実行された振込には見積もり時のレートが適用される
+ */
+@ConfigurationProperties(prefix = "banking.fx")
+public record FxProperties(
+        @DefaultValue("classpath:fx/rates.csv") String feedLocation,
+        @DefaultValue("PT1M") Duration refreshInterval,
+        @DefaultValue("PT30S") Duration quoteTtl
+) {
+}
@@ -0,0 +1,13 @@
+package com.example.banking.application.fx;
+
+import com.example.banking.domain.fx.FxQuoteId;
+
+/**
+ * 為替見積もりが存在しないか、有効期限が切れていることを示す例外。
+ * クライアントには見積もりを取り直してから振込を再依頼するよう促します。
+ */
+public class FxQuoteExpiredException extends RuntimeException {
+    public FxQuoteExpiredException(FxQuoteId quoteId) {
+        super("FX quote is unknown or has expired: " + quoteId.value());
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.banking.application.fx;
+
+import com.example.banking.domain.fx.FxQuote;
+import com.example.banking.domain.fx.FxQuoteId;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * 為替見積もりを永続化するためのリポジトリインターフェース。
+ * 見積もりを発行したインスタンスとは別のインスタンスが振込を受け付けても見積もりを使えるよう、
+ * 見積もりはアプリケーションのインスタンス間で共有するストアに保持します。
+ */
+public interface FxQuoteRepository {
+
+    /**
+     * 見積もりを保存します。
+     *
+     * @param quote 発行した見積もり
+     */
+    void save(FxQuote quote);
+
+    /**
+     * IDで見積もりを検索します。有効期限切れの見積もりも、削除されるまでは返します。
+     *
+     * @param id 見積もりID
+     * @return 見つかった場合はOptionalでラップされた見積もり、見つからない場合は空のOptional
+     */
+    Optional<FxQuote> findById(FxQuoteId id);
+
+    /**
+     * 有効期限切れの見積もりを削除します。
+     *
+     * @param now 現在時刻。この時刻までに有効期限を迎えた見積もりを削除する
+     * @return 削除した見積もりの数
+     */
+    int deleteExpired(Instant now);
+}
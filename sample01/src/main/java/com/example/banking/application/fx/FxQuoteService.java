@@ -0,0 +1,123 @@
+package com.example.banking.application.fx;
+
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.Money;
+import com.example.banking.domain.fx.ExchangeRate;
+import com.example.banking.domain.fx.FxQuote;
+import com.example.banking.domain.fx.FxQuoteId;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Currency;
+
+/**
+ * 為替見積もりを発行・照会するアプリケーションサービス。
+ *
+ * 見積もりは現在のレートを有効期限付きでロックしたものです。
+ * 有効期限までに依頼された振込は見積もりのレートで換算され、Sagaも実行時に有効期限を確認します。
+ * 見積もりはインスタンス間で共有するストア（{@link FxQuoteRepository}）に保持するため、
+ * 見積もりを発行したインスタンスとは別のインスタンスで振込を受け付けても、見積もりのレートで換算されます。
+ * 期限切れの見積もりは定期的に削除します。
+ */
+@Slf4j
+@Service
+public class FxQuoteService {
+
+    private final FxRateProvider rateProvider;
+    private final FxProperties properties;
+    private final FxQuoteRepository quoteRepository;
+    private final Clock clock;
+
+    @Autowired
+    public FxQuoteService(FxRateProvider rateProvider, FxProperties properties, FxQuoteRepository quoteRepository) {
+        this(rateProvider, properties, quoteRepository, Clock.systemUTC());
+    }
+
+    FxQuoteService(FxRateProvider rateProvider, FxProperties properties, FxQuoteRepository quoteRepository, Clock clock) {
+        this.rateProvider = rateProvider;
+        this.properties = properties;
+        this.quoteRepository = quoteRepository;
+        this.clock = clock;
+    }
+
+    /**
+     * 通貨ペアの為替見積もりを発行します。
+     *
+     * @param from 換算元通貨（送金元口座の通貨）
+     * @param to 換算先通貨（送金先口座の通貨）
+     * @return 発行した見積もり
+     * @throws FxRateUnavailableException 通貨ペアのレートが提供されていない場合
+     */
+    public FxQuote quote(Currency from, Currency to) {
+        ExchangeRate rate = rateProvider.current().find(from, to)
+                .orElseThrow(() -> new FxRateUnavailableException(from, to));
+        FxQuote quote = new FxQuote(FxQuoteId.newId(), rate, clock.instant().plus(properties.quoteTtl()));
+        quoteRepository.save(quote);
+        return quote;
+    }
+
+    /**
+     * 有効期限内の見積もりを取得します。
+     *
+     * @param quoteId 見積もりID
+     * @return 見積もり
+     * @throws FxQuoteExpiredException 見積もりが存在しないか、有効期限が切れている場合
+     */
+    public FxQuote getValidQuote(FxQuoteId quoteId) {
+        Instant now = clock.instant();
+        return quoteRepository.findById(quoteId)
+                .filter(quote -> !quote.isExpired(now))
+                .orElseThrow(() -> new FxQuoteExpiredException(quoteId));
+    }
+
+    /**
+     * 振込の通貨を口座の通貨と照合し、通貨をまたぐ振込では換算に使う有効期限内の見積もりを返します。
+     * 振込金額は振込元口座の通貨で、換算後の金額（見積もりがなければ振込金額）は振込先口座の通貨でなければなりません。
+     *
+     * @param sourceAccountId 振込元口座ID
+     * @param sourceCurrency 振込元口座の通貨
+     * @param destinationAccountId 振込先口座ID
+     * @param destinationCurrency 振込先口座の通貨
+     * @param money 振込金額
+     * @param quoteId 為替見積もりID。指定しない場合はnull
+     * @return 換算に使う見積もり。同じ通貨の口座間の振込ではnull
+     * @throws TransferCurrencyMismatchException 振込金額・見積もりの通貨が口座の通貨と一致しない場合
+     * @throws FxQuoteExpiredException 見積もりが存在しないか、有効期限が切れている場合
+     */
+    public FxQuote quoteForTransfer(AccountId sourceAccountId, Currency sourceCurrency, AccountId destinationAccountId,
+                                    Currency destinationCurrency, Money money, FxQuoteId quoteId) {
+        if (!money.currency().equals(sourceCurrency)) {
+            throw TransferCurrencyMismatchException.ofSource(sourceAccountId, sourceCurrency, money.currency());
+        }
+        if (quoteId == null) {
+            if (!sourceCurrency.equals(destinationCurrency)) {
+                throw TransferCurrencyMismatchException.ofDestination(destinationAccountId, destinationCurrency, sourceCurrency, false);
+            }
+            return null;
+        }
+        if (sourceCurrency.equals(destinationCurrency)) {
+            throw TransferCurrencyMismatchException.ofUnneededQuote(destinationAccountId, destinationCurrency);
+        }
+        FxQuote quote = getValidQuote(quoteId);
+        if (!quote.rate().from().equals(sourceCurrency)) {
+            throw TransferCurrencyMismatchException.ofSource(sourceAccountId, sourceCurrency, quote.rate().from());
+        }
+        if (!quote.rate().to().equals(destinationCurrency)) {
+            throw TransferCurrencyMismatchException.ofDestination(destinationAccountId, destinationCurrency, quote.rate().to(), true);
+        }
+        return quote;
+    }
+
+    /**
+     * 有効期限切れの見積もりを削除します。
+     */
+    @Scheduled(fixedDelayString = "${banking.fx.quote-ttl:PT30S}")
+    public void evictExpired() {
+        int evicted = quoteRepository.deleteExpired(clock.instant());
+        log.debug("Evicted {} expired FX quotes", evicted);
+    }
+}
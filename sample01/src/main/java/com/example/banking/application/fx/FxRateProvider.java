@@ -0,0 +1,34 @@
+package com.example.banking.application.fx;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 現在有効な為替レートのテーブルを保持するコンポーネント。
+ *
+ * テーブルは不変オブジェクトであり、更新時は参照のみを差し替えます。
+ * 参照側は常に一貫した1時点のテーブルを読み、更新の途中状態を見ることはありません。
+ */
+@Component
+public class FxRateProvider {
+
+    private final AtomicReference<FxRateTable> table = new AtomicReference<>(FxRateTable.EMPTY);
+
+    /**
+     * 現在有効なテーブルを返します。
+     */
+    public FxRateTable current() {
+        return table.get();
+    }
+
+    /**
+     * テーブルを差し替えます。
+     *
+     * @param newTable 新しいテーブル
+     * @return 差し替える前のテーブル
+     */
+    public FxRateTable replace(FxRateTable newTable) {
+        return table.getAndSet(newTable);
+    }
+}
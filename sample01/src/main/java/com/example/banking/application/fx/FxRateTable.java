@@ -0,0 +1,78 @@
+package com.example.banking.application.fx;
+
+import com.example.banking.domain.fx.ExchangeRate;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * ある時点の為替レートの一覧（不変オブジェクト）。
+ *
+ * 生成後は変更されないため、複数のスレッドからロックなしで参照できます。
+ * レートの更新は、新しいテーブルを生成して{@link FxRateProvider}が保持する参照を差し替えることで行います。
+ * 配信元が片方向のレートしか提供しない通貨ペアは、生成時に逆方向のレートを計算して保持します。
+ */
+public final class FxRateTable {
+
+    public static final FxRateTable EMPTY = new FxRateTable(Instant.EPOCH, Map.of());
+
+    private final Instant asOf;
+    /** 換算元通貨 → 換算先通貨 → レート */
+    private final Map<Currency, Map<Currency, ExchangeRate>> rates;
+
+    private FxRateTable(Instant asOf, Map<Currency, Map<Currency, ExchangeRate>> rates) {
+        this.asOf = asOf;
+        this.rates = rates;
+    }
+
+    /**
+     * レートの一覧からテーブルを生成します。
+     *
+     * @param asOf レートの基準時刻
+     * @param exchangeRates レートの一覧
+     * @return 新しいテーブル
+     */
+    public static FxRateTable of(Instant asOf, Collection<ExchangeRate> exchangeRates) {
+        Map<Currency, Map<Currency, ExchangeRate>> rates = new HashMap<>();
+        // 明示されたレートを優先するため、先に逆方向のレートを登録し、後から上書きする
+        for (ExchangeRate rate : exchangeRates) {
+            BigDecimal inverse = BigDecimal.ONE.divide(rate.rate(), MathContext.DECIMAL64);
+            rates.computeIfAbsent(rate.to(), c -> new HashMap<>()).put(rate.from(), new ExchangeRate(rate.to(), rate.from(), inverse));
+        }
+        for (ExchangeRate rate : exchangeRates) {
+            rates.computeIfAbsent(rate.from(), c -> new HashMap<>()).put(rate.to(), rate);
+        }
+        Map<Currency, Map<Currency, ExchangeRate>> immutable = new HashMap<>();
+        rates.forEach((from, byTo) -> immutable.put(from, Map.copyOf(byTo)));
+        return new FxRateTable(asOf, Map.copyOf(immutable));
+    }
+
+    /**
+     * 通貨ペアのレートを検索します。
+     *
+     * @param from 換算元通貨
+     * @param to 換算先通貨
+     * @return レート。テーブルに存在しない場合は空のOptional
+     */
+    public Optional<ExchangeRate> find(Currency from, Currency to) {
+        Map<Currency, ExchangeRate> byTo = rates.get(from);
+        return byTo == null ? Optional.empty() : Optional.ofNullable(byTo.get(to));
+    }
+
+    public Instant getAsOf() {
+        return asOf;
+    }
+
+    /**
+     * テーブルに含まれる通貨ペア（片方向）の数。
+     */
+    public int size() {
+        return rates.values().stream().mapToInt(Map::size).sum();
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.banking.application.fx;
+
+import java.util.Currency;
+
+/**
+ * 指定された通貨ペアの為替レートが提供されていないことを示す例外。
+ */
+public class FxRateUnavailableException extends RuntimeException {
+    public FxRateUnavailableException(Currency from, Currency to) {
+        super("Exchange rate is not available: " + from + "/" + to);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.banking.application.fx;
+
+import com.example.banking.domain.account.AccountId;
+
+import java.util.Currency;
+
+/**
+ * 振込金額・為替見積もりの通貨が、振込元・振込先の口座の通貨と一致しないことを示す例外。
+ * 通貨をまたぐ振込で見積もりを指定しなかった場合や、同じ通貨の口座間の振込で見積もりを指定した場合も含みます。
+ */
+public class TransferCurrencyMismatchException extends IllegalArgumentException {
+
+    private final AccountId accountId;
+
+    public TransferCurrencyMismatchException(String message, AccountId accountId) {
+        super(message);
+        this.accountId = accountId;
+    }
+
+    /**
+     * 振込元口座の通貨と振込金額の通貨が異なる場合の例外を生成します。
+     */
+    public static TransferCurrencyMismatchException ofSource(AccountId accountId, Currency accountCurrency, Currency transferCurrency) {
+        return new TransferCurrencyMismatchException("Transfer currency " + transferCurrency + " does not match the source account currency "
+                + accountCurrency + ": " + accountId.value(), accountId);
+    }
+
+    /**
+     * 振込先口座の通貨と、換算後の通貨（見積もりがなければ振込金額の通貨）が異なる場合の例外を生成します。
+     */
+    public static TransferCurrencyMismatchException ofDestination(AccountId accountId, Currency accountCurrency, Currency creditCurrency,
+                                                                 boolean quoted) {
+        String reason = quoted
+                ? "Quoted currency " + creditCurrency + " does not match the destination account currency " + accountCurrency
+                : "Transfers to an account in " + accountCurrency + " from " + creditCurrency + " require an FX quote";
+        return new TransferCurrencyMismatchException(reason + ": " + accountId.value(), accountId);
+    }
+
+    /**
+     * 同じ通貨の口座間の振込で、為替見積もりが指定された場合の例外を生成します。
+     */
+    public static TransferCurrencyMismatchException ofUnneededQuote(AccountId accountId, Currency currency) {
+        return new TransferCurrencyMismatchException("An FX quote must not be given for a transfer between accounts in " + currency
+                + ": " + accountId.value(), accountId);
+    }
+
+    public AccountId getAccountId() {
+        return accountId;
+    }
+}
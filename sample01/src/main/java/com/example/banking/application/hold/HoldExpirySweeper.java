@@ -0,0 +1,121 @@
+package com.example.banking.application.hold;
+
+import com.example.banking.application.service.DatabaseShards;
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.AccountRepository;
+import com.example.banking.domain.account.Money;
+import com.example.banking.domain.hold.Hold;
+import com.example.banking.domain.hold.HoldRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 有効期限を過ぎた与信を解除するバックグラウンド処理。
+ *
+ * 有効期限のインデックスを使い、期限切れの与信だけをシャードごとに有効期限の順に読み込みます。
+ * 未確定の与信の件数が増えても、1回の走査で読み込むのは期限切れの与信のみです。
+ * {@code sweepBatchSize}件ごとに1つのトランザクションで与信を期限切れにし、口座ごとに合計した額を1回の更新で拘束から解除します。
+ * 確定中の与信や他のインスタンスが解除中の与信は読み飛ばすため、与信の確定と待ち合わせることはありません。
+ */
+@Slf4j
+@Component
+public class HoldExpirySweeper {
+
+    private final HoldRepository holdRepository;
+    private final AccountRepository accountRepository;
+    private final DatabaseShards shards;
+    private final HoldProperties properties;
+    private final TransactionTemplate sweepTransaction;
+    private final Clock clock;
+    private final Counter expirations;
+    private final Timer expiryLag;
+
+    @Autowired
+    public HoldExpirySweeper(HoldRepository holdRepository,
+                             AccountRepository accountRepository,
+                             DatabaseShards shards,
+                             HoldProperties properties,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        this(holdRepository, accountRepository, shards, properties, transactionManager, meterRegistry, Clock.systemUTC());
+    }
+
+    HoldExpirySweeper(HoldRepository holdRepository,
+                      AccountRepository accountRepository,
+                      DatabaseShards shards,
+                      HoldProperties properties,
+                      PlatformTransactionManager transactionManager,
+                      MeterRegistry meterRegistry,
+                      Clock clock) {
+        this.holdRepository = holdRepository;
+        this.accountRepository = accountRepository;
+        this.shards = shards;
+        this.properties = properties;
+        this.sweepTransaction = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.expirations = Counter.builder("banking.hold.expirations")
+                .description("Holds released by the expiry sweeper")
+                .register(meterRegistry);
+        this.expiryLag = Timer.builder("banking.hold.expiry.lag")
+                .description("Delay between the expiry of a hold and its release by the sweeper")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 期限切れの与信をシャードごとにすべて解除します。
+     *
+     * @return 解除した与信の件数
+     */
+    @Scheduled(fixedDelayString = "${banking.hold.sweep-interval:PT10S}")
+    public long sweep() {
+        if (!properties.sweepEnabled()) {
+            return 0;
+        }
+        Instant now = clock.instant();
+        long expired = 0;
+        for (String shard : shards.names()) {
+            while (true) {
+                int released = shards.callOn(shard, () -> sweepTransaction.execute(status -> expireBatch(now)));
+                expired += released;
+                if (released < properties.sweepBatchSize()) {
+                    break;
+                }
+            }
+        }
+        if (expired > 0) {
+            log.debug("Released {} holds expired before {}", expired, now);
+        }
+        return expired;
+    }
+
+    private int expireBatch(Instant now) {
+        List<Hold> holds = holdRepository.findExpiredForUpdate(now, properties.sweepBatchSize());
+        // デッドロックを避けるため、口座はIDの昇順に更新する
+        Map<AccountId, Money> releases = new TreeMap<>(Comparator.comparing(AccountId::value));
+        for (Hold hold : holds) {
+            hold.expire(now);
+            holdRepository.update(hold);
+            releases.merge(hold.getAccountId(), hold.getAmount(), Money::add);
+        }
+        releases.forEach(accountRepository::releaseHold);
+        Instant releasedAt = clock.instant();
+        holds.forEach(hold -> expiryLag.record(Duration.between(hold.getExpiresAt(), releasedAt)));
+        expirations.increment(holds.size());
+        return holds.size();
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.banking.application.hold;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 与信（オーソリゼーション）の設定値。
+ *
+ * @param defaultTtl 登録時に有効期間を指定しない与信の有効期間
+ * @param maxTtl 与信の有効期間の上限
+ * @param sweepEnabled 期限切れの与信を解除するかどうか
+ * @param sweepInterval 期限切れの与信を探す間隔
+ * @param sweepBatchSize 1つのトランザクションで解除する与信の件数
+ */
+@ConfigurationProperties(prefix = "banking.hold")
+public record HoldProperties(
+        @DefaultValue("P7D") Duration defaultTtl,
+        @DefaultValue("P30D") Duration maxTtl,
+        @DefaultValue("true") boolean sweepEnabled,
+        @DefaultValue("PT10S") Duration sweepInterval,
+        @DefaultValue("500") int sweepBatchSize
+) {
+}
@@ -0,0 +1,141 @@
+package com.example.banking.application.hold;
+
+import com.example.banking.domain.account.Account;
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.AccountNotFoundException;
+import com.example.banking.domain.account.AccountRepository;
+import com.example.banking.domain.account.InsufficientBalanceException;
+import com.example.banking.domain.account.Money;
+import com.example.banking.domain.hold.Hold;
+import com.example.banking.domain.hold.HoldId;
+import com.example.banking.domain.hold.HoldNotFoundException;
+import com.example.banking.domain.hold.HoldRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * 与信（オーソリゼーション）の登録・確定・解除・照会を行うアプリケーションサービス。
+ *
+ * 口座の拘束額の合計は、口座を読み込まずに{@link AccountRepository#placeHold}などの条件付き更新で増減します。
+ * 同じ口座に与信が集中しても、口座の読み込みや楽観的ロックの再試行は発生せず、1件あたりのSQLの数は一定です。
+ * 与信の確定と解除は与信の楽観的ロックで直列化するため、同じ与信が二重に確定・解除されることはありません。
+ * 拘束・確定・解除のドメインイベントは、リポジトリが条件付き更新と同じトランザクションで発行します。
+ * 変化した残高・利用可能残高は、そのイベントから購読者に配信されます（{@link com.example.banking.application.feed.BalanceFeed}）。
+ * 有効期限を過ぎた与信は{@link HoldExpirySweeper}が解除します。
+ */
+@Service
+public class HoldService {
+
+    private final HoldRepository holdRepository;
+    private final AccountRepository accountRepository;
+    private final HoldProperties properties;
+    private final Clock clock;
+
+    @Autowired
+    public HoldService(HoldRepository holdRepository, AccountRepository accountRepository, HoldProperties properties) {
+        this(holdRepository, accountRepository, properties, Clock.systemUTC());
+    }
+
+    HoldService(HoldRepository holdRepository, AccountRepository accountRepository, HoldProperties properties, Clock clock) {
+        this.holdRepository = holdRepository;
+        this.accountRepository = accountRepository;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    /**
+     * 口座の資金を拘束する与信を登録します。
+     *
+     * @param accountId 資金を拘束する口座ID
+     * @param amount 拘束する金額（口座の通貨）
+     * @param ttl 有効期間。nullの場合は設定値の既定の有効期間
+     * @return 登録された与信
+     * @throws AccountNotFoundException 口座が存在しない場合
+     * @throws InsufficientBalanceException 利用可能残高が不足している場合
+     * @throws IllegalArgumentException 金額・通貨・有効期間が不正な場合
+     */
+    @Transactional
+    public Hold placeHold(AccountId accountId, Money amount, Duration ttl) {
+        Duration validity = ttl == null ? properties.defaultTtl() : ttl;
+        if (validity.compareTo(properties.maxTtl()) > 0) {
+            throw new IllegalArgumentException("Hold must not be valid for longer than " + properties.maxTtl() + ".");
+        }
+        Instant now = clock.instant();
+        Hold hold = Hold.place(accountId, amount, now.plus(validity), now);
+        if (accountRepository.placeHold(accountId, amount).isEmpty()) {
+            throw rejectionOf(accountId, amount);
+        }
+        holdRepository.save(hold);
+        return hold;
+    }
+
+    /**
+     * 与信を確定し、確定額を口座から出金します。確定額との差額の拘束は解除されます。
+     *
+     * @param id 与信ID
+     * @param amount 確定する金額。nullの場合は与信の金額
+     * @return 確定された与信
+     * @throws HoldNotFoundException 与信が存在しない場合
+     * @throws IllegalStateException 与信が確定・解除済み、または有効期限を過ぎている場合
+     */
+    @Transactional
+    public Hold capture(HoldId id, Money amount) {
+        Hold hold = holdRepository.findById(id).orElseThrow(() -> new HoldNotFoundException(id));
+        hold.capture(amount == null ? hold.getAmount() : amount, clock.instant());
+        // 与信を先に更新し、並行する確定・解除・期限切れとの競合を口座の更新より前に検出する
+        holdRepository.update(hold);
+        accountRepository.captureHold(hold.getAccountId(), hold.getAmount(), hold.getCapturedAmount());
+        return hold;
+    }
+
+    /**
+     * 与信を解除し、拘束していた資金を利用可能残高に戻します。解除済みの与信を再度解除しても成功とします。
+     *
+     * @param id 与信ID
+     * @return 解除された与信
+     * @throws HoldNotFoundException 与信が存在しない場合
+     * @throws IllegalStateException 与信が確定済みの場合
+     */
+    @Transactional
+    public Hold release(HoldId id) {
+        Hold hold = holdRepository.findById(id).orElseThrow(() -> new HoldNotFoundException(id));
+        boolean open = hold.getStatus() == Hold.Status.OPEN;
+        hold.release();
+        if (open) {
+            holdRepository.update(hold);
+            accountRepository.releaseHold(hold.getAccountId(), hold.getAmount());
+        }
+        return hold;
+    }
+
+    /**
+     * 与信を照会します。
+     *
+     * @param id 与信ID
+     * @return 見つかった与信。見つからない場合はOptional.empty()
+     */
+    @Transactional(readOnly = true)
+    public Optional<Hold> getHold(HoldId id) {
+        return holdRepository.findById(id);
+    }
+
+    /**
+     * 拘束できなかった理由を、口座を読み込んで判定します。拒否された場合のみ実行するため、成功時の負荷には影響しません。
+     */
+    private RuntimeException rejectionOf(AccountId accountId, Money amount) {
+        Optional<Account> account = accountRepository.findById(accountId);
+        if (account.isEmpty()) {
+            return new AccountNotFoundException(accountId);
+        }
+        if (!account.get().getBalance().currency().equals(amount.currency())) {
+            return new IllegalArgumentException("Hold currency does not match the account currency.");
+        }
+        return new InsufficientBalanceException("Insufficient available balance.");
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.banking.application.interest;
+
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.Money;
+
+/**
+ * 利息計上の対象となる口座の残高とバージョン。
+ * 口座アグリゲート全体を再構築せず、利息の計算と楽観的ロックに必要な列だけを読み込みます。
+ *
+ * @param accountId 口座ID
+ * @param balance 読み込んだ時点の残高
+ * @param version 読み込んだ時点のバージョン
+ */
+public record AccountBalanceSnapshot(AccountId accountId, Money balance, long version) {
+}
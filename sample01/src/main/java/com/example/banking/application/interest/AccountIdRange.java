@@ -0,0 +1,38 @@
+package com.example.banking.application.interest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 口座IDの範囲（パーティション）。
+ *
+ * 口座IDはランダムなUUIDのため、上位64ビットを等分すれば各範囲の口座数はほぼ均等になります。
+ * 範囲の比較は、PostgreSQL・H2のUUID型と同じく符号なしのバイト順で行われる前提です。
+ *
+ * @param partition パーティション番号（0始まり）
+ * @param lowerInclusive 範囲の下限（この値を含む）
+ * @param upperExclusive 範囲の上限（この値を含まない）。最後のパーティションではnull（上限なし）
+ */
+public record AccountIdRange(int partition, UUID lowerInclusive, UUID upperExclusive) {
+
+    /**
+     * UUIDの全範囲を指定した数のパーティションに分割します。
+     *
+     * @param partitions パーティション数
+     * @return パーティションの一覧（IDの昇順）
+     */
+    public static List<AccountIdRange> split(int partitions) {
+        if (partitions <= 0) {
+            throw new IllegalArgumentException("Partitions must be positive: " + partitions);
+        }
+        List<AccountIdRange> ranges = new ArrayList<>(partitions);
+        long step = Long.divideUnsigned(-1L, partitions);
+        for (int i = 0; i < partitions; i++) {
+            UUID lower = new UUID(step * i, 0L);
+            UUID upper = i == partitions - 1 ? null : new UUID(step * (i + 1), 0L);
+            ranges.add(new AccountIdRange(i, lower, upper));
+        }
+        return ranges;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.banking.application.interest;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * パーティションごとの利息計上の進捗。
+ * チャンクの利息計上と同じトランザクションで更新されるため、再実行時はコミット済みの口座の次から再開できます。
+ *
+ * @param businessDate 利息を計上する営業日
+ * @param partition パーティション番号
+ * @param lastAccountId 利息を計上した最後の口座ID。未着手の場合はnull
+ * @param accountsProcessed 利息を計上した口座数
+ * @param completed パーティションの処理が完了したかどうか
+ */
+public record InterestAccrualCheckpoint(
+        LocalDate businessDate,
+        int partition,
+        UUID lastAccountId,
+        long accountsProcessed,
+        boolean completed
+) {
+
+    public static InterestAccrualCheckpoint start(LocalDate businessDate, int partition) {
+        return new InterestAccrualCheckpoint(businessDate, partition, null, 0, false);
+    }
+
+    public InterestAccrualCheckpoint advance(UUID lastAccountId, int accounts) {
+        return new InterestAccrualCheckpoint(businessDate, partition, lastAccountId, accountsProcessed + accounts, false);
+    }
+
+    public InterestAccrualCheckpoint complete() {
+        return new InterestAccrualCheckpoint(businessDate, partition, lastAccountId, accountsProcessed, true);
+    }
+}
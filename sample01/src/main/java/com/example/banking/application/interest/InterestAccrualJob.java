@@ -0,0 +1,305 @@
+package com.example.banking.application.interest;
+
+import com.example.banking.application.service.DatabaseShards;
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.InterestRate;
+import com.example.banking.domain.account.Money;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 全口座に1日分の利息を計上するバッチ。
+ *
+ * 口座を口座IDの範囲でパーティションに分割し、パーティションごとに1スレッドで並列に処理します。
+ * 各パーティションはカーソルで口座をストリーミングに読み込み、チャンク単位に利息を計算して
+ * JDBCのバッチ更新で書き込み、チャンクごとに別トランザクションでコミットします。
+ *
+ * - オンライン取引への影響: 行ロックを保持するのは各チャンクのコミットまでの短い間だけです。
+ *   更新は口座IDの昇順で行うため、ファストパスの振込（同じく口座IDの昇順でロックする）とデッドロックしません。
+ *   読み込み後にオンライン取引で更新された口座は楽観的ロックで検出し、最新の残高から計算し直します。
+ * - 再開: チェックポイント（最後に計上した口座ID）をチャンクと同じトランザクションで更新するため、
+ *   失敗した営業日を再実行すると、コミット済みの口座の次から再開し、利息が二重に計上されることはありません。
+ * - シャーディング: 口座はシャードごとに独立して保持されるため、パーティションはシャードごとに作成し、
+ *   チェックポイントも各シャードに保持します（スレッド数はパーティション数×シャード数）。
+ */
+@Slf4j
+@Component
+public class InterestAccrualJob {
+
+    private final InterestAccrualRepository repository;
+    private final InterestAccrualProperties properties;
+    private final DatabaseShards shards;
+    private final InterestRate interestRate;
+    /**
+     * カーソルを保持するトランザクション（パーティションの読み込みが終わるまで継続する）。
+     * 読み取り専用トランザクションはリードレプリカに振り分けられ、レプリケーションの遅延により開設直後の口座を
+     * 読み飛ばすおそれがあるため、読み取り専用とせずプライマリで読み込む。
+     */
+    private final TransactionTemplate scanTransaction;
+    /** チャンクごとの書き込みトランザクション（読み込み中のトランザクションとは別にコミットする） */
+    private final TransactionTemplate chunkTransaction;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicInteger remainingPartitions = new AtomicInteger();
+    private final Counter accounts;
+    private final Counter conflicts;
+    private final Timer chunkTimer;
+    private final Timer runTimer;
+
+    public InterestAccrualJob(InterestAccrualRepository repository,
+                              InterestAccrualProperties properties,
+                              DatabaseShards shards,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.properties = properties;
+        this.shards = shards;
+        this.interestRate = new InterestRate(properties.annualRate(), properties.daysInYear());
+        this.scanTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.accounts = Counter.builder("banking.interest.accrual.accounts")
+                .description("Accounts whose daily interest has been accrued")
+                .register(meterRegistry);
+        this.conflicts = Counter.builder("banking.interest.accrual.conflicts")
+                .description("Accounts updated by online traffic while the accrual batch was running")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("banking.interest.accrual.chunk")
+                .description("Time to write and commit one chunk of interest postings")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("banking.interest.accrual.run")
+                .description("Time to accrue interest on all accounts")
+                .register(meterRegistry);
+        Gauge.builder("banking.interest.accrual.partitions.remaining", remainingPartitions, AtomicInteger::get)
+                .description("Partitions of the running accrual batch that have not finished yet")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 営業日の利息を計上します。
+     * 同じ営業日を再実行した場合は、完了していないパーティションのみを前回の続きから処理します。
+     *
+     * @param businessDate 利息を計上する営業日
+     * @return 実行結果
+     * @throws IllegalStateException バッチが実行中の場合、またはパーティション数が前回の実行と異なる場合
+     */
+    public InterestAccrualResult run(LocalDate businessDate) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Interest accrual is already running");
+        }
+        long startedAt = System.nanoTime();
+        try {
+            Map<String, List<InterestAccrualCheckpoint>> checkpoints = new LinkedHashMap<>();
+            for (String shard : shards.names()) {
+                checkpoints.put(shard, shards.callOn(shard, () -> loadCheckpoints(businessDate)));
+            }
+            List<AccountIdRange> ranges = AccountIdRange.split(properties.partitions());
+            long processed = processPartitions(ranges, checkpoints);
+
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+            runTimer.record(elapsed);
+            log.info("Interest accrual for {} finished: {} accounts in {} ({} accounts/s)",
+                    businessDate, processed, elapsed, perSecond(processed, elapsed));
+            if (elapsed.compareTo(properties.batchWindow()) > 0) {
+                log.warn("Interest accrual for {} exceeded the batch window of {}", businessDate, properties.batchWindow());
+            }
+            return new InterestAccrualResult(businessDate, processed, elapsed);
+        } finally {
+            remainingPartitions.set(0);
+            running.set(false);
+        }
+    }
+
+    /**
+     * バッチが実行中かどうかを返します。
+     */
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    private List<InterestAccrualCheckpoint> loadCheckpoints(LocalDate businessDate) {
+        return chunkTransaction.execute(status -> {
+            List<InterestAccrualCheckpoint> checkpoints = repository.findCheckpoints(businessDate);
+            if (checkpoints.isEmpty()) {
+                checkpoints = new ArrayList<>();
+                for (int partition = 0; partition < properties.partitions(); partition++) {
+                    checkpoints.add(InterestAccrualCheckpoint.start(businessDate, partition));
+                }
+                repository.createCheckpoints(checkpoints);
+            } else if (checkpoints.size() != properties.partitions()) {
+                // パーティションの境界が変わると、チェックポイントの口座IDから再開できなくなる
+                throw new IllegalStateException("Interest accrual for " + businessDate + " was started with "
+                        + checkpoints.size() + " partitions, but " + properties.partitions() + " are configured");
+            }
+            return checkpoints;
+        });
+    }
+
+    private long processPartitions(List<AccountIdRange> ranges, Map<String, List<InterestAccrualCheckpoint>> checkpoints) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(ranges.size() * checkpoints.size(), runnable -> {
+            Thread thread = new Thread(runnable, "interest-accrual-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (Map.Entry<String, List<InterestAccrualCheckpoint>> shardCheckpoints : checkpoints.entrySet()) {
+                String shard = shardCheckpoints.getKey();
+                for (AccountIdRange range : ranges) {
+                    InterestAccrualCheckpoint checkpoint = shardCheckpoints.getValue().get(range.partition());
+                    if (checkpoint.completed()) {
+                        continue;
+                    }
+                    remainingPartitions.incrementAndGet();
+                    futures.add(executor.submit(() -> {
+                        try {
+                            return shards.callOn(shard, () -> new PartitionWorker(shard, range, checkpoint).process());
+                        } finally {
+                            remainingPartitions.decrementAndGet();
+                        }
+                    }));
+                }
+            }
+            // 失敗したパーティションがあっても、他のパーティションは最後まで処理してから失敗を通知する
+            long processed = 0;
+            RuntimeException failure = null;
+            for (Future<Long> future : futures) {
+                try {
+                    processed += future.get();
+                } catch (ExecutionException e) {
+                    failure = failure == null ? new IllegalStateException("Interest accrual partition failed", e.getCause()) : failure;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for interest accrual", e);
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return processed;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long perSecond(long count, Duration elapsed) {
+        long millis = Math.max(elapsed.toMillis(), 1);
+        return count * 1000 / millis;
+    }
+
+    /**
+     * 1パーティション分の読み込みと書き込みを行う。
+     */
+    private final class PartitionWorker {
+
+        private final String shard;
+        private final AccountIdRange range;
+        private final List<AccountBalanceSnapshot> chunk;
+        private InterestAccrualCheckpoint checkpoint;
+        private long processed;
+
+        PartitionWorker(String shard, AccountIdRange range, InterestAccrualCheckpoint checkpoint) {
+            this.shard = shard;
+            this.range = range;
+            this.checkpoint = checkpoint;
+            this.chunk = new ArrayList<>(properties.chunkSize());
+        }
+
+        long process() {
+            long startedAt = System.nanoTime();
+            scanTransaction.executeWithoutResult(status ->
+                    repository.scan(range, checkpoint.lastAccountId(), this::add));
+            writeChunk(true);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - startedAt);
+            log.info("Interest accrual partition {} on shard {} finished: {} accounts in {} ({} accounts/s)",
+                    range.partition(), shard, processed, elapsed, perSecond(processed, elapsed));
+            return processed;
+        }
+
+        private void add(AccountBalanceSnapshot snapshot) {
+            chunk.add(snapshot);
+            if (chunk.size() >= properties.chunkSize()) {
+                writeChunk(false);
+                pause();
+            }
+        }
+
+        private void writeChunk(boolean last) {
+            if (chunk.isEmpty() && !last) {
+                return;
+            }
+            InterestAccrualCheckpoint next = chunk.isEmpty()
+                    ? checkpoint
+                    : checkpoint.advance(chunk.get(chunk.size() - 1).accountId().value(), chunk.size());
+            InterestAccrualCheckpoint toSave = last ? next.complete() : next;
+            chunkTimer.record(() -> chunkTransaction.executeWithoutResult(status -> {
+                post(chunk);
+                repository.saveCheckpoint(toSave);
+            }));
+            accounts.increment(chunk.size());
+            processed += chunk.size();
+            checkpoint = toSave;
+            chunk.clear();
+        }
+
+        private void post(List<AccountBalanceSnapshot> snapshots) {
+            List<InterestPosting> postings = toPostings(snapshots);
+            if (postings.isEmpty()) {
+                return;
+            }
+            for (AccountId accountId : repository.post(postings)) {
+                // 読み込み後にオンライン取引で更新された口座は、行ロックを取得して最新の残高から計算し直す
+                conflicts.increment();
+                repository.findForUpdate(accountId).ifPresent(latest -> {
+                    if (!repository.post(toPostings(List.of(latest))).isEmpty()) {
+                        throw new IllegalStateException("Account changed while locked: " + accountId.value());
+                    }
+                });
+            }
+        }
+
+        private List<InterestPosting> toPostings(List<AccountBalanceSnapshot> snapshots) {
+            List<InterestPosting> postings = new ArrayList<>(snapshots.size());
+            for (AccountBalanceSnapshot snapshot : snapshots) {
+                Money interest = interestRate.dailyInterest(snapshot.balance());
+                // 利息が発生しない口座は更新しない（バージョンを進めず、オンライン取引と競合させない）
+                if (!interest.isNegativeOrZero()) {
+                    postings.add(InterestPosting.of(snapshot, interest));
+                }
+            }
+            return postings;
+        }
+
+        private void pause() {
+            if (properties.chunkPause().isZero()) {
+                return;
+            }
+            try {
+                Thread.sleep(properties.chunkPause().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while pausing between chunks", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.banking.application.interest;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 利息計上バッチを起動するコンポーネント。
+ *
+ * 毎日、前日を営業日とする利息計上を起動します。失敗した営業日は、同じ営業日を指定して再起動すると続きから再開します。
+ * バッチは専用のスレッドで実行するため、スケジューラのスレッドや呼び出し元のリクエストスレッドを長時間占有しません。
+ */
+@Slf4j
+@Component
+public class InterestAccrualLauncher {
+
+    private final InterestAccrualJob job;
+    private final InterestAccrualProperties properties;
+    private final ExecutorService launcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "interest-accrual-launcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public InterestAccrualLauncher(InterestAccrualJob job, InterestAccrualProperties properties) {
+        this.job = job;
+        this.properties = properties;
+    }
+
+    @Scheduled(cron = "${banking.interest.cron:0 30 0 * * *}", zone = "${banking.interest.zone:Asia/Tokyo}")
+    public void launchPreviousDay() {
+        if (!properties.enabled()) {
+            return;
+        }
+        launch(LocalDate.now(properties.zone()).minusDays(1));
+    }
+
+    /**
+     * 指定した営業日の利息計上を非同期に起動します。
+     *
+     * @param businessDate 利息を計上する営業日
+     * @return 起動した場合はtrue。すでにバッチが実行中の場合はfalse
+     */
+    public boolean launch(LocalDate businessDate) {
+        if (job.isRunning()) {
+            return false;
+        }
+        launcher.execute(() -> {
+            try {
+                job.run(businessDate);
+            } catch (RuntimeException e) {
+                log.error("Interest accrual for {} failed. Launch the same business date again to resume.", businessDate, e);
+            }
+        });
+        return true;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        launcher.shutdownNow();
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.banking.application.interest;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.ZoneId;
+
+/**
+ * 日次利息計上バッチの設定値。
+ *
+ * @param enabled 定期実行を行うかどうか
+ * @param cron 実行スケジュール（前日分の利息を計上する）
+ * @param zone 営業日を判定するタイムゾーン
+ * @param annualRate 年利（0.001 = 0.1%）
+ * @param daysInYear 日割り計算に用いる年間日数
+ * @param partitions 口座IDの範囲で分割するパーティション数（並列度）。1パーティションあたりDB接続を2本使用する
+ * @param chunkSize 1トランザクションでコミットする口座数
+ * @param chunkPause チャンクのコミットごとに待機する時間（オンライン取引への影響を抑える場合に設定する）
+ * @param batchWindow バッチの完了が求められる時間。超過した場合は警告を出力する
+ */
+@ConfigurationProperties(prefix = "banking.interest")
+public record InterestAccrualProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("0 30 0 * * *") String cron,
+        @DefaultValue("Asia/Tokyo") ZoneId zone,
+        @DefaultValue("0.001") BigDecimal annualRate,
+        @DefaultValue("365") int daysInYear,
+        @DefaultValue("4") int partitions,
+        @DefaultValue("1000") int chunkSize,
+        @DefaultValue("PT0S") Duration chunkPause,
+        @DefaultValue("PT2H") Duration batchWindow
+) {
+}
@@ -0,0 +1,59 @@
+package com.example.banking.application.interest;
+
+import com.example.banking.domain.account.AccountId;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * 日次利息計上バッチのための永続化インターフェース。
+ */
+public interface InterestAccrualRepository {
+
+    /**
+     * パーティション内の口座を口座IDの昇順にストリーミングで読み込みます。
+     * 全件をメモリに載せず、カーソルから1件ずつ読み込んだ口座を順にconsumerへ渡します。
+     *
+     * @param range 読み込むパーティション
+     * @param afterAccountId この口座IDより後の口座のみを読み込む（再開時）。nullの場合は先頭から
+     * @param consumer 読み込んだ口座を受け取る処理
+     */
+    void scan(AccountIdRange range, UUID afterAccountId, Consumer<AccountBalanceSnapshot> consumer);
+
+    /**
+     * 利息を計上した残高をJDBCのバッチ更新でまとめて書き込みます。
+     * 読み込み後にオンライン取引で更新された口座は書き込まれません。
+     * 書き込んだ口座には、利息の仕訳（INTEREST）を同じトランザクションで記録します。
+     *
+     * @param postings 書き込む残高
+     * @return バージョンが一致せず書き込まれなかった口座のID
+     */
+    List<AccountId> post(List<InterestPosting> postings);
+
+    /**
+     * 口座の最新の残高とバージョンを、行ロックを取得して読み込みます。
+     * 楽観的ロックで競合した口座を再計算する際に使用します。
+     */
+    Optional<AccountBalanceSnapshot> findForUpdate(AccountId accountId);
+
+    /**
+     * 営業日のチェックポイントを取得します。
+     *
+     * @param businessDate 営業日
+     * @return パーティション番号の昇順のチェックポイント。未実行の営業日では空
+     */
+    List<InterestAccrualCheckpoint> findCheckpoints(LocalDate businessDate);
+
+    /**
+     * 未着手のチェックポイントを作成します。
+     */
+    void createCheckpoints(List<InterestAccrualCheckpoint> checkpoints);
+
+    /**
+     * チェックポイントを更新します。
+     */
+    void saveCheckpoint(InterestAccrualCheckpoint checkpoint);
+}
@@ -0,0 +1,14 @@
+package com.example.banking.application.interest;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * 利息計上バッチの実行結果。
+ *
+ * @param businessDate 利息を計上した営業日
+ * @param accountsProcessed この実行で処理した口座数（再開した場合、前回までに処理した口座は含まない）
+ * @param elapsed 所要時間
+ */
+public record InterestAccrualResult(LocalDate businessDate, long accountsProcessed, Duration elapsed) {
+}
@@ -0,0 +1,19 @@
+package com.example.banking.application.interest;
+
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.Money;
+
+/**
+ * 1口座分の利息計上（残高の更新内容）。
+ *
+ * @param accountId 口座ID
+ * @param newBalance 利息を加えた後の残高
+ * @param expectedVersion 残高を読み込んだ時点のバージョン（楽観的ロック）
+ * @param interest 計上する利息（仕訳として記録する金額）
+ */
+public record InterestPosting(AccountId accountId, Money newBalance, long expectedVersion, Money interest) {
+
+    static InterestPosting of(AccountBalanceSnapshot snapshot, Money interest) {
+        return new InterestPosting(snapshot.accountId(), snapshot.balance().add(interest), snapshot.version(), interest);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.banking.application.jfr;
+
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.Money;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * 口座の入金・出金のユースケース（口座の読み込み、{@code Account.deposit}・{@code withdraw}、保存）の所要時間を記録するJFRイベント。
+ * トランザクションのコミットは含みません。
+ * 同じスレッドの{@link RepositoryOperationEvent}が、この中の読み込みと保存の内訳となります。
+ */
+@Name("banking.AccountOperation")
+@Label("Account Operation")
+@Category({"Banking", "Account"})
+@Description("Deposit or withdrawal on an account, from loading the account to saving it")
+@Threshold("5 ms")
+@StackTrace(false)
+public class AccountOperationEvent extends Event {
+
+    @Label("Account ID")
+    String accountId;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Amount")
+    @Description("Exact decimal amount in the currency's units, as BigDecimal.toPlainString()")
+    String amount;
+
+    @Label("Currency")
+    String currency;
+
+    @Label("Outcome")
+    String outcome;
+
+    private transient AccountId key;
+    private transient Money money;
+
+    /**
+     * 操作の開始を記録したイベントを作成します。
+     *
+     * @param operation {@code deposit}または{@code withdraw}
+     */
+    public static AccountOperationEvent begin(String operation, AccountId accountId, Money money) {
+        AccountOperationEvent event = new AccountOperationEvent();
+        event.operation = operation;
+        event.key = accountId;
+        event.money = money;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * 操作の終了を記録し、所要時間が閾値を超えた場合はイベントを書き込みます。
+     *
+     * @param outcome 操作の結果（{@code success}、例外で終了した場合はその単純名）
+     */
+    public void finish(String outcome) {
+        end();
+        if (shouldCommit()) {
+            // 書き込まないイベントでは、IDと金額の文字列への変換を行わない
+            this.accountId = key.value().toString();
+            this.amount = money.amount().toPlainString();
+            this.currency = money.currency().getCurrencyCode();
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
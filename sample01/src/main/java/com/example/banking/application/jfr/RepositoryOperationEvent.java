@@ -0,0 +1,74 @@
+package com.example.banking.application.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+import java.util.UUID;
+
+/**
+ * リポジトリによる口座・振込の読み込みと保存の所要時間と結果を記録するJFRイベント。
+ * 保存の結果が{@code conflict}の場合は、楽観的ロックの競合で保存できなかったことを示します。
+ */
+@Name("banking.RepositoryOperation")
+@Label("Repository Operation")
+@Category({"Banking", "Persistence"})
+@Description("Load or save of an account or transfer aggregate, with its outcome")
+@Threshold("10 ms")
+@StackTrace(false)
+public class RepositoryOperationEvent extends Event {
+
+    public static final String FOUND = "found";
+    public static final String NOT_FOUND = "not-found";
+    public static final String SAVED = "saved";
+    public static final String CONFLICT = "conflict";
+    public static final String ERROR = "error";
+
+    @Label("Aggregate")
+    @Description("account or transfer")
+    String aggregate;
+
+    @Label("Operation")
+    @Description("load, load-for-update or save")
+    String operation;
+
+    @Label("Aggregate ID")
+    String id;
+
+    @Label("Outcome")
+    String outcome;
+
+    private transient UUID key;
+
+    /**
+     * 操作の開始を記録したイベントを作成します。
+     *
+     * @param aggregate {@code account}または{@code transfer}
+     * @param operation {@code load}、{@code load-for-update}または{@code save}
+     * @param id 口座IDまたは振込ID
+     */
+    public static RepositoryOperationEvent begin(String aggregate, String operation, UUID id) {
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.aggregate = aggregate;
+        event.operation = operation;
+        event.key = id;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * 操作の終了を記録し、所要時間が閾値を超えた場合はイベントを書き込みます。
+     */
+    public void finish(String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.id = key.toString();
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
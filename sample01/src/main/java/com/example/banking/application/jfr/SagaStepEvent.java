@@ -0,0 +1,82 @@
+package com.example.banking.application.jfr;
+
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.Money;
+import com.example.banking.domain.transfer.TransferId;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * 振込Sagaの1ステップ（出金・入金・補償）の所要時間と結果を記録するJFRイベント。
+ * 振込IDで{@link TransferRequestEvent}と突き合わせると、1件の振込の依頼からSagaの完了までの内訳が分かります。
+ */
+@Name("banking.SagaStep")
+@Label("Transfer Saga Step")
+@Category({"Banking", "Transfer"})
+@Description("One step of a transfer saga: withdraw, deposit or compensate")
+@Threshold("10 ms")
+@StackTrace(false)
+public class SagaStepEvent extends Event {
+
+    @Label("Transfer ID")
+    String transferId;
+
+    @Label("Step")
+    String step;
+
+    @Label("Account ID")
+    String accountId;
+
+    @Label("Amount")
+    @Description("Exact decimal amount in the currency's units, as BigDecimal.toPlainString()")
+    String amount;
+
+    @Label("Currency")
+    String currency;
+
+    @Label("Outcome")
+    String outcome;
+
+    private transient TransferId transfer;
+    private transient AccountId account;
+    private transient Money money;
+
+    /**
+     * ステップの開始を記録したイベントを作成します。
+     *
+     * @param step {@code withdraw}、{@code deposit}または{@code compensate}
+     * @param accountId ステップで記帳する口座
+     * @param money ステップで記帳する金額
+     */
+    public static SagaStepEvent begin(String step, TransferId transferId, AccountId accountId, Money money) {
+        SagaStepEvent event = new SagaStepEvent();
+        event.step = step;
+        event.transfer = transferId;
+        event.account = accountId;
+        event.money = money;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * ステップの終了を記録し、所要時間が閾値を超えた場合はイベントを書き込みます。
+     *
+     * @param outcome ステップの結果（{@code success}、例外で終了した場合はその単純名）
+     */
+    public void finish(String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.transferId = transfer.value().toString();
+            this.accountId = account.value().toString();
+            this.amount = money.amount().toPlainString();
+            this.currency = money.currency().getCurrencyCode();
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.banking.application.jfr;
+
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.Money;
+import com.example.banking.domain.transfer.Transfer;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * 振込依頼のユースケース（{@code TransferService.requestTransfer}）の所要時間と結果を記録するJFRイベント。
+ * ファストパス（{@code local}）では出金・入金もこの中で行い、Saga（{@code saga}）では振込の永続化までを含みます。
+ */
+@Name("banking.TransferRequest")
+@Label("Transfer Request")
+@Category({"Banking", "Transfer"})
+@Description("Transfer request use case, from validation to the local fast path or handing off to the saga")
+@Threshold("20 ms")
+@StackTrace(false)
+public class TransferRequestEvent extends Event {
+
+    @Label("Transfer ID")
+    String transferId;
+
+    @Label("Source Account ID")
+    String sourceAccountId;
+
+    @Label("Destination Account ID")
+    String destinationAccountId;
+
+    @Label("Amount")
+    @Description("Exact decimal amount in the currency's units, as BigDecimal.toPlainString()")
+    String amount;
+
+    @Label("Currency")
+    String currency;
+
+    @Label("Path")
+    @Description("local (single transaction) or saga")
+    String path;
+
+    @Label("Outcome")
+    String outcome;
+
+    private transient AccountId source;
+    private transient AccountId destination;
+    private transient Money money;
+    private transient Transfer transfer;
+
+    /**
+     * 振込依頼の開始を記録したイベントを作成します。
+     */
+    public static TransferRequestEvent begin(AccountId sourceAccountId, AccountId destinationAccountId, Money money) {
+        TransferRequestEvent event = new TransferRequestEvent();
+        event.source = sourceAccountId;
+        event.destination = destinationAccountId;
+        event.money = money;
+        event.begin();
+        return event;
+    }
+
+    /**
+     * 生成した振込と、その振込を実行する経路を記録します。
+     *
+     * @param path {@code local}または{@code saga}
+     */
+    public void accepted(Transfer transfer, String path) {
+        this.transfer = transfer;
+        this.path = path;
+    }
+
+    /**
+     * 振込依頼の終了を記録し、所要時間が閾値を超えた場合はイベントを書き込みます。
+     *
+     * @param outcome 振込依頼の結果（振込の状態、例外で終了した場合はその単純名）
+     */
+    public void finish(String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.transferId = transfer == null ? null : transfer.getId().value().toString();
+            this.sourceAccountId = source.value().toString();
+            this.destinationAccountId = destination.value().toString();
+            this.amount = money.amount().toPlainString();
+            this.currency = money.currency().getCurrencyCode();
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.banking.application.limit;
+
+/**
+ * 1つの口座の振込上限に関する利用状況（不変オブジェクト）。
+ * 1分と24時間のウィンドウを1つのオブジェクトにまとめることで、両方の更新を1回のCASで原子的に行えます。
+ *
+ * @param minute 直近1分間の利用状況
+ * @param day 直近24時間の利用状況
+ */
+public record AccountLimitState(SlidingWindow minute, SlidingWindow day) {
+
+    static final long MINUTE_MILLIS = 60_000L;
+    static final long DAY_MILLIS = 86_400_000L;
+
+    public static final AccountLimitState EMPTY = new AccountLimitState(SlidingWindow.EMPTY, SlidingWindow.EMPTY);
+
+    AccountLimitState roll(long now) {
+        SlidingWindow rolledMinute = minute.roll(now, MINUTE_MILLIS);
+        SlidingWindow rolledDay = day.roll(now, DAY_MILLIS);
+        if (rolledMinute == minute && rolledDay == day) {
+            return this;
+        }
+        return new AccountLimitState(rolledMinute, rolledDay);
+    }
+
+    /**
+     * 1件の振込を加えた場合に超過する上限を返します。
+     *
+     * @return 超過する上限。いずれの上限も超過しない場合はnull
+     */
+    TransferLimit exceededBy(CompiledProfile profile, long now, long amount) {
+        if (minute.estimatedCount(now, MINUTE_MILLIS) + 1 > profile.countPerMinute()) {
+            return TransferLimit.COUNT_PER_MINUTE;
+        }
+        if (minute.estimatedAmount(now, MINUTE_MILLIS) + amount > profile.amountPerMinute()) {
+            return TransferLimit.AMOUNT_PER_MINUTE;
+        }
+        if (day.estimatedCount(now, DAY_MILLIS) + 1 > profile.countPerDay()) {
+            return TransferLimit.COUNT_PER_DAY;
+        }
+        if (day.estimatedAmount(now, DAY_MILLIS) + amount > profile.amountPerDay()) {
+            return TransferLimit.AMOUNT_PER_DAY;
+        }
+        return null;
+    }
+
+    AccountLimitState add(long amount) {
+        return new AccountLimitState(minute.add(amount), day.add(amount));
+    }
+
+    /**
+     * 指定時刻に加算した1件分の利用量を、加算したウィンドウから取り除きます。
+     */
+    AccountLimitState remove(long at, long amount) {
+        SlidingWindow removedMinute = minute.remove(at, amount, MINUTE_MILLIS);
+        SlidingWindow removedDay = day.remove(at, amount, DAY_MILLIS);
+        if (removedMinute == minute && removedDay == day) {
+            return this;
+        }
+        return new AccountLimitState(removedMinute, removedDay);
+    }
+
+    boolean isExpired(long now) {
+        return day.isExpired(now, DAY_MILLIS);
+    }
+
+    /**
+     * 通貨の最小単位に換算した上限値。判定の度にBigDecimalの計算を行わないよう、起動時に一度だけ換算します。
+     */
+    record CompiledProfile(long countPerMinute, long amountPerMinute, long countPerDay, long amountPerDay) {
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.banking.application.limit;
+
+/**
+ * スライディングウィンドウ方式の利用状況カウンタ（不変オブジェクト）。
+ *
+ * 時間を固定長のウィンドウに区切り、現在と直前のウィンドウの件数・金額のみを保持します。
+ * 直近1ウィンドウ分の利用量は、直前のウィンドウの値を経過時間に応じて按分して近似します。
+ * 個々の振込の時刻を保持しないため、利用量に関わらず一定のメモリと計算量で判定できます。
+ *
+ * @param start 現在のウィンドウの開始時刻（エポックミリ秒。ウィンドウ長の倍数に揃えられる）
+ * @param previousCount 直前のウィンドウの件数
+ * @param previousAmount 直前のウィンドウの金額（通貨の最小単位）
+ * @param currentCount 現在のウィンドウの件数
+ * @param currentAmount 現在のウィンドウの金額（通貨の最小単位）
+ */
+public record SlidingWindow(long start, long previousCount, long previousAmount, long currentCount, long currentAmount) {
+
+    public static final SlidingWindow EMPTY = new SlidingWindow(0, 0, 0, 0, 0);
+
+    /**
+     * 指定時刻を含むウィンドウまで進めたカウンタを返します。
+     */
+    SlidingWindow roll(long now, long length) {
+        long alignedStart = now - Math.floorMod(now, length);
+        if (alignedStart == start) {
+            return this;
+        }
+        if (alignedStart == start + length) {
+            return new SlidingWindow(alignedStart, currentCount, currentAmount, 0, 0);
+        }
+        return new SlidingWindow(alignedStart, 0, 0, 0, 0);
+    }
+
+    /**
+     * 直近1ウィンドウ分の件数の推定値。
+     */
+    long estimatedCount(long now, long length) {
+        return weighted(previousCount, now, length) + currentCount;
+    }
+
+    /**
+     * 直近1ウィンドウ分の金額の推定値。
+     */
+    long estimatedAmount(long now, long length) {
+        return weighted(previousAmount, now, length) + currentAmount;
+    }
+
+    SlidingWindow add(long amount) {
+        return new SlidingWindow(start, previousCount, previousAmount, currentCount + 1, currentAmount + amount);
+    }
+
+    /**
+     * 指定時刻に加算した1件分の利用量を取り除いたカウンタを返します。
+     * 加算したウィンドウがすでに集計の対象外となっている場合は、このカウンタをそのまま返します。
+     */
+    SlidingWindow remove(long at, long amount, long length) {
+        long windowStart = at - Math.floorMod(at, length);
+        if (windowStart == start) {
+            return new SlidingWindow(start, previousCount, previousAmount,
+                    Math.max(0, currentCount - 1), Math.max(0, currentAmount - amount));
+        }
+        if (windowStart == start - length) {
+            return new SlidingWindow(start, Math.max(0, previousCount - 1), Math.max(0, previousAmount - amount),
+                    currentCount, currentAmount);
+        }
+        return this;
+    }
+
+    /**
+     * 指定時刻において、このカウンタの利用量がすべて期限切れとなっているか。
+     */
+    boolean isExpired(long now, long length) {
+        return now - start >= 2 * length;
+    }
+
+    private long weighted(long previous, long now, long length) {
+        if (previous == 0) {
+            return 0;
+        }
+        double remaining = (double) (length - (now - start)) / length;
+        return (long) Math.ceil(previous * remaining);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.banking.application.limit;
+
+/**
+ * 振込元口座ごとに適用される振込の上限の種類。
+ */
+public enum TransferLimit {
+    /** 直近1分間の振込件数 */
+    COUNT_PER_MINUTE,
+    /** 直近1分間の振込金額の合計 */
+    AMOUNT_PER_MINUTE,
+    /** 直近24時間の振込件数 */
+    COUNT_PER_DAY,
+    /** 直近24時間の振込金額の合計 */
+    AMOUNT_PER_DAY
+}
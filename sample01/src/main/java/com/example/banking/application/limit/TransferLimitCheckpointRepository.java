@@ -0,0 +1,33 @@
+package com.example.banking.application.limit;
+
+import com.example.banking.domain.account.AccountId;
+
+import java.util.Map;
+
+/**
+ * 振込上限の利用状況を永続化するためのリポジトリインターフェース。
+ * 再起動後も直近の利用状況を引き継ぐために、メモリ上の状態を定期的に保存（チェックポイント）します。
+ */
+public interface TransferLimitCheckpointRepository {
+
+    /**
+     * 保存されているすべての口座の利用状況を取得します。
+     *
+     * @return 口座IDと利用状況のマップ
+     */
+    Map<AccountId, AccountLimitState> findAll();
+
+    /**
+     * 口座の利用状況を保存（新規作成または上書き）します。
+     *
+     * @param states 口座IDと利用状況のマップ
+     */
+    void saveAll(Map<AccountId, AccountLimitState> states);
+
+    /**
+     * 口座の利用状況を削除します。
+     *
+     * @param accountIds 削除する口座のID
+     */
+    void deleteAll(Iterable<AccountId> accountIds);
+}
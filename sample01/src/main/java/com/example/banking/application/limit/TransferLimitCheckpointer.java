@@ -0,0 +1,54 @@
+package com.example.banking.application.limit;
+
+import com.example.banking.domain.account.AccountId;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 振込上限の利用状況を定期的にDBへ保存し、起動時に復元するコンポーネント。
+ *
+ * 保存は前回以降に変化した口座のみを対象とするため、保存間隔の間に振込のなかった口座はDBにアクセスしません。
+ * 保存間隔の間に発生した利用量は、プロセスが異常終了した場合には失われます。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransferLimitCheckpointer {
+
+    private final TransferLimitEngine engine;
+    private final TransferLimitCheckpointRepository checkpointRepository;
+
+    @PostConstruct
+    void restore() {
+        Map<AccountId, AccountLimitState> saved = checkpointRepository.findAll();
+        engine.restore(saved);
+        log.info("Restored transfer limit usage for {} accounts", saved.size());
+    }
+
+    @Scheduled(fixedDelayString = "${banking.transfer.limits.checkpoint-interval:PT10S}")
+    @Transactional
+    public void checkpoint() {
+        Map<AccountId, AccountLimitState> changed = engine.drainDirty();
+        if (!changed.isEmpty()) {
+            checkpointRepository.saveAll(changed);
+        }
+        List<AccountId> evicted = engine.evictExpired();
+        if (!evicted.isEmpty()) {
+            checkpointRepository.deleteAll(evicted);
+        }
+        log.debug("Transfer limit checkpoint: {} saved, {} evicted", changed.size(), evicted.size());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        checkpoint();
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.banking.application.limit;
+
+import com.example.banking.application.fx.FxRateProvider;
+import com.example.banking.application.fx.FxRateUnavailableException;
+import com.example.banking.application.limit.AccountLimitState.CompiledProfile;
+import com.example.banking.domain.fx.ExchangeRate;
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.Money;
+import com.example.banking.domain.transfer.TransferChannel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 口座ごとの振込件数・金額の上限をメモリ上で判定するエンジン。
+ *
+ * 振込依頼のたびにSQLで集計すると、振込の多い口座ほどDBの負荷が高くなります。
+ * このエンジンは口座ごとの利用状況をスライディングウィンドウとして保持し、判定と加算を1回のCASで行います。
+ * 口座ごとの状態はConcurrentHashMap（内部でロックがストライプ化されている）に保持し、
+ * 判定処理自体はロックを取得しないため、異なる口座の振込が互いに待ち合わせることはありません。
+ *
+ * 利用状況は{@link TransferLimitCheckpointer}により定期的にDBへ保存され、起動時に復元されます。
+ * 金額の上限は円建てで設定し、外貨建ての振込は現在の為替レートで円に換算してから判定します。
+ *
+ * 加算した利用量は予約（{@link TransferLimitReservation}）として返し、振込が確定しなかった場合は{@link #release}で取り消します。
+ * 定期振込のように口座名義人があらかじめ承認した振込は、チャネル（{@code exempt-channels}）を指定して上限の対象外にできます。
+ *
+ * 利用状況はインスタンスごとのメモリ上に保持し、インスタンス間では共有しません。
+ * 複数のインスタンスで振込を受け付ける場合、1つの口座の振込が各インスタンスに分散すると、上限は実質的にインスタンス数倍となります。
+ * 上限を厳密に適用するには、振込元口座ごとに同じインスタンスへ振り分ける（口座IDによるスティッキールーティング）か、
+ * 上限をインスタンス数で割った値に設定してください。チェックポイントは再起動時の復元のためのもので、インスタンス間の同期には使いません。
+ */
+@Component
+public class TransferLimitEngine {
+
+    private final TransferLimitProperties properties;
+    private final FxRateProvider rateProvider;
+    private final Clock clock;
+    private final CompiledProfile defaultProfile;
+    private final Map<AccountId, CompiledProfile> accountProfiles;
+    private final Map<AccountId, AtomicReference<AccountLimitState>> states = new ConcurrentHashMap<>();
+    /** 前回のチェックポイント以降に利用状況が変化した口座 */
+    private final Set<AccountId> dirty = ConcurrentHashMap.newKeySet();
+    private final Map<TransferLimit, Counter> rejections = new EnumMap<>(TransferLimit.class);
+
+    @Autowired
+    public TransferLimitEngine(TransferLimitProperties properties, FxRateProvider rateProvider, MeterRegistry meterRegistry) {
+        this(properties, rateProvider, meterRegistry, Clock.systemUTC());
+    }
+
+    TransferLimitEngine(TransferLimitProperties properties, FxRateProvider rateProvider, MeterRegistry meterRegistry, Clock clock) {
+        this.properties = properties;
+        this.rateProvider = rateProvider;
+        this.clock = clock;
+        Map<String, CompiledProfile> compiled = new HashMap<>();
+        if (properties.profiles() != null) {
+            properties.profiles().forEach((name, profile) -> compiled.put(name, compile(profile)));
+        }
+        this.defaultProfile = compiled.get(properties.defaultProfile());
+        if (properties.enabled() && defaultProfile == null) {
+            throw new IllegalStateException("Transfer limit profile not found: " + properties.defaultProfile());
+        }
+        this.accountProfiles = new HashMap<>();
+        if (properties.accountProfiles() != null) {
+            properties.accountProfiles().forEach((accountId, name) -> {
+                CompiledProfile profile = compiled.get(name);
+                if (profile == null) {
+                    throw new IllegalStateException("Transfer limit profile not found: " + name);
+                }
+                accountProfiles.put(new AccountId(accountId), profile);
+            });
+        }
+        for (TransferLimit limit : TransferLimit.values()) {
+            rejections.put(limit, Counter.builder("banking.transfer.limit.rejections")
+                    .description("Transfer requests rejected by per-account limits")
+                    .tag("limit", limit.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * 振込元口座の上限を判定し、上限内であれば振込1件分の利用量を加算します。
+     * 振込の検証がすべて済み、振込を永続化する直前に呼び出してください。
+     *
+     * @param accountId 振込元口座ID
+     * @param money 振込金額
+     * @param channel 振込を受け付けたチャネル
+     * @return 加算した利用量。上限を適用しなかった場合は{@link TransferLimitReservation#NONE}
+     * @throws TransferLimitExceededException いずれかの上限を超える場合。利用量は加算されない
+     * @throws FxRateUnavailableException 外貨建ての振込で、円への換算レートが提供されていない場合
+     */
+    public TransferLimitReservation acquire(AccountId accountId, Money money, TransferChannel channel) {
+        if (!properties.enabled() || properties.exemptChannels().contains(channel)) {
+            return TransferLimitReservation.NONE;
+        }
+        CompiledProfile profile = accountProfiles.getOrDefault(accountId, defaultProfile);
+        long amount = toMinorUnits(toJpy(money));
+        AtomicReference<AccountLimitState> ref = states.get(accountId);
+        if (ref == null) {
+            ref = states.computeIfAbsent(accountId, id -> new AtomicReference<>(AccountLimitState.EMPTY));
+        }
+        long now = clock.millis();
+        while (true) {
+            AccountLimitState current = ref.get();
+            AccountLimitState rolled = current.roll(now);
+            TransferLimit exceeded = rolled.exceededBy(profile, now, amount);
+            if (exceeded != null) {
+                rejections.get(exceeded).increment();
+                throw new TransferLimitExceededException(accountId, exceeded);
+            }
+            if (ref.compareAndSet(current, rolled.add(amount))) {
+                dirty.add(accountId);
+                return new TransferLimitReservation(accountId, amount, now);
+            }
+        }
+    }
+
+    /**
+     * {@link #acquire}で加算した利用量を取り消します。
+     * 振込のトランザクションがロールバックされた場合など、振込が確定しなかったときに呼び出します。
+     *
+     * @param reservation {@link #acquire}が返した予約
+     */
+    public void release(TransferLimitReservation reservation) {
+        if (reservation.accountId() == null) {
+            return;
+        }
+        AtomicReference<AccountLimitState> ref = states.get(reservation.accountId());
+        if (ref == null) {
+            return;
+        }
+        while (true) {
+            AccountLimitState current = ref.get();
+            AccountLimitState released = current.remove(reservation.acquiredAt(), reservation.amount());
+            if (released == current) {
+                return;
+            }
+            if (ref.compareAndSet(current, released)) {
+                dirty.add(reservation.accountId());
+                return;
+            }
+        }
+    }
+
+    /**
+     * 保存されていた利用状況を復元します。
+     */
+    void restore(Map<AccountId, AccountLimitState> saved) {
+        saved.forEach((accountId, state) -> states.put(accountId, new AtomicReference<>(state)));
+    }
+
+    /**
+     * 前回の呼び出し以降に変化した口座の利用状況を取得します。
+     */
+    Map<AccountId, AccountLimitState> drainDirty() {
+        Map<AccountId, AccountLimitState> snapshot = new HashMap<>();
+        for (AccountId accountId : dirty) {
+            // 先に変更フラグを外してから状態を読む。その間の更新は再びフラグが立ち、次回に保存される
+            dirty.remove(accountId);
+            AtomicReference<AccountLimitState> ref = states.get(accountId);
+            if (ref != null) {
+                snapshot.put(accountId, ref.get());
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * 利用量がすべて期限切れとなった口座をメモリから取り除きます。
+     *
+     * @return 取り除いた口座のID
+     */
+    List<AccountId> evictExpired() {
+        long now = clock.millis();
+        List<AccountId> evicted = new ArrayList<>();
+        states.forEach((accountId, ref) -> {
+            // 取り除く直前に加算された1件は失われ得るが、24時間以上振込のなかった口座に限られるため許容する
+            if (ref.get().isExpired(now) && states.remove(accountId, ref)) {
+                evicted.add(accountId);
+            }
+        });
+        return evicted;
+    }
+
+    private static CompiledProfile compile(TransferLimitProperties.Profile profile) {
+        return new CompiledProfile(
+                profile.countPerMinute(),
+                toMinorUnits(profile.amountPerMinute()),
+                profile.countPerDay(),
+                toMinorUnits(profile.amountPerDay()));
+    }
+
+    private Money toJpy(Money money) {
+        if (money.currency().equals(Money.JPY)) {
+            return money;
+        }
+        ExchangeRate rate = rateProvider.current().find(money.currency(), Money.JPY)
+                .orElseThrow(() -> new FxRateUnavailableException(money.currency(), Money.JPY));
+        return rate.convert(money);
+    }
+
+    private static long toMinorUnits(Money money) {
+        return money.amount()
+                .movePointRight(money.currency().getDefaultFractionDigits())
+                .setScale(0, RoundingMode.UP)
+                .longValueExact();
+    }
+
+    private static long toMinorUnits(BigDecimal amount) {
+        return toMinorUnits(new Money(amount, Money.JPY));
+    }
+}
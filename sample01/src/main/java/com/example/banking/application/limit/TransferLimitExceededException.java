@@ -0,0 +1,26 @@
+package com.example.banking.application.limit;
+
+import com.example.banking.domain.account.AccountId;
+
+/**
+ * 振込元口座の振込上限を超えるため、振込依頼を受け付けられないことを示す例外。
+ */
+public class TransferLimitExceededException extends RuntimeException {
+
+    private final AccountId accountId;
+    private final TransferLimit limit;
+
+    public TransferLimitExceededException(AccountId accountId, TransferLimit limit) {
+        super("Transfer limit exceeded (" + limit + ") for account: " + accountId.value());
+        this.accountId = accountId;
+        this.limit = limit;
+    }
+
+    public AccountId getAccountId() {
+        return accountId;
+    }
+
+    public TransferLimit getLimit() {
+        return limit;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.banking.application.limit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import com.example.banking.domain.transfer.TransferChannel;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 振込上限の設定値。
+ *
+ * @param enabled 振込上限のチェックを行うかどうか
+ * @param checkpointInterval 利用状況をDBに保存する間隔
+ * @param defaultProfile 個別の指定がない口座に適用するプロファイル名
+ * @param profiles プロファイル名と上限値のマップ
+ * @param accountProfiles 個別にプロファイルを指定する口座IDとプロファイル名のマップ
+ * @param exemptChannels 上限を適用しない振込のチャネル。既定では、口座名義人があらかじめ承認した定期振込を対象外とする
+ */
+@ConfigurationProperties(prefix = "banking.transfer.limits")
+public record TransferLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("PT10S") Duration checkpointInterval,
+        @DefaultValue("standard") String defaultProfile,
+        Map<String, Profile> profiles,
+        Map<UUID, String> accountProfiles,
+        @DefaultValue("STANDING_ORDER") Set<TransferChannel> exemptChannels
+) {
+
+    /**
+     * 振込上限のプロファイル。
+     *
+     * @param countPerMinute 直近1分間の振込件数の上限
+     * @param amountPerMinute 直近1分間の振込金額の合計の上限
+     * @param countPerDay 直近24時間の振込件数の上限
+     * @param amountPerDay 直近24時間の振込金額の合計の上限
+     */
+    public record Profile(
+            long countPerMinute,
+            BigDecimal amountPerMinute,
+            long countPerDay,
+            BigDecimal amountPerDay
+    ) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.banking.application.limit;
+
+import com.example.banking.domain.account.AccountId;
+
+/**
+ * {@link TransferLimitEngine#acquire}で振込元口座の利用状況に加算した振込1件分の利用量。
+ * 振込が確定しなかった場合は{@link TransferLimitEngine#release}に渡して加算を取り消します。
+ *
+ * @param accountId 振込元口座ID。上限を適用しなかった場合はnull
+ * @param amount 加算した金額（円の最小単位）
+ * @param acquiredAt 加算した時刻（エポックミリ秒）。どのウィンドウに加算したかを特定するために使う
+ */
+public record TransferLimitReservation(AccountId accountId, long amount, long acquiredAt) {
+
+    /** 上限を適用しなかった振込の予約。取り消しても何も起こらない */
+    public static final TransferLimitReservation NONE = new TransferLimitReservation(null, 0, 0);
+}
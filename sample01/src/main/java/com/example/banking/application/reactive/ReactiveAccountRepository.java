@@ -0,0 +1,74 @@
+package com.example.banking.application.reactive;
+
+import com.example.banking.domain.account.Account;
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.AccountNumber;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Currency;
+import java.util.Map;
+
+/**
+ * 口座アグリゲートのためのノンブロッキングなリポジトリインターフェース。
+ * リアクティブ構成（`reactive`プロファイル）で使用され、AccountRepositoryと同じ責務をReactorの型で表現します。
+ * ドメイン層をReactorに依存させないため、このインターフェースはアプリケーション層に配置しています。
+ */
+public interface ReactiveAccountRepository {
+
+    /**
+     * IDで口座アグリゲートを検索します。
+     *
+     * @param id 検索する口座のID
+     * @return 見つかった口座。見つからない場合は空のMono
+     */
+    Mono<Account> findById(AccountId id);
+
+    /**
+     * 口座の現在のバージョンのみを取得します。
+     *
+     * @param id 検索する口座のID
+     * @return バージョン。見つからない場合は空のMono
+     */
+    Mono<Long> findVersionById(AccountId id);
+
+    /**
+     * 口座の通貨のみを取得します。
+     *
+     * @param id 検索する口座のID
+     * @return 口座の通貨。見つからない場合は空のMono
+     */
+    Mono<Currency> findCurrencyById(AccountId id);
+
+    /**
+     * 複数口座の現在のバージョンをまとめて取得します。
+     *
+     * @param ids 検索する口座のIDのコレクション
+     * @return 口座IDとバージョンのマップ。存在しない口座はマップに含まれない
+     */
+    Mono<Map<AccountId, Long>> findVersionsByIds(Collection<AccountId> ids);
+
+    /**
+     * 新しい口座アグリゲートを永続化します。
+     *
+     * @param account 保存する口座アグリゲート
+     * @return 完了を通知するMono
+     */
+    Mono<Void> insert(Account account);
+
+    /**
+     * 口座アグリゲートを更新します。
+     * 楽観的ロックにより、他のトランザクションで更新されていた場合はエラーとなります。
+     *
+     * @param account 更新する口座アグリゲート
+     * @return 完了を通知するMono
+     */
+    Mono<Void> update(Account account);
+
+    /**
+     * 次の利用可能な口座番号を採番します。
+     *
+     * @return 新しい口座番号
+     */
+    Mono<AccountNumber> nextAccountNumber();
+}
@@ -0,0 +1,126 @@
+package com.example.banking.application.reactive;
+
+import com.example.banking.domain.account.Account;
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.AccountNotFoundException;
+import com.example.banking.domain.account.CustomerName;
+import com.example.banking.domain.account.Money;
+import com.example.banking.domain.transfer.TransferId;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 口座管理に関するユースケースをノンブロッキングに実装するアプリケーションサービス。
+ * AccountServiceと同じユースケースを、R2DBCとReactorによるリアクティブな処理として提供します。
+ * トランザクションは宣言的な@Transactionalではなく、TransactionalOperatorで明示的に境界を定めます。
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveAccountService {
+
+    private final ReactiveAccountRepository accountRepository;
+    private final TransactionalOperator transactionalOperator;
+
+    /**
+     * 口座開設ユースケース。
+     */
+    public Mono<Account> openAccount(CustomerName customerName, Money initialDeposit) {
+        return accountRepository.nextAccountNumber()
+                .map(accountNumber -> Account.open(accountNumber, customerName, initialDeposit))
+                .flatMap(account -> accountRepository.insert(account).thenReturn(account))
+                .as(transactionalOperator::transactional);
+    }
+
+    /**
+     * 入金ユースケース。
+     */
+    public Mono<Void> deposit(AccountId accountId, Money money) {
+        return findExisting(accountId)
+                .flatMap(account -> {
+                    account.deposit(money);
+                    return accountRepository.update(account);
+                })
+                .as(transactionalOperator::transactional);
+    }
+
+    /**
+     * 出金ユースケース。
+     */
+    public Mono<Void> withdraw(AccountId accountId, Money money) {
+        return findExisting(accountId)
+                .flatMap(account -> {
+                    account.withdraw(money);
+                    return accountRepository.update(account);
+                })
+                .as(transactionalOperator::transactional);
+    }
+
+    /**
+     * 振込元口座からの、振込金額と振込手数料の出金（振込Sagaのステップ1）。
+     */
+    public Mono<Void> debitTransfer(TransferId transferId, AccountId accountId, Money money, Money fee) {
+        return findExisting(accountId)
+                .flatMap(account -> {
+                    account.debitTransfer(transferId.value(), money, fee);
+                    return accountRepository.update(account);
+                })
+                .as(transactionalOperator::transactional);
+    }
+
+    /**
+     * 振込先口座への入金（振込Sagaのステップ2）。
+     */
+    public Mono<Void> creditTransfer(TransferId transferId, AccountId accountId, Money money) {
+        return findExisting(accountId)
+                .flatMap(account -> {
+                    account.creditTransfer(transferId.value(), money);
+                    return accountRepository.update(account);
+                })
+                .as(transactionalOperator::transactional);
+    }
+
+    /**
+     * 振込元口座への出金の取り消し（振込Sagaの補償トランザクション）。
+     */
+    public Mono<Void> reverseTransferDebit(TransferId transferId, AccountId accountId, Money money) {
+        return findExisting(accountId)
+                .flatMap(account -> {
+                    account.reverseTransferDebit(transferId.value(), money);
+                    return accountRepository.update(account);
+                })
+                .as(transactionalOperator::transactional);
+    }
+
+    /**
+     * 口座情報取得クエリ。
+     */
+    public Mono<Account> getAccountDetails(AccountId accountId) {
+        return accountRepository.findById(accountId);
+    }
+
+    /**
+     * 口座のバージョン取得クエリ。
+     */
+    public Mono<Long> getAccountVersion(AccountId accountId) {
+        return accountRepository.findVersionById(accountId);
+    }
+
+    /**
+     * 複数口座のバージョン取得クエリ。
+     */
+    public Mono<Map<AccountId, Long>> getAccountVersions(Collection<AccountId> accountIds) {
+        return accountRepository.findVersionsByIds(accountIds);
+    }
+
+    private Mono<Account> findExisting(AccountId accountId) {
+        return accountRepository.findById(accountId)
+                .switchIfEmpty(Mono.error(() -> new AccountNotFoundException(accountId)));
+    }
+}
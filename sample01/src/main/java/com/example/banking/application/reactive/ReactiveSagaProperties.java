@@ -0,0 +1,17 @@
+package com.example.banking.application.reactive;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * リアクティブ構成における振込Sagaの設定値。
+ *
+ * @param concurrency 同時に実行するSagaの最大数。これを超える振込はキューで待機する
+ * @param queueCapacity 実行待ちの振込を保持するキューの容量。満杯の場合、新しい振込依頼は拒否される
+ */
+@ConfigurationProperties(prefix = "banking.reactive.saga")
+public record ReactiveSagaProperties(
+        @DefaultValue("64") int concurrency,
+        @DefaultValue("10000") int queueCapacity
+) {
+}
@@ -0,0 +1,38 @@
+package com.example.banking.application.reactive;
+
+import com.example.banking.domain.transfer.Transfer;
+import com.example.banking.domain.transfer.TransferId;
+import reactor.core.publisher.Mono;
+
+/**
+ * 振込アグリゲートのためのノンブロッキングなリポジトリインターフェース。
+ *
+ * @see ReactiveAccountRepository
+ */
+public interface ReactiveTransferRepository {
+
+    /**
+     * 振込IDで振込を検索します。
+     *
+     * @param id 検索する振込のID
+     * @return 見つかった振込。見つからない場合は空のMono
+     */
+    Mono<Transfer> findById(TransferId id);
+
+    /**
+     * 新しい振込を永続化します。
+     *
+     * @param transfer 保存する振込アグリゲート
+     * @return 完了を通知するMono
+     */
+    Mono<Void> insert(Transfer transfer);
+
+    /**
+     * 振込を更新します。
+     * 楽観的ロックにより、他のトランザクションで更新されていた場合はエラーとなります。
+     *
+     * @param transfer 更新する振込アグリゲート
+     * @return 完了を通知するMono
+     */
+    Mono<Void> update(Transfer transfer);
+}
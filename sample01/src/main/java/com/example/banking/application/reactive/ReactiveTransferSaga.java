@@ -0,0 +1,202 @@
+package com.example.banking.application.reactive;
+
+import com.example.banking.application.saga.TransferSagaMetrics;
+import com.example.banking.domain.transfer.Transfer;
+import com.example.banking.domain.transfer.Transfer.TransferStatus;
+import com.example.banking.domain.transfer.TransferId;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 振込処理をリアクティブなパイプラインとしてオーケストレーションするSaga。
+ * TransferSagaと同じステップ（出金 → 入金 → 完了、入金失敗時は補償）を、ノンブロッキングに実行します。
+ *
+ * 振込依頼は有限容量のキュー（Sink）に投入され、`flatMap` の同時実行数で処理が絞られます。
+ * 下流（DB）が詰まるとキューが溜まり、満杯になると新しい依頼の投入が失敗するため、
+ * バックプレッシャーが振込依頼APIまで伝わります。
+ */
+@Slf4j
+@Component
+@Profile("reactive")
+public class ReactiveTransferSaga {
+
+    /**
+     * 口座の更新を終えた振込の状態の保存を試みる回数。
+     */
+    static final int SETTLE_ATTEMPTS = 3;
+
+    private final ReactiveTransferRepository transferRepository;
+    private final ReactiveAccountService accountService;
+    private final TransferSagaMetrics sagaMetrics;
+    private final ReactiveSagaProperties properties;
+    private final Sinks.Many<TransferId> requests;
+    private final AtomicInteger pending = new AtomicInteger();
+    private Disposable subscription;
+
+    public ReactiveTransferSaga(ReactiveTransferRepository transferRepository,
+                                ReactiveAccountService accountService,
+                                TransferSagaMetrics sagaMetrics,
+                                ReactiveSagaProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.transferRepository = transferRepository;
+        this.accountService = accountService;
+        this.sagaMetrics = sagaMetrics;
+        this.properties = properties;
+        this.requests = Sinks.many().unicast().onBackpressureBuffer(Queues.<TransferId>get(properties.queueCapacity()).get());
+        Gauge.builder("banking.reactive.saga.pending", pending, AtomicInteger::get)
+                .description("Transfers accepted by the reactive saga but not yet finished")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        subscription = requests.asFlux()
+                .flatMap(transferId -> execute(transferId)
+                        .doOnError(e -> log.error("Transfer saga aborted for transferId: {}", transferId.value(), e))
+                        .onErrorResume(e -> Mono.empty())
+                        .doFinally(signal -> pending.decrementAndGet()), properties.concurrency())
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stop() {
+        subscription.dispose();
+    }
+
+    /**
+     * 振込をSagaの実行待ちキューに投入します。
+     *
+     * @param transferId 実行する振込のID
+     * @return キューに投入できた場合はtrue。キューが満杯の場合はfalse
+     */
+    public boolean submit(TransferId transferId) {
+        pending.incrementAndGet();
+        while (true) {
+            Sinks.EmitResult result = requests.tryEmitNext(transferId);
+            if (result == Sinks.EmitResult.FAIL_NON_SERIALIZED) {
+                // 他スレッドが同時に投入中の場合は、投入が終わるのを待って再試行する
+                Thread.onSpinWait();
+                continue;
+            }
+            if (result.isFailure()) {
+                pending.decrementAndGet();
+            }
+            return result.isSuccess();
+        }
+    }
+
+    private Mono<Void> execute(TransferId transferId) {
+        return transferRepository.findById(transferId)
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("Transfer not found: " + transferId.value())))
+                .flatMap(this::process);
+    }
+
+    private Mono<Void> process(Transfer transfer) {
+        log.info("Starting transfer saga for transferId: {}", transfer.getId().value());
+        // 実行までの間に為替レートの有効期限が切れた場合は、出金せずに失敗させる
+        Mono<Void> rateCheck = transfer.isRateExpired(Instant.now())
+                ? Mono.error(new IllegalStateException("Exchange rate has expired for transferId: " + transfer.getId().value()))
+                : Mono.empty();
+        // ステップ1: 振込元口座から出金（ローカルトランザクション）
+        return rateCheck
+                .then(Mono.defer(() -> accountService.debitTransfer(transfer.getId(), transfer.getSourceAccountId(), transfer.getMoney(),
+                        transfer.getFee())))
+                .thenReturn(true)
+                .onErrorResume(error -> {
+                    // ステップ4b: 出金に失敗した場合は、補償処理なしでFAILEDにする
+                    log.error("Withdraw failed for transferId: {}. Marking as failed.", transfer.getId().value(), error);
+                    transfer.fail();
+                    return transferRepository.update(transfer)
+                            .doOnSuccess(done -> sagaMetrics.failed())
+                            .thenReturn(false);
+                })
+                .flatMap(withdrawn -> withdrawn ? depositOrCompensate(transfer) : Mono.empty());
+    }
+
+    private Mono<Void> depositOrCompensate(Transfer transfer) {
+        // ステップ2: 振込先口座へ入金（ローカルトランザクション）
+        // 補償するのは入金そのものが失敗した場合のみ。入金のコミット後は出金を取り消さない。
+        return accountService.creditTransfer(transfer.getId(), transfer.getDestinationAccountId(), transfer.getCreditedMoney())
+                .thenReturn(true)
+                .onErrorResume(error -> {
+                    log.error("Deposit failed for transferId: {}. Initiating compensation...", transfer.getId().value(), error);
+                    return compensate(transfer).thenReturn(false);
+                })
+                // ステップ3: Sagaの完了
+                .flatMap(credited -> credited
+                        ? settle(transfer, TransferStatus.COMPLETED, TransferSagaMetrics.STAGE_COMPLETE)
+                                .doOnNext(completed -> sagaMetrics.completed())
+                        : Mono.<Transfer>empty())
+                .then();
+    }
+
+    private Mono<Void> compensate(Transfer transfer) {
+        // ステップ4a: 補償トランザクション（振込手数料を含めて出金を取り消す）
+        // 補償に失敗した場合は、FAILEDにせずREQUESTEDのまま残し、止まったSagaとして計測する
+        return accountService.reverseTransferDebit(transfer.getId(), transfer.getSourceAccountId(), transfer.getDebitedMoney())
+                .thenReturn(true)
+                .onErrorResume(error -> {
+                    sagaMetrics.compensation(false);
+                    sagaMetrics.stuck(TransferSagaMetrics.STAGE_COMPENSATE);
+                    log.error("Compensation failed for transferId: {}. The debit is still posted; leaving the transfer REQUESTED for reconciliation.",
+                            transfer.getId().value(), error);
+                    return Mono.just(false);
+                })
+                .flatMap(compensated -> {
+                    if (!compensated) {
+                        return Mono.<Transfer>empty();
+                    }
+                    sagaMetrics.compensation(true);
+                    return settle(transfer, TransferStatus.FAILED, TransferSagaMetrics.STAGE_FAIL)
+                            .doOnNext(failed -> sagaMetrics.compensated());
+                })
+                .then();
+    }
+
+    /**
+     * 口座の更新をすべて終えた振込を、指定した状態として保存します。
+     * 保存に失敗した場合は振込を読み込み直して、合わせて{@value #SETTLE_ATTEMPTS}回まで試みます。
+     * 読み込み直した振込がすでに指定した状態であれば、保存済みとして扱います。
+     * すべて失敗した場合は、振込をREQUESTEDのまま残し、止まったSagaとして計測して空を返します。
+     */
+    private Mono<Transfer> settle(Transfer transfer, TransferStatus status, String stage) {
+        return save(transfer, status)
+                .onErrorResume(error -> {
+                    log.warn("Saving transferId: {} as {} failed. Retrying...", transfer.getId().value(), status, error);
+                    // 再試行のたびに振込を読み込み直す
+                    return Mono.defer(() -> transferRepository.findById(transfer.getId()))
+                            .switchIfEmpty(Mono.error(() -> new IllegalStateException("Transfer not found: " + transfer.getId().value())))
+                            .flatMap(current -> current.getStatus() == status ? Mono.just(current) : save(current, status))
+                            .retry(SETTLE_ATTEMPTS - 2);
+                })
+                .onErrorResume(error -> {
+                    sagaMetrics.stuck(stage);
+                    log.error("Transfer {} could not be saved as {}. All postings are done; leaving it REQUESTED for reconciliation.",
+                            transfer.getId().value(), status, error);
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Transfer> save(Transfer transfer, TransferStatus status) {
+        return Mono.defer(() -> {
+            if (status == TransferStatus.COMPLETED) {
+                transfer.complete();
+            } else {
+                transfer.fail();
+            }
+            return transferRepository.update(transfer).thenReturn(transfer);
+        });
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.banking.application.reactive;
+
+import com.example.banking.application.fee.FeeRequest;
+import com.example.banking.application.fee.FeeRuleEngine;
+import com.example.banking.application.fx.FxQuoteService;
+import com.example.banking.application.limit.TransferLimitEngine;
+import com.example.banking.application.limit.TransferLimitReservation;
+import com.example.banking.application.saga.SagaBacklogFullException;
+import com.example.banking.application.service.AccountCurrencyCache;
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.AccountNotFoundException;
+import com.example.banking.domain.account.Money;
+import com.example.banking.domain.fx.FxQuote;
+import com.example.banking.domain.fx.FxQuoteId;
+import com.example.banking.domain.transfer.Transfer;
+import com.example.banking.domain.transfer.TransferChannel;
+import com.example.banking.domain.transfer.TransferPriority;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Currency;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 振込に関するユースケースをノンブロッキングに実装するアプリケーションサービス。
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveTransferService {
+
+    private final ReactiveTransferRepository transferRepository;
+    private final ReactiveAccountRepository accountRepository;
+    private final AccountCurrencyCache accountCurrencyCache;
+    private final TransferLimitEngine transferLimitEngine;
+    private final FxQuoteService fxQuoteService;
+    private final FeeRuleEngine feeRuleEngine;
+    private final ReactiveTransferSaga transferSaga;
+    private final TransactionalOperator transactionalOperator;
+
+    /**
+     * 振込依頼ユースケース。
+     * 振込をREQUESTED状態で永続化し、コミット後にSagaの実行待ちキューへ投入します。
+     * キューが満杯の場合は振込をFAILEDとして確定させ、SagaBacklogFullExceptionを通知します。
+     * 存在しない口座への振込、口座と通貨が一致しない振込、振込上限を超える振込は、TransferServiceと同様に永続化する前に拒否します。
+     *
+     * @param sourceAccountId 振込元口座ID
+     * @param destinationAccountId 振込先口座ID
+     * @param money 振込金額
+     * @param quoteId 為替見積もりID。同一通貨の振込ではnull
+     * @return 永続化されたTransferアグリゲート
+     */
+    public Mono<Transfer> requestTransfer(AccountId sourceAccountId, AccountId destinationAccountId, Money money, FxQuoteId quoteId) {
+        return requestTransfer(sourceAccountId, destinationAccountId, money, quoteId, TransferPriority.NORMAL);
+    }
+
+    /**
+     * 優先度を指定した振込依頼ユースケース。
+     * 優先度は振込に記録されますが、リアクティブ構成のSagaは単一のキューで実行するため、実行順には影響しません。
+     *
+     * @param priority 振込の優先度
+     * @see #requestTransfer(AccountId, AccountId, Money, FxQuoteId)
+     */
+    public Mono<Transfer> requestTransfer(AccountId sourceAccountId, AccountId destinationAccountId, Money money, FxQuoteId quoteId,
+                                          TransferPriority priority) {
+        return Mono.defer(() -> {
+            AtomicReference<TransferLimitReservation> reservation = new AtomicReference<>(TransferLimitReservation.NONE);
+            // トランザクションの接続で順に問い合わせるため、両口座の通貨は並行せずに読み込む
+            return currencyOf(sourceAccountId)
+                    .flatMap(sourceCurrency -> currencyOf(destinationAccountId)
+                            // 振込手数料はサーブレット構成と同じルールで評価する。見積もりがあれば、そのレートをロックする
+                            .flatMap(destinationCurrency -> createTransfer(sourceAccountId, sourceCurrency, destinationAccountId,
+                                    destinationCurrency, money, quoteId, priority)))
+                    // 上限の判定はメモリ上のCASのみでブロックしないため、そのまま実行する。検証がすべて済んでから利用量を加算する
+                    .doOnNext(transfer -> reservation.set(transferLimitEngine.acquire(sourceAccountId, money, TransferChannel.API)))
+                    .flatMap(transfer -> transferRepository.insert(transfer).thenReturn(transfer))
+                    .as(transactionalOperator::transactional)
+                    .flatMap(transfer -> {
+                        if (transferSaga.submit(transfer.getId())) {
+                            return Mono.just(transfer);
+                        }
+                        transfer.fail();
+                        return transferRepository.update(transfer)
+                                .then(Mono.<Transfer>error(new SagaBacklogFullException(
+                                        "Transfer saga backlog is full. Retry later: " + transfer.getId().value())));
+                    })
+                    // 永続化に失敗した振込や、Sagaのキューが満杯で再試行を促す振込は、加算した利用量を取り消す
+                    .doOnError(e -> transferLimitEngine.release(reservation.get()));
+        });
+    }
+
+    /**
+     * 振込の通貨を両口座の通貨と照合し、振込手数料を評価して振込を生成する。
+     * 為替見積もりはJDBCで共有ストアから読み込むため、見積もりを指定した振込はイベントループをブロックしないよう別のスレッドで生成する。
+     */
+    private Mono<Transfer> createTransfer(AccountId sourceAccountId, Currency sourceCurrency, AccountId destinationAccountId,
+                                          Currency destinationCurrency, Money money, FxQuoteId quoteId, TransferPriority priority) {
+        Mono<Transfer> transfer = Mono.fromCallable(() -> {
+            FxQuote quote = fxQuoteService.quoteForTransfer(sourceAccountId, sourceCurrency, destinationAccountId, destinationCurrency,
+                    money, quoteId);
+            Money fee = feeRuleEngine.evaluate(new FeeRequest(money, TransferChannel.API, priority, quote != null));
+            return quote == null
+                    ? Transfer.request(sourceAccountId, destinationAccountId, money, fee, priority)
+                    : Transfer.request(sourceAccountId, destinationAccountId, money, quote, fee, priority);
+        });
+        return quoteId == null ? transfer : transfer.subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * 口座の通貨を返す。キャッシュにない口座はDBから読み込み、存在しなければAccountNotFoundExceptionを通知する。
+     * 存在した口座はキャッシュに登録する。
+     */
+    private Mono<Currency> currencyOf(AccountId accountId) {
+        return Mono.defer(() -> accountCurrencyCache.get(accountId)
+                .map(Mono::just)
+                .orElseGet(() -> accountRepository.findCurrencyById(accountId)
+                        .switchIfEmpty(Mono.error(() -> new AccountNotFoundException(accountId)))
+                        .doOnNext(currency -> accountCurrencyCache.put(accountId, currency))));
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.banking.application.reconciliation;
+
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.Money;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * 口座の残高と、その口座の仕訳の合計（期待される残高）。
+ * 仕訳は初期預金・入出金・利息・振込の出金/入金/取り消しのすべてを含むため、両者は常に一致するはずです。
+ *
+ * @param accountId 口座ID
+ * @param balance 口座の残高（accounts.balance）
+ * @param ledgerTotal 口座の仕訳の合計
+ */
+public record AccountLedgerBalance(AccountId accountId, Money balance, BigDecimal ledgerTotal) {
+
+    /**
+     * 残高と仕訳の合計を照合します。
+     *
+     * @return 一致しない場合は不整合
+     */
+    public Optional<Discrepancy> check() {
+        if (balance.amount().compareTo(ledgerTotal) == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new Discrepancy(Discrepancy.Type.BALANCE_MISMATCH, accountId.value(),
+                "balance " + balance.amount().toPlainString() + " " + balance.currency()
+                        + " does not match ledger total " + ledgerTotal.toPlainString()));
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.banking.application.reconciliation;
+
+import java.util.UUID;
+
+/**
+ * 照合で検出した不整合。
+ *
+ * @param type 不整合の種類
+ * @param subjectId 不整合のある口座ID（BALANCE_MISMATCH）または振込ID（それ以外）
+ * @param detail 調査のための説明（期待値と実際の値など）
+ */
+public record Discrepancy(Type type, UUID subjectId, String detail) {
+
+    /**
+     * 不整合の種類。
+     */
+    public enum Type {
+        /** 口座の残高が、仕訳の合計と一致しない */
+        BALANCE_MISMATCH,
+        /** 完了した振込の出金・入金の仕訳が、振込の金額と一致しない */
+        INCOMPLETE_TRANSFER,
+        /** 失敗した振込の出金が取り消されていない（補償されていないSaga） */
+        UNCOMPENSATED_TRANSFER,
+        /** 失敗した振込に入金の仕訳がある、または取り消しが出金と一致しない */
+        MISAPPLIED_TRANSFER,
+        /** 振込が依頼中のまま一定時間を過ぎている（Sagaが途中で止まっている） */
+        STALLED_TRANSFER
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.banking.application.reconciliation;
+
+import com.example.banking.application.interest.AccountIdRange;
+import com.example.banking.application.service.DatabaseShards;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 口座の残高・振込・仕訳（元帳）の整合性を検証する照合バッチ。
+ *
+ * - 口座の照合: 口座の残高が、その口座の仕訳（初期預金・入出金・利息・振込）の合計と一致すること
+ * - 振込の照合: 完了した振込は出金と入金が、失敗した振込は出金と取り消しが過不足なく記録されていること
+ *   （補償されていないSagaや、依頼中のまま止まっているSagaを検出する）
+ *
+ * 口座IDと振込IDの範囲で走査をパーティションに分割し、ForkJoinPoolで分割統治により並列に走査して、
+ * パーティションごとの集計をjoinでマージします。各パーティションはカーソルでストリーミングに読み込むため、
+ * 件数によらずメモリ使用量は一定です。
+ * 各パーティションはREPEATABLE READの読み取り専用トランザクションで走査するため、
+ * 残高と仕訳はそれぞれ同じスナップショットから読み込まれ、実行中のオンライン取引を不整合として報告しません。
+ * シャーディング構成では、パーティションをシャードごとに作成して各シャードで走査します。
+ */
+@Slf4j
+@Component
+public class ReconciliationJob {
+
+    private final ReconciliationRepository repository;
+    private final ReconciliationProperties properties;
+    private final DatabaseShards shards;
+    private final TransactionTemplate scanTransaction;
+    private final Clock clock;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong lastDiscrepancies = new AtomicLong();
+    private final Counter accounts;
+    private final Counter transfers;
+    private final Timer runTimer;
+
+    @Autowired
+    public ReconciliationJob(ReconciliationRepository repository,
+                             ReconciliationProperties properties,
+                             DatabaseShards shards,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        this(repository, properties, shards, transactionManager, meterRegistry, Clock.systemUTC());
+    }
+
+    ReconciliationJob(ReconciliationRepository repository,
+                      ReconciliationProperties properties,
+                      DatabaseShards shards,
+                      PlatformTransactionManager transactionManager,
+                      MeterRegistry meterRegistry,
+                      Clock clock) {
+        this.repository = repository;
+        this.properties = properties;
+        this.shards = shards;
+        this.clock = clock;
+        this.scanTransaction = new TransactionTemplate(transactionManager);
+        this.scanTransaction.setReadOnly(true);
+        this.scanTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.accounts = Counter.builder("banking.reconciliation.accounts")
+                .description("Accounts whose balance has been reconciled against the ledger")
+                .register(meterRegistry);
+        this.transfers = Counter.builder("banking.reconciliation.transfers")
+                .description("Transfers whose status has been reconciled against the ledger")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("banking.reconciliation.run")
+                .description("Time to reconcile all accounts and transfers")
+                .register(meterRegistry);
+        Gauge.builder("banking.reconciliation.discrepancies", lastDiscrepancies, AtomicLong::get)
+                .description("Discrepancies found by the last reconciliation run")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 照合を実行します。
+     *
+     * @return 照合の結果
+     * @throws IllegalStateException 照合が実行中の場合
+     */
+    public ReconciliationReport run() {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("Reconciliation is already running");
+        }
+        Instant startedAt = clock.instant();
+        long startedNanos = System.nanoTime();
+        // スナップショットより前に依頼された振込のみを滞留の判定対象とする
+        Instant stalledBefore = startedAt.minus(properties.stalledAfter());
+        List<Scan> scans = new ArrayList<>();
+        for (String shard : shards.names()) {
+            for (AccountIdRange range : AccountIdRange.split(properties.partitions())) {
+                scans.add(new Scan(shard, ScanKind.ACCOUNTS, range, stalledBefore));
+                scans.add(new Scan(shard, ScanKind.TRANSFERS, range, stalledBefore));
+            }
+        }
+        ForkJoinPool pool = new ForkJoinPool(properties.parallelism(), ReconciliationJob::newWorker, null, false);
+        try {
+            ReconciliationTally tally = pool.invoke(new ScanTask(scans));
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - startedNanos);
+            runTimer.record(elapsed);
+            ReconciliationReport report = tally.toReport(startedAt, elapsed);
+            lastDiscrepancies.set(report.discrepancyCount());
+            log.info("Reconciliation finished: {} accounts and {} transfers in {}, {} discrepancies",
+                    report.accountsChecked(), report.transfersChecked(), elapsed, report.discrepancyCount());
+            return report;
+        } finally {
+            pool.shutdownNow();
+            running.set(false);
+        }
+    }
+
+    /**
+     * 照合が実行中かどうかを返します。
+     */
+    public boolean isRunning() {
+        return running.get();
+    }
+
+    private ReconciliationTally scan(Scan scan) {
+        return shards.callOn(scan.shard(), () -> scanShard(scan));
+    }
+
+    private ReconciliationTally scanShard(Scan scan) {
+        ReconciliationTally tally = new ReconciliationTally(properties.maxReportedDiscrepancies());
+        if (scan.kind() == ScanKind.ACCOUNTS) {
+            scanTransaction.executeWithoutResult(status -> repository.scanAccounts(scan.range(), balance -> {
+                tally.accountChecked();
+                balance.check().ifPresent(tally::report);
+            }));
+            accounts.increment(tally.accountsChecked());
+        } else {
+            scanTransaction.executeWithoutResult(status -> repository.scanTransfers(scan.range(), postings -> {
+                tally.transferChecked();
+                postings.check(scan.stalledBefore()).ifPresent(tally::report);
+            }));
+            transfers.increment(tally.transfersChecked());
+        }
+        return tally;
+    }
+
+    private static ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("reconciliation-" + thread.getPoolIndex());
+        return thread;
+    }
+
+    private enum ScanKind {
+        ACCOUNTS,
+        TRANSFERS
+    }
+
+    /**
+     * 1パーティション分の走査。
+     */
+    private record Scan(String shard, ScanKind kind, AccountIdRange range, Instant stalledBefore) {
+    }
+
+    /**
+     * 走査の一覧を半分ずつに分割して並列に実行し、集計をマージするタスク。
+     */
+    private final class ScanTask extends RecursiveTask<ReconciliationTally> {
+
+        private final List<Scan> scans;
+
+        ScanTask(List<Scan> scans) {
+            this.scans = scans;
+        }
+
+        @Override
+        protected ReconciliationTally compute() {
+            if (scans.size() == 1) {
+                return scan(scans.get(0));
+            }
+            int middle = scans.size() / 2;
+            ScanTask left = new ScanTask(scans.subList(0, middle));
+            left.fork();
+            ReconciliationTally right = new ScanTask(scans.subList(middle, scans.size())).compute();
+            // 左半分の集計を先にすることで、レポートの不整合はパーティションの順に並ぶ
+            return left.join().merge(right);
+        }
+    }
+}
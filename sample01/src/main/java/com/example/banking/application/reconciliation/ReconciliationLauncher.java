@@ -0,0 +1,82 @@
+package com.example.banking.application.reconciliation;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 元帳照合バッチを起動し、最新の結果を保持するコンポーネント。
+ *
+ * 照合は専用のスレッドで実行するため、スケジューラのスレッドや呼び出し元のリクエストスレッドを長時間占有しません。
+ * 不整合を検出した場合は、レポートに含めた不整合をすべて警告として出力します。
+ */
+@Slf4j
+@Component
+public class ReconciliationLauncher {
+
+    private final ReconciliationJob job;
+    private final ReconciliationProperties properties;
+    private final AtomicReference<ReconciliationReport> latestReport = new AtomicReference<>();
+    private final ExecutorService launcher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "reconciliation-launcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReconciliationLauncher(ReconciliationJob job, ReconciliationProperties properties) {
+        this.job = job;
+        this.properties = properties;
+    }
+
+    @Scheduled(cron = "${banking.reconciliation.cron:0 0 3 * * *}", zone = "${banking.reconciliation.zone:Asia/Tokyo}")
+    public void launchScheduled() {
+        if (!properties.enabled()) {
+            return;
+        }
+        launch();
+    }
+
+    /**
+     * 照合を非同期に起動します。
+     *
+     * @return 起動した場合はtrue。すでに照合が実行中の場合はfalse
+     */
+    public boolean launch() {
+        if (job.isRunning()) {
+            return false;
+        }
+        launcher.execute(() -> {
+            try {
+                ReconciliationReport report = job.run();
+                latestReport.set(report);
+                if (!report.isClean()) {
+                    log.warn("Reconciliation found {} discrepancies{}", report.discrepancyCount(),
+                            report.isTruncated() ? " (only the first " + report.discrepancies().size() + " are reported)" : "");
+                    report.discrepancies().forEach(discrepancy ->
+                            log.warn("Discrepancy {} {}: {}", discrepancy.type(), discrepancy.subjectId(), discrepancy.detail()));
+                }
+            } catch (RuntimeException e) {
+                log.error("Reconciliation failed", e);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * 最後に完了した照合の結果を返します。
+     */
+    public Optional<ReconciliationReport> latestReport() {
+        return Optional.ofNullable(latestReport.get());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        launcher.shutdownNow();
+    }
+}
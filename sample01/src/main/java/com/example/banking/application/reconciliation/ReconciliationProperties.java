@@ -0,0 +1,30 @@
+package com.example.banking.application.reconciliation;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.time.ZoneId;
+
+/**
+ * 元帳照合バッチの設定値。
+ *
+ * @param enabled 定期実行を行うかどうか
+ * @param cron 実行スケジュール
+ * @param zone スケジュールのタイムゾーン
+ * @param parallelism 同時に走査するパーティション数（ForkJoinPoolの並列度）。走査中のパーティションごとにDB接続を1本使用する
+ * @param partitions 口座ID・振込IDの範囲で分割するパーティション数。並列度より大きくすると、走査の遅いパーティションに処理が偏りにくくなる
+ * @param stalledAfter 依頼中（REQUESTED）のまま、この時間を過ぎた振込を滞留として報告する
+ * @param maxReportedDiscrepancies レポートに含める不整合の上限（件数はすべて数える）
+ */
+@ConfigurationProperties(prefix = "banking.reconciliation")
+public record ReconciliationProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("0 0 3 * * *") String cron,
+        @DefaultValue("Asia/Tokyo") ZoneId zone,
+        @DefaultValue("8") int parallelism,
+        @DefaultValue("64") int partitions,
+        @DefaultValue("PT15M") Duration stalledAfter,
+        @DefaultValue("1000") int maxReportedDiscrepancies
+) {
+}
@@ -0,0 +1,39 @@
+package com.example.banking.application.reconciliation;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 元帳照合の結果。
+ *
+ * @param startedAt 照合を開始した日時
+ * @param elapsed 所要時間
+ * @param accountsChecked 照合した口座数
+ * @param transfersChecked 照合した振込数
+ * @param discrepancyCount 検出した不整合の件数
+ * @param discrepancies 検出した不整合（最大件数まで）
+ */
+public record ReconciliationReport(
+        Instant startedAt,
+        Duration elapsed,
+        long accountsChecked,
+        long transfersChecked,
+        long discrepancyCount,
+        List<Discrepancy> discrepancies
+) {
+
+    /**
+     * 不整合がなかったかどうか。
+     */
+    public boolean isClean() {
+        return discrepancyCount == 0;
+    }
+
+    /**
+     * 検出した不整合の一部のみをレポートに含めたかどうか。
+     */
+    public boolean isTruncated() {
+        return discrepancyCount > discrepancies.size();
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.banking.application.reconciliation;
+
+import com.example.banking.application.interest.AccountIdRange;
+
+import java.util.function.Consumer;
+
+/**
+ * 元帳照合バッチの永続化ポート。
+ * いずれのメソッドも結果をカーソルでストリーミングに読み込むため、読み取り専用トランザクション内で呼び出してください。
+ */
+public interface ReconciliationRepository {
+
+    /**
+     * 範囲内の口座の残高と、口座ごとの仕訳の合計を読み込みます。
+     *
+     * @param range 口座IDの範囲
+     * @param consumer 読み込んだ口座を受け取る処理
+     */
+    void scanAccounts(AccountIdRange range, Consumer<AccountLedgerBalance> consumer);
+
+    /**
+     * 範囲内の振込と、振込ごとの仕訳の合計を読み込みます。
+     * 振込IDもランダムなUUIDのため、口座IDと同じ範囲の分割を使用します。
+     *
+     * @param range 振込IDの範囲
+     * @param consumer 読み込んだ振込を受け取る処理
+     */
+    void scanTransfers(AccountIdRange range, Consumer<TransferPostings> consumer);
+}
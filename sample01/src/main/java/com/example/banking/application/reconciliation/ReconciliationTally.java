@@ -0,0 +1,67 @@
+package com.example.banking.application.reconciliation;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * パーティションごとの照合の集計。
+ * パーティションの走査は1スレッドで行うため同期化は不要で、結果はForkJoinのjoinでマージします。
+ */
+final class ReconciliationTally {
+
+    private final int maxReported;
+    private final List<Discrepancy> discrepancies = new ArrayList<>();
+    private long accountsChecked;
+    private long transfersChecked;
+    private long discrepancyCount;
+
+    ReconciliationTally(int maxReported) {
+        this.maxReported = maxReported;
+    }
+
+    void accountChecked() {
+        accountsChecked++;
+    }
+
+    void transferChecked() {
+        transfersChecked++;
+    }
+
+    void report(Discrepancy discrepancy) {
+        discrepancyCount++;
+        if (discrepancies.size() < maxReported) {
+            discrepancies.add(discrepancy);
+        }
+    }
+
+    long accountsChecked() {
+        return accountsChecked;
+    }
+
+    long transfersChecked() {
+        return transfersChecked;
+    }
+
+    /**
+     * 別のパーティションの集計をこの集計に加えます。
+     */
+    ReconciliationTally merge(ReconciliationTally other) {
+        accountsChecked += other.accountsChecked;
+        transfersChecked += other.transfersChecked;
+        discrepancyCount += other.discrepancyCount;
+        for (Discrepancy discrepancy : other.discrepancies) {
+            if (discrepancies.size() >= maxReported) {
+                break;
+            }
+            discrepancies.add(discrepancy);
+        }
+        return this;
+    }
+
+    ReconciliationReport toReport(Instant startedAt, Duration elapsed) {
+        return new ReconciliationReport(startedAt, elapsed, accountsChecked, transfersChecked, discrepancyCount,
+                List.copyOf(discrepancies));
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.banking.application.reconciliation;
+
+import com.example.banking.domain.account.Money;
+import com.example.banking.domain.transfer.Transfer;
+import com.example.banking.domain.transfer.TransferId;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * 振込と、その振込IDで記録された仕訳の合計。
+ *
+ * @param transferId 振込ID
+ * @param status 振込のステータス
+ * @param money 振込元口座から出金する金額（振込金額と振込手数料の合計）
+ * @param creditedMoney 振込先口座へ入金する金額（通貨をまたぐ振込ではロックした為替レートで換算した金額）
+ * @param requestedAt 振込が依頼された日時
+ * @param debited 振込元口座の出金（TRANSFER_DEBIT）と振込手数料（TRANSFER_FEE）の合計
+ * @param credited 振込先口座の入金（TRANSFER_CREDIT）の合計
+ * @param reversed 振込元口座の取り消し（TRANSFER_REVERSAL）の合計
+ */
+public record TransferPostings(
+        TransferId transferId,
+        Transfer.TransferStatus status,
+        Money money,
+        Money creditedMoney,
+        Instant requestedAt,
+        BigDecimal debited,
+        BigDecimal credited,
+        BigDecimal reversed
+) {
+
+    /**
+     * 振込のステータスと仕訳を照合します。
+     * - 完了: 出金と入金がそれぞれ振込の金額で1回ずつ記録され、取り消しがないこと
+     * - 失敗: 入金がなく、出金した場合は同額が取り消されていること
+     * - 依頼中: Sagaの実行中とみなし、stalledBeforeより前に依頼されたものだけを滞留として報告する
+     *
+     * @param stalledBefore この日時より前に依頼され、依頼中のままの振込を滞留とみなす
+     * @return 不整合がある場合は不整合
+     */
+    public Optional<Discrepancy> check(Instant stalledBefore) {
+        return switch (status) {
+            case COMPLETED -> equal(debited, money.amount()) && equal(credited, creditedMoney.amount()) && isZero(reversed)
+                    ? Optional.empty()
+                    : discrepancy(Discrepancy.Type.INCOMPLETE_TRANSFER);
+            case FAILED -> {
+                if (isZero(credited) && equal(debited, reversed)) {
+                    yield Optional.empty();
+                }
+                yield isZero(credited) && debited.compareTo(reversed) > 0
+                        ? discrepancy(Discrepancy.Type.UNCOMPENSATED_TRANSFER)
+                        : discrepancy(Discrepancy.Type.MISAPPLIED_TRANSFER);
+            }
+            case REQUESTED -> requestedAt.isBefore(stalledBefore)
+                    ? discrepancy(Discrepancy.Type.STALLED_TRANSFER)
+                    : Optional.empty();
+        };
+    }
+
+    private Optional<Discrepancy> discrepancy(Discrepancy.Type type) {
+        return Optional.of(new Discrepancy(type, transferId.value(),
+                status + " transfer of " + money.amount().toPlainString() + " " + money.currency()
+                        + " requested at " + requestedAt
+                        + ": debited " + debited.toPlainString()
+                        + ", credited " + credited.toPlainString()
+                        + ", reversed " + reversed.toPlainString()));
+    }
+
+    private static boolean equal(BigDecimal a, BigDecimal b) {
+        return a.compareTo(b) == 0;
+    }
+
+    private static boolean isZero(BigDecimal value) {
+        return value.signum() == 0;
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.banking.application.saga;
+
+import com.example.banking.domain.transfer.TransferPriority;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 振込の優先度ごとのレーン（待ち行列）。
+ *
+ * 至急（URGENT）のレーンは完全優先で、要素がある限り他のレーンより先に取り出されます。
+ * 通常（NORMAL）と一括（BULK）のレーンは重み付きラウンドロビン（smooth weighted round robin）で取り出され、
+ * 両方に要素がある場合は重みの比で交互に（例えば 4:1 なら N N B N N の順に）取り出されます。
+ * 一方のレーンが空の場合はもう一方から取り出すため、実行枠が遊ぶことはありません。
+ * 空のレーンは重みを貯めないため、しばらく空だった後に大量の要素が投入されても、他のレーンを独占することはありません。
+ * 各レーンに保持できる要素の数には上限（{@code capacity}）があり、満杯のレーンへの追加は拒否されます。
+ * 一括振込の大量投入でメモリを使い果たしたり、至急のレーンが際限なく滞留したりしないようにするためです。
+ * 要素を追加する前にレーンの枠を予約（{@link #reserve(TransferPriority)}）することもでき、予約した枠も上限に数えます。
+ *
+ * このクラスはスレッドセーフです。
+ *
+ * @param <T> 要素の型
+ */
+public class PriorityLanes<T> {
+
+    private static final List<TransferPriority> WEIGHTED_LANES = List.of(TransferPriority.NORMAL, TransferPriority.BULK);
+
+    private final Map<TransferPriority, Queue<T>> queues = new EnumMap<>(TransferPriority.class);
+    private final Map<TransferPriority, Integer> weights = new EnumMap<>(TransferPriority.class);
+    /** 重み付きラウンドロビンの現在の重み */
+    private final Map<TransferPriority, Integer> currentWeights = new EnumMap<>(TransferPriority.class);
+    /** 予約されたが、まだ要素が追加されていない枠の数 */
+    private final Map<TransferPriority, Integer> reserved = new EnumMap<>(TransferPriority.class);
+    private final int capacity;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private boolean closed;
+
+    /**
+     * @param normalWeight 通常のレーンの重み
+     * @param bulkWeight 一括のレーンの重み
+     * @param capacity 1つのレーンに保持できる要素の数
+     */
+    public PriorityLanes(int normalWeight, int bulkWeight, int capacity) {
+        if (normalWeight < 1 || bulkWeight < 1) {
+            throw new IllegalArgumentException("Lane weights must be positive: normal=" + normalWeight + ", bulk=" + bulkWeight);
+        }
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Lane capacity must be positive: " + capacity);
+        }
+        this.capacity = capacity;
+        for (TransferPriority lane : TransferPriority.values()) {
+            queues.put(lane, new ArrayDeque<>());
+            currentWeights.put(lane, 0);
+            reserved.put(lane, 0);
+        }
+        weights.put(TransferPriority.NORMAL, normalWeight);
+        weights.put(TransferPriority.BULK, bulkWeight);
+    }
+
+    /**
+     * 要素をレーンの末尾に追加します。
+     *
+     * @param lane レーン
+     * @param item 要素
+     * @return 追加できた場合はtrue。レーンが満杯の場合と{@link #close()}の後はfalse
+     */
+    public boolean offer(TransferPriority lane, T item) {
+        lock.lock();
+        try {
+            if (isFull(lane)) {
+                return false;
+            }
+            add(lane, item);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 要素を後から追加するために、レーンの枠を1つ予約します。
+     * 予約した枠は、{@link #offerReserved(TransferPriority, Object)}で要素を追加するか、{@link #release(TransferPriority)}で解放します。
+     *
+     * @param lane レーン
+     * @return 予約できた場合はtrue。レーンが満杯の場合と{@link #close()}の後はfalse
+     */
+    public boolean reserve(TransferPriority lane) {
+        lock.lock();
+        try {
+            if (isFull(lane)) {
+                return false;
+            }
+            reserved.merge(lane, 1, Integer::sum);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 予約した枠に要素を追加します。上限は予約の時点で判定済みのため、満杯でも拒否しません。
+     *
+     * @param lane 予約したレーン
+     * @param item 要素
+     * @return 追加できた場合はtrue。{@link #close()}の後はfalse（予約は解放される）
+     */
+    public boolean offerReserved(TransferPriority lane, T item) {
+        lock.lock();
+        try {
+            reserved.merge(lane, -1, Integer::sum);
+            if (closed) {
+                return false;
+            }
+            add(lane, item);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 要素を追加せずに、予約した枠を解放します。
+     *
+     * @param lane 予約したレーン
+     */
+    public void release(TransferPriority lane) {
+        lock.lock();
+        try {
+            reserved.merge(lane, -1, Integer::sum);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 次の要素を取り出します。要素がない場合は待機せずにnullを返します。
+     *
+     * @param urgentOnly 至急のレーンからのみ取り出す場合はtrue
+     * @return 取り出した要素。ない場合はnull
+     */
+    public T poll(boolean urgentOnly) {
+        lock.lock();
+        try {
+            return next(urgentOnly);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 次の要素を取り出します。要素がない場合は、要素が追加されるか{@link #close()}されるまで待機します。
+     *
+     * @param urgentOnly 至急のレーンからのみ取り出す場合はtrue
+     * @return 取り出した要素。閉じられた場合はnull
+     * @throws InterruptedException 待機中に割り込まれた場合
+     */
+    public T take(boolean urgentOnly) throws InterruptedException {
+        lock.lockInterruptibly();
+        try {
+            while (!closed) {
+                T item = next(urgentOnly);
+                if (item != null) {
+                    return item;
+                }
+                notEmpty.await();
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * レーンで待っている要素の数を返します。
+     */
+    public int size(TransferPriority lane) {
+        lock.lock();
+        try {
+            return queues.get(lane).size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * レーンを閉じ、待機中の取り出し手を解放します。残っている要素は取り出されません。
+     */
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isFull(TransferPriority lane) {
+        return closed || queues.get(lane).size() + reserved.get(lane) >= capacity;
+    }
+
+    private void add(TransferPriority lane, T item) {
+        queues.get(lane).add(item);
+        // 至急専用の取り出し手と共用の取り出し手が同じ条件で待つため、全員を起こす
+        notEmpty.signalAll();
+    }
+
+    private T next(boolean urgentOnly) {
+        T urgent = queues.get(TransferPriority.URGENT).poll();
+        if (urgent != null || urgentOnly) {
+            return urgent;
+        }
+        TransferPriority selected = null;
+        int total = 0;
+        for (TransferPriority lane : WEIGHTED_LANES) {
+            if (queues.get(lane).isEmpty()) {
+                currentWeights.put(lane, 0);
+                continue;
+            }
+            int weight = weights.get(lane);
+            currentWeights.merge(lane, weight, Integer::sum);
+            total += weight;
+            if (selected == null || currentWeights.get(lane) > currentWeights.get(selected)) {
+                selected = lane;
+            }
+        }
+        if (selected == null) {
+            return null;
+        }
+        currentWeights.merge(selected, -total, Integer::sum);
+        return queues.get(selected).poll();
+    }
+}
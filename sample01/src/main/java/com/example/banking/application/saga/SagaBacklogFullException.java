@@ -0,0 +1,11 @@
+package com.example.banking.application.saga;
+
+/**
+ * Sagaの実行待ちキュー（サーブレット構成では振込の優先度のレーン）が満杯で、振込依頼を受け付けられないことを示す例外。
+ * バックプレッシャーの結果としてクライアントに通知され、時間をおいた再試行を促します。
+ */
+public class SagaBacklogFullException extends RuntimeException {
+    public SagaBacklogFullException(String message) {
+        super(message);
+    }
+}
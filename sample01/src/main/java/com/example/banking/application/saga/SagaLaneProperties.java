@@ -0,0 +1,31 @@
+package com.example.banking.application.saga;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 振込Sagaを優先度ごとのレーンで実行する設定値。
+ *
+ * @param workers Sagaを実行するスレッドの数（至急専用のスレッドを含む）。1スレッドあたりDB接続を1本使用するため、コネクションプールより小さくすること
+ * @param urgentReservedWorkers 至急（URGENT）の振込だけを実行するスレッドの数。他のスレッドが一括振込で埋まっていても、至急の振込はこれらのスレッドで直ちに実行される
+ * @param normalWeight 通常（NORMAL）の振込の重み
+ * @param bulkWeight 一括（BULK）の振込の重み。通常と一括の両方が待っている場合、実行枠を重みの比で分け合う
+ * @param urgentLatencyTarget 至急の振込の、依頼からSaga完了までの目標時間（SLO）
+ * @param normalLatencyTarget 通常の振込の目標時間
+ * @param bulkLatencyTarget 一括振込の目標時間
+ * @param laneCapacity 1つのレーンで実行を待てる振込の数。満杯のレーンへの振込依頼は、振込を保存せずに拒否する
+ */
+@ConfigurationProperties(prefix = "banking.saga.lanes")
+public record SagaLaneProperties(
+        @DefaultValue("8") int workers,
+        @DefaultValue("2") int urgentReservedWorkers,
+        @DefaultValue("4") int normalWeight,
+        @DefaultValue("1") int bulkWeight,
+        @DefaultValue("PT1S") Duration urgentLatencyTarget,
+        @DefaultValue("PT10S") Duration normalLatencyTarget,
+        @DefaultValue("PT30M") Duration bulkLatencyTarget,
+        @DefaultValue("10000") int laneCapacity
+) {
+}
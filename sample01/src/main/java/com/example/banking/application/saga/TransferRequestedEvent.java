@@ -1,6 +1,9 @@
 package com.example.banking.application.saga;
 
 import com.example.banking.domain.transfer.TransferId;
+import com.example.banking.domain.transfer.TransferPriority;
+import io.micrometer.context.ContextSnapshot;
+import io.micrometer.context.ContextSnapshotFactory;
 import lombok.Getter;
 import org.springframework.context.ApplicationEvent;
 
@@ -12,20 +15,50 @@ import org.springframework.context.ApplicationEvent;
 @Getter
 public class TransferRequestedEvent extends ApplicationEvent {
 
+    private static final ContextSnapshotFactory CONTEXT_SNAPSHOT_FACTORY = ContextSnapshotFactory.builder().build();
+
     /**
      * イベントの対象となる振込ID。
      */
     @Getter
     private final TransferId transferId;
 
+    /**
+     * 振込の優先度。Sagaはこの優先度のレーンで実行されます。
+     */
+    @Getter
+    private final TransferPriority priority;
+
+    /**
+     * イベント発行時点のトレースコンテキスト。
+     * Sagaは別スレッドで実行されるため、このスナップショットを復元することで
+     * 振込依頼（RESTリクエスト）とSagaのスパンを同じトレースに関連付けます。
+     */
+    @Getter
+    private final ContextSnapshot traceContext;
+
     /**
      * 振込リクエストイベントを生成します。
+     * 呼び出し元スレッドのトレースコンテキストを取得し、イベントに保持します。
      *
      * @param source     イベントソース (通常はイベントを発行したコンポーネント)
      * @param transferId 関連する振込のID
      */
     public TransferRequestedEvent(Object source, TransferId transferId) {
+        this(source, transferId, TransferPriority.NORMAL);
+    }
+
+    /**
+     * 優先度を指定して振込リクエストイベントを生成します。
+     *
+     * @param source     イベントソース (通常はイベントを発行したコンポーネント)
+     * @param transferId 関連する振込のID
+     * @param priority   振込の優先度
+     */
+    public TransferRequestedEvent(Object source, TransferId transferId, TransferPriority priority) {
         super(source);
         this.transferId = transferId;
+        this.priority = priority;
+        this.traceContext = CONTEXT_SNAPSHOT_FACTORY.captureAll();
     }
-} 
\ No newline at end of file
+}
@@ -1,14 +1,20 @@
 package com.example.banking.application.saga;
 
-import com.example.banking.application.service.DepositUseCase;
-import com.example.banking.application.service.WithdrawUseCase;
+import com.example.banking.application.jfr.SagaStepEvent;
+import com.example.banking.application.service.TransferPostingUseCase;
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.Money;
+import com.example.banking.domain.transfer.Transfer;
+import com.example.banking.domain.transfer.Transfer.TransferStatus;
 import com.example.banking.domain.transfer.TransferRepository;
+import io.micrometer.context.ContextSnapshot;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
 
 /**
  * 振込処理をオーケストレーションするSaga。
@@ -20,59 +26,56 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class TransferSaga {
 
+    /**
+     * 口座の更新を終えた振込の状態の保存を試みる回数。
+     */
+    static final int SETTLE_ATTEMPTS = 3;
+
     private final TransferRepository transferRepository;
-    private final WithdrawUseCase withdrawUseCase;
-    private final DepositUseCase depositUseCase;
+    private final TransferPostingUseCase transferPostingUseCase;
+    private final TransferSagaMetrics sagaMetrics;
+    /**
+     * 振込の結果が確定したことを通知する{@link TransferSettledEvent}を発行するためのパブリッシャー。
+     */
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
-     * 振込依頼イベントをリッスンし、Sagaプロセスを開始します。
+     * 振込依頼イベントに対するSagaプロセスを実行します。
      *
-     * @Async により、この処理は非同期で実行され、APIリクエストのスレッドをブロックしません。
-     * @EventListener Springのイベントメカニズムにより、TransferRequestedEventが発行されるとこのメソッドが呼び出されます。
-     * @Transactional このメソッド全体が単一のトランザクションとして実行されますが、
-     *                内部で呼び出すユースケース（withdraw, deposit）はそれぞれ独自のトランザクションを持つため、
-     *                このアノテーションはSagaの状態を読み書きする際の整合性を保証する目的で使われます。
+     * このメソッドは{@link TransferSagaDispatcher}が振込の優先度のレーンから取り出し、Saga専用のスレッドで呼び出します。
+     * そのため、APIリクエストのスレッドをブロックしません。
+     * このメソッド自体はトランザクションを持たず、各ステップ（振込の出金・入金・補償）がそれぞれ独自のローカルトランザクションとしてコミットされます。
+     * シャーディング構成では振込元・振込先の口座が別のシャードにあり、1つのトランザクションで両方を更新できないためです。
+     * Sagaの状態（Transfer）の更新は楽観的ロックで保護されます。
+     * 振込の状態をCOMPLETEDまたはFAILEDとして保存した後、{@link TransferSettledEvent}を発行します。
+     * 補償に失敗した場合や、口座の更新後に状態を保存できなかった場合は、振込をREQUESTEDのまま残します。
+     * イベントに保持されたトレースコンテキストを復元してから実行するため、
+     * Sagaのスパンは振込依頼を受け付けたRESTリクエストと同じトレースに属します。
      * @param event 振込依頼イベント
      */
-    @Async
-    @EventListener
-    @Transactional
     public void handleTransferRequested(TransferRequestedEvent event) {
+        try (ContextSnapshot.Scope scope = event.getTraceContext().setThreadLocals()) {
+            sagaMetrics.observeSaga(event.getTransferId(), () -> runSaga(event));
+        }
+    }
+
+    private void runSaga(TransferRequestedEvent event) {
         log.info("Starting transfer saga for transferId: {}", event.getTransferId().value());
 
         // Sagaの状態を表すTransferアグリゲートを取得
-        var transfer = transferRepository.findById(event.getTransferId())
+        Transfer transfer = transferRepository.findById(event.getTransferId())
                 .orElseThrow(() -> new IllegalStateException("Transfer not found: " + event.getTransferId().value()));
 
         try {
-            // ステップ1: 振込元口座から出金（ローカルトランザクション）
-            withdrawUseCase.withdraw(transfer.getSourceAccountId(), transfer.getMoney());
-            log.info("Withdraw successful for transferId: {}", transfer.getId().value());
-
-            try {
-                // ステップ2: 振込先口座へ入金（ローカルトランザクション）
-                depositUseCase.deposit(transfer.getDestinationAccountId(), transfer.getMoney());
-                log.info("Deposit successful for transferId: {}", transfer.getId().value());
-
-                // ステップ3: Sagaの完了
-                // すべてのステップが成功したので、Transferの状態をCOMPLETEDにする
-                transfer.complete();
-                transferRepository.save(transfer);
-                log.info("Transfer saga completed for transferId: {}", transfer.getId().value());
-
-            } catch (Exception e) {
-                log.error("Deposit failed for transferId: {}. Initiating compensation...", transfer.getId().value(), e);
-
-                // ステップ4a: 補償トランザクション
-                // 入金に失敗した場合、すでに行われた出金を取り消すため、同額を振込元口座に入金し直す。
-                depositUseCase.deposit(transfer.getSourceAccountId(), transfer.getMoney());
-
-                // Transferの状態をFAILEDにしてSagaを終了
-                transfer.fail();
-                transferRepository.save(transfer);
-                log.info("Transfer saga failed and compensated for transferId: {}", transfer.getId().value());
+            // 非同期実行までの間に為替レートの有効期限が切れた場合は、出金せずに失敗させる
+            if (transfer.isRateExpired(Instant.now())) {
+                throw new IllegalStateException("Exchange rate has expired for transferId: " + transfer.getId().value());
             }
 
+            // ステップ1: 振込元口座から振込金額と振込手数料を出金（ローカルトランザクション）
+            runStep(TransferSagaMetrics.STEP_WITHDRAW, transfer, transfer.getSourceAccountId(), transfer.getDebitedMoney(),
+                    () -> transferPostingUseCase.debit(transfer.getId(), transfer.getSourceAccountId(), transfer.getMoney(),
+                            transfer.getFee()));
         } catch (Exception e) {
             log.error("Withdraw failed for transferId: {}. Marking as failed.", transfer.getId().value(), e);
 
@@ -81,7 +84,117 @@ public class TransferSaga {
             // Transferの状態をFAILEDにしてSagaを終了する。
             transfer.fail();
             transferRepository.save(transfer);
+            sagaMetrics.failed();
+            publishSettled(transfer);
             log.info("Transfer saga failed for transferId: {}", transfer.getId().value());
+            return;
+        }
+        log.info("Withdraw successful for transferId: {}", transfer.getId().value());
+
+        try {
+            // ステップ2: 振込先口座へ入金（ローカルトランザクション）
+            runStep(TransferSagaMetrics.STEP_DEPOSIT, transfer, transfer.getDestinationAccountId(), transfer.getCreditedMoney(),
+                    () -> transferPostingUseCase.credit(transfer.getId(), transfer.getDestinationAccountId(), transfer.getCreditedMoney()));
+        } catch (Exception e) {
+            log.error("Deposit failed for transferId: {}. Initiating compensation...", transfer.getId().value(), e);
+            compensate(transfer);
+            return;
         }
+        log.info("Deposit successful for transferId: {}", transfer.getId().value());
+
+        // ステップ3: Sagaの完了
+        // 入金はコミット済みのため、これ以降の失敗で出金を取り消してはならない。
+        // COMPLETEDの保存に失敗した場合は再試行し、それでも失敗した場合はREQUESTEDのまま残して警告する。
+        settle(transfer, TransferStatus.COMPLETED, TransferSagaMetrics.STAGE_COMPLETE).ifPresent(completed -> {
+            sagaMetrics.completed();
+            publishSettled(completed);
+            log.info("Transfer saga completed for transferId: {}", completed.getId().value());
+        });
+    }
+
+    /**
+     * ステップ4a: 補償トランザクション
+     * 入金に失敗した場合、すでに行われた出金を取り消すため、同額を振込元口座に入金し直す（取り消しの仕訳を記録する）。
+     * 振込手数料も出金しているため、手数料を含めて戻す。
+     * 補償に失敗した場合は、振込をFAILEDにせずREQUESTEDのまま残す。
+     * 出金したまま失敗として確定させず、途中で止まったSagaとして照合ジョブとメトリクスで検出させるためです。
+     */
+    private void compensate(Transfer transfer) {
+        try {
+            runStep(TransferSagaMetrics.STEP_COMPENSATE, transfer, transfer.getSourceAccountId(), transfer.getDebitedMoney(),
+                    () -> transferPostingUseCase.reverseDebit(transfer.getId(), transfer.getSourceAccountId(),
+                            transfer.getDebitedMoney()));
+        } catch (RuntimeException e) {
+            sagaMetrics.compensation(false);
+            sagaMetrics.stuck(TransferSagaMetrics.STAGE_COMPENSATE);
+            log.error("Compensation failed for transferId: {}. The debit is still posted; leaving the transfer REQUESTED for reconciliation.",
+                    transfer.getId().value(), e);
+            return;
+        }
+        sagaMetrics.compensation(true);
+
+        // Transferの状態をFAILEDにしてSagaを終了
+        settle(transfer, TransferStatus.FAILED, TransferSagaMetrics.STAGE_FAIL).ifPresent(failed -> {
+            sagaMetrics.compensated();
+            publishSettled(failed);
+            log.info("Transfer saga failed and compensated for transferId: {}", failed.getId().value());
+        });
+    }
+
+    /**
+     * 口座の更新をすべて終えた振込を、指定した状態として保存します。
+     * 保存に失敗した場合は振込を読み込み直して{@value #SETTLE_ATTEMPTS}回まで再試行します。
+     * 読み込み直した振込がすでに指定した状態であれば、保存済みとして扱います。
+     * すべて失敗した場合は、振込をREQUESTEDのまま残し、途中で止まったSagaとして計測します。
+     *
+     * @param transfer 保存する振込
+     * @param status 保存する状態（COMPLETEDまたはFAILED）
+     * @param stage 止まったSagaとして計測する場合の段階
+     * @return 保存した振込。保存できなかった場合は空
+     */
+    private Optional<Transfer> settle(Transfer transfer, TransferStatus status, String stage) {
+        Transfer current = transfer;
+        for (int attempt = 1; attempt <= SETTLE_ATTEMPTS; attempt++) {
+            try {
+                if (attempt > 1) {
+                    current = transferRepository.findById(transfer.getId())
+                            .orElseThrow(() -> new IllegalStateException("Transfer not found: " + transfer.getId().value()));
+                    if (current.getStatus() == status) {
+                        return Optional.of(current);
+                    }
+                }
+                if (status == TransferStatus.COMPLETED) {
+                    current.complete();
+                } else {
+                    current.fail();
+                }
+                transferRepository.save(current);
+                return Optional.of(current);
+            } catch (RuntimeException e) {
+                log.warn("Saving transferId: {} as {} failed (attempt {}/{})", transfer.getId().value(), status, attempt, SETTLE_ATTEMPTS, e);
+            }
+        }
+        sagaMetrics.stuck(stage);
+        log.error("Transfer {} could not be saved as {}. All postings are done; leaving it REQUESTED for reconciliation.",
+                transfer.getId().value(), status);
+        return Optional.empty();
+    }
+
+    /**
+     * Sagaの1ステップを実行し、メトリクス・スパンに加えて、所要時間が閾値を超えた場合はJFRイベント（{@link SagaStepEvent}）を記録します。
+     */
+    private void runStep(String step, Transfer transfer, AccountId accountId, Money money, Runnable action) {
+        SagaStepEvent event = SagaStepEvent.begin(step, transfer.getId(), accountId, money);
+        try {
+            sagaMetrics.timeStep(step, action);
+            event.finish("success");
+        } catch (RuntimeException e) {
+            event.finish(e.getClass().getSimpleName());
+            throw e;
+        }
+    }
+
+    private void publishSettled(Transfer transfer) {
+        eventPublisher.publishEvent(new TransferSettledEvent(this, transfer.getId(), transfer.getStatus()));
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,253 @@
+package com.example.banking.application.saga;
+
+import com.example.banking.domain.transfer.TransferPriority;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 振込依頼イベントを優先度ごとのレーンに振り分け、専用のスレッドでTransferSagaを実行するディスパッチャ。
+ *
+ * 1つの非同期Executorで先着順に実行すると、給与振込などの大量の一括振込の後ろに至急の振込が並んでしまいます。
+ * このクラスはイベントを振込の優先度のレーン（{@link PriorityLanes}）に入れ、次の規則で実行スレッドに渡します。
+ * - 至急（URGENT）のレーンは完全優先で、一部のスレッド（{@code urgentReservedWorkers}）は至急の振込だけを実行する。
+ *   他のスレッドがすべて一括振込を実行中でも、至急の振込は待たされない
+ * - 通常（NORMAL）と一括（BULK）は重みの比で実行枠を分け合い、どちらも飢餓状態にならない
+ *
+ * レーンの待ち件数には上限（{@code laneCapacity}）があり、満杯のレーンへの振込依頼は{@link SagaBacklogFullException}で拒否します
+ * （`banking.saga.lane.rejections`）。依頼のトランザクションはロールバックされ、振込は保存されません。
+ * 上限の判定は依頼のトランザクション内で枠を予約して行い、振込はコミットされた後にレーンへ投入します。
+ * 実行スレッドは、仮想スレッドが有効な場合（`spring.threads.virtual.enabled`）は仮想スレッドとします。
+ * 同時に実行するSagaの数は仮想スレッドでも{@code workers}のままのため、DB接続を使い切ることはありません。
+ *
+ * レーンごとに、待ち件数（`banking.saga.lane.queued`）、実行までの待ち時間（`banking.saga.lane.wait`）、
+ * 依頼からSaga完了までの時間（`banking.saga.lane.latency`、目標時間をSLOのバケットとして公開）と、
+ * 目標時間を超えた件数（`banking.saga.lane.slo.breaches`）を記録します。
+ */
+@Slf4j
+@Component
+public class TransferSagaDispatcher {
+
+    private final TransferSaga transferSaga;
+    private final SagaLaneProperties properties;
+    private final PriorityLanes<LaneTask> lanes;
+    private final Clock clock;
+    private final Map<TransferPriority, LaneMetrics> metrics = new EnumMap<>(TransferPriority.class);
+    private final List<Thread> workers = new ArrayList<>();
+    private final boolean virtualThreads;
+
+    @Autowired
+    public TransferSagaDispatcher(TransferSaga transferSaga, SagaLaneProperties properties, MeterRegistry meterRegistry,
+                                  Environment environment) {
+        this(transferSaga, properties, meterRegistry, Threading.VIRTUAL.isActive(environment));
+    }
+
+    TransferSagaDispatcher(TransferSaga transferSaga, SagaLaneProperties properties, MeterRegistry meterRegistry,
+                           boolean virtualThreads) {
+        if (properties.urgentReservedWorkers() < 0 || properties.workers() <= properties.urgentReservedWorkers()) {
+            throw new IllegalArgumentException("workers must be greater than urgent-reserved-workers: workers="
+                    + properties.workers() + ", urgentReservedWorkers=" + properties.urgentReservedWorkers());
+        }
+        this.transferSaga = transferSaga;
+        this.properties = properties;
+        this.lanes = new PriorityLanes<>(properties.normalWeight(), properties.bulkWeight(), properties.laneCapacity());
+        this.virtualThreads = virtualThreads;
+        this.clock = meterRegistry.config().clock();
+        metrics.put(TransferPriority.URGENT, new LaneMetrics(meterRegistry, TransferPriority.URGENT, properties.urgentLatencyTarget()));
+        metrics.put(TransferPriority.NORMAL, new LaneMetrics(meterRegistry, TransferPriority.NORMAL, properties.normalLatencyTarget()));
+        metrics.put(TransferPriority.BULK, new LaneMetrics(meterRegistry, TransferPriority.BULK, properties.bulkLatencyTarget()));
+    }
+
+    @PostConstruct
+    void start() {
+        VirtualThreadTaskExecutor virtualThreadExecutor = virtualThreads ? new VirtualThreadTaskExecutor() : null;
+        for (int i = 0; i < properties.workers(); i++) {
+            boolean urgentOnly = i < properties.urgentReservedWorkers();
+            Runnable task = () -> work(urgentOnly);
+            Thread worker = virtualThreadExecutor != null ? virtualThreadExecutor.newThread(task) : new Thread(task);
+            worker.setName((urgentOnly ? "saga-urgent-" : "saga-") + (i + 1));
+            if (!worker.isDaemon()) {
+                worker.setDaemon(true);
+            }
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    /**
+     * 新しい振込の受け付けを止めます。実行中のSagaは完了まで実行され、待ち行列に残った振込はREQUESTEDのまま残ります。
+     * 停止後の振込依頼は{@link SagaBacklogFullException}で拒否します。
+     */
+    @PreDestroy
+    void stop() {
+        lanes.close();
+    }
+
+    /**
+     * 振込依頼イベントをリッスンし、振込の優先度のレーンに投入します。
+     * このメソッドは投入のみを行い、イベントを発行したスレッドをブロックしません。
+     *
+     * イベントは振込依頼のトランザクション内で発行されます。この時点ではレーンの枠を予約するだけで、
+     * 振込はトランザクションのコミット後にレーンへ投入します。コミット前に実行スレッドが振込を読み込むと、
+     * 振込がまだ見えずにSagaが中断し、振込がREQUESTEDのまま残るためです。
+     * トランザクションがロールバックされた場合は予約を解放します。
+     * 枠を予約できない場合は例外を投げるため、振込は保存されません。
+     * トランザクションの外で発行された場合は、直ちに投入します。
+     *
+     * @param event 振込依頼イベント
+     * @throws SagaBacklogFullException レーンが満杯、またはディスパッチャが停止している場合
+     */
+    @EventListener
+    public void onTransferRequested(TransferRequestedEvent event) {
+        TransferPriority lane = event.getPriority();
+        if (!lanes.reserve(lane)) {
+            metrics.get(lane).rejections.increment();
+            throw new SagaBacklogFullException("Transfer saga lane " + lane + " is full or stopped. Retry later: "
+                    + event.getTransferId().value());
+        }
+        LaneTask task = new LaneTask(event, clock.monotonicTime());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(task);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    enqueue(task);
+                } else {
+                    lanes.release(lane);
+                }
+            }
+        });
+    }
+
+    private void enqueue(LaneTask task) {
+        TransferRequestedEvent event = task.event();
+        if (!lanes.offerReserved(event.getPriority(), task)) {
+            // コミットまでの間にディスパッチャが停止した場合。振込はREQUESTEDのまま残り、元帳照合で滞留として報告される
+            log.warn("Transfer saga dispatcher stopped before transferId: {} was queued", event.getTransferId().value());
+        }
+    }
+
+    /**
+     * すべてのレーンで実行を待っている振込の数を返します。
+     * 振込を連続して受け付ける経路（gRPCのストリーム）は、この値が大きい間は受け付けを控えます。
+     */
+    public int backlog() {
+        int backlog = 0;
+        for (TransferPriority lane : TransferPriority.values()) {
+            backlog += lanes.size(lane);
+        }
+        return backlog;
+    }
+
+    /**
+     * 次のSagaを1件、呼び出し元のスレッドで実行します。
+     *
+     * @param urgentOnly 至急の振込のみを実行する場合はtrue
+     * @return 実行した場合はtrue。待っている振込がない場合はfalse
+     */
+    boolean runNext(boolean urgentOnly) {
+        LaneTask task = lanes.poll(urgentOnly);
+        if (task == null) {
+            return false;
+        }
+        run(task);
+        return true;
+    }
+
+    private void work(boolean urgentOnly) {
+        try {
+            LaneTask task;
+            while ((task = lanes.take(urgentOnly)) != null) {
+                run(task);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run(LaneTask task) {
+        TransferRequestedEvent event = task.event();
+        LaneMetrics laneMetrics = metrics.get(event.getPriority());
+        laneMetrics.waitTime.record(clock.monotonicTime() - task.enqueuedAt(), TimeUnit.NANOSECONDS);
+        try {
+            transferSaga.handleTransferRequested(event);
+        } catch (RuntimeException e) {
+            // Sagaの状態の保存に失敗した場合など。振込はREQUESTEDのまま残り、元帳照合で滞留として報告される
+            log.error("Transfer saga aborted for transferId: {}", event.getTransferId().value(), e);
+        } finally {
+            laneMetrics.recordLatency(clock.monotonicTime() - task.enqueuedAt());
+        }
+    }
+
+    private record LaneTask(TransferRequestedEvent event, long enqueuedAt) {
+    }
+
+    /**
+     * 1つのレーンのメトリクス。
+     */
+    private final class LaneMetrics {
+
+        private final Timer waitTime;
+        private final Timer latency;
+        private final Counter sloBreaches;
+        private final Counter rejections;
+        private final long targetNanos;
+
+        LaneMetrics(MeterRegistry meterRegistry, TransferPriority lane, Duration target) {
+            String tag = lane.name().toLowerCase(Locale.ROOT);
+            this.targetNanos = target.toNanos();
+            Gauge.builder("banking.saga.lane.queued", lanes, l -> l.size(lane))
+                    .description("Transfer sagas waiting in the lane for a worker")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+            this.waitTime = Timer.builder("banking.saga.lane.wait")
+                    .description("Time a transfer saga waited in its lane before a worker picked it up")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+            this.latency = Timer.builder("banking.saga.lane.latency")
+                    .description("Time from the transfer request to the end of its saga")
+                    .tag("lane", tag)
+                    .serviceLevelObjectives(target)
+                    .register(meterRegistry);
+            this.sloBreaches = Counter.builder("banking.saga.lane.slo.breaches")
+                    .description("Transfer sagas that finished later than the lane's latency target")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+            this.rejections = Counter.builder("banking.saga.lane.rejections")
+                    .description("Transfer requests rejected because the lane was full or the dispatcher was stopped")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+        }
+
+        void recordLatency(long nanos) {
+            latency.record(nanos, TimeUnit.NANOSECONDS);
+            if (nanos > targetNanos) {
+                sloBreaches.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.banking.application.saga;
+
+import com.example.banking.domain.transfer.TransferId;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * TransferSagaの実行状況を計測するメトリクスとトレース。
+ * - `banking.transfer.saga`: Saga全体の所要時間とスパン
+ * - `banking.saga.step`: 各ステップ（withdraw, deposit, compensate）の所要時間とスパン（タグ `step`, `outcome`）
+ * - `banking.saga.outcome`: Sagaの最終結果（タグ `result` = completed / failed / compensated）
+ * - `banking.saga.compensations`: 補償トランザクションの実行回数（タグ `outcome` = success / failure）
+ * - `banking.saga.stuck`: 補償に失敗した、または口座の更新後に状態を保存できず、REQUESTEDのまま残ったSagaの数
+ *   （タグ `stage` = complete / compensate / fail）
+ *
+ * タイマーとスパンはMicrometerのObservation APIで記録されるため、トレースが有効な場合は
+ * 各ステップがSaga全体のスパンの子スパンとしてエクスポートされます。
+ */
+@Component
+public class TransferSagaMetrics {
+
+    static final String STEP_WITHDRAW = "withdraw";
+    static final String STEP_DEPOSIT = "deposit";
+    static final String STEP_COMPENSATE = "compensate";
+
+    public static final String STAGE_COMPLETE = "complete";
+    public static final String STAGE_COMPENSATE = "compensate";
+    public static final String STAGE_FAIL = "fail";
+
+    private final ObservationRegistry observationRegistry;
+    private final Counter completed;
+    private final Counter failed;
+    private final Counter compensated;
+    private final Counter compensationSucceeded;
+    private final Counter compensationFailed;
+    private final MeterRegistry meterRegistry;
+
+    public TransferSagaMetrics(MeterRegistry meterRegistry, ObservationRegistry observationRegistry) {
+        this.observationRegistry = observationRegistry;
+        this.completed = outcomeCounter(meterRegistry, "completed");
+        this.failed = outcomeCounter(meterRegistry, "failed");
+        this.compensated = outcomeCounter(meterRegistry, "compensated");
+        this.compensationSucceeded = compensationCounter(meterRegistry, "success");
+        this.compensationFailed = compensationCounter(meterRegistry, "failure");
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Saga全体を1つのObservation（スパン）として実行します。
+     *
+     * @param transferId 対象の振込ID
+     * @param saga Sagaの処理
+     */
+    public void observeSaga(TransferId transferId, Runnable saga) {
+        Observation.createNotStarted("banking.transfer.saga", observationRegistry)
+                .contextualName("transfer-saga")
+                .highCardinalityKeyValue("transfer.id", transferId.value().toString())
+                .observe(saga);
+    }
+
+    /**
+     * Sagaの1ステップを実行し、その所要時間と成否を記録します。
+     * ステップで発生した例外は、記録後にそのまま再スローされます。
+     *
+     * @param step ステップ名
+     * @param action ステップの処理
+     */
+    public void timeStep(String step, Runnable action) {
+        Observation observation = Observation.createNotStarted("banking.saga.step", observationRegistry)
+                .contextualName("transfer-saga " + step)
+                .lowCardinalityKeyValue("step", step)
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            action.run();
+            observation.lowCardinalityKeyValue("outcome", "success");
+        } catch (RuntimeException e) {
+            observation.lowCardinalityKeyValue("outcome", "failure");
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    /** Sagaが完了（COMPLETED）したことを記録します。 */
+    public void completed() {
+        completed.increment();
+    }
+
+    /** 出金に失敗し、補償なしでSagaが失敗（FAILED）したことを記録します。 */
+    public void failed() {
+        failed.increment();
+    }
+
+    /** 入金に失敗し、補償の上でSagaが失敗（FAILED）したことを記録します。 */
+    public void compensated() {
+        compensated.increment();
+    }
+
+    /**
+     * 補償トランザクションの実行結果を記録します。
+     *
+     * @param success 補償に成功した場合はtrue
+     */
+    public void compensation(boolean success) {
+        (success ? compensationSucceeded : compensationFailed).increment();
+    }
+
+    /**
+     * Sagaが結果を確定できず、振込がREQUESTEDのまま残ったことを記録します。
+     * 出金または入金がコミットされたまま止まっているため、アラートの対象とします。
+     *
+     * @param stage 止まった段階（complete: 完了の保存、compensate: 補償、fail: 補償後の失敗の保存）
+     */
+    public void stuck(String stage) {
+        Counter.builder("banking.saga.stuck")
+                .description("Transfer sagas left REQUESTED after a posting was committed")
+                .tag("stage", stage)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("banking.saga.outcome")
+                .description("Final result of transfer sagas")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Counter compensationCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("banking.saga.compensations")
+                .description("Compensating transactions executed by the transfer saga")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.banking.application.saga;
+
+import com.example.banking.domain.transfer.Transfer;
+import com.example.banking.domain.transfer.TransferId;
+import lombok.Getter;
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Sagaによって振込の結果（完了または失敗）が確定したことを示すイベント。
+ * 振込の状態を保存した後に、Sagaを実行したスレッドから発行されます。
+ * ファストパスで同期的に確定した振込では発行されません（依頼の戻り値の状態で結果がわかるため）。
+ */
+@Getter
+public class TransferSettledEvent extends ApplicationEvent {
+
+    /**
+     * 結果が確定した振込のID。
+     */
+    private final TransferId transferId;
+
+    /**
+     * 確定した振込の状態（COMPLETEDまたはFAILED）。
+     */
+    private final Transfer.TransferStatus status;
+
+    /**
+     * @param source     イベントソース (通常はイベントを発行したコンポーネント)
+     * @param transferId 結果が確定した振込のID
+     * @param status     確定した振込の状態
+     */
+    public TransferSettledEvent(Object source, TransferId transferId, Transfer.TransferStatus status) {
+        super(source);
+        this.transferId = transferId;
+        this.status = status;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.banking.application.schedule;
+
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.schedule.StandingOrder;
+import com.example.banking.domain.schedule.StandingOrderId;
+
+import java.time.Instant;
+
+/**
+ * タイミングホイールに登録する、定期振込の1回分の実行予定。
+ * 定期振込の全体ではなく、実行時に定期振込を特定して重複を判定するための値のみを保持します。
+ *
+ * @param standingOrderId 定期振込ID
+ * @param sourceAccountId 振込元口座ID（定期振込の保持先のシャードを特定する）
+ * @param fireAt この回の実行日時
+ */
+public record ScheduledFire(StandingOrderId standingOrderId, AccountId sourceAccountId, Instant fireAt) {
+
+    /**
+     * 定期振込の次回の実行予定を返します。
+     */
+    public static ScheduledFire nextOf(StandingOrder standingOrder) {
+        return new ScheduledFire(standingOrder.getId(), standingOrder.getSourceAccountId(), standingOrder.getNextFireAt());
+    }
+}
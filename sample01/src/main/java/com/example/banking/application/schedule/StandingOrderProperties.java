@@ -0,0 +1,42 @@
+package com.example.banking.application.schedule;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.time.ZoneId;
+
+/**
+ * 定期振込（予約振込・自動振込）のスケジューラの設定値。
+ *
+ * @param enabled 定期振込を実行するかどうか
+ * @param zone 登録時にタイムゾーンを指定しない定期振込の、実行日時（毎月の振込の日付など）を計算するタイムゾーン
+ * @param tick タイミングホイールのティック（実行日時の精度）。ホイールを進める間隔でもある
+ * @param wheelSize タイミングホイールの1階層あたりのバケット数（2のべき乗）
+ * @param levels タイミングホイールの階層数
+ * @param loadInterval 実行予定の定期振込をDBから読み込む間隔
+ * @param horizon 読み込む実行予定の範囲（現在時刻からの期間）。読み込み間隔より長くすること
+ * @param loadBatchSize 1回のSQLで読み込む定期振込の件数
+ * @param maxPending メモリ上に保持する未実行の定期振込の上限。超えた分は次回の読み込みに回す
+ * @param fireBatchSize 実行スレッドがまとめて取り出し、まとめて許可を取得する件数
+ * @param workers 振込を依頼する実行スレッドの数。1スレッドあたりDB接続を1本使用する
+ * @param maxFiresPerSecond 1秒あたりに依頼する振込の上限（月末などの集中を平準化する）
+ * @param retryDelay DBの障害などで実行できなかった回を再実行するまでの待機時間
+ */
+@ConfigurationProperties(prefix = "banking.schedule")
+public record StandingOrderProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("Asia/Tokyo") ZoneId zone,
+        @DefaultValue("PT1S") Duration tick,
+        @DefaultValue("64") int wheelSize,
+        @DefaultValue("3") int levels,
+        @DefaultValue("PT1M") Duration loadInterval,
+        @DefaultValue("PT5M") Duration horizon,
+        @DefaultValue("1000") int loadBatchSize,
+        @DefaultValue("200000") int maxPending,
+        @DefaultValue("50") int fireBatchSize,
+        @DefaultValue("4") int workers,
+        @DefaultValue("500") double maxFiresPerSecond,
+        @DefaultValue("PT30S") Duration retryDelay
+) {
+}
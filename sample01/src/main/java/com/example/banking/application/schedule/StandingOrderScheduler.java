@@ -0,0 +1,333 @@
+package com.example.banking.application.schedule;
+
+import com.example.banking.application.limit.TransferLimitExceededException;
+import com.example.banking.application.service.DatabaseShards;
+import com.example.banking.application.service.RequestTransferUseCase;
+import com.example.banking.application.service.TransferCommand;
+import com.example.banking.domain.schedule.StandingOrder;
+import com.example.banking.domain.schedule.StandingOrderRepository;
+import com.example.banking.domain.transfer.TransferChannel;
+import com.example.banking.domain.transfer.TransferPriority;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 定期振込（予約振込・自動振込）を実行日時に実行するスケジューラ。
+ *
+ * 実行日時が近づいた（{@code horizon}以内の）定期振込だけをDBから読み込み、メモリ上の階層型タイミングホイールに登録します。
+ * DBをポーリングするのは読み込み間隔ごとの範囲検索のみで、定期振込の件数が増えても毎秒のDBアクセスは発生しません。
+ * 期限に達した回はバッチにまとめて実行スレッドに渡し、{@link RequestTransferUseCase#requestTransfer}で振込を依頼します。
+ *
+ * 定期振込の次回の実行日時（カーソル）は、依頼した振込と同じトランザクションで進めます。
+ * そのため、プロセスが停止しても回が失われたり二重に実行されたりすることはなく、
+ * 再起動後の最初の読み込みで実行日時を過ぎた定期振込がすべて読み込まれ、遅れていた回から順に実行されます（キャッチアップ）。
+ * 同じ回が重複してホイールに登録されても、実行の直前に排他ロックを取得して次回の実行日時を確認するため、実行されるのは1回のみです。
+ *
+ * 月末などに大量の回が同時に期限に達した場合は、トークンバケットで1秒あたりの依頼数を制限し、
+ * 超えた分は実行日時より遅れて順に依頼します（遅延は{@code banking.schedule.fire.lag}で観測できる）。
+ * メモリ上に保持する未実行の回は{@code maxPending}までとし、超えた分は次回以降の読み込みに回します。
+ *
+ * 定期振込は既定では振込上限の対象外です（{@code banking.transfer.limits.exempt-channels}）。
+ * 対象とした場合に振込上限を超えた回は、ウィンドウが空くまで{@code retryDelay}ごとに再実行し、回を飛ばしません。
+ * 振込元口座が存在しない場合など、再実行しても成功しない理由で振込が拒否された回は実行済みとして次の回に進め、
+ * 警告ログと{@code banking.schedule.fires{outcome=rejected}}に記録します（運用では0を超えたら通知する）。
+ * DBの障害などで実行できなかった回は、{@code retryDelay}後に再実行します。
+ */
+@Slf4j
+@Component
+public class StandingOrderScheduler {
+
+    private final StandingOrderRepository repository;
+    private final RequestTransferUseCase requestTransferUseCase;
+    private final DatabaseShards shards;
+    private final StandingOrderProperties properties;
+    private final TransactionTemplate fireTransaction;
+    private final Clock clock;
+    private final Executor firing;
+    private final TokenBucket rateLimiter;
+    /** タイミングホイール。読み込み・前進・再登録はこのオブジェクトで同期する */
+    private final TimingWheel<ScheduledFire> wheel;
+    /** シャードごとに、前回読み込んだ最後の定期振込（キーセットページングのカーソル） */
+    private final Map<String, StandingOrder> loadCursors = new ConcurrentHashMap<>();
+    /** 期限に達し、実行スレッドに渡したがまだ実行していない回の数 */
+    private final AtomicLong backlog = new AtomicLong();
+    private final Counter requested;
+    private final Counter rejected;
+    private final Counter skipped;
+    private final Counter retried;
+    private final Timer fireLag;
+
+    @Autowired
+    public StandingOrderScheduler(StandingOrderRepository repository,
+                                  RequestTransferUseCase requestTransferUseCase,
+                                  DatabaseShards shards,
+                                  StandingOrderProperties properties,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry) {
+        this(repository, requestTransferUseCase, shards, properties, transactionManager, meterRegistry,
+                Clock.systemUTC(), newFiringExecutor(properties.workers()));
+    }
+
+    StandingOrderScheduler(StandingOrderRepository repository,
+                           RequestTransferUseCase requestTransferUseCase,
+                           DatabaseShards shards,
+                           StandingOrderProperties properties,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           Clock clock,
+                           Executor firing) {
+        this.repository = repository;
+        this.requestTransferUseCase = requestTransferUseCase;
+        this.shards = shards;
+        this.properties = properties;
+        this.fireTransaction = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.firing = firing;
+        this.rateLimiter = new TokenBucket(properties.maxFiresPerSecond(), Math.max(properties.fireBatchSize(), properties.maxFiresPerSecond()));
+        this.wheel = new TimingWheel<>(properties.tick(), properties.wheelSize(), properties.levels(), clock.instant());
+        this.requested = fireCounter(meterRegistry, "requested");
+        this.rejected = fireCounter(meterRegistry, "rejected");
+        this.skipped = fireCounter(meterRegistry, "skipped");
+        this.retried = fireCounter(meterRegistry, "retried");
+        this.fireLag = Timer.builder("banking.schedule.fire.lag")
+                .description("Delay between the scheduled time of a standing order and the transfer request")
+                .register(meterRegistry);
+        Gauge.builder("banking.schedule.pending", this, StandingOrderScheduler::pending)
+                .description("Standing order occurrences loaded into memory and not yet fired")
+                .register(meterRegistry);
+        Gauge.builder("banking.schedule.backlog", backlog, AtomicLong::get)
+                .description("Standing order occurrences that are due and waiting for the rate limiter or a worker")
+                .register(meterRegistry);
+    }
+
+    private static Counter fireCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("banking.schedule.fires")
+                .description("Standing order occurrences processed by the scheduler")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static ExecutorService newFiringExecutor(int workers) {
+        AtomicInteger sequence = new AtomicInteger();
+        return Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "standing-order-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 実行日時が{@code horizon}以内の定期振込を、前回の読み込みの続きからシャードごとに読み込み、タイミングホイールに登録します。
+     * 起動直後の最初の読み込みでは、実行日時を過ぎた定期振込もすべて読み込みます。
+     */
+    @Scheduled(fixedDelayString = "${banking.schedule.load-interval:PT1M}")
+    public void load() {
+        if (!properties.enabled()) {
+            return;
+        }
+        Instant before = clock.instant().plus(properties.horizon());
+        int loaded = 0;
+        for (String shard : shards.names()) {
+            while (pending() < properties.maxPending()) {
+                StandingOrder after = loadCursors.get(shard);
+                List<StandingOrder> page = shards.callOn(shard, () -> repository.findDue(before, after, properties.loadBatchSize()));
+                if (page.isEmpty()) {
+                    break;
+                }
+                synchronized (wheel) {
+                    page.forEach(standingOrder -> wheel.schedule(standingOrder.getNextFireAt(), ScheduledFire.nextOf(standingOrder)));
+                }
+                loadCursors.put(shard, page.get(page.size() - 1));
+                loaded += page.size();
+                if (page.size() < properties.loadBatchSize()) {
+                    break;
+                }
+            }
+        }
+        if (loaded > 0) {
+            log.debug("Loaded {} standing orders due before {}", loaded, before);
+        }
+    }
+
+    /**
+     * タイミングホイールを現在時刻まで進め、期限に達した回をバッチにまとめて実行スレッドに渡します。
+     */
+    @Scheduled(fixedDelayString = "${banking.schedule.tick:PT1S}")
+    public void tick() {
+        if (!properties.enabled()) {
+            return;
+        }
+        List<ScheduledFire> due;
+        synchronized (wheel) {
+            due = wheel.advanceTo(clock.instant());
+        }
+        for (int from = 0; from < due.size(); from += properties.fireBatchSize()) {
+            List<ScheduledFire> batch = List.copyOf(due.subList(from, Math.min(from + properties.fireBatchSize(), due.size())));
+            backlog.addAndGet(batch.size());
+            firing.execute(() -> fireBatch(batch));
+        }
+    }
+
+    /**
+     * 登録・更新した定期振込の次回の実行予定が{@code horizon}以内であれば、読み込みを待たずにタイミングホイールに登録します。
+     * すでに読み込まれている回と重複しても、実行されるのは1回のみです。
+     * 定期振込をDBにコミットした後に呼び出してください。
+     *
+     * @param standingOrder 定期振込
+     */
+    public void offer(StandingOrder standingOrder) {
+        Instant nextFireAt = standingOrder.getNextFireAt();
+        if (!properties.enabled() || nextFireAt == null
+                || !nextFireAt.isBefore(clock.instant().plus(properties.horizon()))) {
+            return;
+        }
+        synchronized (wheel) {
+            wheel.schedule(nextFireAt, ScheduledFire.nextOf(standingOrder));
+        }
+    }
+
+    private void fireBatch(List<ScheduledFire> batch) {
+        try {
+            // 月末などの集中時には、ここで待機することで依頼の速度を平準化する
+            rateLimiter.acquire(batch.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            backlog.addAndGet(-batch.size());
+            return;
+        }
+        for (ScheduledFire scheduledFire : batch) {
+            try {
+                fire(scheduledFire);
+            } finally {
+                backlog.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 1回分の振込を依頼し、定期振込を次の回に進めます。
+     */
+    void fire(ScheduledFire scheduledFire) {
+        StandingOrder advanced;
+        try {
+            advanced = fireTransaction.execute(status -> requestTransfer(scheduledFire));
+            if (advanced == null) {
+                skipped.increment();
+                return;
+            }
+            requested.increment();
+            fireLag.record(Duration.between(scheduledFire.fireAt(), clock.instant()));
+        } catch (TransferLimitExceededException e) {
+            // 上限はスライディングウィンドウのため、時間をおけば受け付けられる。回を飛ばさずに再実行する
+            log.warn("Standing order {} for {} exceeded the transfer limit, retrying in {}: {}",
+                    scheduledFire.standingOrderId().value(), scheduledFire.fireAt(), properties.retryDelay(), e.getMessage());
+            retryLater(scheduledFire);
+            return;
+        } catch (IllegalArgumentException e) {
+            // AccountNotFoundExceptionを含む。振込を依頼したトランザクションはロールバックされているため、別のトランザクションで回を進める
+            log.warn("Standing order {} was rejected for {} and the occurrence is skipped: {}",
+                    scheduledFire.standingOrderId().value(), scheduledFire.fireAt(), e.getMessage());
+            try {
+                advanced = fireTransaction.execute(status -> skip(scheduledFire));
+            } catch (RuntimeException retryable) {
+                retryLater(scheduledFire, retryable);
+                return;
+            }
+            rejected.increment();
+        } catch (RuntimeException e) {
+            retryLater(scheduledFire, e);
+            return;
+        }
+        if (advanced != null) {
+            offer(advanced);
+        }
+    }
+
+    private StandingOrder requestTransfer(ScheduledFire scheduledFire) {
+        StandingOrder standingOrder = lockIfDue(scheduledFire);
+        if (standingOrder == null) {
+            return null;
+        }
+        requestTransferUseCase.requestTransfer(new TransferCommand(
+                standingOrder.getSourceAccountId(),
+                standingOrder.getDestinationAccountId(),
+                standingOrder.getMoney(),
+                null,
+                // 月末などに集中する定期振込は一括振込のレーンで実行し、至急・通常の振込を待たせない
+                TransferPriority.BULK,
+                TransferChannel.STANDING_ORDER));
+        standingOrder.advance();
+        repository.update(standingOrder);
+        return standingOrder;
+    }
+
+    private StandingOrder skip(ScheduledFire scheduledFire) {
+        StandingOrder standingOrder = lockIfDue(scheduledFire);
+        if (standingOrder == null) {
+            return null;
+        }
+        standingOrder.advance();
+        repository.update(standingOrder);
+        return standingOrder;
+    }
+
+    /**
+     * 定期振込の排他ロックを取得し、この回がまだ実行されていなければ返します。
+     * 実行済み・解約済み、または重複して登録された回の場合はnullを返します。
+     */
+    private StandingOrder lockIfDue(ScheduledFire scheduledFire) {
+        return repository.findByIdForUpdate(scheduledFire.standingOrderId(), scheduledFire.sourceAccountId())
+                .filter(standingOrder -> standingOrder.isDueAt(scheduledFire.fireAt()))
+                .orElse(null);
+    }
+
+    private void retryLater(ScheduledFire scheduledFire, RuntimeException cause) {
+        log.warn("Standing order {} for {} failed, retrying in {}",
+                scheduledFire.standingOrderId().value(), scheduledFire.fireAt(), properties.retryDelay(), cause);
+        retryLater(scheduledFire);
+    }
+
+    private void retryLater(ScheduledFire scheduledFire) {
+        retried.increment();
+        synchronized (wheel) {
+            wheel.schedule(clock.instant().plus(properties.retryDelay()), scheduledFire);
+        }
+    }
+
+    /**
+     * メモリ上に保持している未実行の回の数（ホイールに登録済みのものと、実行待ちのもの）を返します。
+     */
+    long pending() {
+        synchronized (wheel) {
+            return wheel.size() + backlog.get();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (firing instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+    }
+}
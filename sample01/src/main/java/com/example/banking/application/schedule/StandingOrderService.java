@@ -0,0 +1,104 @@
+package com.example.banking.application.schedule;
+
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.AccountNotFoundException;
+import com.example.banking.domain.account.AccountRepository;
+import com.example.banking.domain.account.Money;
+import com.example.banking.domain.schedule.Recurrence;
+import com.example.banking.domain.schedule.StandingOrder;
+import com.example.banking.domain.schedule.StandingOrderId;
+import com.example.banking.domain.schedule.StandingOrderNotFoundException;
+import com.example.banking.domain.schedule.StandingOrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Optional;
+
+/**
+ * 定期振込（予約振込・自動振込）の登録・照会・解約を行うアプリケーションサービス。
+ * 登録した定期振込は、実行日時に{@link StandingOrderScheduler}が振込を依頼します。
+ */
+@Service
+@RequiredArgsConstructor
+public class StandingOrderService {
+
+    private final StandingOrderRepository standingOrderRepository;
+    private final AccountRepository accountRepository;
+    private final StandingOrderScheduler scheduler;
+    private final StandingOrderProperties properties;
+
+    /**
+     * 定期振込を登録します。
+     * 実行日時が間近の場合は、コミット後にスケジューラへ直接登録します。
+     *
+     * @param sourceAccountId 振込元口座ID
+     * @param destinationAccountId 振込先口座ID
+     * @param money 1回あたりの振込金額
+     * @param recurrence 繰り返し間隔
+     * @param startAt 初回の実行日時
+     * @param zone 実行日時を計算するタイムゾーン。nullの場合は設定値のタイムゾーン
+     * @param endAt 最終の実行期限。期限がない場合はnull
+     * @return 登録された定期振込
+     * @throws AccountNotFoundException 振込元または振込先の口座が存在しない場合
+     */
+    @Transactional
+    public StandingOrder schedule(AccountId sourceAccountId, AccountId destinationAccountId, Money money,
+                                  Recurrence recurrence, Instant startAt, ZoneId zone, Instant endAt) {
+        confirmAccountExists(sourceAccountId);
+        confirmAccountExists(destinationAccountId);
+
+        StandingOrder standingOrder = StandingOrder.schedule(sourceAccountId, destinationAccountId, money,
+                recurrence, startAt, zone == null ? properties.zone() : zone, endAt);
+        standingOrderRepository.save(standingOrder);
+        // コミット前に登録すると、スケジューラが未コミットの定期振込を見つけられずに回を読み飛ばすおそれがある
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                scheduler.offer(standingOrder);
+            }
+        });
+        return standingOrder;
+    }
+
+    /**
+     * 定期振込を照会します。
+     *
+     * @param id 定期振込ID
+     * @return 見つかった定期振込。見つからない場合はOptional.empty()
+     */
+    @Transactional(readOnly = true)
+    public Optional<StandingOrder> getStandingOrder(StandingOrderId id) {
+        return standingOrderRepository.findById(id);
+    }
+
+    /**
+     * 定期振込を解約します。実行中の回がある場合は、その回の完了を待ってから解約します。
+     *
+     * @param id 定期振込ID
+     * @return 解約された定期振込
+     * @throws StandingOrderNotFoundException 定期振込が存在しない場合
+     * @throws IllegalStateException すべての回を実行済みの場合
+     */
+    @Transactional
+    public StandingOrder cancel(StandingOrderId id) {
+        AccountId sourceAccountId = standingOrderRepository.findById(id)
+                .map(StandingOrder::getSourceAccountId)
+                .orElseThrow(() -> new StandingOrderNotFoundException(id));
+        StandingOrder standingOrder = standingOrderRepository.findByIdForUpdate(id, sourceAccountId)
+                .orElseThrow(() -> new StandingOrderNotFoundException(id));
+        standingOrder.cancel();
+        standingOrderRepository.update(standingOrder);
+        return standingOrder;
+    }
+
+    private void confirmAccountExists(AccountId accountId) {
+        if (accountRepository.findVersionById(accountId).isEmpty()) {
+            throw new AccountNotFoundException(accountId);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.banking.application.schedule;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 階層型タイミングホイール。
+ *
+ * 時刻をティック（既定では1秒）単位に丸め、ティック番号をホイールの大きさ（2のべき乗）ごとの桁に分けて管理します。
+ * 第0階層はティック単位、第1階層は「ホイールの大きさ × ティック」単位、…というように、上の階層ほど粗いバケットを持ちます。
+ * 要素は現在のティックと期限のティックが最初に異なる桁の階層に置かれ、その桁の時刻になると1つ下の階層に移されます（カスケード）。
+ * 登録と1ティックの前進はいずれも要素数によらず定数時間で、期限順に並べ替えるヒープと異なり、数百万件の要素でも前進のコストが増えません。
+ *
+ * 最上位の階層でも表せない遠い期限の要素は退避リストに置き、最上位の階層が一周するたびに置き直します。
+ * このクラスはスレッドセーフではありません。
+ *
+ * @param <T> 要素の型
+ */
+public class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final int bits;
+    private final long mask;
+    private final List<List<Entry<T>>>[] levels;
+    private final List<Entry<T>> overflow = new ArrayList<>();
+    /** 期限を過ぎて登録された要素と、カスケードで期限に達した要素 */
+    private final List<T> expired = new ArrayList<>();
+    private long currentTick;
+    /** バケットと退避リストにある要素数 */
+    private int pending;
+
+    /**
+     * @param tick ティックの長さ（期限はこの単位に切り捨てられる）
+     * @param wheelSize 1階層あたりのバケット数（2のべき乗）
+     * @param levelCount 階層数
+     * @param now 現在時刻
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(Duration tick, int wheelSize, int levelCount, Instant now) {
+        if (wheelSize < 2 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of two: " + wheelSize);
+        }
+        this.tickMillis = tick.toMillis();
+        this.bits = Integer.numberOfTrailingZeros(wheelSize);
+        if (tickMillis <= 0 || levelCount < 1 || bits * levelCount >= Long.SIZE - 1) {
+            throw new IllegalArgumentException("Invalid timing wheel: tick=" + tick + ", levels=" + levelCount);
+        }
+        this.mask = wheelSize - 1;
+        this.levels = new List[levelCount];
+        for (int level = 0; level < levelCount; level++) {
+            List<List<Entry<T>>> buckets = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                buckets.add(new ArrayList<>());
+            }
+            levels[level] = buckets;
+        }
+        this.currentTick = tickOf(now);
+    }
+
+    /**
+     * 要素を登録します。期限を過ぎている場合は、次の{@link #advanceTo(Instant)}で取り出されます。
+     *
+     * @param deadline 期限
+     * @param item 要素
+     */
+    public void schedule(Instant deadline, T item) {
+        place(new Entry<>(tickOf(deadline), item));
+    }
+
+    /**
+     * 現在時刻まで進め、期限に達した要素を期限の順に取り出します。
+     * 同じティックの要素の順序は不定です。
+     *
+     * @param now 現在時刻
+     * @return 期限に達した要素
+     */
+    public List<T> advanceTo(Instant now) {
+        long target = tickOf(now);
+        List<T> due = new ArrayList<>(expired);
+        expired.clear();
+        while (currentTick < target) {
+            if (pending == 0) {
+                // ホイールが空であれば、ティックを1つずつ進める必要はない
+                currentTick = target;
+                break;
+            }
+            currentTick++;
+            cascade();
+            List<Entry<T>> bucket = levels[0].get(index(currentTick, 0));
+            for (Entry<T> entry : bucket) {
+                due.add(entry.item());
+            }
+            pending -= bucket.size();
+            bucket.clear();
+            due.addAll(expired);
+            expired.clear();
+        }
+        return due;
+    }
+
+    /**
+     * 登録されていて、まだ取り出されていない要素の数を返します。
+     */
+    public int size() {
+        return pending + expired.size();
+    }
+
+    /**
+     * 現在のティックで桁が繰り上がった階層のバケットを、1つ下の階層に置き直す。
+     * 上の階層から順に置き直すことで、複数の階層を一度に下ってくる要素も正しいバケットに置かれる。
+     */
+    private void cascade() {
+        if ((currentTick & spanMask(levels.length)) == 0 && !overflow.isEmpty()) {
+            List<Entry<T>> entries = new ArrayList<>(overflow);
+            overflow.clear();
+            pending -= entries.size();
+            entries.forEach(this::place);
+        }
+        for (int level = levels.length - 1; level >= 1; level--) {
+            if ((currentTick & spanMask(level)) == 0) {
+                List<Entry<T>> bucket = levels[level].get(index(currentTick, level));
+                if (!bucket.isEmpty()) {
+                    List<Entry<T>> entries = new ArrayList<>(bucket);
+                    bucket.clear();
+                    pending -= entries.size();
+                    entries.forEach(this::place);
+                }
+            }
+        }
+    }
+
+    private void place(Entry<T> entry) {
+        if (entry.tick() <= currentTick) {
+            expired.add(entry.item());
+            return;
+        }
+        long difference = entry.tick() ^ currentTick;
+        pending++;
+        for (int level = 0; level < levels.length; level++) {
+            if ((difference & ~spanMask(level + 1)) == 0) {
+                levels[level].get(index(entry.tick(), level)).add(entry);
+                return;
+            }
+        }
+        overflow.add(entry);
+    }
+
+    /** 第level階層までで表せるティック数 - 1 */
+    private long spanMask(int level) {
+        return (1L << (bits * level)) - 1;
+    }
+
+    private int index(long tick, int level) {
+        return (int) ((tick >>> (bits * level)) & mask);
+    }
+
+    private long tickOf(Instant instant) {
+        return Math.floorDiv(instant.toEpochMilli(), tickMillis);
+    }
+
+    private record Entry<T>(long tick, T item) {
+    }
+}
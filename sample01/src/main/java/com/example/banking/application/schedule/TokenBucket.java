@@ -0,0 +1,65 @@
+package com.example.banking.application.schedule;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 毎秒一定数の許可を払い出すトークンバケット。複数のスレッドで共有できます。
+ *
+ * 許可が足りない場合は、不足分を前借りしたうえで、前借りが返済されるまで呼び出し元のスレッドを待機させます。
+ * そのため、バケットの容量を超える許可をまとめて取得しても、平均の払い出し速度は設定値を超えません。
+ */
+public class TokenBucket {
+
+    private final double permitsPerNano;
+    private final double capacity;
+    private final LongSupplier nanoTime;
+    private double tokens;
+    private long refilledAt;
+
+    /**
+     * @param permitsPerSecond 毎秒払い出す許可の数
+     * @param capacity 使われずに貯められる許可の上限（一度に払い出せる量）
+     */
+    public TokenBucket(double permitsPerSecond, double capacity) {
+        this(permitsPerSecond, capacity, System::nanoTime);
+    }
+
+    TokenBucket(double permitsPerSecond, double capacity, LongSupplier nanoTime) {
+        if (permitsPerSecond <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("Rate and capacity must be positive");
+        }
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = capacity;
+        this.nanoTime = nanoTime;
+        this.tokens = capacity;
+        this.refilledAt = nanoTime.getAsLong();
+    }
+
+    /**
+     * 許可を取得します。許可が足りない場合は、払い出されるまで待機します。
+     *
+     * @param permits 取得する許可の数
+     * @throws InterruptedException 待機中に割り込まれた場合
+     */
+    public void acquire(int permits) throws InterruptedException {
+        long waitNanos = reserve(permits);
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * 許可を前借りし、払い出されるまでに待機すべき時間を返します。
+     *
+     * @param permits 取得する許可の数
+     * @return 待機すべき時間（ナノ秒）
+     */
+    synchronized long reserve(int permits) {
+        long now = nanoTime.getAsLong();
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * permitsPerNano);
+        refilledAt = now;
+        tokens -= permits;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / permitsPerNano);
+    }
+}
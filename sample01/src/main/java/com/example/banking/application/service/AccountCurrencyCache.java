@@ -0,0 +1,79 @@
+package com.example.banking.application.service;
+
+import com.example.banking.domain.account.AccountId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Currency;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 振込の受付時に参照する、口座IDから口座の通貨へのキャッシュ。
+ *
+ * 口座は削除されず、通貨も開設後に変わらないため、一度DBで確認した口座は以降の振込でDBを読まずに受け付けられます。
+ * キャッシュにない口座は、呼び出し側が主キーで通貨を読み込んで存在を確認し、存在した場合に登録します。
+ * 口座の開設時には登録しません。開設のトランザクションがロールバックされた口座を、存在するものとして扱わないためです。
+ *
+ * 保持する口座の数には上限（{@code banking.transfer.currency-cache-size}）があり、上限に達した場合は任意の1件を追い出します。
+ * 口座IDはランダムなUUIDのため、追い出される口座に偏りはありません。0の場合はキャッシュしません。
+ *
+ * このクラスはスレッドセーフで、読み取りはロックを取りません。
+ */
+@Component
+public class AccountCurrencyCache {
+
+    private final ConcurrentMap<AccountId, Currency> currencies = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    @Autowired
+    public AccountCurrencyCache(TransferProperties properties) {
+        this(properties.currencyCacheSize());
+    }
+
+    AccountCurrencyCache(int maxEntries) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("Currency cache size must not be negative: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * キャッシュしている口座の通貨を返します。
+     *
+     * @param accountId 口座ID
+     * @return 口座の通貨。キャッシュしていない場合は空
+     */
+    public Optional<Currency> get(AccountId accountId) {
+        return Optional.ofNullable(currencies.get(accountId));
+    }
+
+    /**
+     * DBで存在を確認した口座の通貨を登録します。
+     *
+     * @param accountId 口座ID
+     * @param currency 口座の通貨
+     */
+    public void put(AccountId accountId, Currency currency) {
+        if (maxEntries == 0) {
+            return;
+        }
+        if (currencies.size() >= maxEntries && !currencies.containsKey(accountId)) {
+            Iterator<AccountId> any = currencies.keySet().iterator();
+            if (any.hasNext()) {
+                any.next();
+                any.remove();
+            }
+        }
+        currencies.put(accountId, currency);
+    }
+
+    /**
+     * キャッシュしている口座の数を返します。
+     */
+    public int size() {
+        return currencies.size();
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.banking.application.service;
+
+import com.example.banking.domain.account.AccountId;
+
+/**
+ * 口座の配置（どのデータベースに保持されているか）を判定するためのインターフェース。
+ * 振込元・振込先の両口座が同一データベース上にある場合、振込はSagaを経由せず
+ * 単一のローカルトランザクションで完結させることができます。
+ * 実装はインフラストラクチャ層が担当します。
+ */
+public interface AccountLocality {
+
+    /**
+     * 2つの口座が同一データベース上に配置されているかを判定します。
+     *
+     * @param first 1つ目の口座ID
+     * @param second 2つ目の口座ID
+     * @return 同一データベース上にある場合はtrue
+     */
+    boolean isColocated(AccountId first, AccountId second);
+}
@@ -1,10 +1,15 @@
 package com.example.banking.application.service;
 
+import com.example.banking.application.jfr.AccountOperationEvent;
 import com.example.banking.domain.account.*;
+import com.example.banking.domain.transfer.TransferId;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -14,13 +19,18 @@ import java.util.Optional;
  *
  * このクラスは、複数のユースケースインターフェース（`OpenAccountUseCase`, `DepositUseCase`など）を実装することで、
  * CQRS（コマンド・クエリ責務分離）の考え方を部分的に取り入れています。
- * - コマンド(状態変更): `openAccount`, `deposit`, `withdraw`
- * - クエリ(状態取得): `getAccountDetails`
+ * - コマンド(状態変更): `openAccount`, `deposit`, `withdraw`, 振込の記帳（`debit`, `credit`, `reverseDebit`）
+ * - クエリ(状態取得): `getAccountDetails`, `getAccountVersion`, `getAccountVersions`
+ *
+ * 残高の変化は、口座の保存時に発行されるドメインイベントから購読者に配信されます（{@link com.example.banking.application.feed.BalanceFeed}）。
+ * 入金・出金は、所要時間が閾値を超えた場合にJFRイベント（{@link AccountOperationEvent}）を記録します。
+ *
+ * 各ユースケースは `@Timed` により `banking.usecase` タイマーとして計測されます（タグ `usecase` でユースケースを識別）。
  */
 @Service
 @RequiredArgsConstructor
 @Transactional
-public class AccountService implements OpenAccountUseCase, DepositUseCase, GetAccountQuery, WithdrawUseCase {
+public class AccountService implements OpenAccountUseCase, DepositUseCase, GetAccountQuery, WithdrawUseCase, TransferPostingUseCase {
 
     /**
      * 口座リポジトリ。ドメイン層のインターフェースに依存することで、
@@ -32,6 +42,7 @@ public class AccountService implements OpenAccountUseCase, DepositUseCase, GetAc
      * 口座開設ユースケース。
      */
     @Override
+    @Timed(value = "banking.usecase", extraTags = {"usecase", "openAccount"})
     public Account openAccount(CustomerName customerName, Money initialDeposit) {
         AccountNumber accountNumber = accountRepository.nextAccountNumber();
         Account account = Account.open(accountNumber, customerName, initialDeposit);
@@ -43,21 +54,73 @@ public class AccountService implements OpenAccountUseCase, DepositUseCase, GetAc
      * 入金ユースケース。
      */
     @Override
+    @Timed(value = "banking.usecase", extraTags = {"usecase", "deposit"})
     public void deposit(AccountId accountId, Money money) {
-        Account account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountId.value()));
-        account.deposit(money);
-        accountRepository.save(account);
+        AccountOperationEvent event = AccountOperationEvent.begin("deposit", accountId, money);
+        try {
+            Account account = accountRepository.findById(accountId)
+                    .orElseThrow(() -> new AccountNotFoundException(accountId));
+            account.deposit(money);
+            accountRepository.save(account);
+            event.finish("success");
+        } catch (RuntimeException e) {
+            event.finish(e.getClass().getSimpleName());
+            throw e;
+        }
     }
 
     /**
      * 出金ユースケース。
      */
     @Override
+    @Timed(value = "banking.usecase", extraTags = {"usecase", "withdraw"})
     public void withdraw(AccountId accountId, Money money) {
+        AccountOperationEvent event = AccountOperationEvent.begin("withdraw", accountId, money);
+        try {
+            Account account = accountRepository.findById(accountId)
+                    .orElseThrow(() -> new AccountNotFoundException(accountId));
+            account.withdraw(money);
+            accountRepository.save(account);
+            event.finish("success");
+        } catch (RuntimeException e) {
+            event.finish(e.getClass().getSimpleName());
+            throw e;
+        }
+    }
+
+    /**
+     * 振込元口座からの出金（振込Sagaのステップ1）。
+     */
+    @Override
+    @Timed(value = "banking.usecase", extraTags = {"usecase", "debitTransfer"})
+    public void debit(TransferId transferId, AccountId accountId, Money money, Money fee) {
         Account account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new IllegalArgumentException("Account not found: " + accountId.value()));
-        account.withdraw(money);
+                .orElseThrow(() -> new AccountNotFoundException(accountId));
+        account.debitTransfer(transferId.value(), money, fee);
+        accountRepository.save(account);
+    }
+
+    /**
+     * 振込先口座への入金（振込Sagaのステップ2）。
+     */
+    @Override
+    @Timed(value = "banking.usecase", extraTags = {"usecase", "creditTransfer"})
+    public void credit(TransferId transferId, AccountId accountId, Money money) {
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new AccountNotFoundException(accountId));
+        account.creditTransfer(transferId.value(), money);
+        accountRepository.save(account);
+    }
+
+    /**
+     * 振込元口座への出金の取り消し（振込Sagaの補償トランザクション）。
+     */
+    @Override
+    @Timed(value = "banking.usecase", extraTags = {"usecase", "reverseTransferDebit"})
+    public void reverseDebit(TransferId transferId, AccountId accountId, Money money) {
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new AccountNotFoundException(accountId));
+        account.reverseTransferDebit(transferId.value(), money);
         accountRepository.save(account);
     }
 
@@ -65,10 +128,33 @@ public class AccountService implements OpenAccountUseCase, DepositUseCase, GetAc
      * 口座情報取得クエリ。
      * @Transactional(readOnly = true) を指定することで、この操作が状態を変更しない読み取り専用であることを示し、
      * 永続化層でのパフォーマンス最適化を期待できます。
+     * リードレプリカへの振り分けが有効な場合はレプリカから読み込むため、直前の更新が反映されていないことがあります。
      */
     @Override
     @Transactional(readOnly = true)
+    @Timed(value = "banking.usecase", extraTags = {"usecase", "getAccountDetails"})
     public Optional<Account> getAccountDetails(AccountId accountId) {
         return accountRepository.findById(accountId);
     }
-} 
\ No newline at end of file
+
+    /**
+     * 口座のバージョン取得クエリ。
+     * 口座アグリゲートを再構築せず、バージョンのみを参照します。
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Timed(value = "banking.usecase", extraTags = {"usecase", "getAccountVersion"})
+    public Optional<Long> getAccountVersion(AccountId accountId) {
+        return accountRepository.findVersionById(accountId);
+    }
+
+    /**
+     * 複数口座のバージョン取得クエリ。
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Timed(value = "banking.usecase", extraTags = {"usecase", "getAccountVersions"})
+    public Map<AccountId, Long> getAccountVersions(Collection<AccountId> accountIds) {
+        return accountRepository.findVersionsByIds(accountIds);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.banking.application.service;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 口座と振込を分割して保持するデータベース（シャード）の一覧と、シャードを指定して処理を実行する手段。
+ * 利息計上や元帳照合など、全口座を走査するバッチ処理はシャードごとに実行します。
+ * 単一データベース構成ではシャードは1つです。
+ * 実装はインフラストラクチャ層が担当します。
+ */
+public interface DatabaseShards {
+
+    /**
+     * 走査の対象とするシャードの名前を返します。
+     *
+     * @return シャード名の一覧
+     */
+    List<String> names();
+
+    /**
+     * 指定したシャードで処理を実行します。
+     * 処理の中で開始したトランザクションとSQLは、すべてこのシャードで実行されます。
+     *
+     * @param shard シャード名
+     * @param work 実行する処理
+     * @return 処理の結果
+     */
+    <T> T callOn(String shard, Supplier<T> work);
+}
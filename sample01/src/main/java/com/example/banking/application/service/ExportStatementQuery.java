@@ -0,0 +1,84 @@
+package com.example.banking.application.service;
+
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.transfer.AccountMovement;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * 入出金明細のエクスポートクエリのインターフェース。
+ * CQRSのクエリ側に相当します。
+ *
+ * 明細はリストとして返さず、DBのカーソルから1件ずつ読み込んで呼び出し元に渡すため、
+ * 明細の件数によらずメモリ使用量は一定です。
+ */
+public interface ExportStatementQuery {
+
+    /**
+     * 口座の入出金明細を読み込み、callbackに渡します。
+     * callbackの実行中は1つの読み取り専用トランザクションが継続し、{@link Statement}を何度読み込んでも同じ明細が返されます。
+     * （レスポンスの長さを数えてから、指定されたバイト範囲だけを書き出す場合などに使用します。）
+     *
+     * @param accountId 口座ID
+     * @param from 期間の開始日時（この日時を含む）
+     * @param to 期間の終了日時（この日時を含まない）
+     * @param callback 明細を読み込む処理
+     * @param <T> callbackの戻り値の型
+     * @return callbackの戻り値
+     * @throws IOException callbackが明細の書き出しに失敗した場合
+     */
+    <T> T exportStatement(AccountId accountId, Instant from, Instant to, StatementCallback<T> callback) throws IOException;
+
+    /**
+     * 口座の入出金明細の件数を返します。
+     * 明細は完了した振込のみで、完了した振込は変更も削除もされないため、件数が同じであれば明細の内容も同じです。
+     * （明細のバリデータ（ETag）を、明細を読み込まずに求める場合に使用します。）
+     *
+     * @param accountId 口座ID
+     * @param from 期間の開始日時（この日時を含む）
+     * @param to 期間の終了日時（この日時を含まない）
+     * @return 入出金明細の件数
+     */
+    long countStatementMovements(AccountId accountId, Instant from, Instant to);
+
+    /**
+     * 期間内の入出金明細。
+     */
+    @FunctionalInterface
+    interface Statement {
+
+        /**
+         * 明細を依頼日時の昇順に1件ずつsinkに渡します。
+         * sinkがfalseを返した時点で読み込みを打ち切ります。
+         *
+         * @param sink 明細を受け取る処理
+         * @throws IOException sinkが明細の書き出しに失敗した場合
+         */
+        void forEach(MovementSink sink) throws IOException;
+    }
+
+    /**
+     * 明細を1件ずつ受け取る処理。
+     */
+    @FunctionalInterface
+    interface MovementSink {
+
+        /**
+         * @param movement 明細
+         * @return 続けて次の明細を受け取る場合はtrue
+         * @throws IOException 明細の書き出しに失敗した場合
+         */
+        boolean accept(AccountMovement movement) throws IOException;
+    }
+
+    /**
+     * 明細を読み込む処理。
+     *
+     * @param <T> 戻り値の型
+     */
+    @FunctionalInterface
+    interface StatementCallback<T> {
+        T doWithStatement(Statement statement) throws IOException;
+    }
+}
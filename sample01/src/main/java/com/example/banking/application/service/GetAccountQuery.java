@@ -3,6 +3,8 @@ package com.example.banking.application.service;
 import com.example.banking.domain.account.Account;
 import com.example.banking.domain.account.AccountId;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -16,5 +18,20 @@ public interface GetAccountQuery {
      * @param id 取得対象の口座ID
      * @return 口座情報。見つからない場合はOptional.empty()
      */
-    Optional<Account> getAccount(AccountId id);
+    Optional<Account> getAccountDetails(AccountId id);
+
+    /**
+     * 口座の現在のバージョンを取得します。
+     * バージョンは口座が更新されるたびに増加するため、クライアントが保持する口座情報が最新かどうかの判定（ETag）に使用できます。
+     * @param id 取得対象の口座ID
+     * @return バージョン。見つからない場合はOptional.empty()
+     */
+    Optional<Long> getAccountVersion(AccountId id);
+
+    /**
+     * 複数口座の現在のバージョンをまとめて取得します。
+     * @param ids 取得対象の口座IDのコレクション
+     * @return 口座IDとバージョンのマップ。存在しない口座はマップに含まれない
+     */
+    Map<AccountId, Long> getAccountVersions(Collection<AccountId> ids);
 } 
\ No newline at end of file
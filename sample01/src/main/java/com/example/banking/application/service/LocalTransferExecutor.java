@@ -0,0 +1,73 @@
+package com.example.banking.application.service;
+
+import com.example.banking.domain.account.Account;
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.AccountNotFoundException;
+import com.example.banking.domain.account.AccountRepository;
+import com.example.banking.domain.account.InsufficientBalanceException;
+import com.example.banking.domain.transfer.Transfer;
+import com.example.banking.domain.transfer.TransferRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 同一データベース上の口座間の振込を、単一のローカルトランザクションで実行するコンポーネント（ファストパス）。
+ *
+ * Sagaでは出金と入金が別々のトランザクションとなるため、入金に失敗した場合は補償トランザクションが必要になります。
+ * 両口座が同じデータベースにある場合は、出金・入金・振込の完了を1つのトランザクションにまとめることで、
+ * DBとの往復回数を減らし、補償が必要となる不整合な時間帯そのものをなくすことができます。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LocalTransferExecutor {
+
+    private final AccountRepository accountRepository;
+    private final TransferRepository transferRepository;
+
+    /**
+     * 振込をローカルトランザクション内で実行します。
+     * 呼び出し元（振込依頼ユースケース）のトランザクションに参加し、その中で完結します。
+     *
+     * @param transfer REQUESTED状態の振込アグリゲート（未永続化）
+     * @throws AccountNotFoundException いずれかの口座が存在しない場合。振込は永続化されない
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void execute(Transfer transfer) {
+        AccountId sourceId = transfer.getSourceAccountId();
+        AccountId destinationId = transfer.getDestinationAccountId();
+
+        // デッドロックを避けるため、行ロックは常にAccountIdの昇順で取得する
+        boolean sourceFirst = sourceId.value().compareTo(destinationId.value()) < 0;
+        Account first = lock(sourceFirst ? sourceId : destinationId);
+        Account second = lock(sourceFirst ? destinationId : sourceId);
+        Account source = sourceFirst ? first : second;
+        Account destination = sourceFirst ? second : first;
+
+        try {
+            source.debitTransfer(transfer.getId().value(), transfer.getMoney(), transfer.getFee());
+            // 通貨をまたぐ振込では、振込依頼時にロックした為替レートで換算した金額を入金する
+            destination.creditTransfer(transfer.getId().value(), transfer.getCreditedMoney());
+        } catch (InsufficientBalanceException | IllegalArgumentException e) {
+            // どちらの口座もまだ永続化していないため、補償処理は不要
+            log.info("Local transfer rejected for transferId: {} ({})", transfer.getId().value(), e.getMessage());
+            transfer.fail();
+            transferRepository.save(transfer);
+            return;
+        }
+
+        accountRepository.save(source);
+        accountRepository.save(destination);
+        transfer.complete();
+        transferRepository.save(transfer);
+        log.info("Local transfer completed for transferId: {}", transfer.getId().value());
+    }
+
+    private Account lock(AccountId accountId) {
+        return accountRepository.findByIdForUpdate(accountId)
+                .orElseThrow(() -> new AccountNotFoundException(accountId));
+    }
+}
@@ -12,7 +12,8 @@ public interface OpenAccountUseCase {
     /**
      * 新しい口座を開設します。
      * @param customerName 顧客名
+     * @param initialDeposit 初期預金額。口座の通貨はこの金額の通貨となる
      * @return 開設された口座のアグリゲート
      */
-    Account openAccount(CustomerName customerName);
+    Account openAccount(CustomerName customerName, Money initialDeposit);
 } 
\ No newline at end of file
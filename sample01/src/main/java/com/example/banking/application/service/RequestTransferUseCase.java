@@ -1,7 +1,5 @@
 package com.example.banking.application.service;
 
-import com.example.banking.domain.account.AccountId;
-import com.example.banking.domain.account.Money;
 import com.example.banking.domain.transfer.Transfer;
 
 /**
@@ -12,11 +10,12 @@ public interface RequestTransferUseCase {
     /**
      * 振込を依頼します。
      * このメソッドはSagaプロセスのトリガーとなります。
+     * 為替見積もりを指定した場合、振込先口座には見積もりのレートで換算した金額が入金されます。
+     * Sagaは優先度ごとのレーンで実行され、至急の振込は一括振込の滞留を待たずに処理されます。
+     * 振込手数料は、金額・口座の種類・受付チャネルから手数料のルールで決まり、振込金額とともに振込元口座から出金されます。
      *
-     * @param sourceAccountId 送金元口座ID
-     * @param destinationAccountId 送金先口座ID
-     * @param money 金額
-     * @return 依頼された振込のID
+     * @param command 振込の内容
+     * @return 依頼された振込
      */
-    Transfer requestTransfer(AccountId sourceAccountId, AccountId destinationAccountId, Money money);
+    Transfer requestTransfer(TransferCommand command);
 } 
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.example.banking.application.service;
+
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.transfer.AccountMovement;
+import com.example.banking.domain.transfer.TransferRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 入出金明細のエクスポートを実装するアプリケーションサービス。
+ *
+ * 明細の読み込みはREPEATABLE READの読み取り専用トランザクションで行います。
+ * 1回のエクスポートの中で明細を複数回読み込んでも、エクスポート中に完了した振込などによって内容が変わることはありません。
+ */
+@Service
+@RequiredArgsConstructor
+public class StatementService implements ExportStatementQuery {
+
+    private final TransferRepository transferRepository;
+
+    /**
+     * 入出金明細のエクスポート。
+     */
+    @Override
+    @Timed(value = "banking.usecase", extraTags = {"usecase", "exportStatement"})
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public <T> T exportStatement(AccountId accountId, Instant from, Instant to, StatementCallback<T> callback) throws IOException {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Statement period must end after it starts");
+        }
+        return callback.doWithStatement(sink -> {
+            try (Stream<AccountMovement> movements = transferRepository.streamMovements(accountId, from, to)) {
+                Iterator<AccountMovement> iterator = movements.iterator();
+                while (iterator.hasNext()) {
+                    if (!sink.accept(iterator.next())) {
+                        break;
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * 入出金明細の件数。
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long countStatementMovements(AccountId accountId, Instant from, Instant to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Statement period must end after it starts");
+        }
+        return transferRepository.countMovements(accountId, from, to);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.banking.application.service;
+
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.Money;
+import com.example.banking.domain.fx.FxQuoteId;
+import com.example.banking.domain.transfer.TransferChannel;
+import com.example.banking.domain.transfer.TransferPriority;
+
+import java.util.Objects;
+
+/**
+ * 振込依頼ユースケースに渡す振込の内容。
+ *
+ * @param sourceAccountId 送金元口座ID
+ * @param destinationAccountId 送金先口座ID
+ * @param money 金額（送金元口座の通貨）
+ * @param quoteId 為替見積もりID。同一通貨の振込ではnull
+ * @param priority 振込の優先度
+ * @param channel 振込を受け付けたチャネル
+ */
+public record TransferCommand(AccountId sourceAccountId, AccountId destinationAccountId, Money money, FxQuoteId quoteId,
+                              TransferPriority priority, TransferChannel channel) {
+
+    public TransferCommand {
+        Objects.requireNonNull(sourceAccountId, "sourceAccountId");
+        Objects.requireNonNull(destinationAccountId, "destinationAccountId");
+        Objects.requireNonNull(money, "money");
+        Objects.requireNonNull(priority, "priority");
+        Objects.requireNonNull(channel, "channel");
+    }
+
+    /**
+     * 通貨をまたぐ振込（為替見積もりを指定した振込）かどうか。
+     */
+    public boolean crossCurrency() {
+        return quoteId != null;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.banking.application.service;
+
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.Money;
+import com.example.banking.domain.transfer.TransferId;
+
+/**
+ * 振込Sagaの各ステップで口座に記帳するユースケースのインターフェース。
+ * 通常の入出金と異なり、仕訳に振込IDを記録するため、照合バッチで振込ごとに記帳の過不足を検証できます。
+ */
+public interface TransferPostingUseCase {
+
+    /**
+     * 振込元口座から振込の金額と振込手数料を出金します。
+     * 残高は金額と手数料の合計で判定し、どちらも出金するか、どちらも出金しないかのいずれかとなります。
+     *
+     * @param transferId 振込ID
+     * @param accountId 振込元口座ID
+     * @param amount 出金額
+     * @param fee 振込手数料（出金額と同じ通貨）。手数料がない場合はゼロ
+     */
+    void debit(TransferId transferId, AccountId accountId, Money amount, Money fee);
+
+    /**
+     * 振込先口座へ振込の金額を入金します。
+     *
+     * @param transferId 振込ID
+     * @param accountId 振込先口座ID
+     * @param amount 入金額（振込先口座の通貨に換算済みの金額）
+     */
+    void credit(TransferId transferId, AccountId accountId, Money amount);
+
+    /**
+     * 補償トランザクションとして、振込元口座からの出金を取り消します。
+     *
+     * @param transferId 振込ID
+     * @param accountId 振込元口座ID
+     * @param amount 取り消す金額（振込手数料を出金した場合は手数料を含む）
+     */
+    void reverseDebit(TransferId transferId, AccountId accountId, Money amount);
+}
@@ -0,0 +1,17 @@
+package com.example.banking.application.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 振込処理に関する設定値。
+ *
+ * @param localFastPath 両口座が同一データベース上にある場合に、Sagaを経由せず単一トランザクションで振込を完結させるかどうか
+ * @param currencyCacheSize 振込の受付時に通貨をキャッシュする口座の数の上限（{@link AccountCurrencyCache}）。0の場合はキャッシュしない
+ */
+@ConfigurationProperties(prefix = "banking.transfer")
+public record TransferProperties(
+        @DefaultValue("true") boolean localFastPath,
+        @DefaultValue("100000") int currencyCacheSize
+) {
+}
@@ -1,14 +1,34 @@
 package com.example.banking.application.service;
 
+import com.example.banking.application.fee.FeeEvaluationException;
+import com.example.banking.application.fee.FeeRequest;
+import com.example.banking.application.fee.FeeRuleEngine;
+import com.example.banking.application.fx.FxQuoteExpiredException;
+import com.example.banking.application.fx.FxQuoteService;
+import com.example.banking.application.fx.TransferCurrencyMismatchException;
+import com.example.banking.application.jfr.TransferRequestEvent;
+import com.example.banking.application.limit.TransferLimitEngine;
+import com.example.banking.application.limit.TransferLimitExceededException;
+import com.example.banking.application.limit.TransferLimitReservation;
 import com.example.banking.application.saga.TransferRequestedEvent;
 import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.AccountNotFoundException;
+import com.example.banking.domain.account.AccountRepository;
 import com.example.banking.domain.account.Money;
+import com.example.banking.domain.fx.FxQuote;
 import com.example.banking.domain.transfer.Transfer;
+import com.example.banking.domain.transfer.TransferChannel;
 import com.example.banking.domain.transfer.TransferRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Currency;
+import java.util.Optional;
 
 /**
  * 振込に関するユースケースを実装するアプリケーションサービス。
@@ -26,31 +46,155 @@ public class TransferService implements RequestTransferUseCase {
      * SpringのApplicationEventPublisherを利用して、Sagaのトリガーとなるイベントを発行します。
      */
     private final ApplicationEventPublisher eventPublisher;
+    /**
+     * 同一データベース上の口座間の振込を単一トランザクションで実行するファストパス。
+     */
+    private final LocalTransferExecutor localTransferExecutor;
+    /**
+     * 口座の配置を判定するためのインターフェース。
+     */
+    private final AccountLocality accountLocality;
+    /**
+     * DBで存在を確認した口座の通貨のキャッシュ。
+     */
+    private final AccountCurrencyCache accountCurrencyCache;
+    /**
+     * 口座の存在と通貨をDBで確認するためのリポジトリ。
+     */
+    private final AccountRepository accountRepository;
+    /**
+     * 振込元口座ごとの振込件数・金額の上限を判定するエンジン。
+     */
+    private final TransferLimitEngine transferLimitEngine;
+    /**
+     * 通貨をまたぐ振込に適用する為替見積もりを照会するサービス。
+     */
+    private final FxQuoteService fxQuoteService;
+    /**
+     * 振込の金額・口座の種類・受付チャネルから振込手数料を決めるルールエンジン。
+     */
+    private final FeeRuleEngine feeRuleEngine;
+    /**
+     * 振込処理の設定値（ファストパスを使うかどうかなど）。
+     */
+    private final TransferProperties transferProperties;
 
     /**
      * 振込依頼ユースケース。
      * このメソッドの責務は、振込依頼をシステムに受け付け、
      * それを永続化し、非同期処理のトリガーとなるイベントを発行することです。
      * 実際の振込処理（出金・入金）はSagaが担当します。
+     * ただし、両口座が同一データベース上にある場合は、ファストパスとして単一トランザクション内で
+     * 出金・入金を行い、振込をCOMPLETED（またはFAILED）として確定させます。
+     *
+     * 存在しない口座への振込は、振込を永続化する前に同期的に拒否します。
+     * 口座の存在は、両口座の通貨を主キーで読み込む際にDBで確認します。確認済みの口座は通貨をキャッシュし、DBを読みません。
+     *
+     * 振込金額は振込元口座の通貨でなければなりません。振込先口座の通貨が異なる場合は為替見積もりが必要で、
+     * 見積もりの換算先通貨は振込先口座の通貨と一致しなければなりません。同じ通貨の口座間の振込には見積もりを指定できません。
+     * 見積もりのレートと有効期限は振込に記録し、振込先口座には、そのレートで換算した金額が入金されます。
      *
-     * @param sourceAccountId 振込元口座ID
-     * @param destinationAccountId 振込先口座ID
-     * @param money 振込金額
+     * 振込元口座の振込上限は、振込の検証がすべて済んだ後、振込を永続化する直前に判定して利用量を加算します。
+     * 振込のトランザクションがロールバックされた場合は、加算した利用量を取り消します。
+     *
+     * 振込手数料は振込を生成する前に手数料のルール（{@link FeeRuleEngine}）で評価し、振込に記録します。
+     * 手数料はSaga（またはファストパス）が振込金額とともに振込元口座から出金し、振込が失敗した場合は振込金額とともに戻します。
+     *
+     * Sagaは振込の優先度のレーンで実行されます（{@link com.example.banking.application.saga.TransferSagaDispatcher}）。
+     * 所要時間が閾値を超えた振込依頼は、JFRイベント（{@link TransferRequestEvent}）に振込IDと結果を記録します。
+     *
+     * @param command 振込の内容
      * @return 永続化されたTransferアグリゲート
+     * @throws AccountNotFoundException 振込元または振込先の口座が存在しない場合
+     * @throws TransferLimitExceededException 振込元口座の振込件数・金額の上限を超える場合
+     * @throws FxQuoteExpiredException 為替見積もりが存在しないか、有効期限が切れている場合
+     * @throws TransferCurrencyMismatchException 振込金額・為替見積もりの通貨が口座の通貨と一致しない場合
+     * @throws FeeEvaluationException 振込手数料のルールを評価できない場合
      */
     @Override
     @Transactional
-    public Transfer requestTransfer(AccountId sourceAccountId, AccountId destinationAccountId, Money money) {
-        // 口座の存在チェックなどは、より堅牢にするならここで行うか、Sagaの最初のステップで行う。
-        // ここではシンプルにするためSagaに委ねる。
+    @Timed(value = "banking.usecase", extraTags = {"usecase", "requestTransfer"})
+    public Transfer requestTransfer(TransferCommand command) {
+        TransferRequestEvent event = TransferRequestEvent.begin(command.sourceAccountId(), command.destinationAccountId(), command.money());
+        try {
+            Transfer transfer = request(command, event);
+            event.finish(transfer.getStatus().name());
+            return transfer;
+        } catch (RuntimeException e) {
+            event.finish(e.getClass().getSimpleName());
+            throw e;
+        }
+    }
 
-        // 1. Transferアグリゲートを生成し、REQUESTED状態で永続化する
-        Transfer transfer = Transfer.request(sourceAccountId, destinationAccountId, money);
-        transferRepository.save(transfer);
+    private Transfer request(TransferCommand command, TransferRequestEvent event) {
+        AccountId sourceAccountId = command.sourceAccountId();
+        AccountId destinationAccountId = command.destinationAccountId();
+        Money money = command.money();
+        TransferChannel channel = command.channel();
 
-        // 2. Sagaを起動するためのドメインイベントを発行する
-        eventPublisher.publishEvent(new TransferRequestedEvent(this, transfer.getId()));
+        // 1. 両口座の通貨をDBから読み込む。口座が存在しなければ拒否する
+        Currency sourceCurrency = currencyOf(sourceAccountId);
+        Currency destinationCurrency = currencyOf(destinationAccountId);
+
+        // 2. 振込金額と為替見積もりの通貨を両口座の通貨と照合する（通貨をまたぐ振込では有効期限内の見積もりを取得する）
+        FxQuote quote = fxQuoteService.quoteForTransfer(sourceAccountId, sourceCurrency, destinationAccountId, destinationCurrency,
+                money, command.quoteId());
+
+        // 3. 振込手数料をコンパイル済みのルールで評価する
+        Money fee = feeRuleEngine.evaluate(new FeeRequest(money, channel, command.priority(), quote != null));
+
+        // 4. Transferアグリゲートを生成する（見積もりがあれば、そのレートをロックする）
+        Transfer transfer = quote != null
+                ? Transfer.request(sourceAccountId, destinationAccountId, money, quote, fee, command.priority())
+                : Transfer.request(sourceAccountId, destinationAccountId, money, fee, command.priority());
+
+        // 5. 両口座が同一データベース上にあれば、このトランザクション内で振込を完結させる
+        if (transferProperties.localFastPath() && accountLocality.isColocated(sourceAccountId, destinationAccountId)) {
+            reserveLimit(sourceAccountId, money, channel);
+            event.accepted(transfer, "local");
+            localTransferExecutor.execute(transfer);
+            return transfer;
+        }
+
+        // 6. コンテキストをまたぐ振込は、上限の利用量を加算してからREQUESTED状態で永続化し、Sagaを起動するためのドメインイベントを発行する
+        reserveLimit(sourceAccountId, money, channel);
+        event.accepted(transfer, "saga");
+        transferRepository.save(transfer);
+        eventPublisher.publishEvent(new TransferRequestedEvent(this, transfer.getId(), transfer.getPriority()));
 
         return transfer;
     }
-} 
\ No newline at end of file
+
+    /**
+     * 振込元口座の上限を判定して利用量を加算し、振込のトランザクションがコミットされなかった場合に取り消すよう登録する。
+     */
+    private void reserveLimit(AccountId sourceAccountId, Money money, TransferChannel channel) {
+        TransferLimitReservation reservation = transferLimitEngine.acquire(sourceAccountId, money, channel);
+        if (reservation == TransferLimitReservation.NONE) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    transferLimitEngine.release(reservation);
+                }
+            }
+        });
+    }
+
+    /**
+     * 口座の通貨を返す。キャッシュにない口座は、口座の再構築が不要なため主キーで通貨の列のみを読み込んで存在を確認し、
+     * 存在した口座をキャッシュに登録する。
+     */
+    private Currency currencyOf(AccountId accountId) {
+        Optional<Currency> cached = accountCurrencyCache.get(accountId);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        Currency currency = accountRepository.findCurrencyById(accountId)
+                .orElseThrow(() -> new AccountNotFoundException(accountId));
+        accountCurrencyCache.put(accountId, currency);
+        return currency;
+    }
+}
@@ -1,16 +1,31 @@
 package com.example.banking.domain.account;
 
+import com.example.banking.domain.event.AccountBalanceChanged;
+import com.example.banking.domain.event.AccountOpened;
+import com.example.banking.domain.event.DomainEvent;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
 
 /**
  * 口座アグリゲート。
  * 口座に関する不変条件とビジネスロジック（入金、出金）をカプセル化します。
  * アグリゲートのルートエンティティとして、このオブジェクトを介してのみ口座の状態が変更されます。
+ * 残高を変更する操作はすべて仕訳（{@link AccountEntry}）を生成し、リポジトリが残高と同じトランザクションで永続化します。
+ *
+ * 残高（元帳残高）のうち、与信（{@link com.example.banking.domain.hold.Hold}）で拘束されている額を拘束額として保持します。
+ * 出金できるのは残高から拘束額を差し引いた利用可能残高までです。
+ * 与信は件数が多くなりうるため口座アグリゲートには読み込まず、口座は拘束額の合計のみを保持します。
+ * 拘束額の増減は、口座を読み込まずに{@link AccountRepository#placeHold}などの条件付き更新で行います。
+ *
+ * 口座の開設と残高の変化はドメインイベント（{@link AccountOpened}・{@link AccountBalanceChanged}）としても記録し、
+ * リポジトリが保存時に取り出して発行します。
  */
 @Getter
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
@@ -22,22 +37,37 @@ public class Account {
     private final AccountNumber accountNumber;
     /** 顧客名。 */
     private final CustomerName customerName;
-    /** 残高。 */
+    /** 残高（元帳残高）。 */
     private Money balance;
+    /** 与信で拘束されている額の合計。 */
+    private Money heldBalance;
     /** 楽観的ロック用のバージョン。 */
     private long version;
+    /** 永続化済みかどうか。リポジトリが保存時に新規作成と更新を判別するために使います。 */
+    private boolean persisted;
+    /** 永続化されていない仕訳。リポジトリが保存時に取り出します。 */
+    @Getter(AccessLevel.NONE)
+    private final List<AccountEntry> pendingEntries = new ArrayList<>();
+    /** 発行されていないドメインイベント。リポジトリが保存時に取り出します。 */
+    @Getter(AccessLevel.NONE)
+    private final List<DomainEvent> pendingEvents = new ArrayList<>();
 
     /**
-     * 新しい口座を開設するためのファクトリメソッド。
-     * 初期残高はゼロで作成されます。
+     * 初期預金とともに新しい口座を開設するためのファクトリメソッド。
+     * 口座の通貨は初期預金の通貨となり、以降の入出金は同じ通貨でのみ行えます。
+     * @param accountNumber 採番済みの口座番号
      * @param customerName 顧客名
+     * @param initialDeposit 初期預金額
      * @return 新しく作成されたAccountインスタンス
      */
-    public static Account open(CustomerName customerName) {
-        var id = AccountId.newId();
-        var accountNumber = AccountNumber.generate();
-        var initialBalance = new Money(BigDecimal.ZERO, Money.JPY);
-        return new Account(id, accountNumber, customerName, initialBalance, 0L);
+    public static Account open(AccountNumber accountNumber, CustomerName customerName, Money initialDeposit) {
+        Account account = new Account(AccountId.newId(), accountNumber, customerName, initialDeposit,
+                new Money(BigDecimal.ZERO, initialDeposit.currency()), 0L, false);
+        account.pendingEvents.add(AccountOpened.of(account.id, accountNumber.value(), initialDeposit));
+        if (!initialDeposit.isNegativeOrZero()) {
+            account.record(AccountEntry.Type.OPENING, initialDeposit, null);
+        }
+        return account;
     }
 
     /**
@@ -50,7 +80,25 @@ public class Account {
      * @return 再構成されたAccountインスタンス
      */
     public static Account reconstitute(AccountId id, AccountNumber accountNumber, CustomerName customerName, Money balance, long version) {
-        return new Account(id, accountNumber, customerName, balance, version);
+        return new Account(id, accountNumber, customerName, balance, new Money(BigDecimal.ZERO, balance.currency()), version, true);
+    }
+
+    /**
+     * 永続化層から、与信で拘束されている額を含めてアカウントを再構成するためのファクトリメソッド。
+     * @param heldBalance 与信で拘束されている額の合計
+     * @see #reconstitute(AccountId, AccountNumber, CustomerName, Money, long)
+     */
+    public static Account reconstitute(AccountId id, AccountNumber accountNumber, CustomerName customerName, Money balance,
+                                       Money heldBalance, long version) {
+        return new Account(id, accountNumber, customerName, balance, heldBalance, version, true);
+    }
+
+    /**
+     * 利用可能残高（残高から与信で拘束されている額を差し引いた額）を返します。
+     * @return 出金・振込・新たな与信に使える額
+     */
+    public Money getAvailableBalance() {
+        return balance.subtract(heldBalance);
     }
 
     /**
@@ -58,11 +106,8 @@ public class Account {
      * @param amount 入金する金額
      */
     public void deposit(Money amount) {
-        // ビジネスルール：入金額は正の値でなければならない
-        if (amount.isLessThanOrEqualTo(BigDecimal.ZERO)) {
-            throw new IllegalArgumentException("Deposit amount must be positive.");
-        }
-        this.balance = this.balance.add(amount);
+        credit(amount);
+        record(AccountEntry.Type.DEPOSIT, amount, null);
     }
 
     /**
@@ -71,14 +116,113 @@ public class Account {
      * @throws InsufficientBalanceException 残高が不足している場合
      */
     public void withdraw(Money amount) {
+        debit(amount);
+        record(AccountEntry.Type.WITHDRAWAL, amount, null);
+    }
+
+    /**
+     * 振込元口座として、振込の金額を出金します。
+     * @param transferId 振込ID
+     * @param amount 出金する金額
+     * @throws InsufficientBalanceException 残高が不足している場合
+     */
+    public void debitTransfer(UUID transferId, Money amount) {
+        debit(amount);
+        record(AccountEntry.Type.TRANSFER_DEBIT, amount, transferId);
+    }
+
+    /**
+     * 振込元口座として、振込の金額と振込手数料を出金します。
+     * 残高は金額と手数料の合計で判定し、仕訳は金額（TRANSFER_DEBIT）と手数料（TRANSFER_FEE）に分けて記録します。
+     * @param transferId 振込ID
+     * @param amount 出金する金額
+     * @param fee 振込手数料（口座の通貨）。手数料がない場合はゼロ
+     * @throws InsufficientBalanceException 残高が金額と手数料の合計に満たない場合
+     */
+    public void debitTransfer(UUID transferId, Money amount, Money fee) {
+        if (fee.isNegativeOrZero()) {
+            debitTransfer(transferId, amount);
+            return;
+        }
+        debit(amount.add(fee));
+        record(AccountEntry.Type.TRANSFER_DEBIT, amount, transferId);
+        record(AccountEntry.Type.TRANSFER_FEE, fee, transferId);
+    }
+
+    /**
+     * 振込先口座として、振込の金額を入金します。
+     * @param transferId 振込ID
+     * @param amount 入金する金額（口座の通貨に換算済みの金額）
+     */
+    public void creditTransfer(UUID transferId, Money amount) {
+        credit(amount);
+        record(AccountEntry.Type.TRANSFER_CREDIT, amount, transferId);
+    }
+
+    /**
+     * 振込の補償として、振込元口座からの出金を取り消します。
+     * @param transferId 振込ID
+     * @param amount 取り消す金額（出金した金額。振込手数料を出金した場合は手数料を含む）
+     */
+    public void reverseTransferDebit(UUID transferId, Money amount) {
+        credit(amount);
+        record(AccountEntry.Type.TRANSFER_REVERSAL, amount, transferId);
+    }
+
+    /**
+     * 永続化されていない仕訳を取り出します。取り出した仕訳はこの口座から削除されます。
+     * リポジトリが口座の保存時に呼び出し、残高と同じトランザクションで仕訳を永続化します。
+     * @return 生成された順の仕訳
+     */
+    public List<AccountEntry> pullPendingEntries() {
+        List<AccountEntry> entries = List.copyOf(pendingEntries);
+        pendingEntries.clear();
+        return entries;
+    }
+
+    /**
+     * 口座が永続化されたことを記録します。
+     * リポジトリが口座を新規作成した後に呼び出し、同じインスタンスを再度保存したときは更新として扱わせます。
+     */
+    public void markPersisted() {
+        this.persisted = true;
+    }
+
+    /**
+     * 発行されていないドメインイベントを取り出します。取り出したイベントはこの口座から削除されます。
+     * リポジトリが口座の保存時に呼び出します。
+     * @return 発生した順のイベント
+     */
+    public List<DomainEvent> pullDomainEvents() {
+        List<DomainEvent> events = List.copyOf(pendingEvents);
+        pendingEvents.clear();
+        return events;
+    }
+
+    private void credit(Money amount) {
+        // 口座の通貨と異なる通貨の入金は、Money.addが拒否する（IllegalArgumentException）
+        // ビジネスルール：入金額は正の値でなければならない
+        if (amount.isNegativeOrZero()) {
+            throw new IllegalArgumentException("Deposit amount must be positive.");
+        }
+        this.balance = this.balance.add(amount);
+    }
+
+    private void debit(Money amount) {
         // ビジネスルール：出金額は正の値でなければならない
-        if (amount.isLessThanOrEqualTo(BigDecimal.ZERO)) {
+        if (amount.isNegativeOrZero()) {
             throw new IllegalArgumentException("Withdrawal amount must be positive.");
         }
-        // ビジネスルール：出金額は残高を超えてはならない
-        if (this.balance.isLessThan(amount)) {
+        // ビジネスルール：出金額は利用可能残高（与信で拘束されていない残高）を超えてはならない
+        if (getAvailableBalance().isLessThan(amount)) {
             throw new InsufficientBalanceException("Insufficient balance.");
         }
         this.balance = this.balance.subtract(amount);
     }
-} 
\ No newline at end of file
+
+    private void record(AccountEntry.Type type, Money amount, UUID transferId) {
+        AccountEntry entry = new AccountEntry(id, type, amount, transferId);
+        pendingEntries.add(entry);
+        pendingEvents.add(AccountBalanceChanged.of(entry, balance));
+    }
+}
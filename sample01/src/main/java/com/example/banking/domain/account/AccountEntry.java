@@ -0,0 +1,76 @@
+package com.example.banking.domain.account;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * 口座の残高の増減を記録する仕訳（元帳の1行）。
+ * 口座アグリゲートが残高を変更するたびに生成され、残高の更新と同じトランザクションで永続化されます。
+ * 口座の残高は、常にその口座の仕訳の合計と一致します（照合バッチで検証します）。
+ *
+ * @param accountId 口座ID
+ * @param type 仕訳の種類
+ * @param amount 金額（常に正の値。増減の向きは種類で決まる）
+ * @param transferId 振込による仕訳の場合は振込ID、それ以外はnull
+ */
+public record AccountEntry(AccountId accountId, Type type, Money amount, UUID transferId) {
+
+    public AccountEntry {
+        Objects.requireNonNull(accountId, "Account ID cannot be null");
+        Objects.requireNonNull(type, "Entry type cannot be null");
+        Objects.requireNonNull(amount, "Amount cannot be null");
+        if (type.isTransfer() != (transferId != null)) {
+            throw new IllegalArgumentException("Transfer ID is required only for transfer entries: " + type);
+        }
+    }
+
+    /**
+     * 残高に対する増減（出金系の仕訳は負の値）。
+     */
+    public BigDecimal signedAmount() {
+        return type.isCredit() ? amount.amount() : amount.amount().negate();
+    }
+
+    /**
+     * 仕訳の種類。
+     */
+    public enum Type {
+        /** 口座開設時の初期預金 */
+        OPENING(true, false),
+        /** 入金 */
+        DEPOSIT(true, false),
+        /** 出金 */
+        WITHDRAWAL(false, false),
+        /** 利息の計上 */
+        INTEREST(true, false),
+        /** 振込元口座からの出金 */
+        TRANSFER_DEBIT(false, true),
+        /** 振込先口座への入金 */
+        TRANSFER_CREDIT(true, true),
+        /** 振込元口座からの振込手数料の出金 */
+        TRANSFER_FEE(false, true),
+        /** 振込の補償（振込元口座への出金と振込手数料の取り消し） */
+        TRANSFER_REVERSAL(true, true),
+        /** 与信の確定による出金 */
+        HOLD_CAPTURE(false, false);
+
+        private final boolean credit;
+        private final boolean transfer;
+
+        Type(boolean credit, boolean transfer) {
+            this.credit = credit;
+            this.transfer = transfer;
+        }
+
+        /** 残高を増やす仕訳かどうか */
+        public boolean isCredit() {
+            return credit;
+        }
+
+        /** 振込による仕訳かどうか */
+        public boolean isTransfer() {
+            return transfer;
+        }
+    }
+}
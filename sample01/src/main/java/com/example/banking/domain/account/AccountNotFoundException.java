@@ -0,0 +1,19 @@
+package com.example.banking.domain.account;
+
+/**
+ * 指定された口座が存在しないことを表すドメイン固有の例外。
+ * 従来の「口座が見つからない」エラー（IllegalArgumentException）との互換性を保つため、そのサブクラスとして定義します。
+ */
+public class AccountNotFoundException extends IllegalArgumentException {
+
+    private final AccountId accountId;
+
+    public AccountNotFoundException(AccountId accountId) {
+        super("Account not found: " + accountId.value());
+        this.accountId = accountId;
+    }
+
+    public AccountId getAccountId() {
+        return accountId;
+    }
+}
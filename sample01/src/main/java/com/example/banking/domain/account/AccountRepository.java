@@ -1,5 +1,8 @@
 package com.example.banking.domain.account;
 
+import java.util.Collection;
+import java.util.Currency;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -21,6 +24,42 @@ public interface AccountRepository {
      */
     Optional<Account> findById(AccountId id);
 
+    /**
+     * IDで口座アグリゲートを検索し、トランザクション終了まで行ロックを取得します。
+     * 複数口座を同一トランザクションで更新する場合、呼び出し側はデッドロックを避けるため
+     * 常に同じ順序（AccountIdの昇順）でこのメソッドを呼び出す必要があります。
+     *
+     * @param id 検索する口座のID
+     * @return 見つかった場合はOptionalでラップされたAccount、見つからない場合は空のOptional
+     */
+    Optional<Account> findByIdForUpdate(AccountId id);
+
+    /**
+     * 口座の現在のバージョンのみを取得します。
+     * アグリゲートを再構築せずに、クライアントが保持する口座情報が最新かどうかを判定するために使用します。
+     *
+     * @param id 検索する口座のID
+     * @return 見つかった場合はバージョン、見つからない場合は空のOptional
+     */
+    Optional<Long> findVersionById(AccountId id);
+
+    /**
+     * 口座の通貨のみを取得します。
+     * 振込依頼の受付時に、アグリゲートを再構築せずに口座の存在と振込の通貨を確認するために使用します。
+     *
+     * @param id 検索する口座のID
+     * @return 見つかった場合は口座の通貨、見つからない場合は空のOptional
+     */
+    Optional<Currency> findCurrencyById(AccountId id);
+
+    /**
+     * 複数口座の現在のバージョンをまとめて取得します。
+     *
+     * @param ids 検索する口座のIDのコレクション
+     * @return 口座IDとバージョンのマップ。存在しない口座はマップに含まれない
+     */
+    Map<AccountId, Long> findVersionsByIds(Collection<AccountId> ids);
+
     /**
      * 口座アグリゲートを保存（新規作成または更新）します。
      *
@@ -41,4 +80,36 @@ public interface AccountRepository {
      */
     void update(Account account);
 
+    /**
+     * 利用可能残高が足りる場合に限り、与信として資金を拘束します。
+     * 口座を読み込まずに1回の条件付き更新で行うため、同じ口座への与信が集中しても再試行は発生しません。
+     * 口座のバージョンは更新されるため、並行する楽観的ロックによる出金は競合として検出されます。
+     *
+     * @param id 口座ID
+     * @param amount 拘束する金額（口座の通貨）
+     * @return 拘束できた場合は、更新後に同じトランザクションで読み直した口座。
+     *         口座が存在しない、通貨が異なる、または利用可能残高が不足している場合はOptional.empty()
+     */
+    Optional<Account> placeHold(AccountId id, Money amount);
+
+    /**
+     * 与信による拘束を解除します。
+     *
+     * @param id 口座ID
+     * @param amount 解除する金額（同じ口座の複数の与信の合計でもよい）
+     * @return 更新後に同じトランザクションで読み直した口座。口座が存在しない場合はOptional.empty()
+     */
+    Optional<Account> releaseHold(AccountId id, Money amount);
+
+    /**
+     * 与信を確定し、拘束を解除して確定額を出金します。
+     * 出金は仕訳（{@link AccountEntry.Type#HOLD_CAPTURE}）として同じトランザクションで記録します。
+     *
+     * @param id 口座ID
+     * @param heldAmount 与信で拘束していた金額
+     * @param capturedAmount 確定して出金する金額（拘束していた金額以下）
+     * @return 更新後に同じトランザクションで読み直した口座
+     */
+    Account captureHold(AccountId id, Money heldAmount, Money capturedAmount);
+
 } 
\ No newline at end of file
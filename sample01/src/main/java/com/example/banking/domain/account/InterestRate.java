@@ -0,0 +1,37 @@
+package com.example.banking.domain.account;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * 預金金利を表す値オブジェクト。
+ * 日次の利息は「残高 × 年利 ÷ 年間日数」とし、通貨の補助単位未満は切り捨てます。
+ *
+ * @param annualRate 年利（0.001 = 0.1%）
+ * @param daysInYear 年間日数（日割り計算の分母）
+ */
+public record InterestRate(BigDecimal annualRate, int daysInYear) {
+
+    public InterestRate {
+        Objects.requireNonNull(annualRate, "Annual rate cannot be null");
+        if (annualRate.signum() < 0) {
+            throw new IllegalArgumentException("Annual rate cannot be negative");
+        }
+        if (daysInYear <= 0) {
+            throw new IllegalArgumentException("Days in year must be positive");
+        }
+    }
+
+    /**
+     * 残高に対する1日分の利息を計算します。
+     *
+     * @param balance 残高
+     * @return 利息（残高と同じ通貨）
+     */
+    public Money dailyInterest(Money balance) {
+        BigDecimal dailyRate = annualRate.divide(BigDecimal.valueOf(daysInYear), MathContext.DECIMAL64);
+        return balance.multiply(dailyRate, RoundingMode.DOWN);
+    }
+}
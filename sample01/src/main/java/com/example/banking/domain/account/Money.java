@@ -2,6 +2,7 @@ package com.example.banking.domain.account;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.Currency;
 import java.util.Objects;
 
@@ -46,6 +47,17 @@ public record Money(BigDecimal amount, Currency currency) implements Serializabl
         return new Money(new BigDecimal(amount), JPY);
     }
 
+    /**
+     * 文字列と通貨からMoneyインスタンスを生成するファクトリメソッド。
+     *
+     * @param amount 文字列形式の金額
+     * @param currency 通貨
+     * @return 新しいMoneyインスタンス
+     */
+    public static Money of(String amount, Currency currency) {
+        return new Money(new BigDecimal(amount), currency);
+    }
+
     /**
      * 金額を加算します。
      * このオブジェクトは不変であるため、新しいMoneyインスタンスを返します。
@@ -74,6 +86,20 @@ public record Money(BigDecimal amount, Currency currency) implements Serializabl
         return new Money(this.amount.subtract(other.amount), this.currency);
     }
 
+    /**
+     * 金額に係数を乗じます。
+     * 結果は通貨の補助単位の桁数（JPYは0桁、USDは2桁）に丸めます。
+     *
+     * @param factor 係数
+     * @param roundingMode 丸めモード
+     * @return 乗算後の新しいMoneyインスタンス
+     */
+    public Money multiply(BigDecimal factor, RoundingMode roundingMode) {
+        BigDecimal result = this.amount.multiply(factor)
+                .setScale(this.currency.getDefaultFractionDigits(), roundingMode);
+        return new Money(result, this.currency);
+    }
+
     /**
      * この金額が引数の金額より小さいかどうかを判定します。
      *
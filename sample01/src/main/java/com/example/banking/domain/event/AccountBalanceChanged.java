@@ -0,0 +1,33 @@
+package com.example.banking.domain.event;
+
+import com.example.banking.domain.account.AccountEntry;
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.Money;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * 口座の残高が変化したことを示すイベント。口座の仕訳（{@link AccountEntry}）1件ごとに生成されます。
+ *
+ * @param eventId イベントID
+ * @param accountId 口座ID
+ * @param entryType 仕訳の種類
+ * @param amount 増減した金額（常に正の値。向きは仕訳の種類で決まる）
+ * @param balance 変化後の残高
+ * @param transferId 振込による変化の場合は振込ID、それ以外はnull
+ * @param occurredAt 発生時刻
+ */
+public record AccountBalanceChanged(UUID eventId, AccountId accountId, AccountEntry.Type entryType, Money amount,
+                                    Money balance, UUID transferId, Instant occurredAt) implements DomainEvent {
+
+    public static AccountBalanceChanged of(AccountEntry entry, Money balance) {
+        return new AccountBalanceChanged(UUID.randomUUID(), entry.accountId(), entry.type(), entry.amount(), balance,
+                entry.transferId(), Instant.now());
+    }
+
+    @Override
+    public AccountId partitionKey() {
+        return accountId;
+    }
+}
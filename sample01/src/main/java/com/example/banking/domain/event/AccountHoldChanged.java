@@ -0,0 +1,42 @@
+package com.example.banking.domain.event;
+
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.Money;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * 与信による口座の拘束額が変化したことを示すイベント。
+ * 与信の確定による出金は、このイベント（{@link Type#RELEASED}）と{@link AccountBalanceChanged}の両方で通知します。
+ *
+ * @param eventId イベントID
+ * @param accountId 口座ID
+ * @param type 拘束したか解除したか
+ * @param amount 拘束・解除した金額
+ * @param heldBalance 変化後の拘束額
+ * @param balance 変化後の残高
+ * @param occurredAt 発生時刻
+ */
+public record AccountHoldChanged(UUID eventId, AccountId accountId, Type type, Money amount, Money heldBalance,
+                                 Money balance, Instant occurredAt) implements DomainEvent {
+
+    public static AccountHoldChanged of(AccountId accountId, Type type, Money amount, Money heldBalance, Money balance) {
+        return new AccountHoldChanged(UUID.randomUUID(), accountId, type, amount, heldBalance, balance, Instant.now());
+    }
+
+    @Override
+    public AccountId partitionKey() {
+        return accountId;
+    }
+
+    /**
+     * 拘束額の変化の向き。
+     */
+    public enum Type {
+        /** 与信により拘束した */
+        PLACED,
+        /** 与信の解除・確定により拘束を解いた */
+        RELEASED
+    }
+}
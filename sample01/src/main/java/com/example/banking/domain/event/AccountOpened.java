@@ -0,0 +1,29 @@
+package com.example.banking.domain.event;
+
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.Money;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * 口座が開設されたことを示すイベント。
+ *
+ * @param eventId イベントID
+ * @param accountId 口座ID
+ * @param accountNumber 口座番号
+ * @param initialBalance 開設時の残高（口座の通貨を表す）
+ * @param occurredAt 発生時刻
+ */
+public record AccountOpened(UUID eventId, AccountId accountId, String accountNumber, Money initialBalance,
+                            Instant occurredAt) implements DomainEvent {
+
+    public static AccountOpened of(AccountId accountId, String accountNumber, Money initialBalance) {
+        return new AccountOpened(UUID.randomUUID(), accountId, accountNumber, initialBalance, Instant.now());
+    }
+
+    @Override
+    public AccountId partitionKey() {
+        return accountId;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.banking.domain.event;
+
+import com.example.banking.domain.account.AccountId;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * 口座とその仕訳・振込などが別のシャードへ移されたことを示すイベント。
+ * 残高は変化しませんが、シャードごとに変更を取り込む購読側は、移動先のシャードから口座を追い直す必要があります。
+ *
+ * @param eventId イベントID
+ * @param accountId 口座ID
+ * @param fromShard 移動元のシャード名
+ * @param toShard 移動先のシャード名
+ * @param occurredAt 発生時刻
+ */
+public record AccountRelocated(UUID eventId, AccountId accountId, String fromShard, String toShard,
+                               Instant occurredAt) implements DomainEvent {
+
+    public static AccountRelocated of(AccountId accountId, String fromShard, String toShard) {
+        return new AccountRelocated(UUID.randomUUID(), accountId, fromShard, toShard, Instant.now());
+    }
+
+    @Override
+    public AccountId partitionKey() {
+        return accountId;
+    }
+}
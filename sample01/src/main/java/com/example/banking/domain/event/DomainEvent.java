@@ -0,0 +1,28 @@
+package com.example.banking.domain.event;
+
+import com.example.banking.domain.account.AccountId;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * 口座・振込の状態の変化を表すドメインイベント。
+ * アグリゲートが状態を変更したときに生成し、リポジトリが保存時に取り出して{@link DomainEventPublisher}に渡します。
+ */
+public interface DomainEvent {
+
+    /**
+     * イベントの一意な識別子。購読側が重複を除くために使用します。
+     */
+    UUID eventId();
+
+    /**
+     * イベントの順序を保証する単位となる口座。同じ口座のイベントは発生した順に配信されます。
+     */
+    AccountId partitionKey();
+
+    /**
+     * イベントが発生した時刻。
+     */
+    Instant occurredAt();
+}
@@ -0,0 +1,17 @@
+package com.example.banking.domain.event;
+
+import java.util.List;
+
+/**
+ * ドメインイベントを外部のシステムに発行するためのインターフェース。
+ * リポジトリはアグリゲートの保存時に、そのトランザクションで生成されたイベントを渡します。
+ * 実装は、トランザクションがコミットされた場合にのみイベントを発行します。
+ */
+public interface DomainEventPublisher {
+
+    /**
+     * イベントを発行します。
+     * @param events 発生した順のイベント
+     */
+    void publish(List<DomainEvent> events);
+}
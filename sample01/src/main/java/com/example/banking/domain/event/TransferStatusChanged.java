@@ -0,0 +1,34 @@
+package com.example.banking.domain.event;
+
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.Money;
+import com.example.banking.domain.transfer.Transfer;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * 振込の状態が変化した（依頼された、完了した、失敗した）ことを示すイベント。
+ * 振込元口座の順序で配信されます。
+ *
+ * @param eventId イベントID
+ * @param transferId 振込ID
+ * @param sourceAccountId 送金元口座ID
+ * @param destinationAccountId 送金先口座ID
+ * @param money 振込金額（送金元口座の通貨）
+ * @param status 変化後の状態
+ * @param occurredAt 発生時刻
+ */
+public record TransferStatusChanged(UUID eventId, UUID transferId, AccountId sourceAccountId, AccountId destinationAccountId,
+                                    Money money, Transfer.TransferStatus status, Instant occurredAt) implements DomainEvent {
+
+    public static TransferStatusChanged of(Transfer transfer) {
+        return new TransferStatusChanged(UUID.randomUUID(), transfer.getId().value(), transfer.getSourceAccountId(),
+                transfer.getDestinationAccountId(), transfer.getMoney(), transfer.getStatus(), Instant.now());
+    }
+
+    @Override
+    public AccountId partitionKey() {
+        return sourceAccountId;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.banking.domain.fx;
+
+import com.example.banking.domain.account.Money;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Objects;
+
+/**
+ * 為替レートを表す値オブジェクト (Value Object)。
+ * 1単位の換算元通貨（from）が、換算先通貨（to）でいくらになるかを表します。
+ *
+ * @param from 換算元通貨
+ * @param to 換算先通貨
+ * @param rate 換算元通貨1単位あたりの換算先通貨の金額
+ */
+public record ExchangeRate(Currency from, Currency to, BigDecimal rate) implements Serializable {
+
+    public ExchangeRate {
+        Objects.requireNonNull(from, "From currency cannot be null");
+        Objects.requireNonNull(to, "To currency cannot be null");
+        Objects.requireNonNull(rate, "Rate cannot be null");
+        if (from.equals(to)) {
+            throw new IllegalArgumentException("Exchange rate requires two different currencies");
+        }
+        if (rate.signum() <= 0) {
+            throw new IllegalArgumentException("Exchange rate must be positive");
+        }
+    }
+
+    /**
+     * 金額を換算先通貨に換算します。
+     * 換算後の金額は換算先通貨の補助単位の桁数に丸めます（銀行型丸め）。
+     *
+     * @param money 換算元通貨の金額
+     * @return 換算先通貨の金額
+     * @throws IllegalArgumentException 金額の通貨が換算元通貨と異なる場合
+     */
+    public Money convert(Money money) {
+        if (!money.currency().equals(from)) {
+            throw new IllegalArgumentException("Cannot convert " + money.currency() + " with a " + from + "/" + to + " rate");
+        }
+        BigDecimal converted = money.amount()
+                .multiply(rate)
+                .setScale(to.getDefaultFractionDigits(), RoundingMode.HALF_EVEN);
+        return new Money(converted, to);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.banking.domain.fx;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * 為替見積もりを表す値オブジェクト。
+ * 見積もりを受けた振込は、有効期限までに実行される限り、見積もり時のレートで換算されます（レートのロック）。
+ *
+ * @param id 見積もりID
+ * @param rate 見積もったレート
+ * @param expiresAt 見積もりの有効期限
+ */
+public record FxQuote(FxQuoteId id, ExchangeRate rate, Instant expiresAt) {
+
+    public FxQuote {
+        Objects.requireNonNull(id, "Quote id cannot be null");
+        Objects.requireNonNull(rate, "Quote rate cannot be null");
+        Objects.requireNonNull(expiresAt, "Quote expiry cannot be null");
+    }
+
+    /**
+     * 指定時刻において見積もりが有効期限切れかどうかを判定します。
+     */
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.banking.domain.fx;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * 為替見積もりIDを表す値オブジェクト。
+ *
+ * @param value 見積もりIDの値
+ */
+public record FxQuoteId(UUID value) implements Serializable {
+
+    public FxQuoteId {
+        Objects.requireNonNull(value, "FxQuoteId value cannot be null");
+    }
+
+    public static FxQuoteId newId() {
+        return new FxQuoteId(UUID.randomUUID());
+    }
+}
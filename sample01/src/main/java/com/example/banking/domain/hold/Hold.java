@@ -0,0 +1,141 @@
+package com.example.banking.domain.hold;
+
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.Money;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * 与信（オーソリゼーション）アグリゲート。
+ * カード決済などで、口座の資金を移動せずに一定期間拘束し、後で確定（出金）または解除します。
+ *
+ * 与信は口座アグリゲートとは別のアグリゲートであり、口座は拘束額の合計のみを保持します。
+ * 1つの口座に数千件の与信があっても、与信の登録・確定で口座に読み込む量は変わりません。
+ * 有効期限を過ぎた与信は確定できず、期限切れの与信はバックグラウンドで解除されます。
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class Hold {
+
+    /** 与信ID。アグリゲートの不変の識別子。 */
+    private final HoldId id;
+    /** 資金を拘束する口座ID。 */
+    private final AccountId accountId;
+    /** 拘束する金額（口座の通貨）。 */
+    private final Money amount;
+    /** 有効期限。この日時以降は確定できず、拘束は解除される。 */
+    private final Instant expiresAt;
+    /** 与信ステータス。 */
+    private Status status;
+    /** 確定した金額。確定していない与信ではnull。 */
+    private Money capturedAmount;
+    /** 楽観的ロック用のバージョン。 */
+    private long version;
+
+    /**
+     * 与信の状態を定義する列挙型。
+     */
+    public enum Status {
+        /** 資金を拘束中 */
+        OPEN,
+        /** 確定済み（出金済み） */
+        CAPTURED,
+        /** 解除済み */
+        RELEASED,
+        /** 期限切れにより解除済み */
+        EXPIRED
+    }
+
+    /**
+     * 新しい与信を登録するためのファクトリメソッド。
+     * @param accountId 資金を拘束する口座ID
+     * @param amount 拘束する金額
+     * @param expiresAt 有効期限
+     * @param now 現在時刻
+     * @return 新しく作成されたHoldインスタンス
+     */
+    public static Hold place(AccountId accountId, Money amount, Instant expiresAt, Instant now) {
+        // ビジネスルール: 拘束する金額は正でなければならない
+        if (amount.isNegativeOrZero()) {
+            throw new IllegalArgumentException("Hold amount must be positive.");
+        }
+        // ビジネスルール: 有効期限は将来の日時でなければならない
+        if (!expiresAt.isAfter(now)) {
+            throw new IllegalArgumentException("Hold must expire in the future.");
+        }
+        return new Hold(HoldId.newId(), accountId, amount, expiresAt, Status.OPEN, null, 0L);
+    }
+
+    /**
+     * 永続化層から与信を再構成するためのファクトリメソッド。
+     * @return 再構成されたHoldインスタンス
+     */
+    public static Hold reconstitute(HoldId id, AccountId accountId, Money amount, Instant expiresAt,
+                                    Status status, Money capturedAmount, long version) {
+        return new Hold(id, accountId, amount, expiresAt, status, capturedAmount, version);
+    }
+
+    /**
+     * 指定時刻において、有効期限が切れているかどうかを判定します。
+     * @param now 判定する時刻
+     * @return 有効期限切れの場合はtrue
+     */
+    public boolean isExpiredAt(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+
+    /**
+     * 与信を確定します。確定額は与信の金額以下でなければならず、差額の拘束は解除されます。
+     * @param captured 確定して出金する金額
+     * @param now 現在時刻
+     */
+    public void capture(Money captured, Instant now) {
+        // ステータスの遷移ルール: OPEN状態からのみCAPTUREDに遷移できる
+        if (this.status != Status.OPEN) {
+            throw new IllegalStateException("Hold is not open: " + status);
+        }
+        // ビジネスルール: 有効期限を過ぎた与信は確定できない
+        if (isExpiredAt(now)) {
+            throw new IllegalStateException("Hold has expired.");
+        }
+        // ビジネスルール: 確定額は与信と同じ通貨の正の値で、与信の金額を超えてはならない
+        if (!captured.currency().equals(amount.currency())) {
+            throw new IllegalArgumentException("Captured currency does not match the held currency.");
+        }
+        if (captured.isNegativeOrZero() || amount.isLessThan(captured)) {
+            throw new IllegalArgumentException("Captured amount must be positive and must not exceed the held amount.");
+        }
+        this.capturedAmount = captured;
+        this.status = Status.CAPTURED;
+    }
+
+    /**
+     * 与信を解除します。拘束していた資金はすべて利用可能残高に戻ります。
+     */
+    public void release() {
+        // ステータスの遷移ルール: OPEN状態からのみRELEASEDに遷移できる
+        if (this.status != Status.OPEN) {
+            // 冪等性を考慮し、既に解除している場合は何もしない
+            if (this.status == Status.RELEASED || this.status == Status.EXPIRED) {
+                return;
+            }
+            throw new IllegalStateException("Hold is already captured.");
+        }
+        this.status = Status.RELEASED;
+    }
+
+    /**
+     * 有効期限を過ぎた与信を期限切れとして解除します。
+     * @param now 現在時刻
+     */
+    public void expire(Instant now) {
+        // ステータスの遷移ルール: 有効期限を過ぎたOPEN状態からのみEXPIREDに遷移できる
+        if (this.status != Status.OPEN || !isExpiredAt(now)) {
+            throw new IllegalStateException("Hold cannot expire: " + status + ", expiresAt=" + expiresAt);
+        }
+        this.status = Status.EXPIRED;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.banking.domain.hold;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * UUIDをラップすることで、与信IDというドメイン固有の型を定義します。
+ */
+public record HoldId(UUID value) implements Serializable {
+    public HoldId {
+        // 不変条件: HoldIdはnullであってはならない。
+        Objects.requireNonNull(value, "HoldId cannot be null");
+    }
+
+    /**
+     * 新しい与信IDを生成するファクトリメソッド。
+     * @return 新しいHoldIdインスタンス
+     */
+    public static HoldId newId() {
+        return new HoldId(UUID.randomUUID());
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.banking.domain.hold;
+
+/**
+ * 指定された与信が存在しないことを表すドメイン固有の例外。
+ */
+public class HoldNotFoundException extends RuntimeException {
+
+    private final HoldId holdId;
+
+    public HoldNotFoundException(HoldId holdId) {
+        super("Hold not found: " + holdId.value());
+        this.holdId = holdId;
+    }
+
+    public HoldId getHoldId() {
+        return holdId;
+    }
+}
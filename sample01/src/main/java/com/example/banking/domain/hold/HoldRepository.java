@@ -0,0 +1,41 @@
+package com.example.banking.domain.hold;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 与信アグリゲートのためのリポジトリインターフェース。
+ * 与信は口座と同じデータベースに保持し、拘束額の合計の更新と同じトランザクションで永続化します。
+ */
+public interface HoldRepository {
+
+    /**
+     * 新しい与信を永続化します。
+     * @param hold 保存する与信アグリゲート
+     */
+    void save(Hold hold);
+
+    /**
+     * 与信を更新します。
+     * @param hold 更新する与信アグリゲート
+     * @throws org.springframework.dao.OptimisticLockingFailureException 他のトランザクションによって更新されていた場合
+     */
+    void update(Hold hold);
+
+    /**
+     * 与信IDで与信を検索します。
+     * @param id 検索する与信のID
+     * @return 見つかった与信。見つからない場合はOptional.empty()
+     */
+    Optional<Hold> findById(HoldId id);
+
+    /**
+     * 指定日時までに有効期限を迎えた未確定の与信を、有効期限の昇順に排他ロックを取得して読み込みます。
+     * 他のトランザクションがロックしている与信は読み飛ばすため、複数のインスタンスが同時に解除しても待ち合わせは発生しません。
+     * @param now この日時までに有効期限を迎えたものを対象とする
+     * @param limit 読み込む最大件数
+     * @return 与信の一覧
+     */
+    List<Hold> findExpiredForUpdate(Instant now, int limit);
+}
@@ -0,0 +1,40 @@
+package com.example.banking.domain.schedule;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+
+/**
+ * 定期振込の繰り返し間隔。
+ *
+ * n回目の実行日時は、前回の実行日時からではなく初回の実行日時から求めます。
+ * そのため、毎月31日の振込は月末が30日以前の月には月末日に実行され、翌月以降は再び31日に実行されます。
+ * 日時は定期振込のタイムゾーンで計算するため、夏時間の切り替えがあっても現地時刻は変わりません。
+ */
+public enum Recurrence {
+    /** 1回のみ（予約振込） */
+    ONCE,
+    /** 毎日 */
+    DAILY,
+    /** 毎週 */
+    WEEKLY,
+    /** 毎月 */
+    MONTHLY;
+
+    /**
+     * n回目（0始まり）の実行日時を返します。
+     *
+     * @param first 初回の実行日時
+     * @param n 実行回数（0は初回）
+     * @return 実行日時。これ以上実行しない場合はnull
+     */
+    public Instant occurrence(ZonedDateTime first, long n) {
+        ZonedDateTime next = switch (this) {
+            case ONCE -> n == 0 ? first : null;
+            case DAILY -> first.plusDays(n);
+            case WEEKLY -> first.plusWeeks(n);
+            // plusMonthsは存在しない日付を月末日に丸める（1/31 + 1か月 = 2/28または2/29）
+            case MONTHLY -> first.plusMonths(n);
+        };
+        return next == null ? null : next.toInstant();
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.banking.domain.schedule;
+
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.Money;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.time.ZoneId;
+
+/**
+ * 定期振込アグリゲート。
+ * 将来の日時を指定した振込（予約振込）と、毎日・毎週・毎月の自動振込を表します。
+ *
+ * 次回の実行日時と実行回数は、実行した振込と同じトランザクションで更新されるカーソルです。
+ * 停止中に実行日時を過ぎた定期振込は、再起動後に次回の実行日時が現在時刻に追いつくまで1回ずつ実行されます。
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class StandingOrder {
+
+    /** 定期振込ID。アグリゲートの不変の識別子。 */
+    private final StandingOrderId id;
+    /** 送金元口座ID。 */
+    private final AccountId sourceAccountId;
+    /** 送金先口座ID。 */
+    private final AccountId destinationAccountId;
+    /** 1回あたりの振込金額（送金元口座の通貨）。 */
+    private final Money money;
+    /** 繰り返し間隔。 */
+    private final Recurrence recurrence;
+    /** 初回の実行日時。 */
+    private final Instant startAt;
+    /** 実行日時を計算するタイムゾーン（毎月の振込の日付の判定に使用する）。 */
+    private final ZoneId zone;
+    /** 最終の実行期限。この日時より後には実行しない。期限がない場合はnull。 */
+    private final Instant endAt;
+    /** 実行済み（振込の依頼または拒否）の回数。 */
+    private long occurrences;
+    /** 次回の実行日時。終了・解約した定期振込ではnull。 */
+    private Instant nextFireAt;
+    /** 定期振込ステータス。 */
+    private Status status;
+    /** 楽観的ロック用のバージョン。 */
+    private long version;
+
+    /**
+     * 定期振込の状態を定義する列挙型。
+     */
+    public enum Status {
+        /** 実行予定あり */
+        ACTIVE,
+        /** すべての回を実行済み */
+        COMPLETED,
+        /** 解約済み */
+        CANCELLED
+    }
+
+    /**
+     * 新しい定期振込を登録するためのファクトリメソッド。
+     * @param sourceAccountId 送金元口座ID
+     * @param destinationAccountId 送金先口座ID
+     * @param money 1回あたりの振込金額
+     * @param recurrence 繰り返し間隔
+     * @param startAt 初回の実行日時
+     * @param zone 実行日時を計算するタイムゾーン
+     * @param endAt 最終の実行期限（期限がない場合はnull）
+     * @return 新しく作成されたStandingOrderインスタンス
+     */
+    public static StandingOrder schedule(AccountId sourceAccountId, AccountId destinationAccountId, Money money,
+                                         Recurrence recurrence, Instant startAt, ZoneId zone, Instant endAt) {
+        // ビジネスルール: 自分自身への振込はできない
+        if (sourceAccountId.equals(destinationAccountId)) {
+            throw new IllegalArgumentException("Source and destination accounts cannot be the same.");
+        }
+        // ビジネスルール: 振込金額は正でなければならない
+        if (money.amount().signum() <= 0) {
+            throw new IllegalArgumentException("Standing order amount must be positive.");
+        }
+        if (endAt != null && endAt.isBefore(startAt)) {
+            throw new IllegalArgumentException("Standing order must not end before it starts.");
+        }
+        return new StandingOrder(StandingOrderId.newId(), sourceAccountId, destinationAccountId, money,
+                recurrence, startAt, zone, endAt, 0L, startAt, Status.ACTIVE, 0L);
+    }
+
+    /**
+     * 永続化層から定期振込を再構成するためのファクトリメソッド。
+     * @return 再構成されたStandingOrderインスタンス
+     */
+    public static StandingOrder reconstitute(StandingOrderId id, AccountId sourceAccountId, AccountId destinationAccountId,
+                                             Money money, Recurrence recurrence, Instant startAt, ZoneId zone, Instant endAt,
+                                             long occurrences, Instant nextFireAt, Status status, long version) {
+        return new StandingOrder(id, sourceAccountId, destinationAccountId, money,
+                recurrence, startAt, zone, endAt, occurrences, nextFireAt, status, version);
+    }
+
+    /**
+     * 指定した実行日時の回がまだ実行されていないかどうかを判定します。
+     * 同じ回を重複して実行しないよう、スケジューラは実行の直前に排他ロックを取得してこれを確認します。
+     * @param fireAt スケジューラが実行しようとしている回の実行日時
+     * @return 未実行の場合はtrue
+     */
+    public boolean isDueAt(Instant fireAt) {
+        return status == Status.ACTIVE && fireAt.equals(nextFireAt);
+    }
+
+    /**
+     * 今回の回を実行済みとし、次回の実行日時に進めます。
+     * 振込が拒否された回も実行済みとして数えます。
+     * 次の回がない場合、または最終の実行期限を過ぎる場合は完了状態にします。
+     */
+    public void advance() {
+        // ステータスの遷移ルール: ACTIVE状態のみ実行できる
+        if (this.status != Status.ACTIVE) {
+            throw new IllegalStateException("Standing order is not active.");
+        }
+        this.occurrences++;
+        Instant next = recurrence.occurrence(startAt.atZone(zone), occurrences);
+        if (next == null || (endAt != null && next.isAfter(endAt))) {
+            this.nextFireAt = null;
+            this.status = Status.COMPLETED;
+        } else {
+            this.nextFireAt = next;
+        }
+    }
+
+    /**
+     * 定期振込を解約します。以降の回は実行されません。
+     */
+    public void cancel() {
+        // ステータスの遷移ルール: ACTIVE状態からのみCANCELLEDに遷移できる
+        if (this.status != Status.ACTIVE) {
+            // 冪等性を考慮し、既に解約している場合は何もしない
+            if (this.status == Status.CANCELLED) {
+                return;
+            }
+            throw new IllegalStateException("Standing order is already completed.");
+        }
+        this.nextFireAt = null;
+        this.status = Status.CANCELLED;
+    }
+}
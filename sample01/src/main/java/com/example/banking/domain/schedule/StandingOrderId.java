@@ -0,0 +1,23 @@
+package com.example.banking.domain.schedule;
+
+import java.io.Serializable;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * UUIDをラップすることで、定期振込IDというドメイン固有の型を定義します。
+ */
+public record StandingOrderId(UUID value) implements Serializable {
+    public StandingOrderId {
+        // 不変条件: StandingOrderIdはnullであってはならない。
+        Objects.requireNonNull(value, "StandingOrderId cannot be null");
+    }
+
+    /**
+     * 新しい定期振込IDを生成するファクトリメソッド。
+     * @return 新しいStandingOrderIdインスタンス
+     */
+    public static StandingOrderId newId() {
+        return new StandingOrderId(UUID.randomUUID());
+    }
+}
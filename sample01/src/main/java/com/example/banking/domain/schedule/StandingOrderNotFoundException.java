@@ -0,0 +1,18 @@
+package com.example.banking.domain.schedule;
+
+/**
+ * 指定された定期振込が存在しないことを表すドメイン固有の例外。
+ */
+public class StandingOrderNotFoundException extends RuntimeException {
+
+    private final StandingOrderId standingOrderId;
+
+    public StandingOrderNotFoundException(StandingOrderId standingOrderId) {
+        super("Standing order not found: " + standingOrderId.value());
+        this.standingOrderId = standingOrderId;
+    }
+
+    public StandingOrderId getStandingOrderId() {
+        return standingOrderId;
+    }
+}
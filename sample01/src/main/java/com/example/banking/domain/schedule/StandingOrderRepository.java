@@ -0,0 +1,49 @@
+package com.example.banking.domain.schedule;
+
+import com.example.banking.domain.account.AccountId;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface StandingOrderRepository {
+
+    /**
+     * 新しい定期振込を永続化します。
+     * @param standingOrder 保存する定期振込アグリゲート
+     */
+    void save(StandingOrder standingOrder);
+
+    /**
+     * 定期振込を更新します。
+     * @param standingOrder 更新する定期振込アグリゲート
+     * @throws org.springframework.dao.OptimisticLockingFailureException 他のトランザクションによって更新されていた場合
+     */
+    void update(StandingOrder standingOrder);
+
+    /**
+     * 定期振込IDで定期振込を検索します。
+     * @param id 検索する定期振込のID
+     * @return 見つかった定期振込。見つからない場合はOptional.empty()
+     */
+    Optional<StandingOrder> findById(StandingOrderId id);
+
+    /**
+     * 定期振込を排他ロックを取得して検索します。
+     * 定期振込は振込元口座と同じデータベースに保持するため、振込元口座IDで保持先を特定します。
+     * @param id 検索する定期振込のID
+     * @param sourceAccountId 定期振込の振込元口座ID
+     * @return 見つかった定期振込。見つからない場合はOptional.empty()
+     */
+    Optional<StandingOrder> findByIdForUpdate(StandingOrderId id, AccountId sourceAccountId);
+
+    /**
+     * 指定日時より前に実行予定の有効な定期振込を、(実行予定日時, 定期振込ID)の昇順に読み込みます。
+     * 前回読み込んだ最後の定期振込を指定すると、その次から読み込みます（キーセットページング）。
+     * @param before この日時より前に実行予定のものを対象とする
+     * @param after 前回読み込んだ最後の定期振込。最初から読み込む場合はnull
+     * @param limit 読み込む最大件数
+     * @return 定期振込の一覧
+     */
+    List<StandingOrder> findDue(Instant before, StandingOrder after, int limit);
+}
@@ -0,0 +1,47 @@
+package com.example.banking.domain.transfer;
+
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.Money;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * 口座の入出金明細の1行を表す読み取り専用のモデル。
+ * 完了した振込を、指定した口座から見た向き（出金・入金）と金額に変換したものです。
+ *
+ * @param transferId 振込ID
+ * @param requestedAt 振込が依頼された日時
+ * @param direction 口座から見た振込の向き
+ * @param counterpartyAccountId 相手先の口座ID
+ * @param amount 口座の通貨での金額（通貨をまたぐ振込の入金は、ロックした為替レートで換算した金額）
+ * @param fee 振込手数料（口座の通貨）。出金では振込金額とともに出金された手数料、入金ではゼロ
+ */
+public record AccountMovement(
+        TransferId transferId,
+        Instant requestedAt,
+        Direction direction,
+        AccountId counterpartyAccountId,
+        Money amount,
+        Money fee
+) {
+
+    public AccountMovement {
+        Objects.requireNonNull(transferId, "Transfer ID cannot be null");
+        Objects.requireNonNull(requestedAt, "Requested at cannot be null");
+        Objects.requireNonNull(direction, "Direction cannot be null");
+        Objects.requireNonNull(counterpartyAccountId, "Counterparty account ID cannot be null");
+        Objects.requireNonNull(amount, "Amount cannot be null");
+        Objects.requireNonNull(fee, "Fee cannot be null");
+    }
+
+    /**
+     * 口座から見た振込の向き。
+     */
+    public enum Direction {
+        /** 出金（口座が振込元） */
+        DEBIT,
+        /** 入金（口座が振込先） */
+        CREDIT
+    }
+}
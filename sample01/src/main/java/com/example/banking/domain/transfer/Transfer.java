@@ -2,16 +2,25 @@ package com.example.banking.domain.transfer;
 
 import com.example.banking.domain.account.AccountId;
 import com.example.banking.domain.account.Money;
+import com.example.banking.domain.event.DomainEvent;
+import com.example.banking.domain.event.TransferStatusChanged;
+import com.example.banking.domain.fx.ExchangeRate;
+import com.example.banking.domain.fx.FxQuote;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 /**
  * 振込アグリゲート。
  * 振込という一連のプロセス全体の状態と不変条件を管理します。
  * このアグリゲートはSagaによって操作され、振込の状態（依頼中、完了、失敗）を遷移させます。
+ * 状態の遷移はドメインイベント（{@link TransferStatusChanged}）としても記録し、リポジトリが保存時に取り出して発行します。
  */
 @Getter
 @AllArgsConstructor(access = AccessLevel.PRIVATE)
@@ -23,12 +32,25 @@ public class Transfer {
     private final AccountId sourceAccountId;
     /** 送金先口座ID。 */
     private final AccountId destinationAccountId;
-    /** 振込金額。 */
+    /** 振込金額（送金元口座の通貨）。 */
     private final Money money;
+    /** 振込手数料（送金元口座の通貨）。振込の依頼時に手数料のルールで決まり、Sagaが振込金額とともに出金する。手数料がない場合はゼロ。 */
+    private final Money fee;
+    /** 通貨をまたぐ振込に適用する為替レート。同一通貨の振込ではnull。 */
+    private final ExchangeRate exchangeRate;
+    /** 為替レートの有効期限。この時刻までに実行されない振込は失敗となる。同一通貨の振込ではnull。 */
+    private final Instant rateExpiresAt;
+    /** 振込の優先度。Sagaを実行するレーンを決める。 */
+    private final TransferPriority priority;
     /** 振込ステータス。 */
     private TransferStatus status;
     /** 楽観的ロック用のバージョン。 */
     private long version;
+    /** 永続化済みかどうか。リポジトリが保存時に新規作成と更新を判別するために使います。 */
+    private boolean persisted;
+    /** 発行されていないドメインイベント。リポジトリが保存時に取り出します。 */
+    @Getter(AccessLevel.NONE)
+    private final List<DomainEvent> pendingEvents = new ArrayList<>();
 
     /**
      * 振込の状態を定義する列挙型。
@@ -51,12 +73,84 @@ public class Transfer {
      * @return 新しく作成されたTransferインスタンス
      */
     public static Transfer request(AccountId sourceAccountId, AccountId destinationAccountId, Money money) {
+        return request(sourceAccountId, destinationAccountId, money, TransferPriority.NORMAL);
+    }
+
+    /**
+     * 優先度を指定して新しい振込をリクエストするためのファクトリメソッド。
+     * @param sourceAccountId 送金元口座ID
+     * @param destinationAccountId 送金先口座ID
+     * @param money 振込金額
+     * @param priority 振込の優先度
+     * @return 新しく作成されたTransferインスタンス
+     */
+    public static Transfer request(AccountId sourceAccountId, AccountId destinationAccountId, Money money, TransferPriority priority) {
+        return create(sourceAccountId, destinationAccountId, money, noFee(money), null, null, priority);
+    }
+
+    /**
+     * 振込手数料と優先度を指定して新しい振込をリクエストするためのファクトリメソッド。
+     * @param fee 振込手数料（振込金額と同じ通貨）
+     * @see #request(AccountId, AccountId, Money, TransferPriority)
+     */
+    public static Transfer request(AccountId sourceAccountId, AccountId destinationAccountId, Money money, Money fee,
+                                   TransferPriority priority) {
+        return create(sourceAccountId, destinationAccountId, money, fee, null, null, priority);
+    }
+
+    /**
+     * 為替見積もりに基づいて、通貨をまたぐ振込をリクエストするためのファクトリメソッド。
+     * 振込には見積もりのレートと有効期限が記録され、実行時にはこのレートで換算されます。
+     * @param sourceAccountId 送金元口座ID
+     * @param destinationAccountId 送金先口座ID
+     * @param money 振込金額（見積もりの換算元通貨）
+     * @param quote 為替見積もり
+     * @return 新しく作成されたTransferインスタンス
+     */
+    public static Transfer request(AccountId sourceAccountId, AccountId destinationAccountId, Money money, FxQuote quote) {
+        return request(sourceAccountId, destinationAccountId, money, quote, TransferPriority.NORMAL);
+    }
+
+    /**
+     * 為替見積もりに基づいて、優先度を指定した通貨をまたぐ振込をリクエストするためのファクトリメソッド。
+     * @param priority 振込の優先度
+     * @see #request(AccountId, AccountId, Money, FxQuote)
+     */
+    public static Transfer request(AccountId sourceAccountId, AccountId destinationAccountId, Money money, FxQuote quote,
+                                   TransferPriority priority) {
+        return request(sourceAccountId, destinationAccountId, money, quote, noFee(money), priority);
+    }
+
+    /**
+     * 為替見積もりに基づいて、振込手数料と優先度を指定した通貨をまたぐ振込をリクエストするためのファクトリメソッド。
+     * 手数料は振込元口座から振込元口座の通貨で出金し、為替レートでは換算しません。
+     * @param fee 振込手数料（振込金額と同じ通貨）
+     * @see #request(AccountId, AccountId, Money, FxQuote)
+     */
+    public static Transfer request(AccountId sourceAccountId, AccountId destinationAccountId, Money money, FxQuote quote,
+                                   Money fee, TransferPriority priority) {
+        // ビジネスルール: 振込金額は見積もりの換算元通貨でなければならない
+        if (!money.currency().equals(quote.rate().from())) {
+            throw new IllegalArgumentException("Transfer currency does not match the quoted currency.");
+        }
+        return create(sourceAccountId, destinationAccountId, money, fee, quote.rate(), quote.expiresAt(), priority);
+    }
+
+    private static Transfer create(AccountId sourceAccountId, AccountId destinationAccountId, Money money, Money fee,
+                                   ExchangeRate exchangeRate, Instant rateExpiresAt, TransferPriority priority) {
         // ビジネスルール: 自分自身への振込はできない
         if (sourceAccountId.equals(destinationAccountId)) {
             throw new IllegalArgumentException("Source and destination accounts cannot be the same.");
         }
+        // ビジネスルール: 振込手数料は振込金額と同じ通貨（振込元口座の通貨）でなければならない
+        if (!money.currency().equals(fee.currency())) {
+            throw new IllegalArgumentException("Transfer fee currency must match the transfer currency.");
+        }
         var id = TransferId.newId();
-        return new Transfer(id, sourceAccountId, destinationAccountId, money, TransferStatus.REQUESTED, 0L);
+        Transfer transfer = new Transfer(id, sourceAccountId, destinationAccountId, money, fee, exchangeRate, rateExpiresAt,
+                Objects.requireNonNull(priority, "priority"), TransferStatus.REQUESTED, 0L, false);
+        transfer.pendingEvents.add(TransferStatusChanged.of(transfer));
+        return transfer;
     }
 
     /**
@@ -70,7 +164,64 @@ public class Transfer {
      * @return 再構成されたTransferインスタンス
      */
     public static Transfer reconstitute(TransferId id, AccountId sourceAccountId, AccountId destinationAccountId, Money money, TransferStatus status, long version) {
-        return new Transfer(id, sourceAccountId, destinationAccountId, money, status, version);
+        return new Transfer(id, sourceAccountId, destinationAccountId, money, noFee(money), null, null, TransferPriority.NORMAL,
+                status, version, true);
+    }
+
+    /**
+     * 永続化層から通貨をまたぐ振込を再構成するためのファクトリメソッド。
+     * @param exchangeRate 為替レート（同一通貨の振込ではnull）
+     * @param rateExpiresAt 為替レートの有効期限（同一通貨の振込ではnull）
+     * @param priority 振込の優先度
+     * @see #reconstitute(TransferId, AccountId, AccountId, Money, TransferStatus, long)
+     */
+    public static Transfer reconstitute(TransferId id, AccountId sourceAccountId, AccountId destinationAccountId, Money money,
+                                        ExchangeRate exchangeRate, Instant rateExpiresAt, TransferPriority priority,
+                                        TransferStatus status, long version) {
+        return new Transfer(id, sourceAccountId, destinationAccountId, money, noFee(money), exchangeRate, rateExpiresAt, priority,
+                status, version, true);
+    }
+
+    /**
+     * 永続化層から、振込手数料を含めて振込を再構成するためのファクトリメソッド。
+     * @param fee 振込手数料（振込金額と同じ通貨。手数料がない場合はゼロ）
+     * @see #reconstitute(TransferId, AccountId, AccountId, Money, ExchangeRate, Instant, TransferPriority, TransferStatus, long)
+     */
+    public static Transfer reconstitute(TransferId id, AccountId sourceAccountId, AccountId destinationAccountId, Money money,
+                                        Money fee, ExchangeRate exchangeRate, Instant rateExpiresAt, TransferPriority priority,
+                                        TransferStatus status, long version) {
+        return new Transfer(id, sourceAccountId, destinationAccountId, money, fee, exchangeRate, rateExpiresAt, priority, status, version, true);
+    }
+
+    private static Money noFee(Money money) {
+        return new Money(BigDecimal.ZERO, money.currency());
+    }
+
+    /**
+     * 振込元口座から出金する金額（振込金額と振込手数料の合計）を返します。
+     * 振込が失敗した場合の補償では、この金額を振込元口座に戻します。
+     * @return 振込元口座の通貨での出金額
+     */
+    public Money getDebitedMoney() {
+        return fee.isNegativeOrZero() ? money : money.add(fee);
+    }
+    /**
+     * 送金先口座に入金する金額を返します。
+     * 通貨をまたぐ振込では、ロックした為替レートで換算した金額となります。
+     * @return 送金先口座の通貨での入金額
+     */
+    public Money getCreditedMoney() {
+        return exchangeRate == null ? money : exchangeRate.convert(money);
+    }
+
+    /**
+     * 指定時刻において、ロックした為替レートが有効期限切れかどうかを判定します。
+     * 同一通貨の振込は常にfalseとなります。
+     * @param now 判定する時刻
+     * @return 有効期限切れの場合はtrue
+     */
+    public boolean isRateExpired(Instant now) {
+        return rateExpiresAt != null && !now.isBefore(rateExpiresAt);
     }
 
     /**
@@ -83,6 +234,7 @@ public class Transfer {
             throw new IllegalStateException("Transfer is not in a state that can be completed.");
         }
         this.status = TransferStatus.COMPLETED;
+        pendingEvents.add(TransferStatusChanged.of(this));
     }
 
     /**
@@ -99,5 +251,25 @@ public class Transfer {
             throw new IllegalStateException("Transfer is not in a state that can be failed.");
         }
         this.status = TransferStatus.FAILED;
+        pendingEvents.add(TransferStatusChanged.of(this));
+    }
+
+    /**
+     * 振込が永続化されたことを記録します。
+     * リポジトリが振込を新規作成した後に呼び出し、同じインスタンスを再度保存したときは更新として扱わせます。
+     */
+    public void markPersisted() {
+        this.persisted = true;
+    }
+
+    /**
+     * 発行されていないドメインイベントを取り出します。取り出したイベントはこの振込から削除されます。
+     * リポジトリが振込の保存時に呼び出します。
+     * @return 発生した順のイベント
+     */
+    public List<DomainEvent> pullDomainEvents() {
+        List<DomainEvent> events = List.copyOf(pendingEvents);
+        pendingEvents.clear();
+        return events;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.example.banking.domain.transfer;
+
+/**
+ * 振込を受け付けたチャネル。
+ * 振込手数料のルールは、金額の帯・口座の種類とともにチャネルごとに手数料を決めます。
+ */
+public enum TransferChannel {
+    /** REST APIからの振込 */
+    API,
+    /** gRPCの振込ストリームからの振込 */
+    GRPC,
+    /** 定期振込の実行による振込 */
+    STANDING_ORDER
+}
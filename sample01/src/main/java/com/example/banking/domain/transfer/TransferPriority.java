@@ -0,0 +1,14 @@
+package com.example.banking.domain.transfer;
+
+/**
+ * 振込の優先度。
+ * Sagaは優先度ごとのレーンで振込を実行し、大量の一括振込が即時性の求められる振込を待たせないようにします。
+ */
+public enum TransferPriority {
+    /** 至急の振込（高額・即時決済など）。他のレーンより常に先に実行される */
+    URGENT,
+    /** 通常の振込 */
+    NORMAL,
+    /** 一括振込（給与振込・定期振込など）。通常の振込と重み付けで実行枠を分け合う */
+    BULK
+}
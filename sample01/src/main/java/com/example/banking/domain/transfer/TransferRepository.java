@@ -1,6 +1,10 @@
 package com.example.banking.domain.transfer;
 
+import com.example.banking.domain.account.AccountId;
+
+import java.time.Instant;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface TransferRepository {
 
@@ -22,4 +26,33 @@ public interface TransferRepository {
      * @param transfer 更新する振込アグリゲート
      */
     void update(Transfer transfer);
-} 
\ No newline at end of file
+
+    /**
+     * 指定された状態の振込の件数を数えます。
+     * @param status 振込ステータス
+     * @return 件数
+     */
+    long countByStatus(Transfer.TransferStatus status);
+
+    /**
+     * 口座の完了した振込を、依頼日時の昇順に入出金明細として読み込みます。
+     * 明細はDBのカーソルから1件ずつ読み込まれるため、件数によらずメモリ使用量は一定です。
+     * 呼び出し元はトランザクション内で呼び出し、読み終わったらStreamをクローズしてください。
+     *
+     * @param accountId 口座ID
+     * @param from 期間の開始日時（この日時を含む）
+     * @param to 期間の終了日時（この日時を含まない）
+     * @return 入出金明細のStream
+     */
+    Stream<AccountMovement> streamMovements(AccountId accountId, Instant from, Instant to);
+
+    /**
+     * 口座の入出金明細の件数を返します。{@link #streamMovements}が返す明細と同じ条件で数えます。
+     *
+     * @param accountId 口座ID
+     * @param from 期間の開始日時（この日時を含む）
+     * @param to 期間の終了日時（この日時を含まない）
+     * @return 入出金明細の件数
+     */
+    long countMovements(AccountId accountId, Instant from, Instant to);
+}
@@ -0,0 +1,81 @@
+package com.example.banking.infrastructure.event;
+
+import com.example.banking.application.event.EventBatchEncoder;
+import com.example.banking.domain.event.AccountBalanceChanged;
+import com.example.banking.domain.event.AccountHoldChanged;
+import com.example.banking.domain.event.AccountOpened;
+import com.example.banking.domain.event.AccountRelocated;
+import com.example.banking.domain.event.DomainEvent;
+import com.example.banking.domain.event.TransferStatusChanged;
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/**
+ * ドメインイベントの列をCBORで符号化するエンコーダ。
+ *
+ * 各イベントは種類名（{@code type}）とフィールドのマップで表します。
+ * UUIDは16バイトのバイト列、時刻はエポックからの秒数（小数部にナノ秒）で表すため、JSONより小さく、文字列の解析も不要です。
+ * ドメインのイベントにはJacksonの注釈を付けず、種類名の対応はこのクラスのミックスインで定義します。
+ */
+@Component
+public class CborEventBatchEncoder implements EventBatchEncoder {
+
+    private static final TypeReference<List<DomainEvent>> EVENT_LIST = new TypeReference<>() {
+    };
+
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+
+    public CborEventBatchEncoder() {
+        CBORMapper mapper = CBORMapper.builder()
+                .addModule(new JavaTimeModule())
+                .enable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .addMixIn(DomainEvent.class, DomainEventMixIn.class)
+                .build();
+        this.writer = mapper.writerFor(EVENT_LIST);
+        this.reader = mapper.readerFor(EVENT_LIST);
+    }
+
+    @Override
+    public byte[] encode(List<DomainEvent> events) {
+        try {
+            return writer.writeValueAsBytes(events);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public List<DomainEvent> decode(byte[] data) {
+        try {
+            return reader.readValue(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * イベントの種類名の対応。購読側との互換性のため、種類名は変更しないこと。
+     */
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+    @JsonSubTypes({
+            @JsonSubTypes.Type(value = AccountOpened.class, name = "AccountOpened"),
+            @JsonSubTypes.Type(value = AccountBalanceChanged.class, name = "AccountBalanceChanged"),
+            @JsonSubTypes.Type(value = AccountHoldChanged.class, name = "AccountHoldChanged"),
+            @JsonSubTypes.Type(value = AccountRelocated.class, name = "AccountRelocated"),
+            @JsonSubTypes.Type(value = TransferStatusChanged.class, name = "TransferStatusChanged")
+    })
+    private interface DomainEventMixIn {
+    }
+}
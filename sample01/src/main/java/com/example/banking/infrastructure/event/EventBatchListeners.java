@@ -0,0 +1,32 @@
+package com.example.banking.infrastructure.event;
+
+import com.example.banking.application.event.EventBatch;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 発行先（{@link com.example.banking.application.event.EventTransport}）の購読者の一覧。
+ * 購読者が投げた例外は記録し、他の購読者への受け渡しを続けます。
+ */
+@Slf4j
+class EventBatchListeners {
+
+    private final List<Consumer<EventBatch>> listeners = new CopyOnWriteArrayList<>();
+
+    void add(Consumer<EventBatch> listener) {
+        listeners.add(listener);
+    }
+
+    void deliver(EventBatch batch) {
+        for (Consumer<EventBatch> listener : listeners) {
+            try {
+                listener.accept(batch);
+            } catch (RuntimeException e) {
+                log.warn("Domain event listener failed on partition {} batch", batch.partition(), e);
+            }
+        }
+    }
+}
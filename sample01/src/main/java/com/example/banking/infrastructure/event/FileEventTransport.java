@@ -0,0 +1,85 @@
+package com.example.banking.infrastructure.event;
+
+import com.example.banking.application.event.DomainEventProperties;
+import com.example.banking.application.event.EventBatch;
+import com.example.banking.application.event.EventTransport;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * ドメインイベントのバッチをパーティションごとのファイル（{@code partition-<番号>.log}）に追記する発行先。
+ * ブローカーを用意できない環境で、イベントを後から取り込むために使用します。
+ *
+ * 各バッチは次の形式のフレームとして追記します（数値はビッグエンディアン）。
+ * - 圧縮方式（{@link com.example.banking.application.event.EventCompression}の序数、1バイト）
+ * - イベントの数（4バイト）
+ * - ペイロードの長さ（4バイト）とペイロード
+ *
+ * 送信の完了とするのはフレームをOSに書き込んだ時点で、ディスクへの同期（fsync）は行いません。
+ * 購読者には、フレームを書き込んだスレッドから直ちに渡します。このノードが送信したバッチのみが届きます。
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "banking.events", name = "transport", havingValue = "file")
+public class FileEventTransport implements EventTransport {
+
+    private final Path directory;
+    private final Map<Integer, DataOutputStream> streams = new ConcurrentHashMap<>();
+    private final EventBatchListeners listeners = new EventBatchListeners();
+
+    public FileEventTransport(DomainEventProperties properties) throws IOException {
+        this.directory = Path.of(properties.file().directory());
+        Files.createDirectories(directory);
+    }
+
+    @Override
+    public void send(EventBatch batch) throws IOException {
+        // 同じパーティションのバッチは1つのスレッドから渡されるため、ストリームごとの同期は不要
+        DataOutputStream out = streams.computeIfAbsent(batch.partition(), this::open);
+        out.writeByte(batch.compression().ordinal());
+        out.writeInt(batch.eventCount());
+        out.writeInt(batch.payload().length);
+        out.write(batch.payload());
+        out.flush();
+        listeners.deliver(batch);
+    }
+
+    @Override
+    public void subscribe(Consumer<EventBatch> listener) {
+        listeners.add(listener);
+    }
+
+    private DataOutputStream open(int partition) {
+        Path file = directory.resolve("partition-%02d.log".formatted(partition));
+        try {
+            return new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        streams.values().forEach(out -> {
+            try {
+                out.close();
+            } catch (IOException e) {
+                log.warn("Failed to close domain event file", e);
+            }
+        });
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.banking.infrastructure.event;
+
+import com.example.banking.application.event.EventBatch;
+import com.example.banking.application.event.EventTransport;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * ドメインイベントのバッチをメモリ上に保持する発行先。開発環境・テストで、ブローカーの代わりに使用します。
+ * パーティションごとに直近のバッチのみを保持し、古いバッチは破棄します。
+ * 購読者には、保持したバッチを送信したスレッドから直ちに渡します。このノードが送信したバッチのみが届きます。
+ */
+@Component
+@ConditionalOnProperty(prefix = "banking.events", name = "transport", havingValue = "memory", matchIfMissing = true)
+public class InMemoryEventTransport implements EventTransport {
+
+    /** パーティションごとに保持するバッチの上限 */
+    static final int RETAINED_BATCHES = 1000;
+
+    private final Map<Integer, Deque<EventBatch>> batches = new ConcurrentHashMap<>();
+    private final EventBatchListeners listeners = new EventBatchListeners();
+
+    @Override
+    public void send(EventBatch batch) {
+        Deque<EventBatch> partition = batches.computeIfAbsent(batch.partition(), p -> new ArrayDeque<>());
+        synchronized (partition) {
+            partition.addLast(batch);
+            if (partition.size() > RETAINED_BATCHES) {
+                partition.removeFirst();
+            }
+        }
+        listeners.deliver(batch);
+    }
+
+    @Override
+    public void subscribe(Consumer<EventBatch> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * パーティションに保持している直近のバッチを、送信された順に返します。
+     */
+    public List<EventBatch> recentBatches(int partition) {
+        Deque<EventBatch> retained = batches.get(partition);
+        if (retained == null) {
+            return List.of();
+        }
+        synchronized (retained) {
+            return new ArrayList<>(retained);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.banking.infrastructure.event;
+
+import com.example.banking.application.event.DomainEventProperties;
+import com.example.banking.application.event.EventBatch;
+import com.example.banking.application.event.EventCompression;
+import com.example.banking.application.event.EventTransport;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.IntegerDeserializer;
+import org.apache.kafka.common.serialization.IntegerSerializer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * ドメインイベントのバッチを、1バッチ1レコードとしてKafkaのトピックに送信する発行先。
+ *
+ * レコードはバッチのパーティション番号をトピックのパーティション数で割った余りのパーティションに送信するため、
+ * 同じ口座のイベントは常にトピックの同じパーティションに、送信した順に格納されます。
+ * 圧縮とバッチ化は{@link com.example.banking.application.event.DomainEventBus}が行うため、プロデューサでは行いません。
+ * 圧縮方式とイベントの数はレコードのヘッダ（{@code compression}、{@code event-count}）で伝えます。
+ *
+ * 送信はブローカーの全レプリカが受け入れる（{@code acks=all}）まで待ち、冪等なプロデューサで再送による重複を防ぎます。
+ *
+ * 購読（{@link #subscribe}）では、トピックの全パーティションを1つのコンシューマスレッドで読み込み、すべてのノードが送信したバッチを購読者に渡します。
+ * コンシューマグループには参加せず、購読を開始した時点の末尾から読み込みます（オフセットはコミットしない）。
+ * 各ノードが同じバッチを受け取るのは、ノードごとに自分の接続の購読者へ配信するためです。
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "banking.events", name = "transport", havingValue = "kafka")
+public class KafkaEventTransport implements EventTransport {
+
+    private final KafkaProducer<Integer, byte[]> producer;
+    private final String topic;
+    private final int topicPartitions;
+    private final String bootstrapServers;
+    private final EventBatchListeners listeners = new EventBatchListeners();
+    private KafkaConsumer<Integer, byte[]> consumer;
+
+    public KafkaEventTransport(DomainEventProperties properties) {
+        this.topic = properties.kafka().topic();
+        this.bootstrapServers = properties.kafka().bootstrapServers();
+        this.producer = new KafkaProducer<>(Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, properties.kafka().bootstrapServers(),
+                ProducerConfig.ACKS_CONFIG, "all",
+                ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true,
+                ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 1,
+                ProducerConfig.LINGER_MS_CONFIG, 0,
+                ProducerConfig.COMPRESSION_TYPE_CONFIG, "none"
+        ), new IntegerSerializer(), new ByteArraySerializer());
+        this.topicPartitions = producer.partitionsFor(topic).size();
+    }
+
+    @Override
+    public void send(EventBatch batch) throws Exception {
+        RecordHeaders headers = new RecordHeaders();
+        headers.add("compression", batch.compression().name().getBytes(StandardCharsets.US_ASCII));
+        headers.add("event-count", ByteBuffer.allocate(Integer.BYTES).putInt(batch.eventCount()).array());
+        ProducerRecord<Integer, byte[]> record = new ProducerRecord<>(topic, batch.partition() % topicPartitions,
+                batch.partition(), batch.payload(), headers);
+        producer.send(record).get(30, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public synchronized void subscribe(Consumer<EventBatch> listener) {
+        listeners.add(listener);
+        if (consumer == null) {
+            consumer = new KafkaConsumer<>(Map.of(
+                    ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                    ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false,
+                    ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest"
+            ), new IntegerDeserializer(), new ByteArrayDeserializer());
+            Thread thread = new Thread(this::consume, "domain-events-consumer");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    private void consume() {
+        // KafkaConsumerはスレッドセーフではないため、wakeup以外の操作はすべてこのスレッドで行う
+        try (KafkaConsumer<Integer, byte[]> c = consumer) {
+            List<TopicPartition> assignment = c.partitionsFor(topic).stream()
+                    .map(info -> new TopicPartition(topic, info.partition()))
+                    .toList();
+            c.assign(assignment);
+            c.seekToEnd(assignment);
+            while (true) {
+                for (ConsumerRecord<Integer, byte[]> record : c.poll(Duration.ofSeconds(1))) {
+                    listeners.deliver(toBatch(record));
+                }
+            }
+        } catch (WakeupException e) {
+            // 停止
+        } catch (RuntimeException e) {
+            log.error("Domain event consumer stopped", e);
+        }
+    }
+
+    static EventBatch toBatch(ConsumerRecord<Integer, byte[]> record) {
+        Header compression = record.headers().lastHeader("compression");
+        Header eventCount = record.headers().lastHeader("event-count");
+        return new EventBatch(record.key(),
+                ByteBuffer.wrap(eventCount.value()).getInt(),
+                EventCompression.valueOf(new String(compression.value(), StandardCharsets.US_ASCII)),
+                record.value());
+    }
+
+    @PreDestroy
+    synchronized void close() {
+        if (consumer != null) {
+            consumer.wakeup();
+        }
+        producer.close(Duration.ofSeconds(5));
+    }
+}
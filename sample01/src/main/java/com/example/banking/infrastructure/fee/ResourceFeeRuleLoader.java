@@ -0,0 +1,99 @@
+package com.example.banking.infrastructure.fee;
+
+import com.example.banking.application.fee.FeeProperties;
+import com.example.banking.application.fee.FeeRuleEngine;
+import com.example.banking.application.fee.FeeRuleSet;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 振込手数料のルール（Groovyスクリプト）を読み込み、FeeRuleEngineのルールを差し替えるコンポーネント。
+ *
+ * ルールは{@code reload-interval}ごとに読み込み直し、内容（ダイジェスト）が変わった場合のみコンパイルして差し替えます。
+ * アプリケーションを再起動せずに、業務部門が編集したルールを反映できます。
+ * コンパイルまたは試し評価に失敗した場合は、直前のルールを使い続けます。
+ * 起動時の読み込みに失敗した場合は、手数料を徴収できないまま振込を受け付けないよう、起動を中止します。
+ *
+ * ルールはコンパイル時に使える構文を制限し（{@link FeeRuleSet}）、System・Runtime・リフレクションなどを参照するルールは読み込みません。
+ * それでも、ルールの配置場所への書き込みは運用者と業務部門の担当者に限ってください。
+ */
+@Slf4j
+@Component
+public class ResourceFeeRuleLoader {
+
+    private final ResourceLoader resourceLoader;
+    private final FeeRuleEngine feeRuleEngine;
+    private final FeeProperties properties;
+    private final Counter loaded;
+    private final Counter failed;
+
+    public ResourceFeeRuleLoader(ResourceLoader resourceLoader, FeeRuleEngine feeRuleEngine, FeeProperties properties,
+                                 MeterRegistry meterRegistry) {
+        this.resourceLoader = resourceLoader;
+        this.feeRuleEngine = feeRuleEngine;
+        this.properties = properties;
+        this.loaded = Counter.builder("banking.fee.rules.reloads")
+                .description("Fee rule reloads, compiled and swapped in or rejected")
+                .tag("result", "loaded")
+                .register(meterRegistry);
+        this.failed = Counter.builder("banking.fee.rules.reloads")
+                .description("Fee rule reloads, compiled and swapped in or rejected")
+                .tag("result", "failed")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void initialLoad() {
+        if (!properties.enabled()) {
+            return;
+        }
+        try {
+            load();
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalStateException("Cannot load fee rules from " + properties.rulesLocation(), e);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${banking.fee.reload-interval:PT10S}", fixedDelayString = "${banking.fee.reload-interval:PT10S}")
+    public void reload() {
+        if (!properties.enabled()) {
+            return;
+        }
+        try {
+            load();
+        } catch (IOException | RuntimeException e) {
+            failed.increment();
+            log.warn("Failed to reload fee rules from {}. Keeping rules {}", properties.rulesLocation(),
+                    feeRuleEngine.current().map(FeeRuleSet::getDigest).orElse("-"), e);
+        }
+    }
+
+    private void load() throws IOException {
+        String source = read(resourceLoader.getResource(properties.rulesLocation()));
+        String digest = FeeRuleSet.digestOf(source);
+        // 内容が変わっていなければコンパイルしない
+        if (feeRuleEngine.current().map(FeeRuleSet::getDigest).filter(digest::equals).isPresent()) {
+            return;
+        }
+        FeeRuleSet ruleSet = FeeRuleSet.compile(properties.rulesLocation(), source);
+        feeRuleEngine.replace(ruleSet);
+        loaded.increment();
+        log.info("Loaded fee rules {} from {}", digest, properties.rulesLocation());
+    }
+
+    private static String read(Resource resource) throws IOException {
+        try (InputStream in = resource.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.banking.infrastructure.fx;
+
+import com.example.banking.application.fx.FxProperties;
+import com.example.banking.application.fx.FxRateProvider;
+import com.example.banking.application.fx.FxRateTable;
+import com.example.banking.domain.fx.ExchangeRate;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+
+/**
+ * 為替レートの配信元（ファイルまたはHTTPエンドポイント）からレートを読み込み、FxRateProviderのテーブルを差し替えるコンポーネント。
+ *
+ * 配信形式は1行1通貨ペアのCSV（`換算元通貨,換算先通貨,レート`）です。
+ * `#`で始まる行はコメントで、`# asOf=<ISO-8601の時刻>`の行があればレートの基準時刻として使用します。
+ *
+ * 新しいテーブルは読み込みと解析がすべて成功した場合にのみ差し替えます。
+ * 読み込みに失敗した場合は、直前のテーブルを使い続けます。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ResourceFxRateFeed {
+
+    private static final String AS_OF_PREFIX = "# asOf=";
+
+    private final ResourceLoader resourceLoader;
+    private final FxRateProvider rateProvider;
+    private final FxProperties properties;
+
+    @PostConstruct
+    void initialLoad() {
+        refresh();
+    }
+
+    @Scheduled(initialDelayString = "${banking.fx.refresh-interval:PT1M}", fixedDelayString = "${banking.fx.refresh-interval:PT1M}")
+    public void refresh() {
+        Resource resource = resourceLoader.getResource(properties.feedLocation());
+        try {
+            FxRateTable table = parse(resource);
+            FxRateTable previous = rateProvider.replace(table);
+            if (!table.getAsOf().equals(previous.getAsOf())) {
+                log.info("Loaded {} exchange rates as of {} from {}", table.size(), table.getAsOf(), properties.feedLocation());
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to load exchange rates from {}. Keeping rates as of {}",
+                    properties.feedLocation(), rateProvider.current().getAsOf(), e);
+        }
+    }
+
+    static FxRateTable parse(Resource resource) throws IOException {
+        Instant asOf = null;
+        List<ExchangeRate> rates = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.strip();
+                if (line.startsWith(AS_OF_PREFIX)) {
+                    asOf = Instant.parse(line.substring(AS_OF_PREFIX.length()).strip());
+                    continue;
+                }
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] columns = line.split(",");
+                if (columns.length != 3) {
+                    throw new IllegalArgumentException("Malformed exchange rate line: " + line);
+                }
+                rates.add(new ExchangeRate(
+                        Currency.getInstance(columns[0].strip()),
+                        Currency.getInstance(columns[1].strip()),
+                        new BigDecimal(columns[2].strip())));
+            }
+        }
+        return FxRateTable.of(asOf != null ? asOf : Instant.now(), rates);
+    }
+}
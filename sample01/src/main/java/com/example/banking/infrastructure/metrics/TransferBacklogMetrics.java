@@ -0,0 +1,28 @@
+package com.example.banking.infrastructure.metrics;
+
+import com.example.banking.domain.transfer.Transfer;
+import com.example.banking.domain.transfer.TransferRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sagaによる処理待ち（REQUESTED状態）の振込件数をゲージとして公開するMeterBinder。
+ * ゲージの値はメトリクスの収集（Prometheusのスクレイプ）時に、`transfers.status` のインデックスを使って集計されます。
+ */
+@Component
+@RequiredArgsConstructor
+public class TransferBacklogMetrics implements MeterBinder {
+
+    private final TransferRepository transferRepository;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("banking.transfer.backlog", transferRepository,
+                        repository -> repository.countByStatus(Transfer.TransferStatus.REQUESTED))
+                .description("Transfers in REQUESTED state waiting for the saga")
+                .register(registry);
+    }
+}
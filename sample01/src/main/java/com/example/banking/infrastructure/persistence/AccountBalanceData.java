@@ -0,0 +1,24 @@
+package com.example.banking.infrastructure.persistence;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * 利息計上バッチで読み書きする口座の残高とバージョン。
+ * `accounts`テーブルのうち、利息の計算と楽観的ロックに必要な列のみに対応します。
+ *
+ * @see AccountData
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountBalanceData {
+    private UUID id;
+    private BigDecimal balance;
+    private String currency;
+    private long version;
+}
@@ -21,5 +21,7 @@ public class AccountData {
     private String accountNumber;
     private String customerName;
     private BigDecimal balance;
+    private BigDecimal heldBalance;
+    private String currency;
     private Long version;
 } 
\ No newline at end of file
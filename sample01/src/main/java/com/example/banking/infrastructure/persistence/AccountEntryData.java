@@ -0,0 +1,38 @@
+package com.example.banking.infrastructure.persistence;
+
+import com.example.banking.domain.account.AccountEntry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * `account_entries`テーブルの1行に対応する永続化データオブジェクト。
+ * 金額は残高に対する増減（出金系の仕訳は負の値）として保持します。
+ *
+ * @see com.example.banking.domain.account.AccountEntry
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountEntryData {
+    private UUID accountId;
+    private String entryType;
+    private BigDecimal amount;
+    private String currency;
+    private UUID transferId;
+
+    /**
+     * ドメインの仕訳から永続化データを生成します。
+     */
+    static AccountEntryData from(AccountEntry entry) {
+        return new AccountEntryData(
+                entry.accountId().value(),
+                entry.type().name(),
+                entry.signedAmount(),
+                entry.amount().currency().getCurrencyCode(),
+                entry.transferId());
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.banking.infrastructure.persistence;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * 口座の仕訳（元帳）の永続化を担うMyBatis Mapperインターフェース。
+ * 仕訳は追記のみで、更新・削除は行いません。
+ *
+ * @see AccountMapper
+ */
+@Mapper
+public interface AccountEntryMapper {
+    void insertAll(@Param("entries") List<AccountEntryData> entries);
+}
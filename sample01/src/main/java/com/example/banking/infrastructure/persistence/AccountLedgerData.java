@@ -0,0 +1,21 @@
+package com.example.banking.infrastructure.persistence;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * 元帳照合バッチで読み込む口座の残高と仕訳の合計。
+ *
+ * @see AccountBalanceData
+ */
+@Data
+@NoArgsConstructor
+public class AccountLedgerData {
+    private UUID id;
+    private BigDecimal balance;
+    private String currency;
+    private BigDecimal ledgerTotal;
+}
@@ -3,7 +3,11 @@ package com.example.banking.infrastructure.persistence;
 import com.example.banking.domain.account.Account;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -16,9 +20,33 @@ public interface AccountMapper {
 
     Optional<AccountData> findById(@Param("id") UUID id);
 
+    Optional<AccountData> findByIdForUpdate(@Param("id") UUID id);
+
+    Optional<Long> findVersionById(@Param("id") UUID id);
+
+    Optional<String> findCurrencyById(@Param("id") UUID id);
+
+    List<AccountVersionData> findVersionsByIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * 全口座のIDを文字列として1件ずつハンドラに渡します。
+     * 結果をリストとして保持しないため、口座数に関わらず一定のメモリで走査できます。
+     */
+    void scanAllIds(ResultHandler<String> handler);
+
     void insert(AccountData accountData);
 
     int update(AccountData accountData);
 
+    /**
+     * 利用可能残高が足りる場合に限り拘束額を増やします。
+     * @return 更新した行数。拘束できなかった場合は0
+     */
+    int placeHold(@Param("id") UUID id, @Param("amount") BigDecimal amount, @Param("currency") String currency);
+
+    int releaseHold(@Param("id") UUID id, @Param("amount") BigDecimal amount);
+
+    int captureHold(@Param("id") UUID id, @Param("heldAmount") BigDecimal heldAmount, @Param("capturedAmount") BigDecimal capturedAmount);
+
     String nextAccountNumber();
 } 
\ No newline at end of file
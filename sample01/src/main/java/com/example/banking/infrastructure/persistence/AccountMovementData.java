@@ -0,0 +1,28 @@
+package com.example.banking.infrastructure.persistence;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * 入出金明細として読み込む振込の1行。
+ * `transfers`テーブルの列に加えて、口座から見た振込の向き（DEBIT / CREDIT）と相手先の口座IDを持ちます。
+ *
+ * @see TransferData
+ */
+@Data
+@NoArgsConstructor
+public class AccountMovementData {
+    private UUID transferId;
+    private Instant requestedAt;
+    private String direction;
+    private UUID counterpartyAccountId;
+    private BigDecimal moneyAmount;
+    private BigDecimal feeAmount;
+    private String moneyCurrency;
+    private BigDecimal exchangeRate;
+    private String creditCurrency;
+}
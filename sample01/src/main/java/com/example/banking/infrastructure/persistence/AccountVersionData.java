@@ -0,0 +1,17 @@
+package com.example.banking.infrastructure.persistence;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * 口座IDとバージョンのみを保持する軽量なデータオブジェクト。
+ * 複数口座の変更有無をまとめて判定する際に、`accounts`テーブルの必要な列だけを読み込むために使用します。
+ */
+@Data
+@NoArgsConstructor
+public class AccountVersionData {
+    private UUID id;
+    private Long version;
+}
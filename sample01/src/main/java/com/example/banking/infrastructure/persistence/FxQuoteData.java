@@ -0,0 +1,24 @@
+package com.example.banking.infrastructure.persistence;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * 為替見積もりを永続化するためのデータ転送オブジェクト(DTO)。
+ * `fx_quotes`テーブルの1行に対応します。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FxQuoteData {
+    private UUID id;
+    private String fromCurrency;
+    private String toCurrency;
+    private BigDecimal rate;
+    private Instant expiresAt;
+}
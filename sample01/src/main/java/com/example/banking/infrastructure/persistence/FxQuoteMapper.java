@@ -0,0 +1,20 @@
+package com.example.banking.infrastructure.persistence;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 為替見積もりの永続化を担うMyBatis Mapperインターフェース。
+ *
+ * @see AccountMapper
+ */
+@Mapper
+public interface FxQuoteMapper {
+    void insert(FxQuoteData quote);
+    Optional<FxQuoteData> findById(@Param("id") UUID id);
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,38 @@
+package com.example.banking.infrastructure.persistence;
+
+import com.example.banking.domain.hold.Hold;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Holdアグリゲートを永続化するためのデータ転送オブジェクト(DTO)。
+ * このクラスの構造は、データベースの`holds`テーブルのスキーマに対応しています。
+ *
+ * @see StandingOrderData
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HoldData {
+    /** 与信ID (UUID) */
+    private UUID id;
+    /** 資金を拘束する口座ID (UUID) */
+    private UUID accountId;
+    /** 拘束する金額 */
+    private BigDecimal amount;
+    /** 通貨コード */
+    private String currency;
+    /** 有効期限 */
+    private Instant expiresAt;
+    /** 与信ステータス */
+    private Hold.Status status;
+    /** 確定した金額（確定していない与信ではnull） */
+    private BigDecimal capturedAmount;
+    /** 楽観的ロック用のバージョン */
+    private Long version;
+}
@@ -0,0 +1,22 @@
+package com.example.banking.infrastructure.persistence;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 与信データの永続化を担うMyBatis Mapperインターフェース。
+ *
+ * @see StandingOrderMapper
+ */
+@Mapper
+public interface HoldMapper {
+    Optional<HoldData> findById(@Param("id") UUID id);
+    void insert(HoldData holdData);
+    int update(HoldData holdData);
+    List<HoldData> findExpiredForUpdate(@Param("now") Instant now, @Param("limit") int limit);
+}
@@ -0,0 +1,23 @@
+package com.example.banking.infrastructure.persistence;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * 利息計上バッチの進捗を永続化するためのデータ転送オブジェクト(DTO)。
+ * `interest_accrual_checkpoints`テーブルの1行（営業日・パーティションごと）に対応します。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InterestAccrualCheckpointData {
+    private LocalDate businessDate;
+    private int partitionNo;
+    private UUID lastAccountId;
+    private long accountsProcessed;
+    private boolean completed;
+}
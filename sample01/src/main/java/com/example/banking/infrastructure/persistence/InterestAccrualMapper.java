@@ -0,0 +1,26 @@
+package com.example.banking.infrastructure.persistence;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 利息計上バッチの永続化を担うMyBatis Mapperインターフェース。
+ *
+ * @see AccountMapper
+ */
+@Mapper
+public interface InterestAccrualMapper {
+    Cursor<AccountBalanceData> scanPartition(@Param("lower") UUID lower, @Param("upper") UUID upper, @Param("after") UUID after);
+    Optional<AccountBalanceData> findForUpdate(@Param("id") UUID id);
+    int postInterest(AccountBalanceData data);
+    List<InterestAccrualCheckpointData> findCheckpoints(@Param("businessDate") LocalDate businessDate);
+    void insertCheckpoints(@Param("checkpoints") Collection<InterestAccrualCheckpointData> checkpoints);
+    int updateCheckpoint(InterestAccrualCheckpointData checkpoint);
+}
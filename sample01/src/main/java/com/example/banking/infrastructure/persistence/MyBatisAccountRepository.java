@@ -1,45 +1,193 @@
 package com.example.banking.infrastructure.persistence;
 
+import com.example.banking.application.jfr.RepositoryOperationEvent;
 import com.example.banking.domain.account.*;
-import lombok.RequiredArgsConstructor;
+import com.example.banking.domain.event.AccountBalanceChanged;
+import com.example.banking.domain.event.AccountHoldChanged;
+import com.example.banking.domain.event.DomainEventPublisher;
+import com.example.banking.infrastructure.persistence.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Repository;
-import org.springframework.dao.OptimisticLockFailureException;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
 
+import java.util.Collection;
 import java.util.Currency;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * AccountRepositoryのMyBatisによる実装。
  * このクラスはインフラストラクチャ層に属し、ドメイン層で定義されたインターフェースを実装します。
  * ドメインオブジェクト(Account)と永続化データオブジェクト(AccountData)の間の変換（マッピング）を担当します。
  * これにより、ドメイン層は永続化の具体的な技術（ここではMyBatisやRDB）から完全に独立します。
+ * 口座とその仕訳は、{@link ShardRouter}が口座IDから決めるシャードに保持します。
+ * 保存時には口座のドメインイベントを取り出し、{@link DomainEventPublisher}に渡します（コミット後に発行されます）。
+ * アグリゲートを経由しない与信の拘束・解除・確定も、同じトランザクションで更新後の口座を読み、イベントを渡します。
+ * 読み込みと保存は、所要時間が閾値を超えた場合にJFRイベント（{@link RepositoryOperationEvent}）を記録します。
  */
 @Repository
-@RequiredArgsConstructor
 public class MyBatisAccountRepository implements AccountRepository {
 
     private final AccountMapper accountMapper;
+    /**
+     * 口座の仕訳（元帳）のMapper。残高の更新と同じトランザクションで仕訳を追記します。
+     */
+    private final AccountEntryMapper accountEntryMapper;
+    /**
+     * 楽観的ロックの競合回数を数えるカウンタ（`banking.repository.optimistic_lock.conflicts`, aggregate=account）。
+     */
+    private final Counter optimisticLockConflicts;
+    private final ShardRouter shardRouter;
+    private final DomainEventPublisher domainEventPublisher;
+
+    public MyBatisAccountRepository(AccountMapper accountMapper, AccountEntryMapper accountEntryMapper,
+                                    MeterRegistry meterRegistry, ShardRouter shardRouter,
+                                    DomainEventPublisher domainEventPublisher) {
+        this.accountMapper = accountMapper;
+        this.accountEntryMapper = accountEntryMapper;
+        this.shardRouter = shardRouter;
+        this.domainEventPublisher = domainEventPublisher;
+        this.optimisticLockConflicts = OptimisticLockMetrics.conflictCounter(meterRegistry, "account");
+    }
 
     @Override
     public Optional<Account> findById(AccountId id) {
-        return accountMapper.findById(id.value())
-                .map(this::toDomain);
+        RepositoryOperationEvent event = RepositoryOperationEvent.begin("account", "load", id.value());
+        try {
+            Optional<Account> account = shardRouter.read(shardRouter.shardOf(id), () -> accountMapper.findById(id.value()))
+                    .map(this::toDomain);
+            event.finish(account.isPresent() ? RepositoryOperationEvent.FOUND : RepositoryOperationEvent.NOT_FOUND);
+            return account;
+        } catch (RuntimeException e) {
+            event.finish(RepositoryOperationEvent.ERROR);
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<Account> findByIdForUpdate(AccountId id) {
+        RepositoryOperationEvent event = RepositoryOperationEvent.begin("account", "load-for-update", id.value());
+        try {
+            Optional<Account> account = shardRouter.write(shardRouter.shardOf(id), () -> accountMapper.findByIdForUpdate(id.value()))
+                    .map(this::toDomain);
+            event.finish(account.isPresent() ? RepositoryOperationEvent.FOUND : RepositoryOperationEvent.NOT_FOUND);
+            return account;
+        } catch (RuntimeException e) {
+            // 行ロックの待ち時間切れ・デッドロックは競合として記録する
+            event.finish(e instanceof ConcurrencyFailureException ? RepositoryOperationEvent.CONFLICT : RepositoryOperationEvent.ERROR);
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<Long> findVersionById(AccountId id) {
+        return shardRouter.read(shardRouter.shardOf(id), () -> accountMapper.findVersionById(id.value()));
+    }
+
+    @Override
+    public Optional<Currency> findCurrencyById(AccountId id) {
+        return shardRouter.read(shardRouter.shardOf(id), () -> accountMapper.findCurrencyById(id.value())).map(Currency::getInstance);
+    }
+
+    @Override
+    public Map<AccountId, Long> findVersionsByIds(Collection<AccountId> ids) {
+        // 空のIN句は構文エラーとなるため、DBに問い合わせずに返す
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<AccountId, Long> versions = new HashMap<>();
+        ids.stream()
+                .collect(Collectors.groupingBy(shardRouter::shardOf, Collectors.mapping(AccountId::value, Collectors.toList())))
+                .forEach((shard, shardIds) -> shardRouter.read(shard, () -> accountMapper.findVersionsByIds(shardIds))
+                        .forEach(data -> versions.put(new AccountId(data.getId()), data.getVersion())));
+        return versions;
     }
 
     @Override
     public void save(Account account) {
+        RepositoryOperationEvent event = RepositoryOperationEvent.begin("account", "save", account.getId().value());
+        try {
+            shardRouter.write(shardRouter.shardOf(account.getId()), () -> {
+                insertOrUpdate(account);
+                return null;
+            });
+            event.finish(RepositoryOperationEvent.SAVED);
+        } catch (RuntimeException e) {
+            event.finish(e instanceof ConcurrencyFailureException ? RepositoryOperationEvent.CONFLICT : RepositoryOperationEvent.ERROR);
+            throw e;
+        }
+    }
+
+    private void insertOrUpdate(Account account) {
         AccountData data = toData(account);
 
-        // versionがnullの場合は新規作成、それ以外は更新
-        if (account.getVersion() == null) {
+        // 永続化されていない口座は新規作成、それ以外は更新
+        if (!account.isPersisted()) {
             accountMapper.insert(data);
+            account.markPersisted();
         } else {
             int updatedRows = accountMapper.update(data);
             // 楽観的ロック: 更新された行数が0の場合、他で更新されたと判断し例外をスロー
             if (updatedRows == 0) {
-                throw new OptimisticLockFailureException("Account has been updated by another transaction: " + account.getId().value());
+                optimisticLockConflicts.increment();
+                throw new OptimisticLockingFailureException("Account has been updated by another transaction: " + account.getId().value());
             }
         }
+
+        List<AccountEntry> entries = account.pullPendingEntries();
+        if (!entries.isEmpty()) {
+            accountEntryMapper.insertAll(entries.stream().map(AccountEntryData::from).toList());
+        }
+        domainEventPublisher.publish(account.pullDomainEvents());
+    }
+
+    @Override
+    public Optional<Account> placeHold(AccountId id, Money amount) {
+        return shardRouter.write(shardRouter.shardOf(id), () -> {
+            if (accountMapper.placeHold(id.value(), amount.amount(), amount.currency().getCurrencyCode()) == 0) {
+                return Optional.<Account>empty();
+            }
+            return Optional.of(publishHoldChanged(id, AccountHoldChanged.Type.PLACED, amount));
+        });
+    }
+
+    @Override
+    public Optional<Account> releaseHold(AccountId id, Money amount) {
+        return shardRouter.write(shardRouter.shardOf(id), () -> {
+            if (accountMapper.releaseHold(id.value(), amount.amount()) == 0) {
+                return Optional.<Account>empty();
+            }
+            return Optional.of(publishHoldChanged(id, AccountHoldChanged.Type.RELEASED, amount));
+        });
+    }
+
+    @Override
+    public Account captureHold(AccountId id, Money heldAmount, Money capturedAmount) {
+        return shardRouter.write(shardRouter.shardOf(id), () -> {
+            accountMapper.captureHold(id.value(), heldAmount.amount(), capturedAmount.amount());
+            AccountEntry entry = new AccountEntry(id, AccountEntry.Type.HOLD_CAPTURE, capturedAmount, null);
+            accountEntryMapper.insertAll(List.of(AccountEntryData.from(entry)));
+            Account account = toDomain(accountMapper.findById(id.value()).orElseThrow());
+            domainEventPublisher.publish(List.of(
+                    AccountHoldChanged.of(id, AccountHoldChanged.Type.RELEASED, heldAmount, account.getHeldBalance(), account.getBalance()),
+                    AccountBalanceChanged.of(entry, account.getBalance())));
+            return account;
+        });
+    }
+
+    /**
+     * 拘束額を更新した直後の口座を同じトランザクションで読み、拘束額の変化を発行します（コミット後に発行されます）。
+     */
+    private Account publishHoldChanged(AccountId id, AccountHoldChanged.Type type, Money amount) {
+        Account account = toDomain(accountMapper.findById(id.value()).orElseThrow());
+        domainEventPublisher.publish(List.of(
+                AccountHoldChanged.of(id, type, amount, account.getHeldBalance(), account.getBalance())));
+        return account;
     }
 
     @Override
@@ -54,11 +202,13 @@ public class MyBatisAccountRepository implements AccountRepository {
      * @return Accountドメインオブジェクト
      */
     private Account toDomain(AccountData data) {
-        return new Account(
+        Currency currency = Currency.getInstance(data.getCurrency());
+        return Account.reconstitute(
                 new AccountId(data.getId()),
                 new AccountNumber(data.getAccountNumber()),
                 new CustomerName(data.getCustomerName()),
-                new Money(data.getBalance().toPlainString()),
+                new Money(data.getBalance(), currency),
+                new Money(data.getHeldBalance(), currency),
                 data.getVersion()
         );
     }
@@ -74,6 +224,8 @@ public class MyBatisAccountRepository implements AccountRepository {
                 domain.getAccountNumber().value(),
                 domain.getCustomerName().value(),
                 domain.getBalance().amount(),
+                domain.getHeldBalance().amount(),
+                domain.getBalance().currency().getCurrencyCode(),
                 domain.getVersion()
         );
     }
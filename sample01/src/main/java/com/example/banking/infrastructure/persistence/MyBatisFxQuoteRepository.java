@@ -0,0 +1,64 @@
+package com.example.banking.infrastructure.persistence;
+
+import com.example.banking.application.fx.FxQuoteRepository;
+import com.example.banking.domain.fx.ExchangeRate;
+import com.example.banking.domain.fx.FxQuote;
+import com.example.banking.domain.fx.FxQuoteId;
+import com.example.banking.infrastructure.persistence.sharding.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Currency;
+import java.util.Optional;
+
+/**
+ * FxQuoteRepositoryのMyBatisによる実装。
+ *
+ * 見積もりは口座に属さないため、シャード構成では先頭のシャードにまとめて保持します。
+ * 見積もりの発行は振込のトランザクションとは独立して行い、参照は振込のトランザクションを固定せずに行います。
+ *
+ * @see MyBatisTransferLimitCheckpointRepository
+ */
+@Repository
+@RequiredArgsConstructor
+public class MyBatisFxQuoteRepository implements FxQuoteRepository {
+
+    private final FxQuoteMapper quoteMapper;
+    private final ShardRouter shardRouter;
+
+    @Override
+    public void save(FxQuote quote) {
+        shardRouter.writeSeparately(quoteShard(), () -> {
+            quoteMapper.insert(toData(quote));
+            return null;
+        });
+    }
+
+    @Override
+    public Optional<FxQuote> findById(FxQuoteId id) {
+        return shardRouter.probe(quoteShard(), () -> quoteMapper.findById(id.value())).map(this::toDomain);
+    }
+
+    @Override
+    public int deleteExpired(Instant now) {
+        return shardRouter.writeSeparately(quoteShard(), () -> quoteMapper.deleteExpired(now));
+    }
+
+    private String quoteShard() {
+        return shardRouter.names().get(0);
+    }
+
+    private FxQuoteData toData(FxQuote quote) {
+        ExchangeRate rate = quote.rate();
+        return new FxQuoteData(quote.id().value(), rate.from().getCurrencyCode(), rate.to().getCurrencyCode(), rate.rate(),
+                quote.expiresAt());
+    }
+
+    private FxQuote toDomain(FxQuoteData data) {
+        return new FxQuote(
+                new FxQuoteId(data.getId()),
+                new ExchangeRate(Currency.getInstance(data.getFromCurrency()), Currency.getInstance(data.getToCurrency()), data.getRate()),
+                data.getExpiresAt());
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.banking.infrastructure.persistence;
+
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.Money;
+import com.example.banking.domain.hold.Hold;
+import com.example.banking.domain.hold.HoldId;
+import com.example.banking.domain.hold.HoldRepository;
+import com.example.banking.infrastructure.persistence.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * HoldRepositoryのMyBatisによる実装。
+ *
+ * 与信は、口座の拘束額の合計と同じトランザクションで更新できるよう、口座のシャードに保持します。
+ * 与信IDからはシャードが決まらないため、IDのみによる検索は各シャードを順に探します。
+ * 期限切れの与信の読み込み（{@link #findExpiredForUpdate}）は、呼び出し元が{@link ShardRouter#callOn}で指定したシャードで実行します。
+ *
+ * @see MyBatisStandingOrderRepository
+ */
+@Repository
+public class MyBatisHoldRepository implements HoldRepository {
+
+    private final HoldMapper holdMapper;
+    /**
+     * 楽観的ロックの競合回数を数えるカウンタ（`banking.repository.optimistic_lock.conflicts`, aggregate=hold）。
+     */
+    private final Counter optimisticLockConflicts;
+    private final ShardRouter shardRouter;
+
+    public MyBatisHoldRepository(HoldMapper holdMapper, MeterRegistry meterRegistry, ShardRouter shardRouter) {
+        this.holdMapper = holdMapper;
+        this.shardRouter = shardRouter;
+        this.optimisticLockConflicts = OptimisticLockMetrics.conflictCounter(meterRegistry, "hold");
+    }
+
+    @Override
+    public void save(Hold hold) {
+        shardRouter.write(shardRouter.shardOf(hold.getAccountId()), () -> {
+            holdMapper.insert(toData(hold));
+            return null;
+        });
+    }
+
+    @Override
+    public void update(Hold hold) {
+        int updatedRows = shardRouter.write(shardRouter.shardOf(hold.getAccountId()), () -> holdMapper.update(toData(hold)));
+        if (updatedRows == 0) {
+            optimisticLockConflicts.increment();
+            throw new OptimisticLockingFailureException("Hold has been updated by another transaction: " + hold.getId().value());
+        }
+    }
+
+    @Override
+    public Optional<Hold> findById(HoldId id) {
+        for (String shard : shardRouter.names()) {
+            Optional<HoldData> data = shardRouter.probe(shard, () -> holdMapper.findById(id.value()));
+            if (data.isPresent()) {
+                return data.map(this::toDomain);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public List<Hold> findExpiredForUpdate(Instant now, int limit) {
+        return holdMapper.findExpiredForUpdate(now, limit).stream()
+                .map(this::toDomain)
+                .toList();
+    }
+
+    private Hold toDomain(HoldData data) {
+        Currency currency = Currency.getInstance(data.getCurrency());
+        return Hold.reconstitute(
+                new HoldId(data.getId()),
+                new AccountId(data.getAccountId()),
+                new Money(data.getAmount(), currency),
+                data.getExpiresAt(),
+                data.getStatus(),
+                data.getCapturedAmount() == null ? null : new Money(data.getCapturedAmount(), currency),
+                data.getVersion()
+        );
+    }
+
+    private HoldData toData(Hold domain) {
+        return new HoldData(
+                domain.getId().value(),
+                domain.getAccountId().value(),
+                domain.getAmount().amount(),
+                domain.getAmount().currency().getCurrencyCode(),
+                domain.getExpiresAt(),
+                domain.getStatus(),
+                domain.getCapturedAmount() == null ? null : domain.getCapturedAmount().amount(),
+                domain.getVersion()
+        );
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.banking.infrastructure.persistence;
+
+import com.example.banking.application.interest.AccountBalanceSnapshot;
+import com.example.banking.application.interest.AccountIdRange;
+import com.example.banking.application.interest.InterestAccrualCheckpoint;
+import com.example.banking.application.interest.InterestAccrualRepository;
+import com.example.banking.application.interest.InterestPosting;
+import com.example.banking.domain.account.AccountEntry;
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.Money;
+import com.example.banking.domain.event.AccountBalanceChanged;
+import com.example.banking.domain.event.DomainEvent;
+import com.example.banking.domain.event.DomainEventPublisher;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * InterestAccrualRepositoryのMyBatisによる実装。
+ *
+ * 読み込みは通常のMapper（カーソル）で、チャンクの書き込みはBATCHモードのSqlSessionから取得したMapperで行います。
+ * MyBatisは1つのトランザクション内でExecutorTypeを切り替えられないため、
+ * チャンクのトランザクション内の操作（残高の更新、競合した口座の再読み込み、チェックポイントの更新）はすべてBATCHモードで実行します。
+ * 利息を記帳した口座ごとに{@link AccountBalanceChanged}を{@link DomainEventPublisher}に渡します（チャンクのコミット後に発行されます）。
+ *
+ * @see MyBatisAccountRepository
+ */
+@Repository
+public class MyBatisInterestAccrualRepository implements InterestAccrualRepository {
+
+    private final InterestAccrualMapper mapper;
+    private final SqlSessionTemplate batchSqlSession;
+    private final InterestAccrualMapper batchMapper;
+    private final AccountEntryMapper batchEntryMapper;
+    private final DomainEventPublisher domainEventPublisher;
+
+    public MyBatisInterestAccrualRepository(InterestAccrualMapper mapper, SqlSessionFactory sqlSessionFactory,
+                                            DomainEventPublisher domainEventPublisher) {
+        this.mapper = mapper;
+        this.domainEventPublisher = domainEventPublisher;
+        // SqlSessionTemplateをBeanとして登録すると自動設定のものが無効になるため、ここで生成して保持する
+        this.batchSqlSession = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+        this.batchMapper = batchSqlSession.getMapper(InterestAccrualMapper.class);
+        this.batchEntryMapper = batchSqlSession.getMapper(AccountEntryMapper.class);
+    }
+
+    @Override
+    public void scan(AccountIdRange range, UUID afterAccountId, Consumer<AccountBalanceSnapshot> consumer) {
+        try (Cursor<AccountBalanceData> cursor = mapper.scanPartition(range.lowerInclusive(), range.upperExclusive(), afterAccountId)) {
+            for (AccountBalanceData data : cursor) {
+                consumer.accept(toSnapshot(data));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public List<AccountId> post(List<InterestPosting> postings) {
+        for (InterestPosting posting : postings) {
+            batchMapper.postInterest(new AccountBalanceData(
+                    posting.accountId().value(),
+                    posting.newBalance().amount(),
+                    posting.newBalance().currency().getCurrencyCode(),
+                    posting.expectedVersion()));
+        }
+        List<AccountId> conflicted = new ArrayList<>();
+        for (BatchResult result : batchSqlSession.flushStatements()) {
+            int[] updateCounts = result.getUpdateCounts();
+            List<Object> parameters = result.getParameterObjects();
+            for (int i = 0; i < updateCounts.length; i++) {
+                // ドライバが件数を返さない場合（SUCCESS_NO_INFO）は成功とみなす
+                if (updateCounts[i] == 0) {
+                    conflicted.add(new AccountId(((AccountBalanceData) parameters.get(i)).getId()));
+                }
+            }
+        }
+        // 残高を更新できた口座の利息を仕訳として記録する（チャンクと同じバッチでコミット時に送信される）
+        List<AccountEntryData> entries = new ArrayList<>();
+        List<DomainEvent> events = new ArrayList<>();
+        for (InterestPosting posting : postings) {
+            if (conflicted.contains(posting.accountId())) {
+                continue;
+            }
+            AccountEntry entry = new AccountEntry(posting.accountId(), AccountEntry.Type.INTEREST, posting.interest(), null);
+            entries.add(AccountEntryData.from(entry));
+            events.add(AccountBalanceChanged.of(entry, posting.newBalance()));
+        }
+        if (!entries.isEmpty()) {
+            batchEntryMapper.insertAll(entries);
+        }
+        domainEventPublisher.publish(events);
+        return conflicted;
+    }
+
+    @Override
+    public Optional<AccountBalanceSnapshot> findForUpdate(AccountId accountId) {
+        return batchMapper.findForUpdate(accountId.value()).map(this::toSnapshot);
+    }
+
+    @Override
+    public List<InterestAccrualCheckpoint> findCheckpoints(LocalDate businessDate) {
+        return mapper.findCheckpoints(businessDate).stream()
+                .map(this::toCheckpoint)
+                .toList();
+    }
+
+    @Override
+    public void createCheckpoints(List<InterestAccrualCheckpoint> checkpoints) {
+        mapper.insertCheckpoints(checkpoints.stream().map(this::toData).toList());
+    }
+
+    @Override
+    public void saveCheckpoint(InterestAccrualCheckpoint checkpoint) {
+        // チャンクの残高更新と同じバッチでコミット時に送信される
+        batchMapper.updateCheckpoint(toData(checkpoint));
+    }
+
+    private AccountBalanceSnapshot toSnapshot(AccountBalanceData data) {
+        return new AccountBalanceSnapshot(
+                new AccountId(data.getId()),
+                new Money(data.getBalance(), Currency.getInstance(data.getCurrency())),
+                data.getVersion());
+    }
+
+    private InterestAccrualCheckpoint toCheckpoint(InterestAccrualCheckpointData data) {
+        return new InterestAccrualCheckpoint(
+                data.getBusinessDate(),
+                data.getPartitionNo(),
+                data.getLastAccountId(),
+                data.getAccountsProcessed(),
+                data.isCompleted());
+    }
+
+    private InterestAccrualCheckpointData toData(InterestAccrualCheckpoint checkpoint) {
+        return new InterestAccrualCheckpointData(
+                checkpoint.businessDate(),
+                checkpoint.partition(),
+                checkpoint.lastAccountId(),
+                checkpoint.accountsProcessed(),
+                checkpoint.completed());
+    }
+}
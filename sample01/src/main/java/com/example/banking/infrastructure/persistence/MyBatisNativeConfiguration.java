@@ -0,0 +1,165 @@
+package com.example.banking.infrastructure.persistence;
+
+import org.apache.ibatis.cache.decorators.FifoCache;
+import org.apache.ibatis.cache.decorators.LruCache;
+import org.apache.ibatis.cache.decorators.SoftCache;
+import org.apache.ibatis.cache.decorators.WeakCache;
+import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.apache.ibatis.javassist.util.proxy.ProxyFactory;
+import org.apache.ibatis.javassist.util.proxy.RuntimeSupport;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.nologging.NoLoggingImpl;
+import org.apache.ibatis.logging.slf4j.Slf4jImpl;
+import org.apache.ibatis.logging.stdout.StdOutImpl;
+import org.apache.ibatis.reflection.TypeParameterResolver;
+import org.apache.ibatis.scripting.defaults.RawLanguageDriver;
+import org.apache.ibatis.scripting.xmltags.XMLLanguageDriver;
+import org.mybatis.spring.mapper.MapperFactoryBean;
+import org.springframework.aot.generate.GenerationContext;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationCode;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.MergedBeanDefinitionPostProcessor;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.ResolvableType;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Spring AOTとGraalVMのネイティブイメージでMyBatisを動かすための設定。
+ *
+ * MyBatisは実行時にMapperのXMLを読み込み、リフレクションで結果をデータクラスへ詰め、Mapperインターフェースを動的プロキシで実装します。
+ * ネイティブイメージではこれらがビルド時に解析できないため、次のヒントを登録します。
+ * - Mapper XML・DTD・`schema.sql`などのリソース
+ * - MyBatis自身がリフレクションで生成するクラス（言語ドライバ・ロガー・キャッシュ）
+ * - Mapperインターフェースの動的プロキシと、メソッドの引数・戻り値に現れるデータクラスのリフレクション
+ *
+ * 通常のJVMでの実行では、これらのヒントは使用されません。
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(MyBatisNativeConfiguration.MyBatisRuntimeHints.class)
+public class MyBatisNativeConfiguration {
+
+    @Bean
+    static MapperAotProcessor mapperAotProcessor() {
+        return new MapperAotProcessor();
+    }
+
+    @Bean
+    static MapperFactoryBeanTypeResolver mapperFactoryBeanTypeResolver() {
+        return new MapperFactoryBeanTypeResolver();
+    }
+
+    /**
+     * Mapperに依存しない、MyBatisとアプリケーションのリソース・クラスのヒント。
+     */
+    static class MyBatisRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.resources()
+                    .registerPattern("com/example/banking/infrastructure/persistence/*.xml")
+                    .registerPattern("org/apache/ibatis/builder/xml/*.dtd")
+                    .registerPattern("org/apache/ibatis/builder/xml/*.xsd")
+                    .registerPattern("schema.sql")
+                    .registerPattern("fx/*");
+            for (Class<?> type : new Class<?>[] {
+                    RawLanguageDriver.class, XMLLanguageDriver.class, RuntimeSupport.class, ProxyFactory.class,
+                    Log.class, Slf4jImpl.class, StdOutImpl.class, NoLoggingImpl.class,
+                    PerpetualCache.class, FifoCache.class, LruCache.class, SoftCache.class, WeakCache.class,
+                    MapperFactoryBean.class}) {
+                hints.reflection().registerType(type, MemberCategory.values());
+            }
+        }
+    }
+
+    /**
+     * Mapperインターフェースの動的プロキシと、メソッドの引数・戻り値の型（ジェネリクスの型引数を含む）のヒントを登録する。
+     * Mapperはmybatis-springが`MapperFactoryBean`のBean定義として登録したものを対象とする。
+     */
+    static class MapperAotProcessor implements BeanFactoryInitializationAotProcessor {
+
+        @Override
+        public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+            Set<Class<?>> mappers = new LinkedHashSet<>();
+            for (String beanName : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getMergedBeanDefinition(beanName);
+                if (MapperFactoryBean.class.getName().equals(definition.getBeanClassName())) {
+                    Class<?> mapper = mapperInterfaceOf(definition);
+                    if (mapper != null) {
+                        mappers.add(mapper);
+                    }
+                }
+            }
+            return mappers.isEmpty() ? null : (GenerationContext context, BeanFactoryInitializationCode code) -> {
+                RuntimeHints hints = context.getRuntimeHints();
+                for (Class<?> mapper : mappers) {
+                    hints.proxies().registerJdkProxy(mapper);
+                    hints.reflection().registerType(mapper, MemberCategory.INVOKE_PUBLIC_METHODS);
+                    for (Method method : mapper.getMethods()) {
+                        registerDataTypes(hints, TypeParameterResolver.resolveReturnType(method, mapper));
+                        for (Type parameter : TypeParameterResolver.resolveParamTypes(method, mapper)) {
+                            registerDataTypes(hints, parameter);
+                        }
+                    }
+                }
+            };
+        }
+
+        private static void registerDataTypes(RuntimeHints hints, Type type) {
+            ResolvableType resolved = ResolvableType.forType(type);
+            Class<?> raw = resolved.resolve();
+            // java.*やMyBatisの型（Cursor・ResultHandler）はヒントが不要
+            if (raw != null && !raw.isPrimitive() && raw.getName().startsWith("com.example.banking.")) {
+                hints.reflection().registerType(raw, MemberCategory.values());
+            }
+            for (ResolvableType generic : resolved.getGenerics()) {
+                registerDataTypes(hints, generic.getType());
+            }
+        }
+    }
+
+    /**
+     * `MapperFactoryBean`のBean定義に、生成するMapperの型を設定する。
+     * AOTで生成するBean定義では、FactoryBeanの生成物の型が分からないとMapperを型で注入できないため。
+     */
+    static class MapperFactoryBeanTypeResolver implements MergedBeanDefinitionPostProcessor {
+
+        @Override
+        public void postProcessMergedBeanDefinition(RootBeanDefinition beanDefinition, Class<?> beanType, String beanName) {
+            if (!MapperFactoryBean.class.equals(beanType) || beanDefinition.getResolvableType().hasResolvableGenerics()) {
+                return;
+            }
+            Class<?> mapper = mapperInterfaceOf(beanDefinition);
+            if (mapper != null) {
+                beanDefinition.setTargetType(ResolvableType.forClassWithGenerics(MapperFactoryBean.class, mapper));
+            }
+        }
+    }
+
+    /**
+     * mybatis-springが`MapperFactoryBean`のBean定義に設定したMapperインターフェース（コンストラクタ引数のクラス名）を返す。
+     */
+    private static Class<?> mapperInterfaceOf(BeanDefinition definition) {
+        Object mapperInterface = definition.getPropertyValues().get("mapperInterface");
+        if (mapperInterface == null && !definition.getConstructorArgumentValues().getGenericArgumentValues().isEmpty()) {
+            mapperInterface = definition.getConstructorArgumentValues().getGenericArgumentValues().get(0).getValue();
+        }
+        if (mapperInterface instanceof Class<?> type) {
+            return type;
+        }
+        return mapperInterface instanceof String name ? ClassUtils.resolveClassName(name, null) : null;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.banking.infrastructure.persistence;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.stereotype.Component;
+
+/**
+ * MyBatisのMapperステートメントごとにObservation（スパンとタイマー `banking.sql`）を記録するプラグイン。
+ * InterceptorのBeanとして登録することで、MyBatisの自動設定によりSqlSessionFactoryに組み込まれます。
+ *
+ * 親となるObservation（RESTリクエストやSagaのステップ）が存在しない場合は計測を行わず、
+ * バックグラウンド処理などで孤立したスパンが大量に生成されることを防ぎます。
+ */
+@Component
+@RequiredArgsConstructor
+@Intercepts({
+        @Signature(type = Executor.class, method = "update",
+                args = {MappedStatement.class, Object.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+        @Signature(type = Executor.class, method = "query",
+                args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "queryCursor",
+                args = {MappedStatement.class, Object.class, RowBounds.class})
+})
+public class MyBatisObservationInterceptor implements Interceptor {
+
+    private final ObservationRegistry observationRegistry;
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        if (observationRegistry.getCurrentObservation() == null) {
+            return invocation.proceed();
+        }
+        MappedStatement statement = (MappedStatement) invocation.getArgs()[0];
+        return Observation.createNotStarted("banking.sql", observationRegistry)
+                .contextualName(shortName(statement.getId()))
+                .lowCardinalityKeyValue("mybatis.statement", statement.getId())
+                .lowCardinalityKeyValue("mybatis.command", statement.getSqlCommandType().name())
+                .observeChecked(invocation::proceed);
+    }
+
+    /**
+     * `com.example...AccountMapper.findById` のようなステートメントIDを `AccountMapper.findById` に短縮します。
+     */
+    private static String shortName(String statementId) {
+        int methodSeparator = statementId.lastIndexOf('.');
+        int typeSeparator = statementId.lastIndexOf('.', methodSeparator - 1);
+        return statementId.substring(typeSeparator + 1);
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.banking.infrastructure.persistence;
+
+import com.example.banking.application.interest.AccountIdRange;
+import com.example.banking.application.reconciliation.AccountLedgerBalance;
+import com.example.banking.application.reconciliation.ReconciliationRepository;
+import com.example.banking.application.reconciliation.TransferPostings;
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.Money;
+import com.example.banking.domain.fx.ExchangeRate;
+import com.example.banking.domain.transfer.Transfer;
+import com.example.banking.domain.transfer.TransferId;
+import com.example.banking.infrastructure.persistence.sharding.ShardRouter;
+import org.apache.ibatis.cursor.Cursor;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * ReconciliationRepositoryのMyBatisによる実装。
+ *
+ * シャーディング構成では、振込先口座が別のシャードにある振込の入金（TRANSFER_CREDIT）は振込先口座のシャードに記録されるため、
+ * 振込の走査時に他のシャードから振込IDごとの入金の合計を読み込んで加算します。
+ *
+ * @see MyBatisInterestAccrualRepository
+ */
+@Repository
+public class MyBatisReconciliationRepository implements ReconciliationRepository {
+
+    private final ReconciliationMapper mapper;
+    private final ShardRouter shardRouter;
+
+    public MyBatisReconciliationRepository(ReconciliationMapper mapper, ShardRouter shardRouter) {
+        this.mapper = mapper;
+        this.shardRouter = shardRouter;
+    }
+
+    @Override
+    public void scanAccounts(AccountIdRange range, Consumer<AccountLedgerBalance> consumer) {
+        try (Cursor<AccountLedgerData> cursor = mapper.scanAccounts(range.lowerInclusive(), range.upperExclusive())) {
+            for (AccountLedgerData data : cursor) {
+                consumer.accept(new AccountLedgerBalance(
+                        new AccountId(data.getId()),
+                        new Money(data.getBalance(), Currency.getInstance(data.getCurrency())),
+                        data.getLedgerTotal()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void scanTransfers(AccountIdRange range, Consumer<TransferPostings> consumer) {
+        try (Cursor<TransferPostingsData> cursor = mapper.scanTransfers(range.lowerInclusive(), range.upperExclusive())) {
+            // 走査中のシャードのスナップショットを確定させてから他のシャードを読み込む。
+            // 入金は振込の完了より前にコミットされるため、スナップショットで完了している振込の入金は必ず読み込まれる
+            Map<UUID, BigDecimal> remoteCredits = shardRouter.isSharded() ? findRemoteCredits(range) : Map.of();
+            for (TransferPostingsData data : cursor) {
+                BigDecimal remote = remoteCredits.get(data.getId());
+                if (remote != null) {
+                    data.setCredited(data.getCredited().add(remote));
+                }
+                consumer.accept(toPostings(data));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 全シャードから、そのシャードに振込のない入金（他のシャードの振込の入金）を振込IDごとに集計して読み込みます。
+     */
+    private Map<UUID, BigDecimal> findRemoteCredits(AccountIdRange range) {
+        Map<UUID, BigDecimal> credits = new HashMap<>();
+        for (String shard : shardRouter.names()) {
+            shardRouter.probe(shard, () -> mapper.sumRemoteCredits(range.lowerInclusive(), range.upperExclusive()))
+                    .forEach(data -> credits.merge(data.getId(), data.getCredited(), BigDecimal::add));
+        }
+        return credits;
+    }
+
+    private TransferPostings toPostings(TransferPostingsData data) {
+        Money money = new Money(data.getMoneyAmount(), Currency.getInstance(data.getMoneyCurrency()));
+        // 通貨をまたぐ振込の入金は、ロックした為替レートで振込先口座の通貨に換算した金額で記帳されている
+        Money creditedMoney = data.getExchangeRate() == null
+                ? money
+                : new ExchangeRate(money.currency(), Currency.getInstance(data.getCreditCurrency()), data.getExchangeRate())
+                        .convert(money);
+        // 振込元口座からは、振込金額と振込手数料の合計を出金している
+        Money debitedMoney = money.add(new Money(data.getFeeAmount(), money.currency()));
+        return new TransferPostings(
+                new TransferId(data.getId()),
+                Transfer.TransferStatus.valueOf(data.getStatus()),
+                debitedMoney,
+                creditedMoney,
+                data.getRequestedAt(),
+                data.getDebited(),
+                data.getCredited(),
+                data.getReversed());
+    }
+}
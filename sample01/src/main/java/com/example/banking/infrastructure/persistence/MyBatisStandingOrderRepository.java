@@ -0,0 +1,126 @@
+package com.example.banking.infrastructure.persistence;
+
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.Money;
+import com.example.banking.domain.schedule.StandingOrder;
+import com.example.banking.domain.schedule.StandingOrderId;
+import com.example.banking.domain.schedule.StandingOrderRepository;
+import com.example.banking.infrastructure.persistence.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * StandingOrderRepositoryのMyBatisによる実装。
+ *
+ * 定期振込は、実行時に依頼する振込と同じトランザクションで更新できるよう、振込元口座のシャードに保持します。
+ * 定期振込IDからはシャードが決まらないため、IDのみによる検索は各シャードを順に探します。
+ * 実行予定の読み込み（{@link #findDue}）は、呼び出し元が{@link ShardRouter#callOn}で指定したシャードで実行します。
+ *
+ * @see MyBatisTransferRepository
+ */
+@Repository
+public class MyBatisStandingOrderRepository implements StandingOrderRepository {
+
+    private final StandingOrderMapper standingOrderMapper;
+    /**
+     * 楽観的ロックの競合回数を数えるカウンタ（`banking.repository.optimistic_lock.conflicts`, aggregate=standing_order）。
+     */
+    private final Counter optimisticLockConflicts;
+    private final ShardRouter shardRouter;
+
+    public MyBatisStandingOrderRepository(StandingOrderMapper standingOrderMapper, MeterRegistry meterRegistry, ShardRouter shardRouter) {
+        this.standingOrderMapper = standingOrderMapper;
+        this.shardRouter = shardRouter;
+        this.optimisticLockConflicts = OptimisticLockMetrics.conflictCounter(meterRegistry, "standing_order");
+    }
+
+    @Override
+    public void save(StandingOrder standingOrder) {
+        shardRouter.write(shardRouter.shardOf(standingOrder.getSourceAccountId()), () -> {
+            standingOrderMapper.insert(toData(standingOrder));
+            return null;
+        });
+    }
+
+    @Override
+    public void update(StandingOrder standingOrder) {
+        int updatedRows = shardRouter.write(shardRouter.shardOf(standingOrder.getSourceAccountId()),
+                () -> standingOrderMapper.update(toData(standingOrder)));
+        if (updatedRows == 0) {
+            optimisticLockConflicts.increment();
+            throw new OptimisticLockingFailureException("Standing order has been updated by another transaction: " + standingOrder.getId().value());
+        }
+    }
+
+    @Override
+    public Optional<StandingOrder> findById(StandingOrderId id) {
+        for (String shard : shardRouter.names()) {
+            Optional<StandingOrderData> data = shardRouter.probe(shard, () -> standingOrderMapper.findById(id.value()));
+            if (data.isPresent()) {
+                return data.map(this::toDomain);
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public Optional<StandingOrder> findByIdForUpdate(StandingOrderId id, AccountId sourceAccountId) {
+        return shardRouter.write(shardRouter.shardOf(sourceAccountId), () -> standingOrderMapper.findByIdForUpdate(id.value()))
+                .map(this::toDomain);
+    }
+
+    @Override
+    public List<StandingOrder> findDue(Instant before, StandingOrder after, int limit) {
+        return standingOrderMapper.findDue(
+                        before,
+                        after == null ? null : after.getNextFireAt(),
+                        after == null ? null : after.getId().value(),
+                        limit)
+                .stream()
+                .map(this::toDomain)
+                .toList();
+    }
+
+    private StandingOrder toDomain(StandingOrderData data) {
+        return StandingOrder.reconstitute(
+                new StandingOrderId(data.getId()),
+                new AccountId(data.getSourceAccountId()),
+                new AccountId(data.getDestinationAccountId()),
+                new Money(data.getMoneyAmount(), Currency.getInstance(data.getMoneyCurrency())),
+                data.getRecurrence(),
+                data.getStartAt(),
+                ZoneId.of(data.getZone()),
+                data.getEndAt(),
+                data.getOccurrences(),
+                data.getNextFireAt(),
+                data.getStatus(),
+                data.getVersion()
+        );
+    }
+
+    private StandingOrderData toData(StandingOrder domain) {
+        return new StandingOrderData(
+                domain.getId().value(),
+                domain.getSourceAccountId().value(),
+                domain.getDestinationAccountId().value(),
+                domain.getMoney().amount(),
+                domain.getMoney().currency().getCurrencyCode(),
+                domain.getRecurrence(),
+                domain.getStartAt(),
+                domain.getZone().getId(),
+                domain.getEndAt(),
+                domain.getOccurrences(),
+                domain.getNextFireAt(),
+                domain.getStatus(),
+                domain.getVersion()
+        );
+    }
+}
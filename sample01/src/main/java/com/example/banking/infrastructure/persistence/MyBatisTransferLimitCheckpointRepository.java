@@ -0,0 +1,92 @@
+package com.example.banking.infrastructure.persistence;
+
+import com.example.banking.application.limit.AccountLimitState;
+import com.example.banking.application.limit.SlidingWindow;
+import com.example.banking.application.limit.TransferLimitCheckpointRepository;
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.infrastructure.persistence.sharding.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * TransferLimitCheckpointRepositoryのMyBatisによる実装。
+ *
+ * チェックポイントは口座のシャードに保持し、書き込みはシャードごとに別のトランザクションで行います。
+ *
+ * @see MyBatisAccountRepository
+ */
+@Repository
+@RequiredArgsConstructor
+public class MyBatisTransferLimitCheckpointRepository implements TransferLimitCheckpointRepository {
+
+    /** 1回のSQLで書き込む口座数の上限 */
+    private static final int CHUNK_SIZE = 500;
+
+    private final TransferLimitCheckpointMapper checkpointMapper;
+    private final ShardRouter shardRouter;
+
+    @Override
+    public Map<AccountId, AccountLimitState> findAll() {
+        Map<AccountId, AccountLimitState> states = new HashMap<>();
+        for (String shard : shardRouter.names()) {
+            shardRouter.probe(shard, checkpointMapper::findAll)
+                    .forEach(data -> states.put(new AccountId(data.getAccountId()), toState(data)));
+        }
+        return states;
+    }
+
+    @Override
+    public void saveAll(Map<AccountId, AccountLimitState> states) {
+        Map<String, List<TransferLimitCheckpointData>> rowsByShard = states.entrySet().stream()
+                .collect(Collectors.groupingBy(entry -> shardRouter.shardOf(entry.getKey()),
+                        Collectors.mapping(entry -> toData(entry.getKey(), entry.getValue()), Collectors.toList())));
+        rowsByShard.forEach((shard, rows) -> shardRouter.writeSeparately(shard, () -> {
+            // H2とPostgreSQLで共通に使えるよう、UPSERTではなく削除と挿入で上書きする
+            for (int from = 0; from < rows.size(); from += CHUNK_SIZE) {
+                List<TransferLimitCheckpointData> chunk = rows.subList(from, Math.min(from + CHUNK_SIZE, rows.size()));
+                checkpointMapper.deleteByAccountIds(chunk.stream().map(TransferLimitCheckpointData::getAccountId).toList());
+                checkpointMapper.insertAll(chunk);
+            }
+            return null;
+        }));
+    }
+
+    @Override
+    public void deleteAll(Iterable<AccountId> accountIds) {
+        Map<String, List<UUID>> idsByShard = new LinkedHashMap<>();
+        for (AccountId accountId : accountIds) {
+            idsByShard.computeIfAbsent(shardRouter.shardOf(accountId), shard -> new ArrayList<>()).add(accountId.value());
+        }
+        idsByShard.forEach((shard, ids) -> shardRouter.writeSeparately(shard, () -> {
+            for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+                checkpointMapper.deleteByAccountIds(ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size())));
+            }
+            return null;
+        }));
+    }
+
+    private AccountLimitState toState(TransferLimitCheckpointData data) {
+        return new AccountLimitState(
+                new SlidingWindow(data.getMinuteStart(), data.getMinutePreviousCount(), data.getMinutePreviousAmount(),
+                        data.getMinuteCurrentCount(), data.getMinuteCurrentAmount()),
+                new SlidingWindow(data.getDayStart(), data.getDayPreviousCount(), data.getDayPreviousAmount(),
+                        data.getDayCurrentCount(), data.getDayCurrentAmount()));
+    }
+
+    private TransferLimitCheckpointData toData(AccountId accountId, AccountLimitState state) {
+        SlidingWindow minute = state.minute();
+        SlidingWindow day = state.day();
+        return new TransferLimitCheckpointData(
+                accountId.value(),
+                minute.start(), minute.previousCount(), minute.previousAmount(), minute.currentCount(), minute.currentAmount(),
+                day.start(), day.previousCount(), day.previousAmount(), day.currentCount(), day.currentAmount());
+    }
+}
@@ -1,24 +1,51 @@
 package com.example.banking.infrastructure.persistence;
 
+import com.example.banking.application.jfr.RepositoryOperationEvent;
 import com.example.banking.domain.account.AccountId;
 import com.example.banking.domain.account.Money;
+import com.example.banking.domain.event.DomainEventPublisher;
+import com.example.banking.domain.fx.ExchangeRate;
+import com.example.banking.domain.transfer.AccountMovement;
 import com.example.banking.domain.transfer.Transfer;
 import com.example.banking.domain.transfer.TransferId;
 import com.example.banking.domain.transfer.TransferRepository;
-import lombok.RequiredArgsConstructor;
+import com.example.banking.infrastructure.persistence.sharding.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.SqlSession;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Repository;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Currency;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * TransferRepositoryのMyBatisによる実装。
  *
+ * 振込は振込元口座のシャードに保持します。振込IDからはシャードが決まらないため、
+ * IDによる検索は各シャードを順に探します。
+ * 保存時には振込のドメインイベントを取り出し、{@link DomainEventPublisher}に渡します（コミット後に発行されます）。
+ * 読み込みと保存は、所要時間が閾値を超えた場合にJFRイベント（{@link RepositoryOperationEvent}）を記録します。
+ *
  * @see MyBatisAccountRepository
  */
 @Repository
-@RequiredArgsConstructor
 public class MyBatisTransferRepository implements TransferRepository {
 
     /**
@@ -26,45 +53,234 @@ public class MyBatisTransferRepository implements TransferRepository {
      * このマッパーを通じてデータベースとのやり取りが行われます。
      */
     private final TransferMapper transferMapper;
+    /**
+     * 楽観的ロックの競合回数を数えるカウンタ（`banking.repository.optimistic_lock.conflicts`, aggregate=transfer）。
+     */
+    private final Counter optimisticLockConflicts;
+    private final ShardRouter shardRouter;
+    private final DomainEventPublisher domainEventPublisher;
+
+    public MyBatisTransferRepository(TransferMapper transferMapper, MeterRegistry meterRegistry, ShardRouter shardRouter,
+                                     DomainEventPublisher domainEventPublisher) {
+        this.transferMapper = transferMapper;
+        this.shardRouter = shardRouter;
+        this.domainEventPublisher = domainEventPublisher;
+        this.optimisticLockConflicts = OptimisticLockMetrics.conflictCounter(meterRegistry, "transfer");
+    }
 
     @Override
     public Optional<Transfer> findById(TransferId id) {
-        return transferMapper.findById(id.value()).map(this::toDomain);
+        RepositoryOperationEvent event = RepositoryOperationEvent.begin("transfer", "load", id.value());
+        try {
+            Optional<Transfer> transfer = probeShards(id);
+            event.finish(transfer.isPresent() ? RepositoryOperationEvent.FOUND : RepositoryOperationEvent.NOT_FOUND);
+            return transfer;
+        } catch (RuntimeException e) {
+            event.finish(RepositoryOperationEvent.ERROR);
+            throw e;
+        }
+    }
+
+    private Optional<Transfer> probeShards(TransferId id) {
+        for (String shard : shardRouter.names()) {
+            Optional<TransferData> data = shardRouter.probe(shard, () -> transferMapper.findById(id.value()));
+            if (data.isPresent()) {
+                return data.map(this::toDomain);
+            }
+        }
+        return Optional.empty();
     }
 
     @Override
     public void save(Transfer transfer) {
+        RepositoryOperationEvent event = RepositoryOperationEvent.begin("transfer", "save", transfer.getId().value());
+        try {
+            shardRouter.write(shardRouter.shardOf(transfer.getSourceAccountId()), () -> {
+                insertOrUpdate(transfer);
+                return null;
+            });
+            event.finish(RepositoryOperationEvent.SAVED);
+        } catch (RuntimeException e) {
+            event.finish(e instanceof ConcurrencyFailureException ? RepositoryOperationEvent.CONFLICT : RepositoryOperationEvent.ERROR);
+            throw e;
+        }
+    }
+
+    private void insertOrUpdate(Transfer transfer) {
         TransferData data = toData(transfer);
-        if (transfer.getVersion() == null) {
+        // 永続化されていない振込は新規作成、それ以外は更新
+        if (!transfer.isPersisted()) {
             transferMapper.insert(data);
+            transfer.markPersisted();
         } else {
             int updatedRows = transferMapper.update(data);
             if (updatedRows == 0) {
+                optimisticLockConflicts.increment();
                 throw new OptimisticLockingFailureException("Transfer has been updated by another transaction: " + transfer.getId().value());
             }
         }
+        domainEventPublisher.publish(transfer.pullDomainEvents());
+    }
+
+    @Override
+    public long countByStatus(Transfer.TransferStatus status) {
+        long count = 0;
+        for (String shard : shardRouter.names()) {
+            count += shardRouter.probe(shard, () -> transferMapper.countByStatus(status.name()));
+        }
+        return count;
+    }
+
+    @Override
+    public Stream<AccountMovement> streamMovements(AccountId accountId, Instant from, Instant to) {
+        if (shardRouter.isSharded()) {
+            return streamShardedMovements(accountId, from, to);
+        }
+        Cursor<AccountMovementData> cursor = transferMapper.scanMovements(accountId.value(), from, to);
+        return StreamSupport.stream(cursor.spliterator(), false)
+                .map(this::toMovement)
+                .onClose(() -> {
+                    try {
+                        cursor.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    @Override
+    public long countMovements(AccountId accountId, Instant from, Instant to) {
+        // 入金の明細は振込元口座のシャードに保持されるため、すべてのシャードで数える
+        long count = 0;
+        for (String shard : shardRouter.names()) {
+            count += shardRouter.probe(shard, () -> transferMapper.countMovements(accountId.value(), from, to));
+        }
+        return count;
+    }
+
+    /**
+     * 出金は口座のシャードに、入金は振込元口座のシャードに保持されるため、全シャードのカーソルを同時に開き、
+     * 各シャードの並び順（依頼日時, 振込ID）を保ったままマージします。
+     * 同時に保持する行はシャードごとに1行のみです。
+     */
+    private Stream<AccountMovement> streamShardedMovements(AccountId accountId, Instant from, Instant to) {
+        List<SqlSession> sessions = new ArrayList<>();
+        List<Iterator<AccountMovementData>> cursors = new ArrayList<>();
+        try {
+            for (String shard : shardRouter.names()) {
+                SqlSession session = shardRouter.openSession(shard);
+                sessions.add(session);
+                cursors.add(session.getMapper(TransferMapper.class).scanMovements(accountId.value(), from, to).iterator());
+            }
+        } catch (RuntimeException e) {
+            sessions.forEach(SqlSession::close);
+            throw e;
+        }
+        MergingIterator merged = new MergingIterator(cursors);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .map(this::toMovement)
+                .onClose(() -> sessions.forEach(SqlSession::close));
+    }
+
+    private AccountMovement toMovement(AccountMovementData data) {
+        AccountMovement.Direction direction = AccountMovement.Direction.valueOf(data.getDirection());
+        Money money = new Money(data.getMoneyAmount(), Currency.getInstance(data.getMoneyCurrency()));
+        // 振込手数料は振込元口座の通貨で出金される。入金の行の手数料はゼロ
+        if (direction == AccountMovement.Direction.CREDIT && data.getExchangeRate() != null) {
+            // 通貨をまたぐ振込の入金は、振込先口座の通貨に換算した金額で記帳されている
+            money = new ExchangeRate(money.currency(), Currency.getInstance(data.getCreditCurrency()), data.getExchangeRate())
+                    .convert(money);
+        }
+        return new AccountMovement(
+                new TransferId(data.getTransferId()),
+                data.getRequestedAt(),
+                direction,
+                new AccountId(data.getCounterpartyAccountId()),
+                money,
+                new Money(data.getFeeAmount(), money.currency())
+        );
     }
 
     private Transfer toDomain(TransferData data) {
-        return new Transfer(
+        Currency currency = Currency.getInstance(data.getMoneyCurrency());
+        ExchangeRate exchangeRate = data.getExchangeRate() == null
+                ? null
+                : new ExchangeRate(currency, Currency.getInstance(data.getCreditCurrency()), data.getExchangeRate());
+        return Transfer.reconstitute(
                 new TransferId(data.getId()),
                 new AccountId(data.getSourceAccountId()),
                 new AccountId(data.getDestinationAccountId()),
-                new Money(data.getMoneyAmount(), Currency.getInstance(data.getMoneyCurrency())),
+                new Money(data.getMoneyAmount(), currency),
+                new Money(data.getFeeAmount(), currency),
+                exchangeRate,
+                data.getRateExpiresAt(),
+                data.getPriority(),
                 data.getStatus(),
                 data.getVersion()
         );
     }
 
     private TransferData toData(Transfer domain) {
+        ExchangeRate exchangeRate = domain.getExchangeRate();
         return new TransferData(
                 domain.getId().value(),
                 domain.getSourceAccountId().value(),
                 domain.getDestinationAccountId().value(),
                 domain.getMoney().amount(),
                 domain.getMoney().currency().getCurrencyCode(),
+                domain.getFee().amount(),
                 domain.getStatus(),
+                exchangeRate == null ? null : exchangeRate.rate(),
+                exchangeRate == null ? null : exchangeRate.to().getCurrencyCode(),
+                domain.getRateExpiresAt(),
+                domain.getPriority(),
                 domain.getVersion()
         );
     }
-} 
\ No newline at end of file
+
+    /**
+     * 並び順（依頼日時, 振込ID）に整列済みの複数のカーソルを、優先度付きキューでマージするイテレータ。
+     * 振込IDの比較は、DB（H2・PostgreSQL）のUUID型と同じ符号なしの順序で行う。
+     */
+    private static final class MergingIterator implements Iterator<AccountMovementData> {
+
+        private static final Comparator<Head> ORDER = Comparator
+                .comparing((Head head) -> head.row.getRequestedAt())
+                .thenComparing(head -> head.row.getTransferId(), MergingIterator::compareUnsigned);
+
+        private final PriorityQueue<Head> heads = new PriorityQueue<>(ORDER);
+
+        MergingIterator(List<Iterator<AccountMovementData>> cursors) {
+            for (Iterator<AccountMovementData> cursor : cursors) {
+                if (cursor.hasNext()) {
+                    heads.add(new Head(cursor.next(), cursor));
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public AccountMovementData next() {
+            Head head = heads.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            if (head.cursor.hasNext()) {
+                heads.add(new Head(head.cursor.next(), head.cursor));
+            }
+            return head.row;
+        }
+
+        private static int compareUnsigned(UUID a, UUID b) {
+            int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+            return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+        }
+
+        private record Head(AccountMovementData row, Iterator<AccountMovementData> cursor) {
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.banking.infrastructure.persistence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * リポジトリにおける楽観的ロック競合のメトリクスを生成するユーティリティ。
+ */
+final class OptimisticLockMetrics {
+
+    private OptimisticLockMetrics() {
+    }
+
+    /**
+     * 指定されたアグリゲートの楽観的ロック競合カウンタを取得します。
+     *
+     * @param meterRegistry メトリクスの登録先
+     * @param aggregate アグリゲート名（タグ `aggregate` の値）
+     * @return 競合カウンタ
+     */
+    static Counter conflictCounter(MeterRegistry meterRegistry, String aggregate) {
+        return Counter.builder("banking.repository.optimistic_lock.conflicts")
+                .description("Updates rejected because the aggregate version had changed")
+                .tag("aggregate", aggregate)
+                .register(meterRegistry);
+    }
+}
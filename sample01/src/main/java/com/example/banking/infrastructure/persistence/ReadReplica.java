@@ -0,0 +1,54 @@
+package com.example.banking.infrastructure.persistence;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * 振り分け先のリードレプリカ1台と、その状態。
+ * 状態は{@link ReplicaLagMonitor}が定期的に、または接続の取得に失敗した時点で更新します。
+ */
+final class ReadReplica {
+
+    private final String name;
+    private final DataSource dataSource;
+    /** 初回の確認までは振り分けない */
+    private volatile boolean available;
+    private volatile double lagSeconds = Double.NaN;
+
+    ReadReplica(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    String name() {
+        return name;
+    }
+
+    DataSource dataSource() {
+        return dataSource;
+    }
+
+    boolean isAvailable() {
+        return available;
+    }
+
+    double lagSeconds() {
+        return lagSeconds;
+    }
+
+    /**
+     * 確認したレプリケーションの遅延を記録し、許容範囲内であれば振り分け先とします。
+     */
+    void lagChecked(double lagSeconds, Duration maxLag) {
+        this.lagSeconds = lagSeconds;
+        this.available = lagSeconds * 1000 <= maxLag.toMillis();
+    }
+
+    /**
+     * 接続や遅延の確認に失敗したレプリカを、次に確認できるまで振り分け先から外します。
+     */
+    void markUnavailable() {
+        this.lagSeconds = Double.NaN;
+        this.available = false;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.banking.infrastructure.persistence;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * 読み取り専用トランザクションをリードレプリカへ振り分けるデータソースの設定（`banking.datasource.read-replicas.enabled`）。
+ *
+ * DataSourceを定義するとSpring Bootの自動設定によるデータソースは作成されないため、
+ * プライマリのコネクションプールも`spring.datasource.*`の設定からここで作成します。
+ * MyBatisやトランザクションマネージャの自動設定は単一のDataSourceを前提とするため、各コネクションプールはBeanとして登録せず、
+ * プールのメトリクスもプールごとに明示的に登録します。
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "banking.datasource.read-replicas", name = "enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+    @Bean
+    ReadReplicaPools readReplicaPools(DataSourceProperties dataSourceProperties,
+                                      ReadReplicaProperties properties,
+                                      Environment environment,
+                                      MeterRegistry meterRegistry) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+        primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+        List<ReadReplica> replicas = properties.replicas().stream()
+                .map(replica -> {
+                    HikariDataSource pool = new HikariDataSource();
+                    pool.setPoolName("replica-" + replica.name());
+                    pool.setJdbcUrl(replica.url());
+                    pool.setUsername(replica.username());
+                    pool.setPassword(replica.password());
+                    pool.setMaximumPoolSize(replica.maximumPoolSize());
+                    pool.setReadOnly(true);
+                    // 起動時にレプリカへ接続できなくても、プライマリで代替して起動を続ける
+                    pool.setInitializationFailTimeout(-1);
+                    pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+                    return new ReadReplica(replica.name(), pool);
+                })
+                .toList();
+        return new ReadReplicaPools(primary, replicas);
+    }
+
+    /**
+     * 振り分けはトランザクションの読み取り専用属性で行うため、
+     * トランザクションの開始時ではなく最初のSQLの実行時に接続を取得するよう、LazyConnectionDataSourceProxyで包みます。
+     */
+    @Bean
+    public DataSource dataSource(ReadReplicaPools pools, MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(
+                new ReadReplicaRoutingDataSource(pools.primary(), pools.replicas(), meterRegistry));
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReadReplicaPools pools, ReadReplicaProperties properties, MeterRegistry meterRegistry) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(pools.replicas(), properties, meterRegistry);
+        // 最初の確認が済むまではレプリカに振り分けない
+        monitor.checkLag();
+        return monitor;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.banking.infrastructure.persistence;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.util.List;
+
+/**
+ * プライマリとリードレプリカのコネクションプール。
+ * 各プールはDataSourceのBeanとして登録しないため、アプリケーションの終了時にここでまとめて閉じます。
+ *
+ * @param primary プライマリのコネクションプール
+ * @param replicas リードレプリカ（それぞれのデータソースはコネクションプール）
+ */
+record ReadReplicaPools(HikariDataSource primary, List<ReadReplica> replicas) implements AutoCloseable {
+
+    @Override
+    public void close() {
+        for (ReadReplica replica : replicas) {
+            ((HikariDataSource) replica.dataSource()).close();
+        }
+        primary.close();
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.banking.infrastructure.persistence;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 読み取り専用トランザクションをリードレプリカへ振り分ける設定値。
+ *
+ * @param enabled 振り分けを行うかどうか。無効の場合はSpring Bootの自動設定による単一のデータソースを使用する
+ * @param replicas リードレプリカの接続先
+ * @param maxLag 許容するレプリケーションの遅延。これを超えたレプリカには振り分けず、プライマリで読み込む
+ * @param checkInterval レプリケーションの遅延を確認する間隔
+ * @param lagQuery レプリケーションの遅延（秒）を返すSQL。既定はPostgreSQLのストリーミングレプリケーション用
+ */
+@ConfigurationProperties(prefix = "banking.datasource.read-replicas")
+public record ReadReplicaProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue List<Replica> replicas,
+        @DefaultValue("PT5S") Duration maxLag,
+        @DefaultValue("PT5S") Duration checkInterval,
+        @DefaultValue("SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+                + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END") String lagQuery
+) {
+
+    /**
+     * リードレプリカ1台の接続先。
+     *
+     * @param name レプリカの名前（コネクションプール名とメトリクスのタグに使用する）
+     * @param url JDBC URL
+     * @param username ユーザー名
+     * @param password パスワード
+     * @param maximumPoolSize コネクションプールの最大サイズ
+     */
+    public record Replica(
+            String name,
+            String url,
+            String username,
+            String password,
+            @DefaultValue("10") int maximumPoolSize
+    ) {
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.banking.infrastructure.persistence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 読み取り専用トランザクションの接続をリードレプリカから、それ以外の接続をプライマリから取得するデータソース。
+ *
+ * 振り分けはトランザクションの読み取り専用属性で判断するため、トランザクションの開始時ではなく最初のSQLの実行時に
+ * 接続を取得するよう、{@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}で包んで使用します。
+ * 更新を伴うトランザクション（振込Sagaを含む）と、トランザクション外の操作は常にプライマリを使用します。
+ *
+ * レプリカは順番に使用し、遅延が許容範囲を超えたレプリカや接続を取得できないレプリカは飛ばします。
+ * 使用できるレプリカがない場合はプライマリで読み込みます。
+ */
+@Slf4j
+public class ReadReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final List<ReadReplica> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter replicaReads;
+    private final Counter primaryReads;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, List<ReadReplica> replicas, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.replicaReads = readCounter(meterRegistry, "replica");
+        this.primaryReads = readCounter(meterRegistry, "primary");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!isReadOnlyTransaction()) {
+            return primary.getConnection();
+        }
+        for (int i = 0; i < replicas.size(); i++) {
+            ReadReplica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+            if (!replica.isAvailable()) {
+                continue;
+            }
+            try {
+                Connection connection = replica.dataSource().getConnection();
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException e) {
+                log.warn("Read replica {} is unavailable, trying the next one", replica.name(), e);
+                replica.markUnavailable();
+            }
+        }
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Connections are obtained with the credentials of each pool");
+    }
+
+    private static boolean isReadOnlyTransaction() {
+        return TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String target) {
+        return Counter.builder("banking.datasource.reads")
+                .description("Connections obtained for read-only transactions, by the database that served them")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.banking.infrastructure.persistence;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 元帳照合バッチの読み込みを担うMyBatis Mapperインターフェース。
+ *
+ * @see InterestAccrualMapper
+ */
+@Mapper
+public interface ReconciliationMapper {
+    Cursor<AccountLedgerData> scanAccounts(@Param("lower") UUID lower, @Param("upper") UUID upper);
+    Cursor<TransferPostingsData> scanTransfers(@Param("lower") UUID lower, @Param("upper") UUID upper);
+    List<TransferPostingsData> sumRemoteCredits(@Param("lower") UUID lower, @Param("upper") UUID upper);
+}
@@ -0,0 +1,71 @@
+package com.example.banking.infrastructure.persistence;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * リードレプリカのレプリケーションの遅延を定期的に確認し、振り分け先とするかどうかを更新します。
+ * 遅延が許容範囲を超えたレプリカや確認に失敗したレプリカは、次の確認で回復するまでプライマリで代替します。
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final int QUERY_TIMEOUT_SECONDS = 2;
+
+    private final List<ReadReplica> replicas;
+    private final ReadReplicaProperties properties;
+
+    public ReplicaLagMonitor(List<ReadReplica> replicas, ReadReplicaProperties properties, MeterRegistry meterRegistry) {
+        this.replicas = List.copyOf(replicas);
+        this.properties = properties;
+        for (ReadReplica replica : replicas) {
+            Gauge.builder("banking.datasource.replica.lag", replica, ReadReplica::lagSeconds)
+                    .description("Replication lag of the read replica at the last check (NaN when the check failed)")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.name())
+                    .register(meterRegistry);
+            Gauge.builder("banking.datasource.replica.available", replica, r -> r.isAvailable() ? 1 : 0)
+                    .description("Whether read-only transactions are routed to the read replica (1) or not (0)")
+                    .tag("replica", replica.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${banking.datasource.read-replicas.check-interval:PT5S}")
+    public void checkLag() {
+        for (ReadReplica replica : replicas) {
+            boolean wasAvailable = replica.isAvailable();
+            try {
+                replica.lagChecked(queryLag(replica), properties.maxLag());
+            } catch (SQLException | RuntimeException e) {
+                replica.markUnavailable();
+                log.debug("Failed to check the lag of read replica {}", replica.name(), e);
+            }
+            if (wasAvailable != replica.isAvailable()) {
+                log.info("Read replica {} is now {} (lag: {}s)", replica.name(),
+                        replica.isAvailable() ? "in service" : "out of service", replica.lagSeconds());
+            }
+        }
+    }
+
+    private double queryLag(ReadReplica replica) throws SQLException {
+        try (Connection connection = replica.dataSource().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(QUERY_TIMEOUT_SECONDS);
+            try (ResultSet resultSet = statement.executeQuery(properties.lagQuery())) {
+                if (!resultSet.next()) {
+                    throw new SQLException("Lag query returned no rows");
+                }
+                return resultSet.getDouble(1);
+            }
+        }
+    }
+}
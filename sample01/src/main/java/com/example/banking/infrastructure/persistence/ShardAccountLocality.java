@@ -0,0 +1,24 @@
+package com.example.banking.infrastructure.persistence;
+
+import com.example.banking.application.service.AccountLocality;
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.infrastructure.persistence.sharding.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * シャードの配置にもとづくAccountLocalityの実装。
+ * 2つの口座が同じシャードに割り当てられている場合に、同一データベース上にあると判定します。
+ * シャーディングを無効にした単一データベース構成では、常に同一データベース上にあると判定します。
+ */
+@Component
+@RequiredArgsConstructor
+public class ShardAccountLocality implements AccountLocality {
+
+    private final ShardRouter shardRouter;
+
+    @Override
+    public boolean isColocated(AccountId first, AccountId second) {
+        return shardRouter.shardOf(first).equals(shardRouter.shardOf(second));
+    }
+}
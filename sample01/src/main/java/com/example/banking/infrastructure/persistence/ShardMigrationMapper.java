@@ -0,0 +1,30 @@
+package com.example.banking.infrastructure.persistence;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * シャード間で口座を再配置するためのMyBatis Mapperインターフェース。
+ * テーブル名と列名は再配置ツールが定数で指定するもののみを受け付けます（SQLに直接埋め込まれるため）。
+ *
+ * @see com.example.banking.infrastructure.persistence.sharding.ShardRebalancer
+ */
+@Mapper
+public interface ShardMigrationMapper {
+
+    /**
+     * 列の値が一致する行を、列名をキーとするマップとして読み込みます。
+     */
+    List<Map<String, Object>> findRows(@Param("table") String table, @Param("column") String column, @Param("id") UUID id);
+
+    /**
+     * 列名をキーとするマップを1行として挿入します。
+     */
+    void insertRow(@Param("table") String table, @Param("row") Map<String, Object> row);
+
+    int deleteRows(@Param("table") String table, @Param("column") String column, @Param("id") UUID id);
+}
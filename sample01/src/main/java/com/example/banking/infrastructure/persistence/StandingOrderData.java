@@ -0,0 +1,49 @@
+package com.example.banking.infrastructure.persistence;
+
+import com.example.banking.domain.schedule.Recurrence;
+import com.example.banking.domain.schedule.StandingOrder;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * StandingOrderアグリゲートを永続化するためのデータ転送オブジェクト(DTO)。
+ * このクラスの構造は、データベースの`standing_orders`テーブルのスキーマに対応しています。
+ *
+ * @see TransferData
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StandingOrderData {
+    /** 定期振込ID (UUID) */
+    private UUID id;
+    /** 送金元口座ID (UUID) */
+    private UUID sourceAccountId;
+    /** 送金先口座ID (UUID) */
+    private UUID destinationAccountId;
+    /** 1回あたりの金額 */
+    private BigDecimal moneyAmount;
+    /** 通貨 */
+    private String moneyCurrency;
+    /** 繰り返し間隔 (ONCE, DAILY, WEEKLY, MONTHLY) */
+    private Recurrence recurrence;
+    /** 初回の実行日時 */
+    private Instant startAt;
+    /** 実行日時を計算するタイムゾーン (例: Asia/Tokyo) */
+    private String zone;
+    /** 最終の実行期限（期限がない場合はnull） */
+    private Instant endAt;
+    /** 実行済みの回数 */
+    private long occurrences;
+    /** 次回の実行日時（終了・解約した定期振込ではnull） */
+    private Instant nextFireAt;
+    /** 定期振込ステータス (ACTIVE, COMPLETED, CANCELLED) */
+    private StandingOrder.Status status;
+    /** 楽観的ロック用のバージョン番号 */
+    private long version;
+}
@@ -0,0 +1,26 @@
+package com.example.banking.infrastructure.persistence;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 定期振込データの永続化を担うMyBatis Mapperインターフェース。
+ *
+ * @see TransferMapper
+ */
+@Mapper
+public interface StandingOrderMapper {
+    Optional<StandingOrderData> findById(@Param("id") UUID id);
+    Optional<StandingOrderData> findByIdForUpdate(@Param("id") UUID id);
+    void insert(StandingOrderData standingOrderData);
+    int update(StandingOrderData standingOrderData);
+    List<StandingOrderData> findDue(@Param("before") Instant before,
+                                    @Param("afterFireAt") Instant afterFireAt,
+                                    @Param("afterId") UUID afterId,
+                                    @Param("limit") int limit);
+}
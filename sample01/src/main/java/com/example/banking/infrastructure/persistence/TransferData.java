@@ -1,11 +1,13 @@
 package com.example.banking.infrastructure.persistence;
 
 import com.example.banking.domain.transfer.Transfer;
+import com.example.banking.domain.transfer.TransferPriority;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.UUID;
 
 /**
@@ -25,11 +27,21 @@ public class TransferData {
     /** 送金先口座ID (UUID) */
     private UUID destinationAccountId;
     /** 金額 */
-    private BigDecimal amount;
+    private BigDecimal moneyAmount;
     /** 通貨 */
-    private String currency;
+    private String moneyCurrency;
+    /** 振込手数料（金額と同じ通貨） */
+    private BigDecimal feeAmount;
     /** 振込ステータス (REQUESTED, COMPLETED, FAILED) */
-    private String status;
+    private Transfer.TransferStatus status;
+    /** 為替レート（同一通貨の振込ではnull） */
+    private BigDecimal exchangeRate;
+    /** 入金先の通貨（同一通貨の振込ではnull） */
+    private String creditCurrency;
+    /** 為替レートの有効期限（同一通貨の振込ではnull） */
+    private Instant rateExpiresAt;
+    /** 振込の優先度 (URGENT, NORMAL, BULK) */
+    private TransferPriority priority;
     /** 楽観的ロック用のバージョン番号 */
     private long version;
 } 
\ No newline at end of file
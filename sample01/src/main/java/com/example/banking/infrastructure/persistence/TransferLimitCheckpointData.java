@@ -0,0 +1,28 @@
+package com.example.banking.infrastructure.persistence;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * 振込上限の利用状況を永続化するためのデータ転送オブジェクト(DTO)。
+ * `transfer_limit_checkpoints`テーブルの1行（1口座分）に対応します。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferLimitCheckpointData {
+    private UUID accountId;
+    private long minuteStart;
+    private long minutePreviousCount;
+    private long minutePreviousAmount;
+    private long minuteCurrentCount;
+    private long minuteCurrentAmount;
+    private long dayStart;
+    private long dayPreviousCount;
+    private long dayPreviousAmount;
+    private long dayCurrentCount;
+    private long dayCurrentAmount;
+}
@@ -0,0 +1,20 @@
+package com.example.banking.infrastructure.persistence;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 振込上限の利用状況の永続化を担うMyBatis Mapperインターフェース。
+ *
+ * @see AccountMapper
+ */
+@Mapper
+public interface TransferLimitCheckpointMapper {
+    List<TransferLimitCheckpointData> findAll();
+    void insertAll(@Param("checkpoints") Collection<TransferLimitCheckpointData> checkpoints);
+    void deleteByAccountIds(@Param("accountIds") Collection<UUID> accountIds);
+}
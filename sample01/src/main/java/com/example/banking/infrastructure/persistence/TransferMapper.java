@@ -1,8 +1,10 @@
 package com.example.banking.infrastructure.persistence;
 
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -16,4 +18,7 @@ public interface TransferMapper {
     Optional<TransferData> findById(@Param("id") UUID id);
     void insert(TransferData transferData);
     int update(TransferData transferData);
+    long countByStatus(@Param("status") String status);
+    Cursor<AccountMovementData> scanMovements(@Param("accountId") UUID accountId, @Param("from") Instant from, @Param("to") Instant to);
+    long countMovements(@Param("accountId") UUID accountId, @Param("from") Instant from, @Param("to") Instant to);
 } 
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.example.banking.infrastructure.persistence;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * 元帳照合バッチで読み込む振込と、振込IDで記録された仕訳の種類ごとの合計。
+ *
+ * @see TransferData
+ */
+@Data
+@NoArgsConstructor
+public class TransferPostingsData {
+    private UUID id;
+    private String status;
+    private BigDecimal moneyAmount;
+    private String moneyCurrency;
+    private BigDecimal feeAmount;
+    private BigDecimal exchangeRate;
+    private String creditCurrency;
+    private Instant requestedAt;
+    private BigDecimal debited;
+    private BigDecimal credited;
+    private BigDecimal reversed;
+}
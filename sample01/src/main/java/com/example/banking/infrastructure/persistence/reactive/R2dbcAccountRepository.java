@@ -0,0 +1,140 @@
+package com.example.banking.infrastructure.persistence.reactive;
+
+import com.example.banking.application.reactive.ReactiveAccountRepository;
+import com.example.banking.domain.account.*;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Currency;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * ReactiveAccountRepositoryのR2DBCによる実装。
+ * SQLはMyBatis版（AccountMapper.xml）と同じものを、DatabaseClientでノンブロッキングに実行します。
+ *
+ * @see com.example.banking.infrastructure.persistence.MyBatisAccountRepository
+ */
+@Repository
+@Profile("reactive")
+@RequiredArgsConstructor
+public class R2dbcAccountRepository implements ReactiveAccountRepository {
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<Account> findById(AccountId id) {
+        return databaseClient.sql("SELECT id, account_number, customer_name, balance, held_balance, currency, version FROM accounts WHERE id = :id")
+                .bind("id", id.value())
+                .map(this::toDomain)
+                .one();
+    }
+
+    @Override
+    public Mono<Long> findVersionById(AccountId id) {
+        return databaseClient.sql("SELECT version FROM accounts WHERE id = :id")
+                .bind("id", id.value())
+                .map(row -> row.get("version", Long.class))
+                .one();
+    }
+
+    @Override
+    public Mono<Currency> findCurrencyById(AccountId id) {
+        return databaseClient.sql("SELECT currency FROM accounts WHERE id = :id")
+                .bind("id", id.value())
+                .map(row -> Currency.getInstance(row.get("currency", String.class)))
+                .one();
+    }
+
+    @Override
+    public Mono<Map<AccountId, Long>> findVersionsByIds(Collection<AccountId> ids) {
+        // 空のIN句は構文エラーとなるため、DBに問い合わせずに返す
+        if (ids.isEmpty()) {
+            return Mono.just(Map.of());
+        }
+        return databaseClient.sql("SELECT id, version FROM accounts WHERE id IN (:ids)")
+                .bind("ids", ids.stream().map(AccountId::value).toList())
+                .map(row -> Map.entry(new AccountId(row.get("id", UUID.class)), row.get("version", Long.class)))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    @Override
+    public Mono<Void> insert(Account account) {
+        return databaseClient.sql("""
+                        INSERT INTO accounts (id, account_number, customer_name, balance, currency, version)
+                        VALUES (:id, :accountNumber, :customerName, :balance, :currency, 0)
+                        """)
+                .bind("id", account.getId().value())
+                .bind("accountNumber", account.getAccountNumber().value())
+                .bind("customerName", account.getCustomerName().value())
+                .bind("balance", account.getBalance().amount())
+                .bind("currency", account.getBalance().currency().getCurrencyCode())
+                .fetch()
+                .rowsUpdated()
+                .then(Mono.defer(() -> insertEntries(account)));
+    }
+
+    @Override
+    public Mono<Void> update(Account account) {
+        return databaseClient.sql("UPDATE accounts SET balance = :balance, version = version + 1 WHERE id = :id AND version = :version")
+                .bind("balance", account.getBalance().amount())
+                .bind("id", account.getId().value())
+                .bind("version", account.getVersion())
+                .fetch()
+                .rowsUpdated()
+                .flatMap(updatedRows -> updatedRows == 0
+                        ? Mono.error(new OptimisticLockingFailureException("Account has been updated by another transaction: " + account.getId().value()))
+                        : insertEntries(account));
+    }
+
+    @Override
+    public Mono<AccountNumber> nextAccountNumber() {
+        return databaseClient.sql("SELECT CAST(nextval('account_number_seq') AS VARCHAR(20)) AS account_number")
+                .map(row -> row.get("account_number", String.class))
+                .one()
+                .map(AccountNumber::new);
+    }
+
+    /**
+     * 残高の変更で生成された仕訳を、残高の更新と同じトランザクションで追記する。
+     */
+    private Mono<Void> insertEntries(Account account) {
+        return Flux.fromIterable(account.pullPendingEntries())
+                .concatMap(entry -> {
+                    DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("""
+                                    INSERT INTO account_entries (account_id, entry_type, amount, currency, transfer_id)
+                                    VALUES (:accountId, :entryType, :amount, :currency, :transferId)
+                                    """)
+                            .bind("accountId", entry.accountId().value())
+                            .bind("entryType", entry.type().name())
+                            .bind("amount", entry.signedAmount())
+                            .bind("currency", entry.amount().currency().getCurrencyCode());
+                    spec = entry.transferId() == null
+                            ? spec.bindNull("transferId", UUID.class)
+                            : spec.bind("transferId", entry.transferId());
+                    return spec.fetch().rowsUpdated();
+                })
+                .then();
+    }
+
+    private Account toDomain(Readable row) {
+        Currency currency = Currency.getInstance(row.get("currency", String.class));
+        return Account.reconstitute(
+                new AccountId(row.get("id", UUID.class)),
+                new AccountNumber(row.get("account_number", String.class)),
+                new CustomerName(row.get("customer_name", String.class)),
+                new Money(row.get("balance", BigDecimal.class), currency),
+                new Money(row.get("held_balance", BigDecimal.class), currency),
+                row.get("version", Long.class)
+        );
+    }
+}
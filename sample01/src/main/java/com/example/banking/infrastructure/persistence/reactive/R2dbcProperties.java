@@ -0,0 +1,21 @@
+package com.example.banking.infrastructure.persistence.reactive;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * リアクティブ構成で使用するR2DBC接続の設定値。
+ *
+ * @param url R2DBCの接続URL（例: `r2dbc:postgresql://localhost:5432/bankdb`）
+ * @param username ユーザー名
+ * @param password パスワード
+ * @param maxPoolSize コネクションプールの最大接続数
+ */
+@ConfigurationProperties(prefix = "banking.reactive.r2dbc")
+public record R2dbcProperties(
+        String url,
+        String username,
+        String password,
+        @DefaultValue("20") int maxPoolSize
+) {
+}
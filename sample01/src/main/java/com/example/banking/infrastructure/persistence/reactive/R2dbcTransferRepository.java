@@ -0,0 +1,109 @@
+package com.example.banking.infrastructure.persistence.reactive;
+
+import com.example.banking.application.reactive.ReactiveTransferRepository;
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.Money;
+import com.example.banking.domain.fx.ExchangeRate;
+import com.example.banking.domain.transfer.Transfer;
+import com.example.banking.domain.transfer.TransferId;
+import com.example.banking.domain.transfer.TransferPriority;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Currency;
+import java.util.UUID;
+
+/**
+ * ReactiveTransferRepositoryのR2DBCによる実装。
+ *
+ * @see R2dbcAccountRepository
+ */
+@Repository
+@Profile("reactive")
+@RequiredArgsConstructor
+public class R2dbcTransferRepository implements ReactiveTransferRepository {
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<Transfer> findById(TransferId id) {
+        return databaseClient.sql("""
+                        SELECT id, source_account_id, destination_account_id, money_amount, fee_amount, money_currency, status,
+                               exchange_rate, credit_currency, rate_expires_at, priority, version
+                        FROM transfers WHERE id = :id
+                        """)
+                .bind("id", id.value())
+                .map(this::toDomain)
+                .one();
+    }
+
+    @Override
+    public Mono<Void> insert(Transfer transfer) {
+        ExchangeRate exchangeRate = transfer.getExchangeRate();
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("""
+                        INSERT INTO transfers (id, source_account_id, destination_account_id, money_amount, fee_amount, money_currency, status,
+                                               exchange_rate, credit_currency, rate_expires_at, priority, version)
+                        VALUES (:id, :sourceAccountId, :destinationAccountId, :moneyAmount, :feeAmount, :moneyCurrency, :status,
+                                :exchangeRate, :creditCurrency, :rateExpiresAt, :priority, 0)
+                        """)
+                .bind("id", transfer.getId().value())
+                .bind("sourceAccountId", transfer.getSourceAccountId().value())
+                .bind("destinationAccountId", transfer.getDestinationAccountId().value())
+                .bind("moneyAmount", transfer.getMoney().amount())
+                .bind("feeAmount", transfer.getFee().amount())
+                .bind("moneyCurrency", transfer.getMoney().currency().getCurrencyCode())
+                .bind("status", transfer.getStatus().name())
+                .bind("priority", transfer.getPriority().name());
+        // 同一通貨の振込では為替関連の列はNULLとなる（R2DBCではNULLを型付きで明示的にバインドする）
+        spec = exchangeRate == null
+                ? spec.bindNull("exchangeRate", BigDecimal.class)
+                        .bindNull("creditCurrency", String.class)
+                        .bindNull("rateExpiresAt", OffsetDateTime.class)
+                : spec.bind("exchangeRate", exchangeRate.rate())
+                        .bind("creditCurrency", exchangeRate.to().getCurrencyCode())
+                        .bind("rateExpiresAt", transfer.getRateExpiresAt().atOffset(ZoneOffset.UTC));
+        return spec
+                .fetch()
+                .rowsUpdated()
+                .then();
+    }
+
+    @Override
+    public Mono<Void> update(Transfer transfer) {
+        return databaseClient.sql("UPDATE transfers SET status = :status, version = version + 1 WHERE id = :id AND version = :version")
+                .bind("status", transfer.getStatus().name())
+                .bind("id", transfer.getId().value())
+                .bind("version", transfer.getVersion())
+                .fetch()
+                .rowsUpdated()
+                .flatMap(updatedRows -> updatedRows == 0
+                        ? Mono.error(new OptimisticLockingFailureException("Transfer has been updated by another transaction: " + transfer.getId().value()))
+                        : Mono.empty());
+    }
+
+    private Transfer toDomain(Readable row) {
+        Currency currency = Currency.getInstance(row.get("money_currency", String.class));
+        BigDecimal rate = row.get("exchange_rate", BigDecimal.class);
+        OffsetDateTime rateExpiresAt = row.get("rate_expires_at", OffsetDateTime.class);
+        return Transfer.reconstitute(
+                new TransferId(row.get("id", UUID.class)),
+                new AccountId(row.get("source_account_id", UUID.class)),
+                new AccountId(row.get("destination_account_id", UUID.class)),
+                new Money(row.get("money_amount", BigDecimal.class), currency),
+                new Money(row.get("fee_amount", BigDecimal.class), currency),
+                rate == null ? null : new ExchangeRate(currency, Currency.getInstance(row.get("credit_currency", String.class)), rate),
+                rateExpiresAt == null ? null : rateExpiresAt.toInstant(),
+                TransferPriority.valueOf(row.get("priority", String.class)),
+                Transfer.TransferStatus.valueOf(row.get("status", String.class)),
+                row.get("version", Long.class)
+        );
+    }
+}
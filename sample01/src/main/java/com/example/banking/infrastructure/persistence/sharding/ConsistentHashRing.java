@@ -0,0 +1,82 @@
+package com.example.banking.infrastructure.persistence.sharding;
+
+import com.example.banking.domain.account.AccountId;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * 口座IDをシャードに割り当てるコンシステントハッシュのリング。
+ *
+ * 各シャードをシャード名から決まる複数の位置（仮想ノード）としてリングに配置し、
+ * 口座IDのハッシュ値から時計回りに最初に見つかったシャードに口座を割り当てます。
+ * シャードを追加・削除しても、移動が必要な口座はそのシャードに割り当てられる（割り当てられていた）分だけで済みます。
+ * 位置はシャード名と口座IDのみから決まるため、どのインスタンスでも、再起動後も同じ割り当てになります。
+ */
+public final class ConsistentHashRing {
+
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+
+    /**
+     * @param shards リングに配置するシャード名
+     * @param virtualNodes 1シャードあたりの仮想ノード数
+     */
+    public ConsistentHashRing(List<String> shards, int virtualNodes) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard is required");
+        }
+        if (virtualNodes <= 0) {
+            throw new IllegalArgumentException("Virtual nodes must be positive: " + virtualNodes);
+        }
+        for (String shard : shards) {
+            for (int i = 0; i < virtualNodes; i++) {
+                String previous = ring.put(hash(shard + "#" + i), shard);
+                if (previous != null && !previous.equals(shard)) {
+                    // 64ビットのハッシュ値の衝突は現実的には起こらないが、起きた場合は割り当てが設定の順序に依存してしまう
+                    throw new IllegalStateException("Virtual nodes of " + previous + " and " + shard + " collide");
+                }
+            }
+        }
+    }
+
+    /**
+     * 口座を保持するシャードを返します。
+     *
+     * @param accountId 口座ID
+     * @return シャード名
+     */
+    public String shardOf(AccountId accountId) {
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash(accountId.value()));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    /**
+     * 口座IDはランダムなUUIDのため、上位・下位のビットを混ぜてリング全体に均等に分布させる。
+     */
+    private static long hash(UUID id) {
+        long h = id.getMostSignificantBits() ^ id.getLeastSignificantBits();
+        // MurmurHash3のfmix64
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.banking.infrastructure.persistence.sharding;
+
+import com.example.banking.domain.account.AccountId;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.defaults.DefaultSqlSession;
+import org.apache.ibatis.transaction.jdbc.JdbcTransaction;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * コンシステントハッシュで口座をシャードに割り当てるShardRouterの実装。
+ *
+ * 接続はLazyConnectionDataSourceProxyにより最初のSQLの実行時に取得されるため、
+ * それまでに{@link ShardContext}でシャードを指定すれば、トランザクションはそのシャードの接続を使用します。
+ * トランザクションが固定されたシャードはトランザクションのリソースとして記録し、
+ * 別のシャードへの更新を{@link CrossShardTransactionException}として検出します。
+ */
+public class ConsistentHashShardRouter implements ShardRouter {
+
+    private final ConsistentHashRing ring;
+    /** 走査の対象とするシャード（廃止予定のシャードを含む） */
+    private final List<String> shards;
+    private final Map<String, DataSource> dataSources;
+    private final SqlSessionFactory sqlSessionFactory;
+    private final TransactionTemplate outsideTransaction;
+    private final TransactionTemplate newTransaction;
+
+    public ConsistentHashShardRouter(ConsistentHashRing ring,
+                                     List<String> shards,
+                                     Map<String, DataSource> dataSources,
+                                     SqlSessionFactory sqlSessionFactory,
+                                     PlatformTransactionManager transactionManager) {
+        this.ring = ring;
+        this.shards = List.copyOf(shards);
+        this.dataSources = Map.copyOf(dataSources);
+        this.sqlSessionFactory = sqlSessionFactory;
+        this.outsideTransaction = new TransactionTemplate(transactionManager);
+        this.outsideTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_NOT_SUPPORTED);
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public boolean isSharded() {
+        return true;
+    }
+
+    @Override
+    public List<String> names() {
+        return shards;
+    }
+
+    @Override
+    public String shardOf(AccountId accountId) {
+        return ring.shardOf(accountId);
+    }
+
+    @Override
+    public <T> T write(String shard, Supplier<T> work) {
+        String bound = boundShard();
+        if (bound != null && !bound.equals(shard)) {
+            throw new CrossShardTransactionException(bound, shard);
+        }
+        bind(shard);
+        return ShardContext.call(shard, work);
+    }
+
+    @Override
+    public <T> T read(String shard, Supplier<T> work) {
+        String bound = boundShard();
+        if (bound != null && !bound.equals(shard)) {
+            return outside(shard, work);
+        }
+        bind(shard);
+        return ShardContext.call(shard, work);
+    }
+
+    @Override
+    public <T> T probe(String shard, Supplier<T> work) {
+        if (shard.equals(boundShard())) {
+            return ShardContext.call(shard, work);
+        }
+        return outside(shard, work);
+    }
+
+    @Override
+    public <T> T writeSeparately(String shard, Supplier<T> work) {
+        if (shard.equals(boundShard())) {
+            return ShardContext.call(shard, work);
+        }
+        return newTransaction.execute(status -> write(shard, work));
+    }
+
+    @Override
+    public SqlSession openSession(String shard) {
+        DataSource dataSource = dataSources.get(shard);
+        if (dataSource == null) {
+            throw new IllegalArgumentException("Unknown shard: " + shard);
+        }
+        try {
+            Connection connection = dataSource.getConnection();
+            try {
+                connection.setAutoCommit(false);
+                connection.setReadOnly(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+                Integer isolation = TransactionSynchronizationManager.getCurrentTransactionIsolationLevel();
+                if (isolation != null) {
+                    connection.setTransactionIsolation(isolation);
+                }
+                // SqlSessionFactory#openSession(Connection)はSpring管理のトランザクションを前提とするため使用できない。
+                // JdbcTransactionはSqlSessionのクローズ時に接続もクローズし、コネクションプールに返却する
+                Configuration configuration = sqlSessionFactory.getConfiguration();
+                Executor executor = configuration.newExecutor(new JdbcTransaction(connection), ExecutorType.SIMPLE);
+                return new DefaultSqlSession(configuration, executor, false);
+            } catch (SQLException | RuntimeException e) {
+                connection.close();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new CannotGetJdbcConnectionException("Failed to open a session on shard " + shard, e);
+        }
+    }
+
+    private <T> T outside(String shard, Supplier<T> work) {
+        return outsideTransaction.execute(status -> ShardContext.call(shard, work));
+    }
+
+    private String boundShard() {
+        return (String) TransactionSynchronizationManager.getResource(this);
+    }
+
+    /**
+     * 現在のトランザクションをシャードに固定します。
+     * 内側のトランザクション（REQUIRES_NEWなど）の実行中は固定を外し、終了後に戻します。
+     */
+    private void bind(String shard) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()
+                || boundShard() != null) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, shard);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void suspend() {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ConsistentHashShardRouter.this);
+            }
+
+            @Override
+            public void resume() {
+                TransactionSynchronizationManager.bindResource(ConsistentHashShardRouter.this, shard);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ConsistentHashShardRouter.this);
+            }
+        });
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.banking.infrastructure.persistence.sharding;
+
+/**
+ * 1つのトランザクションで複数のシャードを更新しようとした場合にスローされる例外。
+ * シャードをまたぐ更新は、振込Sagaのようにシャードごとのローカルトランザクションに分けて行う必要があります。
+ */
+public class CrossShardTransactionException extends IllegalStateException {
+
+    public CrossShardTransactionException(String boundShard, String requestedShard) {
+        super("Transaction is bound to shard " + boundShard + " and cannot write to shard " + requestedShard);
+    }
+}
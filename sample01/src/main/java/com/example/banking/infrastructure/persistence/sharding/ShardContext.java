@@ -0,0 +1,36 @@
+package com.example.banking.infrastructure.persistence.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * 現在のスレッドで接続を取得するシャード。
+ * {@link ShardRoutingDataSource}は、接続を取得する時点でこの値を参照して接続先を決めます。
+ */
+final class ShardContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    static String current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * シャードを指定して処理を実行し、終了後に元のシャードに戻します。
+     */
+    static <T> T call(String shard, Supplier<T> work) {
+        String previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
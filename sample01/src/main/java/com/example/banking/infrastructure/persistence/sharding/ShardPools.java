@@ -0,0 +1,19 @@
+package com.example.banking.infrastructure.persistence.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.util.Map;
+
+/**
+ * シャードごとのコネクションプール（シャード名の設定順）。
+ * 各プールはDataSourceのBeanとして登録しないため、アプリケーションの終了時にここでまとめて閉じます。
+ *
+ * @param pools シャード名とコネクションプール
+ */
+record ShardPools(Map<String, HikariDataSource> pools) implements AutoCloseable {
+
+    @Override
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.banking.infrastructure.persistence.sharding;
+
+import com.example.banking.domain.event.DomainEventPublisher;
+import com.example.banking.infrastructure.persistence.AccountMapper;
+import com.example.banking.infrastructure.persistence.ShardMigrationMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * `banking.sharding.rebalance.enabled`が有効な場合に、起動時に口座の再配置を実行するコンポーネント。
+ *
+ * シャードを追加・廃止した設定でメンテナンスのために一度だけ起動し、再配置の完了後は無効に戻して運用します。
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "banking.sharding", name = {"enabled", "rebalance.enabled"}, havingValue = "true")
+public class ShardRebalanceRunner implements ApplicationRunner {
+
+    private final ShardRebalancer rebalancer;
+    private final ShardingProperties properties;
+
+    public ShardRebalanceRunner(ShardRouter shardRouter, AccountMapper accountMapper,
+                                ShardMigrationMapper migrationMapper, DomainEventPublisher domainEventPublisher,
+                                ShardingProperties properties) {
+        this.rebalancer = new ShardRebalancer(shardRouter, accountMapper, migrationMapper, domainEventPublisher);
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        boolean dryRun = properties.rebalance().dryRun();
+        log.info("Rebalancing accounts across shards{}", dryRun ? " (dry run)" : "");
+        Map<String, Long> moved = rebalancer.rebalance(dryRun);
+        log.info("Rebalance finished{}: {} accounts {} by source shard {}",
+                dryRun ? " (dry run)" : "",
+                moved.values().stream().mapToLong(Long::longValue).sum(),
+                dryRun ? "to move" : "moved",
+                moved);
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.banking.infrastructure.persistence.sharding;
+
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.event.AccountRelocated;
+import com.example.banking.domain.event.DomainEventPublisher;
+import com.example.banking.infrastructure.persistence.AccountMapper;
+import com.example.banking.infrastructure.persistence.ShardMigrationMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * シャードの追加・廃止の後に、割り当てが変わった口座を現在のリングが指すシャードへ移す再配置ツール。
+ *
+ * 口座ごとに、口座・仕訳・振込元としての振込と定期振込・与信・振込上限のチェックポイントを移動先のシャードへ1つのトランザクションでコピーし、
+ * コミットしてから移動元のシャードで削除します。2つのシャードにまたがるため全体はアトミックではありませんが、
+ * 移動先に口座が既にあればコピーを省いて削除だけを行うため、途中で失敗しても再実行すれば完了します。
+ *
+ * 移動元での削除がコミットされた口座ごとに{@link AccountRelocated}を発行します。
+ *
+ * 再配置中の口座への取引は移動先と移動元のどちらにも記録されうるため、オンライン取引とバッチを止めてから実行してください。
+ */
+@Slf4j
+public class ShardRebalancer {
+
+    /**
+     * 口座とともに移すテーブルと、口座IDを保持する列。挿入はこの順に、削除は逆順に行う（外部キーの順序）。
+     */
+    private static final List<Table> TABLES = List.of(
+            new Table("accounts", "id"),
+            new Table("account_entries", "account_id"),
+            new Table("transfers", "source_account_id"),
+            new Table("standing_orders", "source_account_id"),
+            new Table("holds", "account_id"),
+            new Table("transfer_limit_checkpoints", "account_id"));
+
+    private final ShardRouter shardRouter;
+    private final AccountMapper accountMapper;
+    private final ShardMigrationMapper migrationMapper;
+    private final DomainEventPublisher domainEventPublisher;
+
+    public ShardRebalancer(ShardRouter shardRouter, AccountMapper accountMapper, ShardMigrationMapper migrationMapper,
+                           DomainEventPublisher domainEventPublisher) {
+        this.shardRouter = shardRouter;
+        this.accountMapper = accountMapper;
+        this.migrationMapper = migrationMapper;
+        this.domainEventPublisher = domainEventPublisher;
+    }
+
+    /**
+     * 全シャード（廃止予定のシャードを含む）を走査し、割り当てと異なるシャードにある口座を移します。
+     *
+     * @param dryRun trueの場合は移す口座を数えるだけで、データを変更しない
+     * @return シャードごとの、移した（dryRunの場合は移す必要のある）口座数
+     */
+    public Map<String, Long> rebalance(boolean dryRun) {
+        Map<String, Long> moved = new LinkedHashMap<>();
+        for (String shard : shardRouter.names()) {
+            List<AccountId> misplaced = findMisplaced(shard);
+            log.info("Shard {}: {} accounts belong to other shards", shard, misplaced.size());
+            if (!dryRun) {
+                for (AccountId accountId : misplaced) {
+                    move(accountId, shard, shardRouter.shardOf(accountId));
+                }
+            }
+            moved.put(shard, (long) misplaced.size());
+        }
+        return moved;
+    }
+
+    /**
+     * 口座を移動元のシャードから移動先のシャードへ移します。
+     */
+    void move(AccountId accountId, String from, String to) {
+        UUID id = accountId.value();
+        Map<Table, List<Map<String, Object>>> rows = new LinkedHashMap<>();
+        for (Table table : TABLES) {
+            rows.put(table, shardRouter.probe(from, () -> migrationMapper.findRows(table.name(), table.column(), id)));
+        }
+        shardRouter.writeSeparately(to, () -> {
+            if (!migrationMapper.findRows("accounts", "id", id).isEmpty()) {
+                // 前回の実行でコピーをコミットした後に失敗した口座は、移動元の削除だけを行う
+                log.info("Account {} already exists on shard {}, deleting the copy on shard {}", id, to, from);
+                return null;
+            }
+            rows.forEach((table, tableRows) -> tableRows.forEach(row -> migrationMapper.insertRow(table.name(), table.copyOf(row))));
+            return null;
+        });
+        shardRouter.writeSeparately(from, () -> {
+            for (int i = TABLES.size() - 1; i >= 0; i--) {
+                migrationMapper.deleteRows(TABLES.get(i).name(), TABLES.get(i).column(), id);
+            }
+            domainEventPublisher.publish(List.of(AccountRelocated.of(accountId, from, to)));
+            return null;
+        });
+        log.debug("Moved account {} from shard {} to shard {}", id, from, to);
+    }
+
+    private List<AccountId> findMisplaced(String shard) {
+        // 走査中に削除しないよう、移す口座のIDを先に集める（割り当てが変わるのは一部の口座のみ）
+        List<AccountId> misplaced = new ArrayList<>();
+        shardRouter.probe(shard, () -> {
+            accountMapper.scanAllIds(context -> {
+                AccountId accountId = new AccountId(UUID.fromString(context.getResultObject()));
+                if (!shardRouter.shardOf(accountId).equals(shard)) {
+                    misplaced.add(accountId);
+                }
+            });
+            return null;
+        });
+        return misplaced;
+    }
+
+    /**
+     * 口座とともに移すテーブル。
+     *
+     * @param name テーブル名
+     * @param column 口座IDを保持する列
+     */
+    private record Table(String name, String column) {
+
+        /**
+         * 挿入する行を返します。仕訳のIDは自動採番のため、移動先のシャードで採番し直します。
+         */
+        Map<String, Object> copyOf(Map<String, Object> row) {
+            Map<String, Object> copy = new LinkedHashMap<>(row);
+            if (name.equals("account_entries")) {
+                copy.keySet().removeIf(column -> column.equalsIgnoreCase("id"));
+            }
+            return copy;
+        }
+    }
+}
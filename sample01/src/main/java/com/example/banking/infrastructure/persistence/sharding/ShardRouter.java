@@ -0,0 +1,86 @@
+package com.example.banking.infrastructure.persistence.sharding;
+
+import com.example.banking.application.service.DatabaseShards;
+import com.example.banking.domain.account.AccountId;
+import org.apache.ibatis.session.SqlSession;
+
+import java.util.function.Supplier;
+
+/**
+ * リポジトリがSQLを実行するシャードを決めるためのインターフェース。
+ *
+ * 口座とその仕訳・振込上限は口座のシャードに、振込は振込元口座のシャードに保持します。
+ * トランザクションは最初にSQLを実行したシャードに固定され、1つのトランザクションで更新できるのは1つのシャードのみです。
+ * 他のシャードの参照は、トランザクションの外（自動コミット）で行います。
+ */
+public interface ShardRouter extends DatabaseShards {
+
+    /**
+     * 複数のシャードに分割されているかどうかを返します。
+     */
+    boolean isSharded();
+
+    /**
+     * 口座を保持するシャードを返します。
+     *
+     * @param accountId 口座ID
+     * @return シャード名
+     */
+    String shardOf(AccountId accountId);
+
+    /**
+     * シャードを更新する処理を、現在のトランザクションで実行します。
+     *
+     * @param shard シャード名
+     * @param work 実行する処理
+     * @return 処理の結果
+     * @throws CrossShardTransactionException 現在のトランザクションが別のシャードに固定されている場合
+     */
+    <T> T write(String shard, Supplier<T> work);
+
+    /**
+     * シャードを参照する処理を実行します。
+     * 現在のトランザクションがまだシャードに固定されていなければ、このシャードに固定して実行し、
+     * 別のシャードに固定されている場合はトランザクションの外で実行します。
+     *
+     * @param shard シャード名
+     * @param work 実行する処理
+     * @return 処理の結果
+     */
+    <T> T read(String shard, Supplier<T> work);
+
+    /**
+     * シャードを横断して探す場合など、現在のトランザクションを固定せずにシャードを参照します。
+     * 現在のトランザクションがこのシャードに固定されている場合はトランザクション内で、それ以外はトランザクションの外で実行します。
+     *
+     * @param shard シャード名
+     * @param work 実行する処理
+     * @return 処理の結果
+     */
+    <T> T probe(String shard, Supplier<T> work);
+
+    /**
+     * 複数のシャードにまたがる更新を、シャードごとに分けて実行します。
+     * 現在のトランザクションがこのシャードに固定されている場合はトランザクション内で、それ以外は新しいトランザクションで実行します。
+     *
+     * @param shard シャード名
+     * @param work 実行する処理
+     * @return 処理の結果
+     */
+    <T> T writeSeparately(String shard, Supplier<T> work);
+
+    /**
+     * シャードの専用の接続でSqlSessionを開きます。
+     * 複数のシャードのカーソルを同時に読み進める場合に使用し、使い終わったら必ずクローズしてください。
+     * 現在のトランザクションの読み取り専用属性と分離レベルを引き継ぎます。
+     *
+     * @param shard シャード名
+     * @return 自動コミットを無効にしたSqlSession
+     */
+    SqlSession openSession(String shard);
+
+    @Override
+    default <T> T callOn(String shard, Supplier<T> work) {
+        return write(shard, work);
+    }
+}
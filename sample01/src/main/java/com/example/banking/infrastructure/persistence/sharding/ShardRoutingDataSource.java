@@ -0,0 +1,26 @@
+package com.example.banking.infrastructure.persistence.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * {@link ShardContext}で指定されたシャードの接続を取得するデータソース。
+ * シャードが指定されていない場合（スキーマの初期化やヘルスチェックなど）は、既定のシャードの接続を取得します。
+ */
+class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    ShardRoutingDataSource(Map<String, DataSource> shards, DataSource defaultShard) {
+        setTargetDataSources(Map.copyOf(shards));
+        setDefaultTargetDataSource(defaultShard);
+        // 未知のシャード名を既定のシャードで代替すると、別のシャードに書き込んでしまう
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContext.current();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.banking.infrastructure.persistence.sharding;
+
+import com.example.banking.infrastructure.persistence.ReadReplicaProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 口座IDによる水平分割（`banking.sharding.enabled`）の設定。
+ *
+ * シャードごとのコネクションプールを{@link ShardRoutingDataSource}で束ね、LazyConnectionDataSourceProxyで包んだものを
+ * アプリケーションのDataSourceとします。MyBatisとトランザクションマネージャはこの1つのDataSourceを使い、
+ * 接続先のシャードは{@link ShardRouter}が最初のSQLの実行までに決めます。
+ * 既定のシャード（スキーマの初期化やヘルスチェックの接続先）は、設定の最初のシャードです。
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "banking.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean
+    ShardPools shardPools(ShardingProperties properties, ReadReplicaProperties readReplicaProperties, MeterRegistry meterRegistry) {
+        if (readReplicaProperties.enabled()) {
+            // どちらもアプリケーションのDataSourceを置き換えるため、併用できない
+            throw new IllegalStateException("banking.sharding and banking.datasource.read-replicas cannot be enabled together");
+        }
+        if (properties.shards().isEmpty()) {
+            throw new IllegalStateException("banking.sharding.shards must not be empty");
+        }
+        Map<String, HikariDataSource> pools = new LinkedHashMap<>();
+        for (ShardingProperties.Shard shard : properties.shards()) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("shard-" + shard.name());
+            pool.setJdbcUrl(shard.url());
+            pool.setUsername(shard.username());
+            pool.setPassword(shard.password());
+            pool.setMaximumPoolSize(shard.maximumPoolSize());
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            if (pools.put(shard.name(), pool) != null) {
+                throw new IllegalStateException("Duplicate shard name: " + shard.name());
+            }
+            if (properties.initializeSchema()) {
+                DatabasePopulatorUtils.execute(new ResourceDatabasePopulator(new ClassPathResource("schema.sql")), pool);
+            }
+        }
+        return new ShardPools(pools);
+    }
+
+    @Bean
+    public DataSource dataSource(ShardPools shardPools) {
+        Map<String, DataSource> shards = new LinkedHashMap<>(shardPools.pools());
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy();
+        // 既定値を問い合わせるために、シャードを決める前に接続を取得しないようにする
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        proxy.setTargetDataSource(new ShardRoutingDataSource(shards, shards.values().iterator().next()));
+        return proxy;
+    }
+
+    @Bean
+    public ShardRouter shardRouter(ShardingProperties properties,
+                                   ShardPools shardPools,
+                                   SqlSessionFactory sqlSessionFactory,
+                                   PlatformTransactionManager transactionManager) {
+        List<String> active = properties.shards().stream()
+                .filter(shard -> !shard.retired())
+                .map(ShardingProperties.Shard::name)
+                .toList();
+        List<String> all = properties.shards().stream()
+                .map(ShardingProperties.Shard::name)
+                .toList();
+        return new ConsistentHashShardRouter(
+                new ConsistentHashRing(active, properties.virtualNodes()),
+                all,
+                Map.copyOf(shardPools.pools()),
+                sqlSessionFactory,
+                transactionManager);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.banking.infrastructure.persistence.sharding;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * 口座IDによる水平分割（シャーディング）の設定値。
+ *
+ * @param enabled シャーディングを行うかどうか。無効の場合はSpring Bootの自動設定による単一のデータソースを使用する
+ * @param virtualNodes 1シャードあたりのコンシステントハッシュのリング上の仮想ノード数。多いほど口座が均等に分散する
+ * @param initializeSchema 起動時に各シャードへ`schema.sql`を適用するかどうか（ローカル環境のH2などで使用する）
+ * @param shards シャードの接続先
+ * @param rebalance 起動時に口座を再配置する設定
+ */
+@ConfigurationProperties(prefix = "banking.sharding")
+public record ShardingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("128") int virtualNodes,
+        @DefaultValue("false") boolean initializeSchema,
+        @DefaultValue List<Shard> shards,
+        @DefaultValue Rebalance rebalance
+) {
+
+    /**
+     * シャード1つの接続先。
+     *
+     * @param name シャードの名前。リング上の位置はこの名前から決まるため、運用中に変更しないこと
+     * @param url JDBC URL
+     * @param username ユーザー名
+     * @param password パスワード
+     * @param maximumPoolSize コネクションプールの最大サイズ
+     * @param retired 廃止するシャード。リングから外して新しい口座を配置せず、再配置ツールで口座を他のシャードへ移す
+     */
+    public record Shard(
+            String name,
+            String url,
+            String username,
+            String password,
+            @DefaultValue("10") int maximumPoolSize,
+            @DefaultValue("false") boolean retired
+    ) {
+    }
+
+    /**
+     * 口座の再配置ツール（{@link ShardRebalancer}）の設定。
+     *
+     * @param enabled 起動時に再配置を実行するかどうか
+     * @param dryRun 移す口座を数えるだけで、データを変更しないかどうか
+     */
+    public record Rebalance(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("false") boolean dryRun
+    ) {
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.banking.infrastructure.persistence.sharding;
+
+import com.example.banking.domain.account.AccountId;
+import org.apache.ibatis.session.SqlSession;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 単一データベース構成におけるShardRouterの実装。
+ * すべての口座と振込は1つのデータベースに保持されるため、いずれの処理も現在のトランザクションでそのまま実行します。
+ */
+@Component
+@ConditionalOnProperty(prefix = "banking.sharding", name = "enabled", havingValue = "false", matchIfMissing = true)
+public class SingleDatabaseShardRouter implements ShardRouter {
+
+    static final String SHARD = "default";
+
+    @Override
+    public boolean isSharded() {
+        return false;
+    }
+
+    @Override
+    public List<String> names() {
+        return List.of(SHARD);
+    }
+
+    @Override
+    public String shardOf(AccountId accountId) {
+        return SHARD;
+    }
+
+    @Override
+    public <T> T write(String shard, Supplier<T> work) {
+        return work.get();
+    }
+
+    @Override
+    public <T> T read(String shard, Supplier<T> work) {
+        return work.get();
+    }
+
+    @Override
+    public <T> T probe(String shard, Supplier<T> work) {
+        return work.get();
+    }
+
+    @Override
+    public <T> T writeSeparately(String shard, Supplier<T> work) {
+        return work.get();
+    }
+
+    @Override
+    public SqlSession openSession(String shard) {
+        throw new UnsupportedOperationException("A single database is read through the transaction's own session");
+    }
+}
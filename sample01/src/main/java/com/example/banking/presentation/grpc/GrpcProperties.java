@@ -0,0 +1,31 @@
+package com.example.banking.presentation.grpc;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * gRPCの振込受付サービスの設定値。
+ *
+ * @param enabled gRPCのサーバを起動するかどうか
+ * @param port 待ち受けるポート。0の場合は空いているポートを使用する
+ * @param inProcessName 指定した場合は、ポートを開かずにこの名前のインプロセスサーバとして起動する（テスト用）
+ * @param maxSagaBacklog 実行を待っているSagaがこの数以上の間は、ストリームからの受信を止める
+ * @param maxPendingPerStream 1本のストリームで、受け付けて結果が確定していない振込の上限。これに達すると受信を止める
+ * @param prefetch 1本のストリームで、処理する前に受信しておくメッセージの数
+ * @param backlogRecheckInterval 受信を止めたストリームについて、Sagaの滞留が解消したかを確認する間隔
+ * @param shutdownTimeout 停止時に、処理中の呼び出しの終了を待つ時間
+ */
+@ConfigurationProperties(prefix = "banking.grpc")
+public record GrpcProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("9090") int port,
+        String inProcessName,
+        @DefaultValue("2000") int maxSagaBacklog,
+        @DefaultValue("1000") int maxPendingPerStream,
+        @DefaultValue("32") int prefetch,
+        @DefaultValue("PT0.2S") Duration backlogRecheckInterval,
+        @DefaultValue("PT10S") Duration shutdownTimeout
+) {
+}
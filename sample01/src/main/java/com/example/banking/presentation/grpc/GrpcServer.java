@@ -0,0 +1,89 @@
+package com.example.banking.presentation.grpc;
+
+import io.grpc.BindableService;
+import io.grpc.Grpc;
+import io.grpc.InsecureServerCredentials;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * gRPCのサービスを公開するサーバ。
+ *
+ * アプリケーションの起動時にサーバを開始し、停止時には新しい呼び出しの受け付けを止めてから、
+ * 処理中の呼び出しの終了を{@code shutdownTimeout}まで待ちます。
+ * {@code inProcessName}を指定した場合はポートを開かず、同じJVMからインプロセスのチャネルで接続できます。
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "banking.grpc", name = "enabled", havingValue = "true")
+public class GrpcServer implements SmartLifecycle {
+
+    private final GrpcProperties properties;
+    private final List<BindableService> services;
+    private volatile Server server;
+
+    public GrpcServer(GrpcProperties properties, List<BindableService> services) {
+        this.properties = properties;
+        this.services = services;
+    }
+
+    @Override
+    public void start() {
+        ServerBuilder<?> builder = properties.inProcessName() == null
+                ? Grpc.newServerBuilderForPort(properties.port(), InsecureServerCredentials.create())
+                : InProcessServerBuilder.forName(properties.inProcessName());
+        services.forEach(builder::addService);
+        try {
+            server = builder.build().start();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to start gRPC server on port " + properties.port(), e);
+        }
+        if (properties.inProcessName() == null) {
+            log.info("gRPC server started on port {}", server.getPort());
+        } else {
+            log.info("gRPC in-process server started: {}", properties.inProcessName());
+        }
+    }
+
+    @Override
+    public void stop() {
+        Server current = server;
+        if (current == null) {
+            return;
+        }
+        current.shutdown();
+        try {
+            if (!current.awaitTermination(properties.shutdownTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                current.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            current.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        server = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * 待ち受けているポートを返します。{@code port}に0を指定した場合に、実際に割り当てられたポートを確認するために使用します。
+     * インプロセスサーバの場合は-1を返します。
+     */
+    public int getPort() {
+        return server.getPort();
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.banking.presentation.grpc;
+
+import com.example.banking.presentation.grpc.v1.Decimal;
+import com.google.protobuf.ByteString;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * gRPCのメッセージとドメインの値の変換。
+ * UUIDは16バイトのバイト列、金額はスケール付き整数（{@link Decimal}）で表します。
+ */
+final class GrpcValues {
+
+    private static final int UUID_BYTES = 16;
+
+    private GrpcValues() {
+    }
+
+    /**
+     * 16バイトのバイト列をUUIDに変換します。
+     *
+     * @throws IllegalArgumentException バイト列の長さが16バイトでない場合
+     */
+    static UUID toUuid(ByteString bytes) {
+        if (bytes.size() != UUID_BYTES) {
+            throw new IllegalArgumentException("UUID must be " + UUID_BYTES + " bytes: " + bytes.size());
+        }
+        ByteBuffer buffer = bytes.asReadOnlyByteBuffer();
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    static ByteString toBytes(UUID uuid) {
+        ByteBuffer buffer = ByteBuffer.allocate(UUID_BYTES);
+        buffer.putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+        buffer.flip();
+        return ByteString.copyFrom(buffer);
+    }
+
+    static BigDecimal toBigDecimal(Decimal decimal) {
+        return BigDecimal.valueOf(decimal.getUnscaledValue(), decimal.getScale());
+    }
+
+    /**
+     * 金額をスケール付き整数に変換します。
+     *
+     * @throws ArithmeticException 仮数がlongに収まらない場合
+     */
+    static Decimal toDecimal(BigDecimal value) {
+        return Decimal.newBuilder()
+                .setUnscaledValue(value.unscaledValue().longValueExact())
+                .setScale(value.scale())
+                .build();
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.banking.presentation.grpc;
+
+import com.example.banking.domain.transfer.Transfer;
+import com.example.banking.domain.transfer.TransferId;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * ストリームで受け付けた振込と、Sagaで確定したその結果を結び付ける。
+ *
+ * Sagaは振込を受け付けたトランザクションのコミット直後に実行されることがあり、
+ * 受け付けたストリームが結果を待ち始める前に結果が確定する場合があります。
+ * 待っている振込がない結果は直近の一定数だけ保持し、後から待ち始めたストリームに渡します。
+ *
+ * このクラスはスレッドセーフです。
+ */
+final class TransferOutcomeRegistry {
+
+    private final Map<TransferId, Consumer<Transfer.TransferStatus>> waiting = new HashMap<>();
+    /** 待っているストリームがないまま確定した結果（古いものから捨てる） */
+    private final Map<TransferId, Transfer.TransferStatus> unclaimed;
+
+    /**
+     * @param unclaimedCapacity 待っているストリームがない結果を保持する件数
+     */
+    TransferOutcomeRegistry(int unclaimedCapacity) {
+        this.unclaimed = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TransferId, Transfer.TransferStatus> eldest) {
+                return size() > unclaimedCapacity;
+            }
+        };
+    }
+
+    /**
+     * 振込の結果を待ちます。結果がすでに確定している場合は、呼び出し元のスレッドで直ちに通知します。
+     *
+     * @param transferId 振込ID
+     * @param listener 結果を受け取るリスナー。Sagaを実行したスレッドから呼び出される
+     */
+    void await(TransferId transferId, Consumer<Transfer.TransferStatus> listener) {
+        Transfer.TransferStatus status;
+        synchronized (this) {
+            status = unclaimed.remove(transferId);
+            if (status == null) {
+                waiting.put(transferId, listener);
+                return;
+            }
+        }
+        listener.accept(status);
+    }
+
+    /**
+     * 振込の結果を、待っているリスナーに通知します。
+     *
+     * @param transferId 振込ID
+     * @param status 確定した振込の状態
+     */
+    void settle(TransferId transferId, Transfer.TransferStatus status) {
+        Consumer<Transfer.TransferStatus> listener;
+        synchronized (this) {
+            listener = waiting.remove(transferId);
+            if (listener == null) {
+                unclaimed.put(transferId, status);
+                return;
+            }
+        }
+        listener.accept(status);
+    }
+
+    /**
+     * 振込の結果を待つのをやめます。ストリームが閉じられた場合に使用します。
+     */
+    synchronized void cancel(TransferId transferId) {
+        waiting.remove(transferId);
+    }
+}
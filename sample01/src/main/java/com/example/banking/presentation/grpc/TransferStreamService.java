@@ -0,0 +1,355 @@
+package com.example.banking.presentation.grpc;
+
+import com.example.banking.application.fx.FxQuoteExpiredException;
+import com.example.banking.application.fx.FxRateUnavailableException;
+import com.example.banking.application.limit.TransferLimitExceededException;
+import com.example.banking.application.saga.TransferSagaDispatcher;
+import com.example.banking.application.saga.TransferSettledEvent;
+import com.example.banking.application.service.GetAccountQuery;
+import com.example.banking.application.service.RequestTransferUseCase;
+import com.example.banking.application.service.TransferCommand;
+import com.example.banking.domain.account.Account;
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.AccountNotFoundException;
+import com.example.banking.domain.account.Money;
+import com.example.banking.domain.fx.FxQuoteId;
+import com.example.banking.domain.transfer.Transfer;
+import com.example.banking.domain.transfer.TransferChannel;
+import com.example.banking.domain.transfer.TransferId;
+import com.example.banking.domain.transfer.TransferPriority;
+import com.example.banking.presentation.grpc.v1.AccountDetails;
+import com.example.banking.presentation.grpc.v1.GetAccountRequest;
+import com.example.banking.presentation.grpc.v1.RejectionReason;
+import com.example.banking.presentation.grpc.v1.SubmitTransferRequest;
+import com.example.banking.presentation.grpc.v1.TransferStreamGrpc;
+import com.example.banking.presentation.grpc.v1.TransferUpdate;
+import com.google.protobuf.ByteString;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 内部の決済ハブ向けに、振込を1本の双方向ストリームで連続して受け付けるgRPCサービス。
+ *
+ * 振込1件ごとにHTTPリクエストを送る代わりに、クライアントはストリームに振込を送り続け、
+ * 同じストリームで受け付けの結果（ACCEPTED・REJECTED）と、Sagaで確定した結果（COMPLETED・FAILED）を受け取ります。
+ * 応答には、送信時にクライアントが指定した番号（correlation_id）が設定されます。
+ *
+ * 受信はgRPCのフロー制御で調整します。自動での受信要求を無効にし、次の条件をすべて満たす間だけ次のメッセージを要求します。
+ * - 実行を待っているSagaの数（{@link TransferSagaDispatcher#backlog()}）が{@code maxSagaBacklog}未満
+ * - このストリームで結果を待っている振込が{@code maxPendingPerStream}未満
+ * - クライアントが応答を読み込んでいる（送信バッファに空きがある）
+ * 受信を止めるとHTTP/2のウィンドウが埋まり、クライアント側の送信（isReady）が止まります。
+ * 受信を止めた時点で要求済みのメッセージ（最大{@code prefetch}件）は処理するため、上限はその分だけ超えることがあります。
+ *
+ * クライアントが送信を終えた後も、結果を待っている振込がすべて確定するまでストリームは閉じません。
+ */
+@Slf4j
+@Component
+@Profile("!reactive")
+@ConditionalOnProperty(prefix = "banking.grpc", name = "enabled", havingValue = "true")
+public class TransferStreamService extends TransferStreamGrpc.TransferStreamImplBase {
+
+    /** 受け付けたストリームが待ち始める前に確定した結果を保持する件数 */
+    private static final int UNCLAIMED_OUTCOMES = 4096;
+
+    private final RequestTransferUseCase requestTransferUseCase;
+    private final GetAccountQuery getAccountQuery;
+    private final TransferSagaDispatcher sagaDispatcher;
+    private final GrpcProperties properties;
+    private final TransferOutcomeRegistry outcomes = new TransferOutcomeRegistry(UNCLAIMED_OUTCOMES);
+    private final Set<SubmissionStream> streams = ConcurrentHashMap.newKeySet();
+    private final Counter accepted;
+    private final Counter rejected;
+    private final Counter pauses;
+
+    public TransferStreamService(RequestTransferUseCase requestTransferUseCase, GetAccountQuery getAccountQuery,
+                                 TransferSagaDispatcher sagaDispatcher, GrpcProperties properties, MeterRegistry meterRegistry) {
+        this.requestTransferUseCase = requestTransferUseCase;
+        this.getAccountQuery = getAccountQuery;
+        this.sagaDispatcher = sagaDispatcher;
+        this.properties = properties;
+        Gauge.builder("banking.grpc.streams", streams, Set::size)
+                .description("Open gRPC transfer submission streams")
+                .register(meterRegistry);
+        this.accepted = Counter.builder("banking.grpc.transfers")
+                .description("Transfers submitted over gRPC streams")
+                .tag("result", "accepted")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("banking.grpc.transfers")
+                .description("Transfers submitted over gRPC streams")
+                .tag("result", "rejected")
+                .register(meterRegistry);
+        this.pauses = Counter.builder("banking.grpc.backpressure.pauses")
+                .description("Times a gRPC stream stopped reading because of the saga backlog or a slow client")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public StreamObserver<SubmitTransferRequest> submitTransfers(StreamObserver<TransferUpdate> responseObserver) {
+        ServerCallStreamObserver<TransferUpdate> responses = (ServerCallStreamObserver<TransferUpdate>) responseObserver;
+        // 受信はSagaの滞留に応じてpull()で要求する
+        responses.disableAutoRequest();
+        SubmissionStream stream = new SubmissionStream(responses);
+        streams.add(stream);
+        // 呼び出しの開始時と、クライアントが応答を読み込んで送信バッファに空きができたときに受信を再開する
+        responses.setOnReadyHandler(stream::pull);
+        responses.setOnCancelHandler(stream::close);
+        return stream;
+    }
+
+    @Override
+    public void getAccount(GetAccountRequest request, StreamObserver<AccountDetails> responseObserver) {
+        AccountId accountId;
+        try {
+            accountId = new AccountId(GrpcValues.toUuid(request.getAccountId()));
+        } catch (IllegalArgumentException e) {
+            responseObserver.onError(Status.INVALID_ARGUMENT.withDescription(e.getMessage()).asRuntimeException());
+            return;
+        }
+        Optional<Account> account = getAccountQuery.getAccountDetails(accountId);
+        if (account.isEmpty()) {
+            responseObserver.onError(Status.NOT_FOUND
+                    .withDescription("Account not found: " + accountId.value()).asRuntimeException());
+            return;
+        }
+        responseObserver.onNext(toAccountDetails(account.get()));
+        responseObserver.onCompleted();
+    }
+
+    /**
+     * Sagaで確定した振込の結果を、その振込を受け付けたストリームに通知します。
+     * Sagaが1件終わるとSagaの滞留が減るため、受信を止めているストリームの再開も試みます。
+     *
+     * @param event 振込の結果が確定したことを示すイベント
+     */
+    @EventListener
+    public void onTransferSettled(TransferSettledEvent event) {
+        outcomes.settle(event.getTransferId(), event.getStatus());
+        resumeStreams();
+    }
+
+    /**
+     * 受信を止めているストリームについて、受信を再開できるかを確認します。
+     * Sagaが結果を確定せずに中断した場合にも滞留の解消を取りこぼさないよう、定期的にも確認します。
+     */
+    @Scheduled(fixedDelayString = "${banking.grpc.backlog-recheck-interval:PT0.2S}")
+    public void resumeStreams() {
+        streams.forEach(SubmissionStream::pull);
+    }
+
+    private boolean sagaBacklogFull() {
+        return sagaDispatcher.backlog() >= properties.maxSagaBacklog();
+    }
+
+    private static AccountDetails toAccountDetails(Account account) {
+        return AccountDetails.newBuilder()
+                .setAccountId(GrpcValues.toBytes(account.getId().value()))
+                .setAccountNumber(account.getAccountNumber().value())
+                .setCustomerName(account.getCustomerName().value())
+                .setBalance(GrpcValues.toDecimal(account.getBalance().amount()))
+                .setHeldBalance(GrpcValues.toDecimal(account.getHeldBalance().amount()))
+                .setAvailableBalance(GrpcValues.toDecimal(account.getAvailableBalance().amount()))
+                .setCurrency(account.getBalance().currency().getCurrencyCode())
+                .build();
+    }
+
+    private static TransferPriority toPriority(com.example.banking.presentation.grpc.v1.TransferPriority priority) {
+        return switch (priority) {
+            case TRANSFER_PRIORITY_URGENT -> TransferPriority.URGENT;
+            case TRANSFER_PRIORITY_UNSPECIFIED, TRANSFER_PRIORITY_NORMAL -> TransferPriority.NORMAL;
+            case TRANSFER_PRIORITY_BULK -> TransferPriority.BULK;
+            case UNRECOGNIZED -> throw new IllegalArgumentException("Unknown transfer priority.");
+        };
+    }
+
+    private static Money toMoney(SubmitTransferRequest request) {
+        BigDecimal amount = GrpcValues.toBigDecimal(request.getAmount());
+        if (amount.signum() <= 0) {
+            throw new IllegalArgumentException("Amount must be positive.");
+        }
+        return new Money(amount, request.getCurrency().isEmpty() ? Money.JPY : Currency.getInstance(request.getCurrency()));
+    }
+
+    private static RejectionReason rejectionReasonOf(RuntimeException e) {
+        if (e instanceof AccountNotFoundException) {
+            return RejectionReason.REJECTION_REASON_ACCOUNT_NOT_FOUND;
+        }
+        if (e instanceof TransferLimitExceededException) {
+            return RejectionReason.REJECTION_REASON_LIMIT_EXCEEDED;
+        }
+        if (e instanceof FxQuoteExpiredException) {
+            return RejectionReason.REJECTION_REASON_QUOTE_EXPIRED;
+        }
+        if (e instanceof FxRateUnavailableException) {
+            return RejectionReason.REJECTION_REASON_RATE_UNAVAILABLE;
+        }
+        if (e instanceof IllegalArgumentException) {
+            return RejectionReason.REJECTION_REASON_INVALID_REQUEST;
+        }
+        return RejectionReason.REJECTION_REASON_UNAVAILABLE;
+    }
+
+    private static TransferUpdate.Status toUpdateStatus(Transfer.TransferStatus status) {
+        return status == Transfer.TransferStatus.COMPLETED
+                ? TransferUpdate.Status.STATUS_COMPLETED
+                : TransferUpdate.Status.STATUS_FAILED;
+    }
+
+    /**
+     * 1本の振込受付ストリーム。
+     * 受信したメッセージはgRPCの実行スレッドで順に処理され、Sagaの結果はSagaの実行スレッドから送信されます。
+     * 応答の送信と受信の要求は、このオブジェクトのロックで直列化します。
+     */
+    private final class SubmissionStream implements StreamObserver<SubmitTransferRequest> {
+
+        private final ServerCallStreamObserver<TransferUpdate> responses;
+        /** 受け付けて結果を待っている振込 */
+        private final Set<TransferId> pending = ConcurrentHashMap.newKeySet();
+        /** 要求済みで、まだ受信していないメッセージの数 */
+        private int requested;
+        private boolean paused;
+        private boolean halfClosed;
+        private boolean closed;
+
+        SubmissionStream(ServerCallStreamObserver<TransferUpdate> responses) {
+            this.responses = responses;
+        }
+
+        @Override
+        public void onNext(SubmitTransferRequest request) {
+            synchronized (this) {
+                requested--;
+            }
+            long correlationId = request.getCorrelationId();
+            Transfer transfer;
+            try {
+                transfer = requestTransferUseCase.requestTransfer(new TransferCommand(
+                        new AccountId(GrpcValues.toUuid(request.getSourceAccountId())),
+                        new AccountId(GrpcValues.toUuid(request.getDestinationAccountId())),
+                        toMoney(request),
+                        request.getQuoteId().isEmpty() ? null : new FxQuoteId(GrpcValues.toUuid(request.getQuoteId())),
+                        toPriority(request.getPriority()),
+                        TransferChannel.GRPC));
+            } catch (RuntimeException e) {
+                RejectionReason reason = rejectionReasonOf(e);
+                if (reason == RejectionReason.REJECTION_REASON_UNAVAILABLE) {
+                    log.error("Failed to accept transfer from gRPC stream. correlationId: {}", correlationId, e);
+                }
+                rejected.increment();
+                send(TransferUpdate.newBuilder()
+                        .setCorrelationId(correlationId)
+                        .setStatus(TransferUpdate.Status.STATUS_REJECTED)
+                        .setRejectionReason(reason)
+                        .setDetail(String.valueOf(e.getMessage()))
+                        .build());
+                pull();
+                return;
+            }
+
+            accepted.increment();
+            ByteString transferId = GrpcValues.toBytes(transfer.getId().value());
+            send(TransferUpdate.newBuilder()
+                    .setCorrelationId(correlationId)
+                    .setTransferId(transferId)
+                    .setStatus(TransferUpdate.Status.STATUS_ACCEPTED)
+                    .build());
+            if (transfer.getStatus() == Transfer.TransferStatus.REQUESTED) {
+                pending.add(transfer.getId());
+                outcomes.await(transfer.getId(), status -> settled(correlationId, transfer.getId(), transferId, status));
+            } else {
+                // 同一データベース上の口座間の振込は、ファストパスで結果が確定している
+                send(outcomeUpdate(correlationId, transferId, transfer.getStatus()));
+            }
+            pull();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            close();
+        }
+
+        @Override
+        public void onCompleted() {
+            synchronized (this) {
+                halfClosed = true;
+            }
+            completeIfSettled();
+        }
+
+        /**
+         * 受信を続けられる場合は、要求済みのメッセージが{@code prefetch}件になるまで次のメッセージを要求します。
+         * 続けられない場合は受信を止め、{@link #resumeStreams()}や送信バッファの空きの通知で再度呼び出されるのを待ちます。
+         */
+        synchronized void pull() {
+            if (closed || halfClosed) {
+                return;
+            }
+            int demand = properties.prefetch() - requested;
+            if (demand <= 0) {
+                return;
+            }
+            if (!responses.isReady() || pending.size() >= properties.maxPendingPerStream() || sagaBacklogFull()) {
+                if (!paused) {
+                    paused = true;
+                    pauses.increment();
+                }
+                return;
+            }
+            paused = false;
+            requested += demand;
+            responses.request(demand);
+        }
+
+        synchronized void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            streams.remove(this);
+            pending.forEach(outcomes::cancel);
+        }
+
+        private void settled(long correlationId, TransferId id, ByteString transferId, Transfer.TransferStatus status) {
+            pending.remove(id);
+            send(outcomeUpdate(correlationId, transferId, status));
+            completeIfSettled();
+        }
+
+        private synchronized void send(TransferUpdate update) {
+            if (!closed) {
+                responses.onNext(update);
+            }
+        }
+
+        private synchronized void completeIfSettled() {
+            if (halfClosed && pending.isEmpty() && !closed) {
+                close();
+                responses.onCompleted();
+            }
+        }
+
+        private TransferUpdate outcomeUpdate(long correlationId, ByteString transferId, Transfer.TransferStatus status) {
+            return TransferUpdate.newBuilder()
+                    .setCorrelationId(correlationId)
+                    .setTransferId(transferId)
+                    .setStatus(toUpdateStatus(status))
+                    .build();
+        }
+    }
+}
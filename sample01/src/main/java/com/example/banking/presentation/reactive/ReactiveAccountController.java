@@ -0,0 +1,93 @@
+package com.example.banking.presentation.reactive;
+
+import com.example.banking.application.reactive.ReactiveAccountService;
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.CustomerName;
+import com.example.banking.presentation.rest.AccountChangesRequest;
+import com.example.banking.presentation.rest.AccountChangesResponse;
+import com.example.banking.presentation.rest.AccountDetailsResponse;
+import com.example.banking.presentation.rest.AccountETag;
+import com.example.banking.presentation.rest.DepositRequest;
+import com.example.banking.presentation.rest.OpenAccountRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * 口座管理APIのリアクティブ版（`reactive`プロファイル）。
+ * パスとリクエスト/レスポンスの形式はAccountControllerと同一で、クライアントからは区別できません。
+ *
+ * @see com.example.banking.presentation.rest.AccountController
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/accounts")
+@RequiredArgsConstructor
+public class ReactiveAccountController {
+
+    private final ReactiveAccountService accountService;
+
+    /**
+     * 口座開設API (POST /api/accounts)
+     */
+    @PostMapping
+    public Mono<ResponseEntity<AccountDetailsResponse>> openAccount(@Valid @RequestBody OpenAccountRequest request,
+                                                                    UriComponentsBuilder uriBuilder) {
+        return accountService.openAccount(
+                        new CustomerName(request.customerName()),
+                        request.toMoney())
+                .map(account -> ResponseEntity
+                        .created(uriBuilder.path("/api/accounts/{id}").buildAndExpand(account.getId().value()).toUri())
+                        .body(AccountDetailsResponse.from(account)));
+    }
+
+    /**
+     * 口座情報取得API (GET /api/accounts/{accountId})
+     * AccountControllerと同様に、`If-None-Match`が現在のバージョンと一致する場合は 304 Not Modified を返します。
+     */
+    @GetMapping("/{accountId}")
+    public Mono<ResponseEntity<AccountDetailsResponse>> getAccount(@PathVariable UUID accountId, ServerWebExchange exchange) {
+        AccountId id = new AccountId(accountId);
+        return accountService.getAccountVersion(id)
+                .flatMap(version -> {
+                    String eTag = AccountETag.of(version);
+                    if (exchange.checkNotModified(eTag)) {
+                        return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(AccountETag.VARY).<AccountDetailsResponse>build());
+                    }
+                    return accountService.getAccountDetails(id)
+                            .map(account -> ResponseEntity.ok()
+                                    .eTag(AccountETag.of(account.getVersion()))
+                                    .varyBy(AccountETag.VARY)
+                                    .cacheControl(CacheControl.noCache())
+                                    .body(AccountDetailsResponse.from(account)));
+                })
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * 口座の変更確認API (POST /api/accounts/changes)
+     */
+    @PostMapping("/changes")
+    public Mono<ResponseEntity<AccountChangesResponse>> getChanges(@Valid @RequestBody AccountChangesRequest request) {
+        return accountService.getAccountVersions(request.knownVersions().keySet().stream().map(AccountId::new).toList())
+                .map(currentVersions -> ResponseEntity.ok(AccountChangesResponse.of(request.knownVersions(), currentVersions)));
+    }
+
+    /**
+     * 入金API (POST /api/accounts/{accountId}/deposits)
+     */
+    @PostMapping("/{accountId}/deposits")
+    public Mono<ResponseEntity<Void>> deposit(@PathVariable UUID accountId, @Valid @RequestBody DepositRequest request) {
+        return accountService.deposit(new AccountId(accountId), request.toMoney())
+                .thenReturn(ResponseEntity.ok().build());
+    }
+}
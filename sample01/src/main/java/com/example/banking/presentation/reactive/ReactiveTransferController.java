@@ -0,0 +1,135 @@
+package com.example.banking.presentation.reactive;
+
+import com.example.banking.application.fee.FeeEvaluationException;
+import com.example.banking.application.fx.FxQuoteExpiredException;
+import com.example.banking.application.fx.FxRateUnavailableException;
+import com.example.banking.application.fx.TransferCurrencyMismatchException;
+import com.example.banking.application.limit.TransferLimitExceededException;
+import com.example.banking.application.reactive.ReactiveTransferService;
+import com.example.banking.application.saga.SagaBacklogFullException;
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.AccountNotFoundException;
+import com.example.banking.domain.fx.FxQuoteId;
+import com.example.banking.presentation.rest.TransferRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+/**
+ * 振込APIのリアクティブ版（`reactive`プロファイル）。
+ *
+ * @see com.example.banking.presentation.rest.TransferController
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("/api/transfers")
+@RequiredArgsConstructor
+public class ReactiveTransferController {
+
+    /** Sagaのキューが満杯の場合にクライアントへ提示する再試行までの秒数 */
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final ReactiveTransferService transferService;
+
+    /**
+     * 振込依頼を受け付けるエンドポイント。
+     *
+     * @return 処理の受付を示すレスポンス (HTTP 202 Accepted)
+     */
+    @PostMapping
+    public Mono<ResponseEntity<Void>> requestTransfer(@Valid @RequestBody TransferRequest request,
+                                                      UriComponentsBuilder uriBuilder) {
+        return transferService.requestTransfer(
+                        new AccountId(request.sourceAccountId()),
+                        new AccountId(request.destinationAccountId()),
+                        request.toMoney(),
+                        request.quoteId() == null ? null : new FxQuoteId(request.quoteId()),
+                        request.toPriority())
+                .map(transfer -> ResponseEntity.accepted()
+                        .location(uriBuilder.path("/api/transfers/{id}").buildAndExpand(transfer.getId().value()).toUri())
+                        .build());
+    }
+
+    /**
+     * Sagaの実行待ちが上限に達した場合は、503とRetry-Afterヘッダでクライアントに再試行を促す。
+     */
+    @ExceptionHandler(SagaBacklogFullException.class)
+    public ResponseEntity<Void> handleSagaBacklogFull(SagaBacklogFullException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .build();
+    }
+
+    /**
+     * 存在しない口座への振込は、振込を受け付けずに 422 Unprocessable Entity で拒否する。
+     */
+    @ExceptionHandler(AccountNotFoundException.class)
+    public ProblemDetail handleAccountNotFound(AccountNotFoundException e) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage());
+        problem.setTitle("Account not found");
+        problem.setProperty("accountId", e.getAccountId().value());
+        return problem;
+    }
+
+    /**
+     * 振込元口座の振込上限を超える場合は 429 Too Many Requests で拒否する。
+     */
+    @ExceptionHandler(TransferLimitExceededException.class)
+    public ProblemDetail handleTransferLimitExceeded(TransferLimitExceededException e) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.TOO_MANY_REQUESTS, e.getMessage());
+        problem.setTitle("Transfer limit exceeded");
+        problem.setProperty("accountId", e.getAccountId().value());
+        problem.setProperty("limit", e.getLimit());
+        return problem;
+    }
+
+    /**
+     * 為替見積もりが存在しないか有効期限切れの場合は 422 Unprocessable Entity で拒否する。
+     * クライアントは見積もりを取り直してから振込を再依頼する。
+     */
+    @ExceptionHandler(FxQuoteExpiredException.class)
+    public ProblemDetail handleFxQuoteExpired(FxQuoteExpiredException e) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage());
+        problem.setTitle("FX quote expired");
+        return problem;
+    }
+
+    /**
+     * 振込金額・為替見積もりの通貨が口座の通貨と一致しない場合は 422 Unprocessable Entity で拒否する。
+     * 通貨をまたぐ振込で見積もりがない場合や、同じ通貨の口座間の振込で見積もりを指定した場合も含む。
+     */
+    @ExceptionHandler(TransferCurrencyMismatchException.class)
+    public ProblemDetail handleCurrencyMismatch(TransferCurrencyMismatchException e) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage());
+        problem.setTitle("Currency mismatch");
+        problem.setProperty("accountId", e.getAccountId().value());
+        return problem;
+    }
+
+    /**
+     * 振込額の通貨の為替レートが提供されていない場合は 422 Unprocessable Entity で拒否する。
+     */
+    @ExceptionHandler(FxRateUnavailableException.class)
+    public ProblemDetail handleFxRateUnavailable(FxRateUnavailableException e) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage());
+        problem.setTitle("Exchange rate unavailable");
+        return problem;
+    }
+
+    /**
+     * 振込手数料のルールで手数料を決められない場合は 422 Unprocessable Entity で拒否する。
+     */
+    @ExceptionHandler(FeeEvaluationException.class)
+    public ProblemDetail handleFeeEvaluation(FeeEvaluationException e) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage());
+        problem.setTitle("Transfer fee unavailable");
+        return problem;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.banking.presentation.reactive;
+
+import com.example.banking.presentation.rest.CborWebConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * リアクティブ構成（`reactive`プロファイル）のWebサーバ設定。
+ *
+ * クラスパスにはTomcat（spring-boot-starter-web）も存在するため、自動設定に任せると
+ * リアクティブ構成でもTomcatが選ばれます。イベントループ型のサーバで比較できるよう、Nettyを明示的に指定します。
+ * サーブレット構成と同じく、`application/cbor`による送受信（{@link CborWebConfig}）にも対応します。
+ */
+@Configuration(proxyBeanMethods = false)
+@Profile("reactive")
+public class ReactiveWebConfig implements WebFluxConfigurer {
+
+    private final ObjectMapper cborObjectMapper;
+
+    public ReactiveWebConfig(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.cborObjectMapper = CborWebConfig.cborObjectMapper(objectMapperBuilder);
+    }
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        configurer.customCodecs().register(new Jackson2CborDecoder(cborObjectMapper));
+        configurer.customCodecs().register(new Jackson2CborEncoder(cborObjectMapper));
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.banking.presentation.rest;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 口座の変更確認APIへのリクエストボディを表すDTO。
+ * クライアントが保持している口座ごとのバージョン（ETagの値）を送信します。
+ */
+public record AccountChangesRequest(
+    /** 口座IDと、クライアントが最後に取得したバージョンのマップ。バージョンが未取得の場合はnull */
+    @NotNull
+    @Size(max = 1000, message = "Up to 1000 accounts can be checked at once.")
+    Map<UUID, Long> knownVersions
+) {}
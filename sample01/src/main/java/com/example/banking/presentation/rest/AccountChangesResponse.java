@@ -0,0 +1,51 @@
+package com.example.banking.presentation.rest;
+
+import com.example.banking.domain.account.AccountId;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 口座の変更確認APIのレスポンスを表すDTO。
+ * クライアントの保持するバージョンから変更された口座と、存在しない口座のみを返します。
+ */
+public record AccountChangesResponse(
+    /** 変更された口座と、その現在のバージョン */
+    List<ChangedAccount> changed,
+    /** 存在しない口座のID */
+    List<String> notFound
+) {
+
+    /**
+     * 変更された口座を表すDTO。
+     */
+    public record ChangedAccount(
+        /** 口座ID */
+        String accountId,
+        /** 現在のバージョン */
+        long version
+    ) {}
+
+    /**
+     * クライアントの保持するバージョンと現在のバージョンを比較して、レスポンスを生成します。
+     *
+     * @param knownVersions クライアントの保持する口座IDとバージョンのマップ
+     * @param currentVersions 現在の口座IDとバージョンのマップ
+     * @return 変更確認APIのレスポンス
+     */
+    public static AccountChangesResponse of(Map<UUID, Long> knownVersions, Map<AccountId, Long> currentVersions) {
+        List<ChangedAccount> changed = new ArrayList<>();
+        List<String> notFound = new ArrayList<>();
+        knownVersions.forEach((accountId, knownVersion) -> {
+            Long currentVersion = currentVersions.get(new AccountId(accountId));
+            if (currentVersion == null) {
+                notFound.add(accountId.toString());
+            } else if (!currentVersion.equals(knownVersion)) {
+                changed.add(new ChangedAccount(accountId.toString(), currentVersion));
+            }
+        });
+        return new AccountChangesResponse(changed, notFound);
+    }
+}
@@ -6,14 +6,18 @@ import com.example.banking.application.service.OpenAccountUseCase;
 import com.example.banking.domain.account.Account;
 import com.example.banking.domain.account.AccountId;
 import com.example.banking.domain.account.CustomerName;
-import com.example.banking.domain.account.Money;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -23,6 +27,7 @@ import java.util.UUID;
  * ドメインの知識は持ちません。
  */
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/accounts")
 @RequiredArgsConstructor
 public class AccountController {
@@ -42,8 +47,8 @@ public class AccountController {
     @PostMapping
     public ResponseEntity<AccountDetailsResponse> openAccount(@Valid @RequestBody OpenAccountRequest request) {
         Account account = openAccountUseCase.openAccount(
-                new CustomerName(request.getCustomerName()),
-                Money.of(request.getInitialDeposit().toPlainString())
+                new CustomerName(request.customerName()),
+                request.toMoney()
         );
 
         URI location = ServletUriComponentsBuilder.fromCurrentRequest()
@@ -56,17 +61,47 @@ public class AccountController {
 
     /**
      * 口座情報取得API (GET /api/accounts/{accountId})
+     * 口座のバージョンを弱いETagとして、`Vary: Accept`とともに返します。リクエストの`If-None-Match`が現在のバージョンと一致する場合は、
+     * バージョンのみの参照で判定し、口座の読み込みやシリアライズを行わずに 304 Not Modified を返します。
      * @param accountId 取得対象の口座ID
-     * @return 口座詳細情報 (HTTP 200 OK) または Not Found (HTTP 404)
+     * @param webRequest 条件付きリクエストの判定に使用するリクエスト
+     * @return 口座詳細情報 (HTTP 200 OK)、Not Modified (HTTP 304) または Not Found (HTTP 404)
      */
     @GetMapping("/{accountId}")
-    public ResponseEntity<AccountDetailsResponse> getAccount(@PathVariable UUID accountId) {
-        return getAccountQuery.getAccountDetails(new AccountId(accountId))
-                .map(AccountDetailsResponse::from)
-                .map(ResponseEntity::ok)
+    public ResponseEntity<AccountDetailsResponse> getAccount(@PathVariable UUID accountId, WebRequest webRequest) {
+        AccountId id = new AccountId(accountId);
+        Optional<Long> version = getAccountQuery.getAccountVersion(id);
+        if (version.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String eTag = AccountETag.of(version.get());
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).varyBy(AccountETag.VARY).build();
+        }
+
+        return getAccountQuery.getAccountDetails(id)
+                .map(account -> ResponseEntity.ok()
+                        .eTag(AccountETag.of(account.getVersion()))
+                        .varyBy(AccountETag.VARY)
+                        .cacheControl(CacheControl.noCache())
+                        .body(AccountDetailsResponse.from(account)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * 口座の変更確認API (POST /api/accounts/changes)
+     * クライアントが保持する複数口座のバージョンと現在のバージョンを比較し、変更された口座のみを返します。
+     * 口座は読み込まず、バージョンのみを一括で参照します。
+     * @param request 口座IDとクライアントが保持するバージョンのマップ
+     * @return 変更された口座と存在しない口座の一覧 (HTTP 200 OK)
+     */
+    @PostMapping("/changes")
+    public ResponseEntity<AccountChangesResponse> getChanges(@Valid @RequestBody AccountChangesRequest request) {
+        var currentVersions = getAccountQuery.getAccountVersions(
+                request.knownVersions().keySet().stream().map(AccountId::new).toList());
+        return ResponseEntity.ok(AccountChangesResponse.of(request.knownVersions(), currentVersions));
+    }
+
     /**
      * 入金API (POST /api/accounts/{accountId}/deposits)
      * @param accountId 入金対象の口座ID
@@ -77,7 +112,7 @@ public class AccountController {
     public ResponseEntity<Void> deposit(@PathVariable UUID accountId, @Valid @RequestBody DepositRequest request) {
         depositUseCase.deposit(
                 new AccountId(accountId),
-                Money.of(request.getAmount().toPlainString())
+                request.toMoney()
         );
         return ResponseEntity.ok().build();
     }
@@ -2,29 +2,40 @@ package com.example.banking.presentation.rest;
 
 import com.example.banking.domain.account.Account;
 import java.math.BigDecimal;
+import java.util.UUID;
 
 /**
  * 口座詳細情報のレスポンスを表すDTO(Data Transfer Object)。
  * このクラスはイミュータブル（不変）であり、一度作成されたら状態は変更されません。
  * CQRSパターンにおけるクエリ側の戻り値として使用されます。
  * Java 17のrecord機能を利用して、ボイラープレートコードを削減しています。
+ * 口座IDはUUIDで保持するため、JSONでは文字列、CBORでは16バイトのバイト列で表されます。
  */
 public record AccountDetailsResponse(
     /** 口座ID */
-    String accountId,
+    UUID accountId,
     /** 口座番号 */
     String accountNumber,
     /** 顧客名 */
     String customerName,
-    /** 残高 */
-    BigDecimal balance
+    /** 残高（元帳残高） */
+    BigDecimal balance,
+    /** 与信で拘束されている額 */
+    BigDecimal heldBalance,
+    /** 利用可能残高（残高から与信で拘束されている額を差し引いた額） */
+    BigDecimal availableBalance,
+    /** 口座の通貨 */
+    String currency
 ) {
     public static AccountDetailsResponse from(Account account) {
         return new AccountDetailsResponse(
-                account.getId().value().toString(),
+                account.getId().value(),
                 account.getAccountNumber().value(),
                 account.getCustomerName().value(),
-                account.getBalance().amount()
+                account.getBalance().amount(),
+                account.getHeldBalance().amount(),
+                account.getAvailableBalance().amount(),
+                account.getBalance().currency().getCurrencyCode()
         );
     }
 } 
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.example.banking.presentation.rest;
+
+/**
+ * 口座情報のETagを生成するユーティリティ。
+ *
+ * 口座アグリゲートのバージョンは更新のたびに必ず増加するため、口座の内容の識別子として使用できます。
+ * レスポンスの内容をハッシュ化する方式（ShallowEtagHeaderFilterなど）と異なり、
+ * 口座の再構築やJSONへのシリアライズを行わずに変更の有無を判定できます。
+ *
+ * 同じバージョンでも、JSONとCBOR（{@link CborWebConfig}）では応答のバイト列が異なります。
+ * バージョンが示すのは内容の同一性でありバイト列の同一性ではないため、弱いETagとします。
+ * 応答には{@link #VARY}を付け、共有キャッシュが形式ごとに応答を保持するようにしてください。
+ */
+public final class AccountETag {
+
+    /** 口座の応答に付けるVaryヘッダの値。応答の形式は`Accept`で決まる */
+    public static final String VARY = "Accept";
+
+    private AccountETag() {
+    }
+
+    /**
+     * 口座のバージョンから弱いETag（例: `W/"3"`）を生成します。
+     *
+     * @param version 口座のバージョン
+     * @return ETagヘッダの値
+     */
+    public static String of(long version) {
+        return "W/\"" + version + "\"";
+    }
+}
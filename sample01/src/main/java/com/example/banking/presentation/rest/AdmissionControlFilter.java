@@ -0,0 +1,136 @@
+package com.example.banking.presentation.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 口座・振込APIの流入制御を行うサーブレットフィルタ。
+ *
+ * 参照系と更新系のリクエストそれぞれに{@link GradientConcurrencyLimiter}を割り当て、
+ * 応答時間から求めた同時実行数の上限を超えたリクエストは、コントローラを呼び出さずに
+ * 503 Service Unavailable と Retry-After ヘッダで即座に拒否します。
+ * DBが遅くなってもTomcatのスレッドがDBの応答待ちで埋まらず、上限内のリクエストの応答時間が保たれます。
+ * 参照系と更新系の上限は独立しているため、振込の滞留で口座照会が拒否されることはありません。
+ * サーバーエラー（5xx）や例外で終了したリクエストはドロップとして数え、上限を下げます（`banking.admission.drops`）。
+ *
+ * 入出金明細のエクスポートは長時間の非同期処理で、同時実行数は{@link StatementWebConfig}で別に制限するため対象外とします。
+ */
+@Component
+@Profile("!reactive")
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final AdmissionControlProperties properties;
+    private final ObjectMapper objectMapper;
+    private final GradientConcurrencyLimiter readLimiter;
+    private final GradientConcurrencyLimiter writeLimiter;
+    private final Counter readRejections;
+    private final Counter writeRejections;
+    private final Counter readDrops;
+    private final Counter writeDrops;
+
+    public AdmissionControlFilter(AdmissionControlProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.readLimiter = new GradientConcurrencyLimiter(properties.read());
+        this.writeLimiter = new GradientConcurrencyLimiter(properties.write());
+        this.readRejections = registerMeters(meterRegistry, "read", readLimiter);
+        this.writeRejections = registerMeters(meterRegistry, "write", writeLimiter);
+        this.readDrops = registerDrops(meterRegistry, "read");
+        this.writeDrops = registerDrops(meterRegistry, "write");
+    }
+
+    private static Counter registerMeters(MeterRegistry meterRegistry, String kind, GradientConcurrencyLimiter limiter) {
+        Gauge.builder("banking.admission.limit", limiter, GradientConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit for API requests")
+                .tag("kind", kind)
+                .register(meterRegistry);
+        Gauge.builder("banking.admission.inflight", limiter, GradientConcurrencyLimiter::getInflight)
+                .description("API requests currently admitted and running")
+                .tag("kind", kind)
+                .register(meterRegistry);
+        return Counter.builder("banking.admission.rejections")
+                .description("API requests shed with 503 because the concurrency limit was reached")
+                .tag("kind", kind)
+                .register(meterRegistry);
+    }
+
+    private static Counter registerDrops(MeterRegistry meterRegistry, String kind) {
+        return Counter.builder("banking.admission.drops")
+                .description("Admitted API requests that ended with a 5xx or an exception and shrank the concurrency limit")
+                .tag("kind", kind)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!properties.enabled()) {
+            return true;
+        }
+        String path = pathOf(request);
+        boolean limited = path.startsWith("/api/accounts") || path.startsWith("/api/transfers");
+        return !limited || path.endsWith("/statement");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean read = isRead(request);
+        GradientConcurrencyLimiter limiter = read ? readLimiter : writeLimiter;
+        if (!limiter.tryAcquire()) {
+            (read ? readRejections : writeRejections).increment();
+            reject(response);
+            return;
+        }
+        long startedAt = System.nanoTime();
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = response.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            // 例外やサーバーエラー（DBのタイムアウトを含む）で終了したリクエストは、応答時間ではなくドロップとして上限を下げる
+            if (completed) {
+                limiter.release(System.nanoTime() - startedAt);
+            } else {
+                (read ? readDrops : writeDrops).increment();
+                limiter.releaseDropped();
+            }
+        }
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        // 口座の変更確認はPOSTだが、バージョンを参照するのみの参照系のリクエスト
+        return HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)
+                || pathOf(request).equals("/api/accounts/changes");
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE,
+                "The server is overloaded, retry later");
+        problem.setTitle("Service overloaded");
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, properties.retryAfter().toSeconds())));
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), problem);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.banking.presentation.rest;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 口座・振込APIの流入制御（同時実行数の適応的な制限）の設定値。
+ *
+ * @param enabled 流入制御を行うかどうか
+ * @param read 参照系のリクエスト（GET、HEADと口座の変更確認）の同時実行数の制限
+ * @param write 更新系のリクエストの同時実行数の制限
+ * @param retryAfter 制限を超えて拒否したリクエストに、再試行までの待機時間として返す時間
+ */
+@ConfigurationProperties(prefix = "banking.admission")
+public record AdmissionControlProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue Limit read,
+        @DefaultValue Limit write,
+        @DefaultValue("PT1S") Duration retryAfter
+) {
+
+    /**
+     * 1種類のリクエストの同時実行数の制限。
+     *
+     * @param initialLimit 起動時の同時実行数の上限
+     * @param minLimit 同時実行数の上限の下限。DBが停止していてもこの数までは受け付ける
+     * @param maxLimit 同時実行数の上限の上限。Tomcatのスレッド数とコネクションプールのサイズ以下にすること
+     * @param tolerance 平常時の応答時間に対して許容する応答時間の比。これを超えると上限を下げる
+     * @param smoothing 上限を新しい値に近づける割合（0より大きく1以下）
+     * @param baselineWindow 平常時の応答時間（長期の移動平均）に反映するサンプル数
+     * @param dropBackoff タイムアウトやサーバーエラーで終了したリクエスト1件ごとに上限に掛ける割合（0より大きく1以下）
+     */
+    public record Limit(
+            @DefaultValue("20") int initialLimit,
+            @DefaultValue("4") int minLimit,
+            @DefaultValue("150") int maxLimit,
+            @DefaultValue("2.0") double tolerance,
+            @DefaultValue("0.2") double smoothing,
+            @DefaultValue("600") int baselineWindow,
+            @DefaultValue("0.9") double dropBackoff
+    ) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.banking.presentation.rest;
+
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rangeヘッダで指定された1つのバイト範囲（両端を含む）。
+ * 複数の範囲の指定（multipart/byteranges）には対応しません。
+ *
+ * @param first 先頭のバイト位置。末尾からの長さで指定された場合（bytes=-500）はnull
+ * @param last 末尾のバイト位置。末尾からの長さで指定された場合はその長さ、終端まで（bytes=100-）の場合はnull
+ */
+record ByteRange(Long first, Long last) {
+
+    private static final Pattern SINGLE_RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * Rangeヘッダを解析します。
+     * @param header Rangeヘッダの値
+     * @return 1つのバイト範囲。対応していない形式や不正な範囲の場合はOptional.empty()（範囲の指定は無視する）
+     */
+    static Optional<ByteRange> parse(String header) {
+        Matcher matcher = SINGLE_RANGE.matcher(header.trim());
+        if (!matcher.matches() || (matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+            return Optional.empty();
+        }
+        try {
+            Long first = matcher.group(1).isEmpty() ? null : Long.valueOf(matcher.group(1));
+            Long last = matcher.group(2).isEmpty() ? null : Long.valueOf(matcher.group(2));
+            if (first != null && last != null && last < first) {
+                return Optional.empty();
+            }
+            return Optional.of(new ByteRange(first, last));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * レスポンス全体の長さから、実際に返すバイト範囲を求めます。
+     * @param length レスポンス全体の長さ
+     * @return 先頭と末尾のバイト位置が確定した範囲。範囲がレスポンスに含まれない場合はOptional.empty()（416 Range Not Satisfiable）
+     */
+    Optional<ByteRange> resolve(long length) {
+        if (first == null) {
+            if (last == 0 || length == 0) {
+                return Optional.empty();
+            }
+            return Optional.of(new ByteRange(Math.max(0, length - last), length - 1));
+        }
+        if (first >= length) {
+            return Optional.empty();
+        }
+        return Optional.of(new ByteRange(first, last == null ? length - 1 : Math.min(last, length - 1)));
+    }
+
+    /**
+     * 範囲のバイト数。{@link #resolve(long)}で確定した範囲に対してのみ使用できます。
+     */
+    long size() {
+        return last - first + 1;
+    }
+
+    /**
+     * Content-Rangeヘッダの値。{@link #resolve(long)}で確定した範囲に対してのみ使用できます。
+     */
+    String contentRange(long length) {
+        return "bytes " + first + "-" + last + "/" + length;
+    }
+}
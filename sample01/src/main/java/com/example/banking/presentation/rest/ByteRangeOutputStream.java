@@ -0,0 +1,71 @@
+package com.example.banking.presentation.rest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 書き込まれたバイト列のうち、指定した範囲（両端を含む）のみを出力先に書き出す出力ストリーム。
+ * 範囲外のバイトは破棄し、書き込まれた総バイト数を数えます。
+ */
+final class ByteRangeOutputStream extends OutputStream {
+
+    private final OutputStream out;
+    private final long first;
+    private final long last;
+    private long position;
+
+    ByteRangeOutputStream(OutputStream out, long first, long last) {
+        this.out = out;
+        this.first = first;
+        this.last = last;
+    }
+
+    /**
+     * 何も書き出さず、書き込まれたバイト数のみを数えるストリームを生成します。
+     */
+    static ByteRangeOutputStream counting() {
+        return new ByteRangeOutputStream(OutputStream.nullOutputStream(), Long.MAX_VALUE, Long.MAX_VALUE);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (position >= first && position <= last) {
+            out.write(b);
+        }
+        position++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        long start = Math.max(position, first);
+        long end = Math.min(position + len - 1, last);
+        if (start <= end) {
+            out.write(b, off + (int) (start - position), (int) (end - start + 1));
+        }
+        position += len;
+    }
+
+    /**
+     * これまでに書き込まれた総バイト数。
+     */
+    long position() {
+        return position;
+    }
+
+    /**
+     * 範囲の末尾まで書き出し終えたかどうか。以降に書き込まれるバイトはすべて破棄されます。
+     */
+    boolean isComplete() {
+        return position > last;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.banking.presentation.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * REST APIのバイナリ形式（CBOR, `application/cbor`）の設定。
+ *
+ * 大量の振込依頼・口座照会を行う内部システム向けに、`Content-Type`・`Accept`で`application/cbor`を指定すると
+ * JSONと同じDTOをCBORで送受信できます。CBORではUUIDを16バイトのバイト列、金額を10進数の仮数と指数の組（スケール付き整数）で表すため、
+ * JSONの文字列表現よりも小さく、UUIDと{@link java.math.BigDecimal}の文字列の解析・生成が不要です。
+ *
+ * CBORの変換はメッセージコンバータの末尾に置くため、`Accept`を指定しないリクエストには従来どおりJSONで応答します。
+ * ObjectMapperはSpring Bootの設定（`spring.jackson.*`）を反映したビルダーから生成し、JSONと同じ規則で変換します。
+ */
+@Configuration
+@Profile("!reactive")
+public class CborWebConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper cborObjectMapper;
+
+    public CborWebConfig(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        this.cborObjectMapper = cborObjectMapper(objectMapperBuilder);
+    }
+
+    /**
+     * Spring Bootの設定を反映したビルダーから、CBORで読み書きするObjectMapperを生成します。
+     *
+     * @param objectMapperBuilder Spring Bootが設定したObjectMapperのビルダー
+     * @return CBOR用のObjectMapper
+     */
+    public static ObjectMapper cborObjectMapper(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        return objectMapperBuilder.createXmlMapper(false).factory(new CBORFactory()).build();
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Spring MVCが既定で登録するCBORのコンバータ（Bootの設定を反映しない）を置き換える
+        converters.removeIf(MappingJackson2CborHttpMessageConverter.class::isInstance);
+        converters.add(new MappingJackson2CborHttpMessageConverter(cborObjectMapper));
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.banking.presentation.rest;
+
+import com.example.banking.domain.transfer.AccountMovement;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+
+/**
+ * 入出金明細をCSV（ヘッダ行付き、UTF-8）で書き出すライタ。
+ * 出力する値（UUID、日時、金額、通貨コード）はカンマや引用符を含まないため、エスケープは行いません。
+ */
+final class CsvStatementWriter implements StatementWriter {
+
+    static final String HEADER = "transfer_id,requested_at,direction,counterparty_account_id,amount,fee,currency";
+
+    private final Writer writer;
+    private final ZoneId zone;
+
+    CsvStatementWriter(OutputStream out, ZoneId zone) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        this.zone = zone;
+        writer.write(HEADER);
+        writer.write('\n');
+    }
+
+    @Override
+    public void write(AccountMovement movement) throws IOException {
+        writer.write(movement.transferId().value().toString());
+        writer.write(',');
+        writer.write(OffsetDateTime.ofInstant(movement.requestedAt(), zone).toString());
+        writer.write(',');
+        writer.write(movement.direction().name());
+        writer.write(',');
+        writer.write(movement.counterpartyAccountId().value().toString());
+        writer.write(',');
+        writer.write(movement.amount().amount().toPlainString());
+        writer.write(',');
+        writer.write(movement.fee().amount().toPlainString());
+        writer.write(',');
+        writer.write(movement.amount().currency().getCurrencyCode());
+        writer.write('\n');
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -1,8 +1,12 @@
 package com.example.banking.presentation.rest;
 
+import com.example.banking.domain.account.Money;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+
 import java.math.BigDecimal;
+import java.util.Currency;
 
 /**
  * 入金APIへのリクエストボディを表すDTO。
@@ -12,5 +16,16 @@ public record DepositRequest(
     /** 入金額 */
     @NotNull
     @DecimalMin(value = "0.0", inclusive = false, message = "Amount must be positive.")
-    BigDecimal amount
-) {} 
\ No newline at end of file
+    BigDecimal amount,
+    /** 通貨（ISO 4217の通貨コード。省略時はJPY） */
+    @Pattern(regexp = "[A-Z]{3}", message = "Currency must be an ISO 4217 code.")
+    String currency
+) {
+    /**
+     * 入金額を金額に変換します。通貨が省略された場合はJPYとします。
+     */
+    public Money toMoney() {
+        return new Money(amount, currency == null ? Money.JPY : Currency.getInstance(currency));
+    }
+}
+ 
\ No newline at end of file
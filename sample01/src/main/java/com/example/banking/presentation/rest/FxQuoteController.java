@@ -0,0 +1,53 @@
+package com.example.banking.presentation.rest;
+
+import com.example.banking.application.fx.FxQuoteService;
+import com.example.banking.application.fx.FxRateUnavailableException;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Currency;
+
+/**
+ * 為替見積もりAPI。
+ * 見積もりはメモリ上で完結しブロックしないため、サーブレット・リアクティブの両方のスタックで同じコントローラを使用します。
+ */
+@RestController
+@RequestMapping("/api/fx/quotes")
+@RequiredArgsConstructor
+public class FxQuoteController {
+
+    private final FxQuoteService fxQuoteService;
+
+    /**
+     * 為替見積もりを発行するエンドポイント。
+     * 返された見積もりIDを振込依頼に指定すると、有効期限まで見積もりのレートで換算されます。
+     *
+     * @param request 通貨ペア
+     * @return 発行した見積もり (HTTP 201 Created)
+     */
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public FxQuoteResponse quote(@Valid @RequestBody FxQuoteRequest request) {
+        return FxQuoteResponse.from(fxQuoteService.quote(
+                Currency.getInstance(request.from()),
+                Currency.getInstance(request.to())));
+    }
+
+    /**
+     * 通貨ペアのレートが提供されていない場合は 422 Unprocessable Entity を返す。
+     */
+    @ExceptionHandler(FxRateUnavailableException.class)
+    public ProblemDetail handleFxRateUnavailable(FxRateUnavailableException e) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage());
+        problem.setTitle("Exchange rate unavailable");
+        return problem;
+    }
+}
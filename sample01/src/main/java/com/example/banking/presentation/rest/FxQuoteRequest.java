@@ -0,0 +1,18 @@
+package com.example.banking.presentation.rest;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * 為替見積もりAPIへのリクエストボディを表すDTO。
+ */
+public record FxQuoteRequest(
+    /** 換算元通貨（送金元口座の通貨） */
+    @NotNull
+    @Pattern(regexp = "[A-Z]{3}", message = "Currency must be an ISO 4217 code.")
+    String from,
+    /** 換算先通貨（送金先口座の通貨） */
+    @NotNull
+    @Pattern(regexp = "[A-Z]{3}", message = "Currency must be an ISO 4217 code.")
+    String to
+) {}
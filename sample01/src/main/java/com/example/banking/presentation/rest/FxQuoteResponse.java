@@ -0,0 +1,33 @@
+package com.example.banking.presentation.rest;
+
+import com.example.banking.domain.fx.FxQuote;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * 為替見積もりのレスポンスを表すDTO。
+ */
+public record FxQuoteResponse(
+    /** 見積もりID。振込依頼時に指定する */
+    UUID quoteId,
+    /** 換算元通貨 */
+    String from,
+    /** 換算先通貨 */
+    String to,
+    /** レート（換算元通貨1単位あたりの換算先通貨の金額） */
+    BigDecimal rate,
+    /** 見積もりの有効期限 */
+    Instant expiresAt
+) {
+    public static FxQuoteResponse from(FxQuote quote) {
+        return new FxQuoteResponse(
+                quote.id().value(),
+                quote.rate().from().getCurrencyCode(),
+                quote.rate().to().getCurrencyCode(),
+                quote.rate().rate(),
+                quote.expiresAt()
+        );
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.banking.presentation.rest;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 応答時間の変化から同時実行数の上限を調整する、勾配方式の同時実行数リミッタ。
+ *
+ * 直近の応答時間（短期の移動平均）と平常時の応答時間（長期の移動平均）の比を勾配とし、
+ * 直近の応答時間が平常時の{@code tolerance}倍を超えると上限を下げ、それ以下であれば上限を少しずつ上げます。
+ * DBが遅くなると、スレッドがDBの応答を待って滞留する前に同時実行数が絞られ、上限を超えたリクエストは即座に拒否されます。
+ * タイムアウトなどのエラーで終了したリクエスト（ドロップ）は応答時間を反映せず、1件ごとに上限を{@code dropBackoff}倍に下げます。
+ * DBのタイムアウトが続くと応答時間のサンプルが得られなくなるため、ドロップで上限を下げないと過負荷の間も上限が保たれてしまうためです。
+ *
+ * 上限の判定（{@link #tryAcquire}）はロックを取得せずに行い、応答時間の反映（{@link #release(long)}）のみを同期します。
+ */
+public class GradientConcurrencyLimiter {
+
+    /** 直近の応答時間に反映する割合（おおよそ直近10件の移動平均） */
+    private static final double SHORT_SMOOTHING = 0.2;
+    /** 上限を下げる際の勾配の下限。1回の反映で上限が半分より小さくならないようにする */
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final double baselineSmoothing;
+    private final double dropBackoff;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private volatile double limit;
+    /** 直近の応答時間（ナノ秒）。未計測の場合はNaN */
+    private double shortRtt = Double.NaN;
+    /** 平常時の応答時間（ナノ秒）。未計測の場合はNaN */
+    private double longRtt = Double.NaN;
+
+    public GradientConcurrencyLimiter(AdmissionControlProperties.Limit properties) {
+        this.minLimit = properties.minLimit();
+        this.maxLimit = properties.maxLimit();
+        this.tolerance = properties.tolerance();
+        this.smoothing = properties.smoothing();
+        this.baselineSmoothing = 2.0 / (properties.baselineWindow() + 1);
+        this.dropBackoff = properties.dropBackoff();
+        this.limit = Math.max(minLimit, Math.min(maxLimit, properties.initialLimit()));
+    }
+
+    /**
+     * 実行中のリクエストが上限未満であれば、1件分の実行枠を確保します。
+     *
+     * @return 確保できた場合はtrue。上限に達している場合はfalse
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inflight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 実行枠を返却し、リクエストの応答時間を上限の調整に反映します。
+     *
+     * @param rttNanos 実行枠を確保してから返却するまでの時間（ナノ秒）
+     */
+    public void release(long rttNanos) {
+        int inflightAtCompletion = inflight.getAndDecrement();
+        onSample(rttNanos, inflightAtCompletion);
+    }
+
+    /**
+     * 応答時間を反映せずに実行枠を返却します。
+     */
+    public void release() {
+        inflight.decrementAndGet();
+    }
+
+    /**
+     * タイムアウトやサーバーエラーで終了したリクエストの実行枠を返却し、上限を{@code dropBackoff}倍に下げます。
+     * 応答時間は処理能力を表さないため反映しません。
+     */
+    public void releaseDropped() {
+        int inflightAtCompletion = inflight.getAndDecrement();
+        onDrop(inflightAtCompletion);
+    }
+
+    /**
+     * 現在の同時実行数の上限を返します。
+     */
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * 実行中のリクエストの数を返します。
+     */
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    private synchronized void onSample(long rttNanos, int inflightAtCompletion) {
+        if (Double.isNaN(longRtt)) {
+            shortRtt = rttNanos;
+            longRtt = rttNanos;
+            return;
+        }
+        shortRtt += SHORT_SMOOTHING * (rttNanos - shortRtt);
+        longRtt += baselineSmoothing * (shortRtt - longRtt);
+        // 長時間の過負荷から回復した直後は平常時の応答時間が高止まりしているため、直近の応答時間に速やかに近づける
+        if (longRtt > shortRtt * 2) {
+            longRtt *= 0.95;
+        }
+        // 上限の半分も使っていない間は、応答時間から処理能力を判断できないため上限を変えない
+        if (inflightAtCompletion < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRtt / shortRtt));
+        // 応答時間が平常であれば、待ち行列の分（上限の平方根）だけ上限を広げて処理能力の余裕を探る
+        double target = limit * gradient + Math.sqrt(limit);
+        double next = limit * (1 - smoothing) + target * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+
+    private synchronized void onDrop(int inflightAtCompletion) {
+        // 上限の半分も使っていない間のエラーは過負荷によるものではないため、上限を変えない
+        if (inflightAtCompletion < limit / 2) {
+            return;
+        }
+        limit = Math.max(minLimit, limit * dropBackoff);
+    }
+}
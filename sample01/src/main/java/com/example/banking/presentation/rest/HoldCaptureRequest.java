@@ -0,0 +1,30 @@
+package com.example.banking.presentation.rest;
+
+import com.example.banking.domain.account.Money;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+/**
+ * 与信確定APIへのリクエストボディを表すDTO。ボディを省略した場合は与信の金額で確定します。
+ */
+public record HoldCaptureRequest(
+    /** 確定する金額（省略時は与信の金額） */
+    @Positive(message = "Amount must be positive.")
+    BigDecimal amount,
+    /** 確定する金額の通貨（与信の通貨。ISO 4217の通貨コード。省略時はJPY） */
+    @Pattern(regexp = "[A-Z]{3}", message = "Currency must be an ISO 4217 code.")
+    String currency
+) {
+    /**
+     * 確定する金額を金額に変換します。金額が省略された場合はnullを返します。
+     */
+    public Money toMoney() {
+        if (amount == null) {
+            return null;
+        }
+        return new Money(amount, currency == null ? Money.JPY : Currency.getInstance(currency));
+    }
+}
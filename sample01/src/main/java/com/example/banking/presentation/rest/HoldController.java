@@ -0,0 +1,145 @@
+package com.example.banking.presentation.rest;
+
+import com.example.banking.application.hold.HoldService;
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.AccountNotFoundException;
+import com.example.banking.domain.account.InsufficientBalanceException;
+import com.example.banking.domain.hold.Hold;
+import com.example.banking.domain.hold.HoldId;
+import com.example.banking.domain.hold.HoldNotFoundException;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * 与信（オーソリゼーション）の登録・照会・確定・解除を行うREST APIエンドポイントを提供するコントローラ。
+ * 与信で拘束した資金は口座の利用可能残高から差し引かれ、確定すると出金されます。
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/holds")
+@RequiredArgsConstructor
+public class HoldController {
+
+    private final HoldService holdService;
+
+    /**
+     * 与信登録API (POST /api/holds)
+     * @param request 与信登録リクエストのボディ
+     * @return 作成されたリソースの場所を示すヘッダと、与信の詳細を含むレスポンス (HTTP 201 Created)
+     */
+    @PostMapping
+    public ResponseEntity<HoldResponse> placeHold(@Valid @RequestBody HoldRequest request) {
+        Hold hold = holdService.placeHold(new AccountId(request.accountId()), request.toMoney(), request.ttl());
+
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(hold.getId().value())
+                .toUri();
+
+        return ResponseEntity.created(location).body(HoldResponse.from(hold));
+    }
+
+    /**
+     * 与信照会API (GET /api/holds/{id})
+     * @param id 与信ID
+     * @return 与信の詳細 (HTTP 200 OK)。見つからない場合は 404 Not Found
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<HoldResponse> getHold(@PathVariable UUID id) {
+        return holdService.getHold(new HoldId(id))
+                .map(HoldResponse::from)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * 与信確定API (POST /api/holds/{id}/capture)
+     * @param id 与信ID
+     * @param request 確定する金額。ボディを省略した場合は与信の金額で確定する
+     * @return 確定後の与信の詳細 (HTTP 200 OK)
+     */
+    @PostMapping("/{id}/capture")
+    public ResponseEntity<HoldResponse> capture(@PathVariable UUID id,
+                                                @Valid @RequestBody(required = false) HoldCaptureRequest request) {
+        Hold hold = holdService.capture(new HoldId(id), request == null ? null : request.toMoney());
+        return ResponseEntity.ok(HoldResponse.from(hold));
+    }
+
+    /**
+     * 与信解除API (POST /api/holds/{id}/release)
+     * 解除済み・期限切れの与信を再度解除しても成功とします。
+     * @param id 与信ID
+     * @return 解除後の与信の詳細 (HTTP 200 OK)
+     */
+    @PostMapping("/{id}/release")
+    public ResponseEntity<HoldResponse> release(@PathVariable UUID id) {
+        return ResponseEntity.ok(HoldResponse.from(holdService.release(new HoldId(id))));
+    }
+
+    /**
+     * 存在しない口座を指定した与信は 422 Unprocessable Entity で拒否する。
+     */
+    @ExceptionHandler(AccountNotFoundException.class)
+    public ProblemDetail handleAccountNotFound(AccountNotFoundException e) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage());
+        problem.setTitle("Account not found");
+        problem.setProperty("accountId", e.getAccountId().value());
+        return problem;
+    }
+
+    /**
+     * 存在しない与信の確定・解除は 404 Not Found を返す。
+     */
+    @ExceptionHandler(HoldNotFoundException.class)
+    public ProblemDetail handleHoldNotFound(HoldNotFoundException e) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, e.getMessage());
+        problem.setTitle("Hold not found");
+        return problem;
+    }
+
+    /**
+     * 利用可能残高を超える与信は 409 Conflict で拒否する。
+     */
+    @ExceptionHandler(InsufficientBalanceException.class)
+    public ProblemDetail handleInsufficientBalance(InsufficientBalanceException e) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, e.getMessage());
+        problem.setTitle("Insufficient available balance");
+        return problem;
+    }
+
+    /**
+     * 確定・解除済み、または期限切れの与信の確定と、同じ与信への並行する操作は 409 Conflict を返す。
+     */
+    @ExceptionHandler({IllegalStateException.class, OptimisticLockingFailureException.class})
+    public ProblemDetail handleHoldClosed(RuntimeException e) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, e.getMessage());
+        problem.setTitle("Hold is not open");
+        return problem;
+    }
+
+    /**
+     * 不正な金額・通貨・有効期間の与信は 400 Bad Request で拒否する。
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail handleInvalidHold(IllegalArgumentException e) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+        problem.setTitle("Invalid hold");
+        return problem;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.banking.presentation.rest;
+
+import com.example.banking.domain.account.Money;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Currency;
+import java.util.UUID;
+
+/**
+ * 与信登録APIへのリクエストボディを表すDTO。
+ */
+public record HoldRequest(
+    /** 資金を拘束する口座ID */
+    @NotNull
+    UUID accountId,
+    /** 拘束する金額 */
+    @NotNull
+    @Positive(message = "Amount must be positive.")
+    BigDecimal amount,
+    /** 拘束する金額の通貨（口座の通貨。ISO 4217の通貨コード。省略時はJPY） */
+    @Pattern(regexp = "[A-Z]{3}", message = "Currency must be an ISO 4217 code.")
+    String currency,
+    /** 有効期間（ISO 8601。例: PT72H。省略時はサーバーの設定値） */
+    Duration ttl
+) {
+    /**
+     * 拘束する金額を金額に変換します。通貨が省略された場合はJPYとします。
+     */
+    public Money toMoney() {
+        return new Money(amount, currency == null ? Money.JPY : Currency.getInstance(currency));
+    }
+}
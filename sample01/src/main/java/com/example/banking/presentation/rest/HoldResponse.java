@@ -0,0 +1,39 @@
+package com.example.banking.presentation.rest;
+
+import com.example.banking.domain.hold.Hold;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * 与信の詳細を表すレスポンスDTO。
+ */
+public record HoldResponse(
+    /** 与信ID */
+    UUID id,
+    /** 資金を拘束する口座ID */
+    UUID accountId,
+    /** 拘束する金額 */
+    BigDecimal amount,
+    /** 拘束する金額の通貨 */
+    String currency,
+    /** 有効期限 */
+    Instant expiresAt,
+    /** 与信ステータス（OPEN, CAPTURED, RELEASED, EXPIRED） */
+    String status,
+    /** 確定した金額（確定していない与信ではnull） */
+    BigDecimal capturedAmount
+) {
+    public static HoldResponse from(Hold hold) {
+        return new HoldResponse(
+                hold.getId().value(),
+                hold.getAccountId().value(),
+                hold.getAmount().amount(),
+                hold.getAmount().currency().getCurrencyCode(),
+                hold.getExpiresAt(),
+                hold.getStatus().name(),
+                hold.getCapturedAmount() == null ? null : hold.getCapturedAmount().amount()
+        );
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.banking.presentation.rest;
+
+import com.example.banking.application.interest.InterestAccrualLauncher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+/**
+ * 利息計上バッチの運用API。
+ * 定期実行に失敗した営業日を再実行（続きから再開）する場合に使用します。
+ */
+@RestController
+@RequestMapping("/api/admin/interest-accruals")
+@RequiredArgsConstructor
+public class InterestAccrualController {
+
+    private final InterestAccrualLauncher launcher;
+
+    /**
+     * 指定した営業日の利息計上を起動するエンドポイント。
+     *
+     * @param businessDate 利息を計上する営業日（yyyy-MM-dd）
+     * @return 起動した場合は 202 Accepted、すでに実行中の場合は 409 Conflict
+     */
+    @PostMapping("/{businessDate}")
+    public ResponseEntity<Void> launch(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate businessDate) {
+        return launcher.launch(businessDate)
+                ? ResponseEntity.accepted().build()
+                : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+}
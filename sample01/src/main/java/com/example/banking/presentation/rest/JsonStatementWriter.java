@@ -0,0 +1,46 @@
+package com.example.banking.presentation.rest;
+
+import com.example.banking.domain.transfer.AccountMovement;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+
+/**
+ * 入出金明細をJSONの配列で書き出すライタ。
+ * ObjectMapperで配列全体をシリアライズせず、JsonGeneratorで要素を1件ずつ書き出します。
+ */
+final class JsonStatementWriter implements StatementWriter {
+
+    private final JsonGenerator generator;
+    private final ZoneId zone;
+
+    JsonStatementWriter(OutputStream out, ZoneId zone, JsonFactory jsonFactory) throws IOException {
+        this.generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8);
+        this.zone = zone;
+        generator.writeStartArray();
+    }
+
+    @Override
+    public void write(AccountMovement movement) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("transferId", movement.transferId().value().toString());
+        generator.writeStringField("requestedAt", OffsetDateTime.ofInstant(movement.requestedAt(), zone).toString());
+        generator.writeStringField("direction", movement.direction().name());
+        generator.writeStringField("counterpartyAccountId", movement.counterpartyAccountId().value().toString());
+        generator.writeNumberField("amount", movement.amount().amount());
+        generator.writeNumberField("fee", movement.fee().amount());
+        generator.writeStringField("currency", movement.amount().currency().getCurrencyCode());
+        generator.writeEndObject();
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.writeEndArray();
+        generator.close();
+    }
+}
@@ -1,6 +1,13 @@
 package com.example.banking.presentation.rest;
 
+import com.example.banking.domain.account.Money;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+
+import java.math.BigDecimal;
+import java.util.Currency;
 
 /**
  * 口座開設APIへのリクエストボディを表すDTO。
@@ -9,5 +16,20 @@ import jakarta.validation.constraints.NotBlank;
 public record OpenAccountRequest(
     /** 顧客名 */
     @NotBlank(message = "Customer name must not be blank.")
-    String customerName
-) {} 
\ No newline at end of file
+    String customerName,
+    /** 初期預金額 */
+    @NotNull
+    @DecimalMin(value = "0.0", message = "Initial deposit must not be negative.")
+    BigDecimal initialDeposit,
+    /** 口座の通貨（ISO 4217の通貨コード。省略時はJPY） */
+    @Pattern(regexp = "[A-Z]{3}", message = "Currency must be an ISO 4217 code.")
+    String currency
+) {
+    /**
+     * 初期預金額を金額に変換します。通貨が省略された場合はJPYとします。
+     */
+    public Money toMoney() {
+        return new Money(initialDeposit, currency == null ? Money.JPY : Currency.getInstance(currency));
+    }
+}
+ 
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.example.banking.presentation.rest;
+
+import com.example.banking.application.reconciliation.ReconciliationLauncher;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * 元帳照合バッチの運用API。
+ * 障害の復旧後などに照合を臨時に実行し、その結果を確認する場合に使用します。
+ */
+@RestController
+@RequestMapping("/api/admin/reconciliations")
+@RequiredArgsConstructor
+public class ReconciliationController {
+
+    private final ReconciliationLauncher launcher;
+
+    /**
+     * 照合を起動するエンドポイント。
+     *
+     * @return 起動した場合は 202 Accepted、すでに実行中の場合は 409 Conflict
+     */
+    @PostMapping
+    public ResponseEntity<Void> launch() {
+        return launcher.launch()
+                ? ResponseEntity.accepted().build()
+                : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    /**
+     * 最後に完了した照合の結果を取得するエンドポイント。
+     *
+     * @return 照合の結果。起動後に照合が一度も完了していない場合は 404 Not Found
+     */
+    @GetMapping("/latest")
+    public ResponseEntity<ReconciliationReportResponse> latest() {
+        return launcher.latestReport()
+                .map(ReconciliationReportResponse::from)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.banking.presentation.rest;
+
+import com.example.banking.application.reconciliation.ReconciliationReport;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 元帳照合の結果のレスポンスを表すDTO。
+ */
+public record ReconciliationReportResponse(
+    /** 照合を開始した日時 */
+    Instant startedAt,
+    /** 所要時間（ミリ秒） */
+    long elapsedMillis,
+    /** 照合した口座数 */
+    long accountsChecked,
+    /** 照合した振込数 */
+    long transfersChecked,
+    /** 検出した不整合の件数 */
+    long discrepancyCount,
+    /** 不整合の一部のみを含めている場合はtrue */
+    boolean truncated,
+    /** 検出した不整合 */
+    List<DiscrepancyResponse> discrepancies
+) {
+    public static ReconciliationReportResponse from(ReconciliationReport report) {
+        return new ReconciliationReportResponse(
+                report.startedAt(),
+                report.elapsed().toMillis(),
+                report.accountsChecked(),
+                report.transfersChecked(),
+                report.discrepancyCount(),
+                report.isTruncated(),
+                report.discrepancies().stream()
+                        .map(discrepancy -> new DiscrepancyResponse(
+                                discrepancy.type().name(), discrepancy.subjectId(), discrepancy.detail()))
+                        .toList()
+        );
+    }
+
+    /**
+     * 不整合の1件。
+     */
+    public record DiscrepancyResponse(
+        /** 不整合の種類 */
+        String type,
+        /** 口座ID（残高の不一致）または振込ID */
+        UUID subjectId,
+        /** 詳細 */
+        String detail
+    ) {
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.banking.presentation.rest;
+
+import com.example.banking.application.schedule.StandingOrderService;
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.AccountNotFoundException;
+import com.example.banking.domain.schedule.StandingOrder;
+import com.example.banking.domain.schedule.StandingOrderId;
+import com.example.banking.domain.schedule.StandingOrderNotFoundException;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * 定期振込（予約振込・自動振込）の登録・照会・解約を行うREST APIエンドポイントを提供するコントローラ。
+ * 登録した定期振込は、実行日時にスケジューラが振込依頼APIと同じユースケースで振込を依頼します。
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/standing-orders")
+@RequiredArgsConstructor
+public class StandingOrderController {
+
+    private final StandingOrderService standingOrderService;
+
+    /**
+     * 定期振込登録API (POST /api/standing-orders)
+     * @param request 定期振込登録リクエストのボディ
+     * @return 作成されたリソースの場所を示すヘッダと、定期振込の詳細を含むレスポンス (HTTP 201 Created)
+     */
+    @PostMapping
+    public ResponseEntity<StandingOrderResponse> schedule(@Valid @RequestBody StandingOrderRequest request) {
+        StandingOrder standingOrder = standingOrderService.schedule(
+                new AccountId(request.sourceAccountId()),
+                new AccountId(request.destinationAccountId()),
+                request.toMoney(),
+                request.recurrence(),
+                request.startAt(),
+                request.zone(),
+                request.endAt()
+        );
+
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(standingOrder.getId().value())
+                .toUri();
+
+        return ResponseEntity.created(location).body(StandingOrderResponse.from(standingOrder));
+    }
+
+    /**
+     * 定期振込照会API (GET /api/standing-orders/{id})
+     * @param id 定期振込ID
+     * @return 定期振込の詳細 (HTTP 200 OK)。見つからない場合は 404 Not Found
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<StandingOrderResponse> getStandingOrder(@PathVariable UUID id) {
+        return standingOrderService.getStandingOrder(new StandingOrderId(id))
+                .map(StandingOrderResponse::from)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * 定期振込解約API (DELETE /api/standing-orders/{id})
+     * 解約後の回は実行されません。解約済みの定期振込を再度解約しても成功とします。
+     * @param id 定期振込ID
+     * @return 解約後の定期振込の詳細 (HTTP 200 OK)
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<StandingOrderResponse> cancel(@PathVariable UUID id) {
+        return ResponseEntity.ok(StandingOrderResponse.from(standingOrderService.cancel(new StandingOrderId(id))));
+    }
+
+    /**
+     * 存在しない口座を指定した定期振込は 422 Unprocessable Entity で拒否する。
+     */
+    @ExceptionHandler(AccountNotFoundException.class)
+    public ProblemDetail handleAccountNotFound(AccountNotFoundException e) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage());
+        problem.setTitle("Account not found");
+        problem.setProperty("accountId", e.getAccountId().value());
+        return problem;
+    }
+
+    /**
+     * 存在しない定期振込の解約は 404 Not Found を返す。
+     */
+    @ExceptionHandler(StandingOrderNotFoundException.class)
+    public ProblemDetail handleStandingOrderNotFound(StandingOrderNotFoundException e) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, e.getMessage());
+        problem.setTitle("Standing order not found");
+        return problem;
+    }
+
+    /**
+     * すべての回を実行済みの定期振込の解約は 409 Conflict で拒否する。
+     */
+    @ExceptionHandler(IllegalStateException.class)
+    public ProblemDetail handleCompleted(IllegalStateException e) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, e.getMessage());
+        problem.setTitle("Standing order already completed");
+        return problem;
+    }
+
+    /**
+     * 自分自身への定期振込や、初回より前の実行期限などの不正な指定は 400 Bad Request で拒否する。
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail handleInvalidStandingOrder(IllegalArgumentException e) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+        problem.setTitle("Invalid standing order");
+        return problem;
+    }
+}
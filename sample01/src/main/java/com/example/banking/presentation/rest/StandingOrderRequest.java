@@ -0,0 +1,51 @@
+package com.example.banking.presentation.rest;
+
+import com.example.banking.domain.account.Money;
+import com.example.banking.domain.schedule.Recurrence;
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Currency;
+import java.util.UUID;
+
+/**
+ * 定期振込（予約振込・自動振込）の登録APIへのリクエストボディを表すDTO。
+ */
+public record StandingOrderRequest(
+    /** 送金元口座ID */
+    @NotNull
+    UUID sourceAccountId,
+    /** 送金先口座ID */
+    @NotNull
+    UUID destinationAccountId,
+    /** 1回あたりの振込額 */
+    @NotNull
+    @Positive(message = "Amount must be positive.")
+    BigDecimal amount,
+    /** 振込額の通貨（送金元口座の通貨。ISO 4217の通貨コード。省略時はJPY） */
+    @Pattern(regexp = "[A-Z]{3}", message = "Currency must be an ISO 4217 code.")
+    String currency,
+    /** 繰り返し間隔（ONCE, DAILY, WEEKLY, MONTHLY） */
+    @NotNull
+    Recurrence recurrence,
+    /** 初回の実行日時（ISO 8601。例: 2024-05-31T09:00:00+09:00） */
+    @NotNull
+    @Future(message = "The first transfer must be scheduled in the future.")
+    Instant startAt,
+    /** 実行日時を計算するタイムゾーン（例: Asia/Tokyo。省略時はサーバーの設定値） */
+    ZoneId zone,
+    /** 最終の実行期限（省略時は期限なし） */
+    Instant endAt
+) {
+    /**
+     * 振込額を金額に変換します。通貨が省略された場合はJPYとします。
+     */
+    public Money toMoney() {
+        return new Money(amount, currency == null ? Money.JPY : Currency.getInstance(currency));
+    }
+}
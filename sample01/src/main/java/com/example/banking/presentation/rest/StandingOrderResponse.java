@@ -0,0 +1,54 @@
+package com.example.banking.presentation.rest;
+
+import com.example.banking.domain.schedule.StandingOrder;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * 定期振込の詳細を表すレスポンスDTO。
+ */
+public record StandingOrderResponse(
+    /** 定期振込ID */
+    UUID id,
+    /** 送金元口座ID */
+    UUID sourceAccountId,
+    /** 送金先口座ID */
+    UUID destinationAccountId,
+    /** 1回あたりの振込額 */
+    BigDecimal amount,
+    /** 振込額の通貨 */
+    String currency,
+    /** 繰り返し間隔 */
+    String recurrence,
+    /** 初回の実行日時 */
+    Instant startAt,
+    /** 実行日時を計算するタイムゾーン */
+    String zone,
+    /** 最終の実行期限（期限がない場合はnull） */
+    Instant endAt,
+    /** 実行済みの回数 */
+    long occurrences,
+    /** 次回の実行日時（終了・解約した定期振込ではnull） */
+    Instant nextFireAt,
+    /** 定期振込ステータス（ACTIVE, COMPLETED, CANCELLED） */
+    String status
+) {
+    public static StandingOrderResponse from(StandingOrder standingOrder) {
+        return new StandingOrderResponse(
+                standingOrder.getId().value(),
+                standingOrder.getSourceAccountId().value(),
+                standingOrder.getDestinationAccountId().value(),
+                standingOrder.getMoney().amount(),
+                standingOrder.getMoney().currency().getCurrencyCode(),
+                standingOrder.getRecurrence().name(),
+                standingOrder.getStartAt(),
+                standingOrder.getZone().getId(),
+                standingOrder.getEndAt(),
+                standingOrder.getOccurrences(),
+                standingOrder.getNextFireAt(),
+                standingOrder.getStatus().name()
+        );
+    }
+}
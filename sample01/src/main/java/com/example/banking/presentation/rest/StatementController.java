@@ -0,0 +1,275 @@
+package com.example.banking.presentation.rest;
+
+import com.example.banking.application.service.ExportStatementQuery;
+import com.example.banking.application.service.ExportStatementQuery.Statement;
+import com.example.banking.application.service.GetAccountQuery;
+import com.example.banking.domain.account.AccountId;
+import com.example.banking.domain.account.AccountNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 入出金明細のエクスポートAPIを提供するコントローラ。
+ *
+ * 明細はDBのカーソルから読み込んだ行をそのままレスポンスに書き出し、中間のリストを作らないため、
+ * 明細の件数によらずヒープの使用量は一定です。
+ * - `Accept-Encoding`にgzipが含まれる場合は、gzipで圧縮して返します（`Content-Encoding: gzip`）。
+ * - `Range`ヘッダで1つのバイト範囲を指定すると、その範囲のみを返します（ダウンロードの再開）。
+ *   範囲は圧縮後のバイト列に対するもので、同じスナップショットから明細を2回読み込み、1回目で全体の長さを数えます。
+ * - 明細の件数から強いETagを求めて返し、`If-Range`のETagが現在の明細と一致する場合にのみ範囲を返します。
+ *   明細は完了した振込のみで、完了した振込は変更も削除もされないため、件数が同じであれば明細のバイト列も同じです。
+ * 全体の取得・部分取得のどちらも専用のスレッドプールで書き出し、同時に実行できるエクスポートの数を制限します。
+ */
+@RestController
+@Profile("!reactive")
+@RequestMapping("/api/accounts/{accountId}/statement")
+@RequiredArgsConstructor
+public class StatementController {
+
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
+    /** 入出金明細のエクスポートクエリ */
+    private final ExportStatementQuery exportStatementQuery;
+    /** 口座情報取得クエリ（口座の存在確認に使用する） */
+    private final GetAccountQuery getAccountQuery;
+    private final StatementProperties properties;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 入出金明細エクスポートAPI (GET /api/accounts/{accountId}/statement?from=&to=&format=)
+     * レスポンスはStreamingResponseBodyとして専用のスレッドプールで書き出されます。
+     * ヘッダは明細を読み込む前に送るため、ETagは明細の件数を別のクエリで数えて求めます。
+     * 書き出すまでの間に振込が完了した場合、ETagは実際の明細より古くなりますが、
+     * 明細の件数は増える一方のため、古いETagの`If-Range`は一致せず全体が返されるだけです。
+     *
+     * @param accountId 口座ID
+     * @param from 期間の開始日（この日を含む）
+     * @param to 期間の終了日（この日を含む）
+     * @param format 形式（csv / json）
+     * @param acceptEncoding クライアントが受け付けるエンコーディング
+     * @return 明細 (HTTP 200 OK)
+     */
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> exportStatement(
+            @PathVariable UUID accountId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        Export export = prepare(accountId, from, to, format, acceptEncoding);
+        long movements = exportStatementQuery.countStatementMovements(export.accountId(), export.from(), export.to());
+        StreamingResponseBody body = out -> exportStatementQuery.exportStatement(export.accountId(), export.from(), export.to(),
+                statement -> write(statement, export, out, () -> false));
+        return ResponseEntity.ok()
+                .headers(export.headers())
+                .eTag(export.eTag(movements))
+                .body(body);
+    }
+
+    /**
+     * 入出金明細の部分取得API（`Range`ヘッダ付きの GET /api/accounts/{accountId}/statement）
+     * 長さとETagを数えてからステータスとヘッダを決めるため、{@link #exportStatement}と同じスレッドプールで、
+     * 1つのトランザクション内に明細を読み込みます。ステータスとヘッダは、最初のバイトを書き出す前にresponseに設定します。
+     * `If-Range`のETagが現在の明細と一致しない場合（日付が指定された場合を含む）は、範囲を無視して全体を返します。
+     *
+     * @param range Rangeヘッダの値
+     * @param ifRange If-Rangeヘッダの値
+     * @param response 明細を書き出すレスポンス (HTTP 206 Partial Content, 416 Range Not Satisfiable,
+     *                 範囲を解釈できない場合と`If-Range`が一致しない場合は 200 OK)
+     * @return 明細
+     */
+    @GetMapping(headers = HttpHeaders.RANGE)
+    public StreamingResponseBody exportStatementRange(
+            @PathVariable UUID accountId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(HttpHeaders.RANGE) String range,
+            @RequestHeader(value = HttpHeaders.IF_RANGE, required = false) String ifRange,
+            HttpServletResponse response) {
+        Export export = prepare(accountId, from, to, format, acceptEncoding);
+        return out -> exportStatementQuery.exportStatement(export.accountId(), export.from(), export.to(), statement -> {
+            ByteRangeOutputStream counter = ByteRangeOutputStream.counting();
+            long movements = write(statement, export, counter, () -> false);
+            long length = counter.position();
+            String eTag = export.eTag(movements);
+
+            var requested = ByteRange.parse(range);
+            if (requested.isEmpty() || (ifRange != null && !ifRange.trim().equals(eTag))) {
+                // 解釈できない範囲の指定と、明細が変わった後の再開は、範囲を無視して全体を返す
+                response.setStatus(HttpStatus.OK.value());
+                setHeaders(response, export.headers());
+                response.setHeader(HttpHeaders.ETAG, eTag);
+                response.setContentLengthLong(length);
+                return write(statement, export, out, () -> false);
+            }
+
+            var resolved = requested.get().resolve(length);
+            if (resolved.isEmpty()) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return 0L;
+            }
+
+            ByteRange satisfied = resolved.get();
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            setHeaders(response, export.headers());
+            response.setHeader(HttpHeaders.ETAG, eTag);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, satisfied.contentRange(length));
+            response.setContentLengthLong(satisfied.size());
+            ByteRangeOutputStream ranged = new ByteRangeOutputStream(out, satisfied.first(), satisfied.last());
+            // 範囲の末尾まで書き出したら、残りの明細は読み込まない
+            return write(statement, export, ranged, ranged::isComplete);
+        });
+    }
+
+    /**
+     * 存在しない口座の明細は 404 Not Found とする。
+     */
+    @ExceptionHandler(AccountNotFoundException.class)
+    public ProblemDetail handleAccountNotFound(AccountNotFoundException e) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, e.getMessage());
+        problem.setTitle("Account not found");
+        problem.setProperty("accountId", e.getAccountId().value());
+        return problem;
+    }
+
+    /**
+     * 期間や形式の指定が不正な場合は 400 Bad Request とする。
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail handleInvalidRequest(IllegalArgumentException e) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+        problem.setTitle("Invalid statement request");
+        return problem;
+    }
+
+    /**
+     * 同時に実行できるエクスポートの上限を超えた場合は 503 Service Unavailable とする。
+     * クライアントは時間をおいて再試行する。
+     */
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ProblemDetail> handleTooManyExports(TaskRejectedException e) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE,
+                "Too many statement exports are running");
+        problem.setTitle("Statement export unavailable");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "10")
+                .body(problem);
+    }
+
+    private Export prepare(UUID accountId, LocalDate from, LocalDate to, String format, String acceptEncoding) {
+        StatementFormat statementFormat = StatementFormat.of(format)
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported statement format: " + format));
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Statement period must not end before it starts");
+        }
+        AccountId id = new AccountId(accountId);
+        // ヘッダの送信後には 404 を返せないため、明細を読み込む前に口座の存在を確認する
+        if (getAccountQuery.getAccountVersion(id).isEmpty()) {
+            throw new AccountNotFoundException(id);
+        }
+        return new Export(
+                id,
+                from.atStartOfDay(properties.zone()).toInstant(),
+                to.plusDays(1).atStartOfDay(properties.zone()).toInstant(),
+                statementFormat,
+                acceptsGzip(acceptEncoding),
+                "statement-" + accountId + "-" + from + "-" + to + "." + statementFormat.extension());
+    }
+
+    /**
+     * 明細を書き出し、書き出した明細の件数を返します。
+     */
+    private long write(Statement statement, Export export, OutputStream out, BooleanSupplier complete) throws IOException {
+        OutputStream encoded = export.gzip() ? new GZIPOutputStream(out, GZIP_BUFFER_SIZE) : out;
+        long[] movements = {0};
+        try (StatementWriter writer = export.format().open(encoded, properties.zone(), objectMapper.getFactory())) {
+            statement.forEach(movement -> {
+                writer.write(movement);
+                movements[0]++;
+                return !complete.getAsBoolean();
+            });
+        }
+        return movements[0];
+    }
+
+    private static void setHeaders(HttpServletResponse response, HttpHeaders headers) {
+        headers.forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        return Arrays.stream(acceptEncoding.split(","))
+                .map(String::trim)
+                .anyMatch(coding -> {
+                    String[] parts = coding.split(";");
+                    return parts[0].trim().equalsIgnoreCase("gzip")
+                            && Arrays.stream(parts).skip(1).map(String::trim).noneMatch(p -> p.matches("q=0(\\.0*)?"));
+                });
+    }
+
+    /**
+     * 1回のエクスポートの条件。
+     *
+     * @param accountId 口座ID
+     * @param from 期間の開始日時（この日時を含む）
+     * @param to 期間の終了日時（この日時を含まない）
+     * @param format 形式
+     * @param gzip gzipで圧縮するかどうか
+     * @param fileName ダウンロード時のファイル名
+     */
+    private record Export(AccountId accountId, Instant from, Instant to, StatementFormat format, boolean gzip, String fileName) {
+
+        HttpHeaders headers() {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(format.mediaType());
+            headers.setContentDisposition(ContentDisposition.attachment().filename(fileName).build());
+            headers.setCacheControl(CacheControl.noStore());
+            headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+            headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+            if (gzip) {
+                headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            return headers;
+        }
+
+        /**
+         * 明細の件数から強いETagを求めます。圧縮の有無でバイト列が異なるため、gzipの場合は区別します。
+         */
+        String eTag(long movements) {
+            return "\"" + movements + (gzip ? "-gzip" : "") + "\"";
+        }
+    }
+}
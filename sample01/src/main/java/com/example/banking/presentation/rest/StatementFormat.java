@@ -0,0 +1,60 @@
+package com.example.banking.presentation.rest;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * 入出金明細のエクスポート形式。
+ */
+enum StatementFormat {
+
+    CSV("csv", new MediaType("text", "csv", StandardCharsets.UTF_8)) {
+        @Override
+        StatementWriter open(OutputStream out, ZoneId zone, JsonFactory jsonFactory) throws IOException {
+            return new CsvStatementWriter(out, zone);
+        }
+    },
+    JSON("json", MediaType.APPLICATION_JSON) {
+        @Override
+        StatementWriter open(OutputStream out, ZoneId zone, JsonFactory jsonFactory) throws IOException {
+            return new JsonStatementWriter(out, zone, jsonFactory);
+        }
+    };
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    StatementFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * クエリパラメータの値（csv / json）から形式を取得します。
+     */
+    static Optional<StatementFormat> of(String value) {
+        return Arrays.stream(values())
+                .filter(format -> format.extension.equalsIgnoreCase(value))
+                .findFirst();
+    }
+
+    String extension() {
+        return extension;
+    }
+
+    MediaType mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * 出力ストリームに明細を書き出すライタを生成します。
+     */
+    abstract StatementWriter open(OutputStream out, ZoneId zone, JsonFactory jsonFactory) throws IOException;
+}
@@ -0,0 +1,22 @@
+package com.example.banking.presentation.rest;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.time.ZoneId;
+
+/**
+ * 入出金明細のエクスポートに関する設定値。
+ *
+ * @param zone 期間の日付を日時に変換し、明細の依頼日時を出力するタイムゾーン
+ * @param maxConcurrentExports 同時に実行するエクスポートの上限。超えた場合は 503 Service Unavailable で拒否する
+ * @param exportTimeout 1回のエクスポートに許容する時間（Spring MVCの非同期リクエストのタイムアウト）
+ */
+@ConfigurationProperties(prefix = "banking.statement")
+public record StatementProperties(
+        @DefaultValue("Asia/Tokyo") ZoneId zone,
+        @DefaultValue("4") int maxConcurrentExports,
+        @DefaultValue("PT30M") Duration exportTimeout
+) {
+}
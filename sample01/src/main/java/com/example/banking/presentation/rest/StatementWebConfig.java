@@ -0,0 +1,45 @@
+package com.example.banking.presentation.rest;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 入出金明細のエクスポート（StreamingResponseBody）を実行する非同期処理の設定。
+ *
+ * 既定ではSpring MVCの非同期処理は共有の`applicationTaskExecutor`で実行されるため、
+ * 長時間のエクスポートが他の非同期処理のスレッドを占有しないよう専用のスレッドプールを割り当てます。
+ * スレッドプールをBeanとして登録すると`applicationTaskExecutor`の自動設定が無効になるため、ここで生成して保持します。
+ */
+@Configuration
+@Profile("!reactive")
+public class StatementWebConfig implements WebMvcConfigurer, DisposableBean {
+
+    private final StatementProperties properties;
+    private final ThreadPoolTaskExecutor exportExecutor;
+
+    public StatementWebConfig(StatementProperties properties) {
+        this.properties = properties;
+        this.exportExecutor = new ThreadPoolTaskExecutor();
+        this.exportExecutor.setThreadNamePrefix("statement-");
+        this.exportExecutor.setCorePoolSize(properties.maxConcurrentExports());
+        this.exportExecutor.setMaxPoolSize(properties.maxConcurrentExports());
+        // 待ち行列を持たず、上限を超えたエクスポートは即座に拒否する（TaskRejectedException）
+        this.exportExecutor.setQueueCapacity(0);
+        this.exportExecutor.initialize();
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(exportExecutor);
+        configurer.setDefaultTimeout(properties.exportTimeout().toMillis());
+    }
+
+    @Override
+    public void destroy() {
+        exportExecutor.shutdown();
+    }
+}
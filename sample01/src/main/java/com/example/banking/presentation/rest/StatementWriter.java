@@ -0,0 +1,20 @@
+package com.example.banking.presentation.rest;
+
+import com.example.banking.domain.transfer.AccountMovement;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * 入出金明細を1件ずつ出力ストリームに書き出すライタ。
+ * クローズすると、フッタ（JSONの配列の終わりなど）を書き出してから出力ストリームをクローズします。
+ */
+interface StatementWriter extends Closeable {
+
+    /**
+     * 明細を1件書き出します。
+     * @param movement 明細
+     * @throws IOException 書き出しに失敗した場合
+     */
+    void write(AccountMovement movement) throws IOException;
+}
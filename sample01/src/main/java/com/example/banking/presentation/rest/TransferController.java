@@ -1,12 +1,26 @@
 package com.example.banking.presentation.rest;
 
+import com.example.banking.application.fee.FeeEvaluationException;
+import com.example.banking.application.fx.FxQuoteExpiredException;
+import com.example.banking.application.fx.FxRateUnavailableException;
+import com.example.banking.application.fx.TransferCurrencyMismatchException;
+import com.example.banking.application.limit.TransferLimitExceededException;
+import com.example.banking.application.saga.SagaBacklogFullException;
 import com.example.banking.application.service.RequestTransferUseCase;
+import com.example.banking.application.service.TransferCommand;
 import com.example.banking.domain.account.AccountId;
-import com.example.banking.domain.account.Money;
+import com.example.banking.domain.account.AccountNotFoundException;
+import com.example.banking.domain.fx.FxQuoteId;
 import com.example.banking.domain.transfer.Transfer;
+import com.example.banking.domain.transfer.TransferChannel;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -16,10 +30,14 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import java.net.URI;
 
 @RestController
+@Profile("!reactive")
 @RequestMapping("/api/transfers")
 @RequiredArgsConstructor
 public class TransferController {
 
+    /** Sagaのレーンが満杯の場合にクライアントへ提示する再試行までの秒数 */
+    private static final String RETRY_AFTER_SECONDS = "1";
+
     /** 振込依頼ユースケース */
     private final RequestTransferUseCase requestTransferUseCase;
 
@@ -33,11 +51,14 @@ public class TransferController {
     public ResponseEntity<Void> requestTransfer(@Valid @RequestBody TransferRequest request) {
         // アプリケーションサービスを呼び出して、振込依頼プロセスを開始する。
         // この呼び出しは同期的だが、内部で非同期のSagaをトリガーするイベントを発行する。
-        Transfer transfer = requestTransferUseCase.requestTransfer(
-                new AccountId(request.getSourceAccountId()),
-                new AccountId(request.getDestinationAccountId()),
-                Money.of(request.getAmount().toPlainString())
-        );
+        Transfer transfer = requestTransferUseCase.requestTransfer(new TransferCommand(
+                new AccountId(request.sourceAccountId()),
+                new AccountId(request.destinationAccountId()),
+                request.toMoney(),
+                request.quoteId() == null ? null : new FxQuoteId(request.quoteId()),
+                request.toPriority(),
+                TransferChannel.API
+        ));
 
         // 作成されたTransferリソースのURIを生成
         URI location = ServletUriComponentsBuilder.fromCurrentRequest()
@@ -50,4 +71,83 @@ public class TransferController {
         // クライアントは、LocationヘッダのURIを使って、後で処理状況を確認できる（今回はそのAPIは未実装）。
         return ResponseEntity.accepted().location(location).build();
     }
-} 
\ No newline at end of file
+
+    /**
+     * 存在しない口座への振込は、振込を受け付けずに 422 Unprocessable Entity で拒否する。
+     */
+    @ExceptionHandler(AccountNotFoundException.class)
+    public ProblemDetail handleAccountNotFound(AccountNotFoundException e) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage());
+        problem.setTitle("Account not found");
+        problem.setProperty("accountId", e.getAccountId().value());
+        return problem;
+    }
+
+    /**
+     * 振込元口座の振込上限を超える場合は 429 Too Many Requests で拒否する。
+     */
+    @ExceptionHandler(TransferLimitExceededException.class)
+    public ProblemDetail handleTransferLimitExceeded(TransferLimitExceededException e) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.TOO_MANY_REQUESTS, e.getMessage());
+        problem.setTitle("Transfer limit exceeded");
+        problem.setProperty("accountId", e.getAccountId().value());
+        problem.setProperty("limit", e.getLimit());
+        return problem;
+    }
+
+    /**
+     * 為替見積もりが存在しないか有効期限切れの場合は 422 Unprocessable Entity で拒否する。
+     * クライアントは見積もりを取り直してから振込を再依頼する。
+     */
+    @ExceptionHandler(FxQuoteExpiredException.class)
+    public ProblemDetail handleFxQuoteExpired(FxQuoteExpiredException e) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage());
+        problem.setTitle("FX quote expired");
+        return problem;
+    }
+
+    /**
+     * 振込金額・為替見積もりの通貨が口座の通貨と一致しない場合は 422 Unprocessable Entity で拒否する。
+     * 通貨をまたぐ振込で見積もりがない場合や、同じ通貨の口座間の振込で見積もりを指定した場合も含む。
+     */
+    @ExceptionHandler(TransferCurrencyMismatchException.class)
+    public ProblemDetail handleCurrencyMismatch(TransferCurrencyMismatchException e) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage());
+        problem.setTitle("Currency mismatch");
+        problem.setProperty("accountId", e.getAccountId().value());
+        return problem;
+    }
+
+    /**
+     * 振込額の通貨の為替レートが提供されていない場合は 422 Unprocessable Entity で拒否する。
+     */
+    @ExceptionHandler(FxRateUnavailableException.class)
+    public ProblemDetail handleFxRateUnavailable(FxRateUnavailableException e) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage());
+        problem.setTitle("Exchange rate unavailable");
+        return problem;
+    }
+
+    /**
+     * 振込手数料のルールで手数料を決められない場合は 422 Unprocessable Entity で拒否する。
+     * 手数料を確定できない振込は受け付けず、振込依頼は作成しない。
+     */
+    @ExceptionHandler(FeeEvaluationException.class)
+    public ProblemDetail handleFeeEvaluation(FeeEvaluationException e) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.UNPROCESSABLE_ENTITY, e.getMessage());
+        problem.setTitle("Transfer fee unavailable");
+        return problem;
+    }
+
+    /**
+     * 振込の優先度のレーンが満杯の場合は、振込を保存せずに 503 Service Unavailable と Retry-After ヘッダで再試行を促す。
+     */
+    @ExceptionHandler(SagaBacklogFullException.class)
+    public ResponseEntity<ProblemDetail> handleSagaBacklogFull(SagaBacklogFullException e) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        problem.setTitle("Transfer backlog full");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                .body(problem);
+    }
+}
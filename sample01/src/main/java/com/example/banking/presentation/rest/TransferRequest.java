@@ -1,9 +1,13 @@
 package com.example.banking.presentation.rest;
 
+import com.example.banking.domain.account.Money;
+import com.example.banking.domain.transfer.TransferPriority;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Positive;
 
 import java.math.BigDecimal;
+import java.util.Currency;
 import java.util.UUID;
 
 /**
@@ -20,5 +24,27 @@ public record TransferRequest(
     /** 振込額 */
     @NotNull
     @Positive(message = "Amount must be positive.")
-    BigDecimal amount
-) {} 
\ No newline at end of file
+    BigDecimal amount,
+    /** 振込額の通貨（送金元口座の通貨。ISO 4217の通貨コード。省略時はJPY） */
+    @Pattern(regexp = "[A-Z]{3}", message = "Currency must be an ISO 4217 code.")
+    String currency,
+    /** 為替見積もりID（通貨をまたぐ振込の場合に指定する） */
+    UUID quoteId,
+    /** 振込の優先度（URGENT, NORMAL, BULK。省略時はNORMAL） */
+    TransferPriority priority
+) {
+    /**
+     * 振込額を金額に変換します。通貨が省略された場合はJPYとします。
+     */
+    public Money toMoney() {
+        return new Money(amount, currency == null ? Money.JPY : Currency.getInstance(currency));
+    }
+
+    /**
+     * 振込の優先度を返します。省略された場合はNORMALとします。
+     */
+    public TransferPriority toPriority() {
+        return priority == null ? TransferPriority.NORMAL : priority;
+    }
+}
+ 
\ No newline at end of file
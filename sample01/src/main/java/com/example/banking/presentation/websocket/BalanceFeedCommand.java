@@ -0,0 +1,16 @@
+package com.example.banking.presentation.websocket;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 購読者から受信する、購読する口座の変更。
+ * 例: {@code {"subscribe": ["<口座ID>", ...], "unsubscribe": ["<口座ID>", ...]}}
+ */
+public record BalanceFeedCommand(
+    /** 購読を始める口座のID */
+    List<UUID> subscribe,
+    /** 購読をやめる口座のID */
+    List<UUID> unsubscribe
+) {
+}
@@ -0,0 +1,50 @@
+package com.example.banking.presentation.websocket;
+
+import com.example.banking.application.feed.BalanceUpdate;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 購読者に送信するメッセージ。残高の更新か、購読の変更に失敗した理由のいずれかを含みます。
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BalanceFeedMessage(
+    /** 口座ごとに最新の残高 */
+    List<Balance> updates,
+    /** 購読の変更に失敗した理由 */
+    String error
+) {
+
+    public static BalanceFeedMessage updates(List<BalanceUpdate> updates) {
+        return new BalanceFeedMessage(updates.stream().map(Balance::from).toList(), null);
+    }
+
+    public static BalanceFeedMessage error(String error) {
+        return new BalanceFeedMessage(null, error);
+    }
+
+    /**
+     * 1つの口座の残高。同じ口座の残高はバージョンの大きい方が新しい。
+     */
+    public record Balance(
+        /** 口座ID */
+        UUID accountId,
+        /** 残高（元帳残高） */
+        BigDecimal balance,
+        /** 利用可能残高 */
+        BigDecimal availableBalance,
+        /** 口座の通貨 */
+        String currency,
+        /** 口座のバージョン */
+        long version
+    ) {
+
+        static Balance from(BalanceUpdate update) {
+            return new Balance(update.accountId().value(), update.balance().amount(), update.availableBalance().amount(),
+                    update.balance().currency().getCurrencyCode(), update.version());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.banking.presentation.websocket;
+
+import com.example.banking.application.feed.BalanceFeed;
+import com.example.banking.application.feed.BalanceFeedProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * 残高の変化の配信（{@code /ws/balances}）を登録するWebSocketの設定。
+ * サーブレット構成でのみ使用でき、reactiveプロファイルでは登録しません。
+ */
+@Configuration
+@EnableWebSocket
+@Profile("!reactive")
+public class BalanceFeedWebSocketConfig implements WebSocketConfigurer {
+
+    private final BalanceFeed balanceFeed;
+    private final BalanceFeedProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public BalanceFeedWebSocketConfig(BalanceFeed balanceFeed, BalanceFeedProperties properties, ObjectMapper objectMapper) {
+        this.balanceFeed = balanceFeed;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(new BalanceFeedWebSocketHandler(balanceFeed, properties, objectMapper), "/ws/balances");
+    }
+}
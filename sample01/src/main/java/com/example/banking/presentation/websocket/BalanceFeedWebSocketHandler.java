@@ -0,0 +1,119 @@
+package com.example.banking.presentation.websocket;
+
+import com.example.banking.application.feed.BalanceFeed;
+import com.example.banking.application.feed.BalanceFeedProperties;
+import com.example.banking.application.feed.BalanceFeedSubscription;
+import com.example.banking.domain.account.AccountId;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.NativeWebSocketSession;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 残高の変化を配信するWebSocketのハンドラ。
+ *
+ * 接続ごとに{@link BalanceFeedSubscription}を作成し、クライアントから受信した{@link BalanceFeedCommand}で購読する口座を変更します。
+ * 購読した口座の残高がコミットされると、{@link BalanceFeedMessage}（{@code updates}）を送信します。
+ * 購読を始めた時点の残高は送信しないため、クライアントは購読の後に口座情報照会APIで現在の残高を取得し、
+ * 以降はバージョンの大きい残高で置き換えてください。
+ *
+ * 送信は{@link BalanceFeed}の送信スレッドが行います。
+ * 受信の遅いクライアントへの送信が{@code sendTimeout}を超えた場合は送信に失敗し、接続を閉じます。
+ */
+@Slf4j
+public class BalanceFeedWebSocketHandler extends TextWebSocketHandler {
+
+    /** Tomcatの、ブロッキング送信の待ち時間（ミリ秒）を指定するセッションのプロパティ */
+    private static final String TOMCAT_BLOCKING_SEND_TIMEOUT = "org.apache.tomcat.websocket.BLOCKING_SEND_TIMEOUT";
+    private static final String SUBSCRIPTION = BalanceFeedSubscription.class.getName();
+
+    private final BalanceFeed balanceFeed;
+    private final BalanceFeedProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public BalanceFeedWebSocketHandler(BalanceFeed balanceFeed, BalanceFeedProperties properties, ObjectMapper objectMapper) {
+        this.balanceFeed = balanceFeed;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws IOException {
+        limitSendTime(session);
+        Optional<BalanceFeedSubscription> subscription = balanceFeed.connect(updates -> send(session, BalanceFeedMessage.updates(updates)));
+        if (subscription.isEmpty()) {
+            session.close(CloseStatus.SERVICE_OVERLOAD);
+            return;
+        }
+        session.getAttributes().put(SUBSCRIPTION, subscription.get());
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws IOException {
+        BalanceFeedSubscription subscription = (BalanceFeedSubscription) session.getAttributes().get(SUBSCRIPTION);
+        if (subscription == null) {
+            return;
+        }
+        BalanceFeedCommand command;
+        try {
+            command = objectMapper.readValue(message.getPayload(), BalanceFeedCommand.class);
+        } catch (JsonProcessingException e) {
+            send(session, BalanceFeedMessage.error("Malformed command: " + e.getOriginalMessage()));
+            return;
+        }
+        for (UUID accountId : orEmpty(command.unsubscribe())) {
+            subscription.unsubscribe(new AccountId(accountId));
+        }
+        for (UUID accountId : orEmpty(command.subscribe())) {
+            if (!subscription.subscribe(new AccountId(accountId))) {
+                send(session, BalanceFeedMessage.error(
+                        "Subscription limit of " + properties.maxAccountsPerSubscriber() + " accounts reached: " + accountId));
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        BalanceFeedSubscription subscription = (BalanceFeedSubscription) session.getAttributes().remove(SUBSCRIPTION);
+        if (subscription != null) {
+            subscription.close();
+        }
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) throws IOException {
+        log.debug("Balance feed transport error on session {}", session.getId(), exception);
+        session.close(CloseStatus.SERVER_ERROR);
+    }
+
+    /**
+     * メッセージを送信します。WebSocketのセッションは同時に複数のスレッドから送信できないため、セッションで同期します。
+     */
+    private void send(WebSocketSession session, BalanceFeedMessage message) throws IOException {
+        TextMessage text = new TextMessage(objectMapper.writeValueAsString(message));
+        synchronized (session) {
+            session.sendMessage(text);
+        }
+    }
+
+    private void limitSendTime(WebSocketSession session) {
+        if (session instanceof NativeWebSocketSession nativeSession
+                && nativeSession.getNativeSession() instanceof jakarta.websocket.Session webSocketSession) {
+            webSocketSession.getUserProperties().put(TOMCAT_BLOCKING_SEND_TIMEOUT, properties.sendTimeout().toMillis());
+        }
+    }
+
+    private static <T> List<T> orEmpty(List<T> list) {
+        return list == null ? List.of() : list;
+    }
+}
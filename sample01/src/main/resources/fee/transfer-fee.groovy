@@ -0,0 +1,38 @@
+// 振込手数料のルール。振込元口座の通貨での手数料を返す。
+// 参照できる値:
+//   amount        振込金額
+//   currency      振込元口座の通貨コード（JPY、USDなど）
+//   accountType   振込元口座の種類（YEN: 円預金口座、FOREIGN_CURRENCY: 外貨預金口座）
+//   channel       受付チャネル（API、GRPC、STANDING_ORDER）
+//   priority      優先度（URGENT、NORMAL、BULK）
+//   crossCurrency 通貨をまたぐ振込かどうか
+// このファイルを編集すると、アプリケーションを再起動せずに次の確認（banking.fee.reload-interval）で反映される。
+
+if (accountType == 'FOREIGN_CURRENCY') {
+    // 外貨預金口座: 振込金額の0.1%（最低1、最高25通貨単位）
+    return (amount * 0.001).max(1.0).min(25.0)
+}
+
+// 円預金口座: 金額の帯ごとの手数料
+def fee
+if (amount < 30000) {
+    fee = 110
+} else if (amount < 1000000) {
+    fee = 330
+} else {
+    fee = 660
+}
+
+// 定期振込は1件あたり55円を割り引く
+if (channel == 'STANDING_ORDER') {
+    fee -= 55
+}
+// 至急の振込は220円を加算する
+if (priority == 'URGENT') {
+    fee += 220
+}
+// 外貨への振込（為替取引）は為替手数料として550円を加算する
+if (crossCurrency) {
+    fee += 550
+}
+return fee
@@ -12,9 +12,30 @@ CREATE TABLE IF NOT EXISTS accounts (
     account_number VARCHAR(255) NOT NULL UNIQUE,
     customer_name VARCHAR(255) NOT NULL,
     balance DECIMAL(19, 2) NOT NULL,
+    -- 与信で拘束されている額の合計。利用可能残高は balance - held_balance
+    held_balance DECIMAL(19, 2) NOT NULL DEFAULT 0,
+    currency VARCHAR(3) NOT NULL DEFAULT 'JPY',
     version BIGINT NOT NULL
 );
 
+-- 口座の仕訳（元帳）。残高を変更するたびに、残高の更新と同じトランザクションで1行追加する。
+-- amountは残高に対する増減（出金系の仕訳は負の値）で、口座ごとの合計は常に口座の残高と一致する
+CREATE TABLE IF NOT EXISTS account_entries (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    account_id UUID NOT NULL,
+    entry_type VARCHAR(20) NOT NULL,
+    amount DECIMAL(19, 2) NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    -- 振込による仕訳（TRANSFER_DEBIT / TRANSFER_FEE / TRANSFER_CREDIT / TRANSFER_REVERSAL）の振込ID
+    transfer_id UUID,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (account_id) REFERENCES accounts(id)
+);
+
+-- 照合バッチが口座ごと・振込ごとに仕訳を集計するためのインデックス
+CREATE INDEX IF NOT EXISTS idx_account_entries_account ON account_entries (account_id);
+CREATE INDEX IF NOT EXISTS idx_account_entries_transfer ON account_entries (transfer_id);
+
 -- transfersテーブル
 CREATE TABLE IF NOT EXISTS transfers (
     id UUID PRIMARY KEY,
@@ -22,8 +43,103 @@ CREATE TABLE IF NOT EXISTS transfers (
     destination_account_id UUID NOT NULL,
     money_amount DECIMAL(19, 2) NOT NULL,
     money_currency VARCHAR(3) NOT NULL,
+    -- 振込手数料（振込金額と同じ通貨）。Sagaが振込金額とともに振込元口座から出金する
+    fee_amount DECIMAL(19, 2) NOT NULL DEFAULT 0,
+    status VARCHAR(20) NOT NULL,
+    -- 通貨をまたぐ振込でロックした為替レートとその有効期限（同一通貨の振込ではNULL）
+    exchange_rate DECIMAL(19, 10),
+    credit_currency VARCHAR(3),
+    rate_expires_at TIMESTAMP WITH TIME ZONE,
+    -- Sagaを実行するレーン（URGENT, NORMAL, BULK）
+    priority VARCHAR(10) NOT NULL DEFAULT 'NORMAL',
+    -- 入出金明細の期間指定と並び順に使用する（INSERT時にDBが設定する）
+    requested_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL,
+    -- 振込は振込元口座のシャードに保持し、振込先口座は別のシャードにありうるため、振込先には外部キーを設けない
+    FOREIGN KEY (source_account_id) REFERENCES accounts(id)
+);
+
+-- 状態別の件数集計（REQUESTEDの滞留件数メトリクスなど）のためのインデックス
+CREATE INDEX IF NOT EXISTS idx_transfers_status ON transfers (status);
+
+-- 入出金明細のエクスポート（口座・期間で絞り込み、依頼日時の順に読み込む）のためのインデックス
+CREATE INDEX IF NOT EXISTS idx_transfers_source_requested ON transfers (source_account_id, requested_at);
+CREATE INDEX IF NOT EXISTS idx_transfers_destination_requested ON transfers (destination_account_id, requested_at);
+
+-- 振込上限の利用状況のチェックポイント（口座ごとに1行。時刻はエポックミリ秒、金額は通貨の最小単位）
+CREATE TABLE IF NOT EXISTS transfer_limit_checkpoints (
+    account_id UUID PRIMARY KEY,
+    minute_start BIGINT NOT NULL,
+    minute_previous_count BIGINT NOT NULL,
+    minute_previous_amount BIGINT NOT NULL,
+    minute_current_count BIGINT NOT NULL,
+    minute_current_amount BIGINT NOT NULL,
+    day_start BIGINT NOT NULL,
+    day_previous_count BIGINT NOT NULL,
+    day_previous_amount BIGINT NOT NULL,
+    day_current_count BIGINT NOT NULL,
+    day_current_amount BIGINT NOT NULL
+);
+
+-- 日次利息計上バッチの進捗（営業日・パーティションごとに1行）。チャンクのコミットと同じトランザクションで更新する
+CREATE TABLE IF NOT EXISTS interest_accrual_checkpoints (
+    business_date DATE NOT NULL,
+    partition_no INT NOT NULL,
+    last_account_id UUID,
+    accounts_processed BIGINT NOT NULL,
+    completed BOOLEAN NOT NULL,
+    updated_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (business_date, partition_no)
+);
+
+-- 定期振込（予約振込・自動振込）。振込元口座のシャードに保持する
+CREATE TABLE IF NOT EXISTS standing_orders (
+    id UUID PRIMARY KEY,
+    source_account_id UUID NOT NULL,
+    destination_account_id UUID NOT NULL,
+    money_amount DECIMAL(19, 2) NOT NULL,
+    money_currency VARCHAR(3) NOT NULL,
+    recurrence VARCHAR(20) NOT NULL,
+    start_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    time_zone VARCHAR(64) NOT NULL,
+    end_at TIMESTAMP WITH TIME ZONE,
+    -- 次回の実行日時と実行済みの回数は、依頼した振込と同じトランザクションで進める（終了・解約した定期振込ではNULL）
+    occurrences BIGINT NOT NULL,
+    next_fire_at TIMESTAMP WITH TIME ZONE,
     status VARCHAR(20) NOT NULL,
     version BIGINT NOT NULL,
-    FOREIGN KEY (source_account_id) REFERENCES accounts(id),
-    FOREIGN KEY (destination_account_id) REFERENCES accounts(id)
-); 
\ No newline at end of file
+    FOREIGN KEY (source_account_id) REFERENCES accounts(id)
+);
+
+-- スケジューラが実行予定の定期振込を(実行予定日時, ID)の順に読み込むためのインデックス
+CREATE INDEX IF NOT EXISTS idx_standing_orders_next_fire ON standing_orders (next_fire_at, id);
+
+-- 与信（オーソリゼーション）。口座のシャードに保持し、拘束額の合計は accounts.held_balance に反映する
+CREATE TABLE IF NOT EXISTS holds (
+    id UUID PRIMARY KEY,
+    account_id UUID NOT NULL,
+    amount DECIMAL(19, 2) NOT NULL,
+    currency VARCHAR(3) NOT NULL,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    -- 確定した金額（確定していない与信ではNULL）
+    captured_amount DECIMAL(19, 2),
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    version BIGINT NOT NULL,
+    FOREIGN KEY (account_id) REFERENCES accounts(id)
+);
+
+-- 期限切れの与信を有効期限の順に読み込むためのインデックス。確定・解除済みの与信は範囲検索から外れる
+CREATE INDEX IF NOT EXISTS idx_holds_status_expires ON holds (status, expires_at, id);
+
+-- 為替見積もり。どのインスタンスで発行した見積もりでも振込に使えるよう、先頭のシャードにまとめて保持する。
+-- 有効期限切れの行は定期的に削除する
+CREATE TABLE IF NOT EXISTS fx_quotes (
+    id UUID PRIMARY KEY,
+    from_currency VARCHAR(3) NOT NULL,
+    to_currency VARCHAR(3) NOT NULL,
+    rate DECIMAL(19, 10) NOT NULL,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_fx_quotes_expires ON fx_quotes (expires_at);
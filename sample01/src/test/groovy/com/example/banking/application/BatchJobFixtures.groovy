@@ -0,0 +1,66 @@
+package com.example.banking.application
+
+import com.example.banking.application.interest.AccountIdRange
+import com.example.banking.application.service.DatabaseShards
+import org.springframework.transaction.PlatformTransactionManager
+import org.springframework.transaction.TransactionDefinition
+import org.springframework.transaction.TransactionStatus
+import org.springframework.transaction.support.SimpleTransactionStatus
+
+import java.util.function.Supplier
+
+/**
+ * シャードと口座IDの範囲ごとに処理するバッチ（利息計上・元帳照合・与信の解除・定期振込）のテストで共有する部品。
+ */
+final class BatchJobFixtures {
+
+    /** UUIDの符号なし順序。PostgreSQL・H2のUUID型の順序と同じ */
+    static final Comparator<UUID> UNSIGNED_ORDER = { UUID a, UUID b -> compareUnsigned(a, b) } as Comparator<UUID>
+
+    private BatchJobFixtures() {
+    }
+
+    static int compareUnsigned(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.mostSignificantBits, b.mostSignificantBits)
+        high != 0 ? high : Long.compareUnsigned(a.leastSignificantBits, b.leastSignificantBits)
+    }
+
+    /** IDが口座IDの範囲に含まれるかどうか */
+    static boolean contains(AccountIdRange range, UUID id) {
+        compareUnsigned(id, range.lowerInclusive()) >= 0 &&
+                (range.upperExclusive() == null || compareUnsigned(id, range.upperExclusive()) < 0)
+    }
+
+    /** シャード（{@code default}）が1つだけの構成。処理は呼び出し元のスレッドでそのまま実行する */
+    static DatabaseShards singleShard() {
+        new DatabaseShards() {
+            @Override
+            List<String> names() {
+                ["default"]
+            }
+
+            @Override
+            public <T> T callOn(String shard, Supplier<T> work) {
+                work.get()
+            }
+        }
+    }
+
+    /** トランザクションを開始・コミット・ロールバックしても何もしないトランザクションマネージャ */
+    static PlatformTransactionManager transactionManager() {
+        new PlatformTransactionManager() {
+            @Override
+            TransactionStatus getTransaction(TransactionDefinition definition) {
+                new SimpleTransactionStatus()
+            }
+
+            @Override
+            void commit(TransactionStatus status) {
+            }
+
+            @Override
+            void rollback(TransactionStatus status) {
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.banking.application.event
+
+import com.example.banking.domain.account.AccountEntry
+import com.example.banking.domain.account.AccountId
+import com.example.banking.domain.account.Money
+import com.example.banking.domain.event.AccountBalanceChanged
+import com.example.banking.domain.event.DomainEvent
+import com.example.banking.infrastructure.event.CborEventBatchEncoder
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.transaction.support.TransactionSynchronizationManager
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+import java.util.concurrent.CopyOnWriteArrayList
+
+class DomainEventBusSpec extends Specification {
+
+    def encoder = new CborEventBatchEncoder()
+    def meterRegistry = new SimpleMeterRegistry()
+    def sent = new CopyOnWriteArrayList<EventBatch>()
+    def conditions = new PollingConditions(timeout: 5)
+    DomainEventBus bus
+
+    def cleanup() {
+        bus?.stop()
+    }
+
+    def "同じ口座のイベントは同じパーティションで、発生した順に送信される"() {
+        given: "4パーティション、1バッチ最大10件"
+        bus = start(properties(4, 10, Duration.ofMillis(20), EventCompression.NONE), sent.&add)
+        def accounts = (1..8).collect { AccountId.newId() }
+
+        when: "8口座のイベントを交互に50件ずつ発行すると"
+        (1..50).each { i -> accounts.each { bus.publish([changed(it, i)]) } }
+
+        then: "全件が送信され、1バッチは10件以下"
+        conditions.eventually {
+            assert sent.sum { it.eventCount() } == 400
+        }
+        sent.every { it.eventCount() <= 10 }
+
+        and: "口座ごとに発生した順に並び、口座のパーティションのバッチに含まれる"
+        def received = sent.collectMany { batch -> decode(batch).collect { [batch.partition(), it] } }
+        accounts.each { account ->
+            def own = received.findAll { it[1].partitionKey() == account }
+            assert own*.get(1)*.balance()*.amount() == (1..50).collect { it as BigDecimal }
+            assert own*.get(0).unique() == [bus.partitionOf(own[0][1])]
+        }
+        meterRegistry.get("banking.events.published").counter().count() == 400
+    }
+
+    def "バッチが埋まらない場合は、最初のイベントからlingerだけ待ってまとめて送信する"() {
+        given: "1パーティション、linger 200ミリ秒"
+        bus = start(properties(1, 100, Duration.ofMillis(200), EventCompression.GZIP), sent.&add)
+        def account = AccountId.newId()
+
+        when: "3件を続けて発行すると"
+        (1..3).each { bus.publish([changed(account, it)]) }
+
+        then: "1つのバッチとして圧縮して送信され、元のイベントに戻せる"
+        conditions.eventually {
+            assert sent.size() == 1
+        }
+        sent[0].eventCount() == 3
+        sent[0].compression() == EventCompression.GZIP
+        decode(sent[0])*.balance() == [Money.of("1"), Money.of("2"), Money.of("3")]
+    }
+
+    def "トランザクション内で発行したイベントはコミット後にのみ送信される"() {
+        given:
+        bus = start(properties(1, 100, Duration.ofMillis(1), EventCompression.NONE), sent.&add)
+        def account = AccountId.newId()
+
+        when: "トランザクション内で発行すると"
+        TransactionSynchronizationManager.initSynchronization()
+        bus.publish([changed(account, 1)])
+        Thread.sleep(100)
+
+        then: "コミットまでは送信されない"
+        sent.isEmpty()
+
+        when: "コミットすると"
+        TransactionSynchronizationManager.getSynchronizations().each { it.afterCommit() }
+        TransactionSynchronizationManager.clearSynchronization()
+
+        then:
+        conditions.eventually {
+            assert sent.size() == 1
+        }
+    }
+
+    def "送信に失敗したバッチは、後続のバッチより先に再送される"() {
+        given: "最初の2回の送信に失敗する発行先"
+        def failures = 2
+        bus = start(properties(1, 1, Duration.ZERO, EventCompression.NONE)) { EventBatch batch ->
+            if (failures-- > 0) {
+                throw new IOException("broker unavailable")
+            }
+            sent.add(batch)
+        }
+        def account = AccountId.newId()
+
+        when:
+        (1..3).each { bus.publish([changed(account, it)]) }
+
+        then: "発生した順に送信され、失敗した回数が記録される"
+        conditions.eventually {
+            assert sent.size() == 3
+        }
+        sent.collectMany { decode(it) }*.balance() == [Money.of("1"), Money.of("2"), Money.of("3")]
+        meterRegistry.get("banking.events.send.failures").counter().count() == 2
+    }
+
+    def "無効の場合は何も送信しない"() {
+        given:
+        def disabled = new DomainEventProperties(false, "memory", 1, 10, Duration.ZERO, EventCompression.NONE, 10,
+                Duration.ZERO, Duration.ofMillis(10), Duration.ofSeconds(1), null, null)
+        bus = new DomainEventBus(disabled, sent.&add as EventTransport, encoder, meterRegistry)
+        bus.start()
+
+        when:
+        bus.publish([changed(AccountId.newId(), 1)])
+        Thread.sleep(50)
+
+        then:
+        sent.isEmpty()
+    }
+
+    private DomainEventBus start(DomainEventProperties properties, Closure transport) {
+        def started = new DomainEventBus(properties, transport as EventTransport, encoder, meterRegistry)
+        started.start()
+        return started
+    }
+
+    private static DomainEventProperties properties(int partitions, int batchSize, Duration linger, EventCompression compression) {
+        return new DomainEventProperties(true, "memory", partitions, batchSize, linger, compression, 10_000,
+                Duration.ofSeconds(1), Duration.ofMillis(10), Duration.ofSeconds(1), null, null)
+    }
+
+    private List<DomainEvent> decode(EventBatch batch) {
+        return encoder.decode(batch.compression().decompress(batch.payload()))
+    }
+
+    /** 残高を連番にした入金のイベント */
+    private static AccountBalanceChanged changed(AccountId account, int sequence) {
+        def entry = new AccountEntry(account, AccountEntry.Type.DEPOSIT, Money.of("1"), null)
+        return AccountBalanceChanged.of(entry, Money.of(String.valueOf(sequence)))
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.banking.application.fee
+
+import com.example.banking.domain.account.Money
+import com.example.banking.domain.transfer.TransferChannel
+import com.example.banking.domain.transfer.TransferPriority
+import com.example.banking.infrastructure.fee.ResourceFeeRuleLoader
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.core.io.DefaultResourceLoader
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.time.Duration
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+
+class FeeRuleEngineSpec extends Specification {
+
+    static final Currency USD = Currency.getInstance("USD")
+
+    @TempDir
+    Path dir
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry()
+
+    FeeRuleEngine engineFor(String location, boolean enabled = true) {
+        def properties = new FeeProperties(enabled, location, Duration.ofSeconds(10))
+        def engine = new FeeRuleEngine(properties)
+        def loader = new ResourceFeeRuleLoader(new DefaultResourceLoader(), engine, properties, meterRegistry)
+        loader.initialLoad()
+        engine
+    }
+
+    static FeeRequest request(String amount, TransferChannel channel = TransferChannel.API,
+                              TransferPriority priority = TransferPriority.NORMAL, boolean crossCurrency = false) {
+        new FeeRequest(Money.of(amount), channel, priority, crossCurrency)
+    }
+
+    def "同梱のルールは金額の帯・チャネル・口座の種類ごとに手数料を決める"() {
+        given:
+        def engine = engineFor("classpath:fee/transfer-fee.groovy")
+
+        expect: "円預金口座は金額の帯とチャネル・優先度で決まる"
+        engine.evaluate(request("3000")) == Money.of("110")
+        engine.evaluate(request("30000")) == Money.of("330")
+        engine.evaluate(request("2000000")) == Money.of("660")
+        engine.evaluate(request("3000", TransferChannel.STANDING_ORDER, TransferPriority.BULK)) == Money.of("55")
+        engine.evaluate(request("3000", TransferChannel.GRPC, TransferPriority.URGENT)) == Money.of("330")
+
+        and: "外貨預金口座は金額の割合で、口座の通貨の補助単位に丸める"
+        engine.evaluate(new FeeRequest(Money.of("1234.56", USD), TransferChannel.API, TransferPriority.NORMAL, false)) ==
+                Money.of("1.23", USD)
+        engine.evaluate(new FeeRequest(Money.of("100000", USD), TransferChannel.API, TransferPriority.NORMAL, false)) ==
+                Money.of("25.00", USD)
+    }
+
+    def "手数料の徴収が無効な場合、ルールを読み込まずに手数料はゼロとなる"() {
+        given:
+        def engine = engineFor("file:" + dir.resolve("missing.groovy"), false)
+
+        expect:
+        engine.evaluate(request("3000")) == new Money(0G, Money.JPY)
+        engine.current().isEmpty()
+    }
+
+    def "ルールのファイルを変更すると、次の確認でコンパイルし直して差し替える"() {
+        given: "一律100円のルール"
+        def rules = dir.resolve("fee.groovy")
+        Files.writeString(rules, "return 100")
+        def properties = new FeeProperties(true, "file:" + rules, Duration.ofSeconds(10))
+        def engine = new FeeRuleEngine(properties)
+        def loader = new ResourceFeeRuleLoader(new DefaultResourceLoader(), engine, properties, meterRegistry)
+        loader.initialLoad()
+        def first = engine.current().get()
+
+        when: "内容を変えずに確認すると"
+        loader.reload()
+
+        then: "コンパイルし直さない"
+        engine.current().get().is(first)
+
+        when: "金額の帯のルールに書き換えると"
+        Files.writeString(rules, "amount < 10000 ? 200 : 400")
+        loader.reload()
+
+        then: "再起動せずに新しいルールが適用される"
+        engine.evaluate(request("3000")) == Money.of("200")
+        engine.evaluate(request("50000")) == Money.of("400")
+        meterRegistry.get("banking.fee.rules.reloads").tag("result", "loaded").counter().count() == 2
+    }
+
+    def "コンパイルできないルールや、評価に失敗するルールには差し替えず、直前のルールを使い続ける"() {
+        given:
+        def rules = dir.resolve("fee.groovy")
+        Files.writeString(rules, "return 100")
+        def properties = new FeeProperties(true, "file:" + rules, Duration.ofSeconds(10))
+        def engine = new FeeRuleEngine(properties)
+        def loader = new ResourceFeeRuleLoader(new DefaultResourceLoader(), engine, properties, meterRegistry)
+        loader.initialLoad()
+
+        when: "構文の誤り、存在しない値の参照、負の手数料のルールに書き換えると"
+        ["return (", "return amount * unknownRate", "return -1", "return 'free'"].each {
+            Files.writeString(rules, it)
+            loader.reload()
+        }
+
+        then: "いずれも差し替えられない"
+        engine.evaluate(request("3000")) == Money.of("100")
+        meterRegistry.get("banking.fee.rules.reloads").tag("result", "failed").counter().count() == 4
+    }
+
+    def "System・Runtime・リフレクションなどを参照するルールはコンパイルしない"() {
+        when:
+        FeeRuleSet.compile("test", source)
+
+        then:
+        def e = thrown(IllegalArgumentException)
+        e.message.contains("do not compile")
+
+        where:
+        source << [
+                "System.exit(0); return 0",
+                "Runtime.getRuntime().exec('id'); return 0",
+                "'id'.execute(); return 0",
+                "return Class.forName('java.lang.System')",
+                "return amount.getClass().forName('java.lang.Runtime')",
+                "return amount.class.classLoader",
+                "return amount.metaClass",
+                "return evaluate('1')",
+                "import java.nio.file.Files; return 0",
+                "return new File('/etc/passwd').text.size()",
+                "def cmd = { 0 }; return cmd()",
+                "def fee() { 0 }; return fee()",
+                "return amount.\"\${'getClass'}\"()",
+        ]
+    }
+
+    def "起動時にルールを読み込めない場合は起動を中止する"() {
+        when:
+        engineFor("file:" + dir.resolve("missing.groovy"))
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+    def "多数のスレッドから同時に評価しても、スクリプトの変数は振込ごとに独立している"() {
+        given: "振込金額をスクリプトの変数（Binding）に入れてから返すルール"
+        def ruleSet = FeeRuleSet.compile("test", "fee = amount; def i = 0; while (i < 100) { i++ }; return fee")
+        def pool = Executors.newFixedThreadPool(8)
+
+        when:
+        def results = (1..2000).collect { i ->
+            pool.submit({ ruleSet.evaluate(request(String.valueOf(i))) } as Callable)
+        }*.get()
+
+        then:
+        results == (1..2000).collect { Money.of(String.valueOf(it)) }
+
+        cleanup:
+        pool.shutdownNow()
+    }
+}
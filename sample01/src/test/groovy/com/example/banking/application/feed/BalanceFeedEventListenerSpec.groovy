@@ -0,0 +1,109 @@
+package com.example.banking.application.feed
+
+import com.example.banking.application.event.DomainEventProperties
+import com.example.banking.application.event.EventBatch
+import com.example.banking.application.event.EventCompression
+import com.example.banking.domain.account.Account
+import com.example.banking.domain.account.AccountEntry
+import com.example.banking.domain.account.AccountId
+import com.example.banking.domain.account.AccountNumber
+import com.example.banking.domain.account.AccountRepository
+import com.example.banking.domain.account.CustomerName
+import com.example.banking.domain.account.Money
+import com.example.banking.domain.event.AccountBalanceChanged
+import com.example.banking.domain.event.AccountHoldChanged
+import com.example.banking.domain.event.DomainEvent
+import com.example.banking.infrastructure.event.CborEventBatchEncoder
+import com.example.banking.infrastructure.event.InMemoryEventTransport
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+import java.util.concurrent.Executors
+
+class BalanceFeedEventListenerSpec extends Specification {
+
+    def encoder = new CborEventBatchEncoder()
+    def transport = new InMemoryEventTransport()
+    def refresher = Executors.newSingleThreadExecutor()
+    BalanceFeed feed = Mock()
+    AccountRepository accountRepository = Mock()
+    def listener = new BalanceFeedEventListener(feed, accountRepository, transport, encoder, refresher)
+
+    def cleanup() {
+        listener.shutdown()
+    }
+
+    def "購読者のいる口座のみを、バッチごとに1回だけ読み直して配信する"() {
+        given:
+        def followed = AccountId.newId()
+        def held = AccountId.newId()
+        def other = AccountId.newId()
+        def batch = batch([changed(followed, "100"), changed(followed, "200"), holdPlaced(held), changed(other, "300")])
+        def followedAccount = account(followed, "200")
+        def heldAccount = account(held, "1000")
+
+        when:
+        listener.refresh(batch)
+
+        then:
+        _ * feed.isFollowed(followed) >> true
+        _ * feed.isFollowed(held) >> true
+        _ * feed.isFollowed(other) >> false
+        1 * accountRepository.findById(followed) >> Optional.of(followedAccount)
+        1 * accountRepository.findById(held) >> Optional.of(heldAccount)
+        0 * accountRepository.findById(other)
+        1 * feed.notifyCommitted(followedAccount)
+        1 * feed.notifyCommitted(heldAccount)
+    }
+
+    def "発行先が受け入れたバッチを購読して配信する"() {
+        given:
+        def conditions = new PollingConditions(timeout: 5)
+        def followed = AccountId.newId()
+        def followedAccount = account(followed, "500")
+        feed.isFollowed(followed) >> true
+        accountRepository.findById(followed) >> Optional.of(followedAccount)
+        def notified = []
+        feed.notifyCommitted(_) >> { Account a -> notified.add(a) }
+        listener.subscribe()
+
+        when:
+        transport.send(batch([changed(followed, "500")]))
+
+        then:
+        conditions.eventually {
+            assert notified == [followedAccount]
+        }
+    }
+
+    def "ドメインイベントの発行が無効な場合は起動できない"() {
+        given:
+        def disabled = new DomainEventProperties(false, "memory", 1, 10, Duration.ZERO, EventCompression.NONE, 10,
+                Duration.ZERO, Duration.ofMillis(10), Duration.ofSeconds(1), null, null)
+
+        when:
+        new BalanceFeedEventListener(feed, accountRepository, transport, encoder, disabled)
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+    private EventBatch batch(List<DomainEvent> events) {
+        def compression = EventCompression.GZIP
+        return new EventBatch(0, events.size(), compression, compression.compress(encoder.encode(events)))
+    }
+
+    private static AccountBalanceChanged changed(AccountId accountId, String balance) {
+        def entry = new AccountEntry(accountId, AccountEntry.Type.DEPOSIT, Money.of("100"), null)
+        return AccountBalanceChanged.of(entry, Money.of(balance))
+    }
+
+    private static AccountHoldChanged holdPlaced(AccountId accountId) {
+        return AccountHoldChanged.of(accountId, AccountHoldChanged.Type.PLACED, Money.of("300"), Money.of("300"), Money.of("1000"))
+    }
+
+    private static Account account(AccountId id, String balance) {
+        return Account.reconstitute(id, new AccountNumber("1234567"), new CustomerName("Taro Suzuki"), Money.of(balance), 3L)
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.banking.application.feed
+
+import com.example.banking.domain.account.Account
+import com.example.banking.domain.account.AccountId
+import com.example.banking.domain.account.AccountNumber
+import com.example.banking.domain.account.CustomerName
+import com.example.banking.domain.account.Money
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.util.concurrent.PollingConditions
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+class BalanceFeedSpec extends Specification {
+
+    def meterRegistry = new SimpleMeterRegistry()
+    def feed = new BalanceFeed(new BalanceFeedProperties(true, 2, 3, 2, Duration.ofSeconds(5)), meterRegistry)
+    def conditions = new PollingConditions(timeout: 5)
+    def received = new CopyOnWriteArrayList<List<BalanceUpdate>>()
+
+    def cleanup() {
+        feed.shutdown()
+    }
+
+    def "購読している口座の残高のみが配信される"() {
+        given:
+        def account = AccountId.newId()
+        def other = AccountId.newId()
+        def subscription = feed.connect(received.&add).get()
+        subscription.subscribe(account)
+
+        expect:
+        feed.isFollowed(account)
+        !feed.isFollowed(other)
+
+        when:
+        feed.notifyCommitted(committed(account, "1000", 1))
+        feed.notifyCommitted(committed(other, "2000", 1))
+
+        then:
+        conditions.eventually {
+            assert received.flatten()*.balance() == [Money.of("1000")]
+        }
+    }
+
+    def "送信中に届いた同じ口座の更新は、最新の残高の1件にまとめて送信される"() {
+        given: "1回目の送信を止めておく購読者"
+        def account = AccountId.newId()
+        def firstSending = new CountDownLatch(1)
+        def release = new CountDownLatch(1)
+        def subscription = feed.connect({ List<BalanceUpdate> updates ->
+            if (received.isEmpty()) {
+                firstSending.countDown()
+                release.await(5, TimeUnit.SECONDS)
+            }
+            received.add(updates)
+        } as BalanceFeedSubscription.Sink).get()
+        subscription.subscribe(account)
+
+        when: "1回目の送信中に3件の更新が届くと（うち1件は古いバージョン）"
+        feed.notifyCommitted(committed(account, "100", 1))
+        firstSending.await(5, TimeUnit.SECONDS)
+        feed.notifyCommitted(committed(account, "200", 2))
+        feed.notifyCommitted(committed(account, "400", 4))
+        feed.notifyCommitted(committed(account, "300", 3))
+        release.countDown()
+
+        then: "2回目の送信は最新のバージョンの1件のみ"
+        conditions.eventually {
+            assert received.size() == 2
+        }
+        received[1]*.balance() == [Money.of("400")]
+        meterRegistry.get("banking.feed.updates").tag("result", "conflated").counter().count() == 2
+    }
+
+    def "購読できる口座と接続できる購読者の数には上限がある"() {
+        given:
+        def subscription = feed.connect(received.&add).get()
+
+        expect: "1つの購読者は3口座まで"
+        (1..3).every { subscription.subscribe(AccountId.newId()) }
+        !subscription.subscribe(AccountId.newId())
+
+        and: "接続は2つまで"
+        feed.connect(received.&add).isPresent()
+        feed.connect(received.&add).isEmpty()
+    }
+
+    def "切断した購読者は口座の索引から除かれ、接続数も戻る"() {
+        given:
+        def account = AccountId.newId()
+        def subscription = feed.connect(received.&add).get()
+        subscription.subscribe(account)
+
+        when:
+        subscription.close()
+        feed.notifyCommitted(committed(account, "1000", 1))
+
+        then:
+        Thread.sleep(50)
+        received.isEmpty()
+        meterRegistry.get("banking.feed.accounts").gauge().value() == 0
+        meterRegistry.get("banking.feed.subscribers").gauge().value() == 0
+    }
+
+    def "送信に失敗した購読者は切断される"() {
+        given:
+        def account = AccountId.newId()
+        def subscription = feed.connect({ throw new IOException("closed by peer") } as BalanceFeedSubscription.Sink).get()
+        subscription.subscribe(account)
+
+        when:
+        feed.notifyCommitted(committed(account, "1000", 1))
+
+        then:
+        conditions.eventually {
+            assert subscription.accountCount() == 0
+        }
+        meterRegistry.get("banking.feed.subscribers").gauge().value() == 0
+    }
+
+    /** コミット後に読み込んだ、バージョンがversionの口座 */
+    private static Account committed(AccountId id, String balance, long version) {
+        return Account.reconstitute(id, new AccountNumber("1234567"), new CustomerName("Taro Suzuki"), Money.of(balance), version)
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.banking.application.fx
+
+import com.example.banking.domain.account.AccountId
+import com.example.banking.domain.account.Money
+import com.example.banking.domain.fx.ExchangeRate
+import com.example.banking.domain.fx.FxQuote
+import com.example.banking.domain.fx.FxQuoteId
+import spock.lang.Specification
+
+import java.time.Clock
+import java.time.Duration
+import java.time.Instant
+
+class FxQuoteServiceSpec extends Specification {
+
+    static final Currency USD = Currency.getInstance("USD")
+    static final Currency EUR = Currency.getInstance("EUR")
+    static final AccountId SOURCE = AccountId.newId()
+    static final AccountId DESTINATION = AccountId.newId()
+
+    Instant now = Instant.parse("2024-01-01T00:00:00Z")
+
+    Clock clock = Stub() {
+        instant() >> { now }
+    }
+
+    def provider = new FxRateProvider()
+    def properties = new FxProperties("classpath:fx/rates.csv", Duration.ofMinutes(1), Duration.ofSeconds(30))
+    def repository = new InMemoryFxQuoteRepository()
+    def service = new FxQuoteService(provider, properties, repository, clock)
+
+    def setup() {
+        provider.replace(FxRateTable.of(now, [new ExchangeRate(USD, Money.JPY, 150G)]))
+    }
+
+    def "テーブルには配信されたレートの逆方向のレートも含まれる"() {
+        when:
+        def table = provider.current()
+
+        then:
+        table.size() == 2
+        table.find(Money.JPY, USD).get().convert(Money.of("15000")) == Money.of("100.00", USD)
+        table.find(USD, EUR).isEmpty()
+    }
+
+    def "見積もりは有効期限まで取得でき、期限を過ぎると例外となる"() {
+        given:
+        def quote = service.quote(USD, Money.JPY)
+
+        expect: "有効期限は発行時刻に有効期間を加えた時刻"
+        quote.expiresAt() == now.plusSeconds(30)
+        service.getValidQuote(quote.id()) == quote
+
+        when: "有効期限を過ぎてから取得すると"
+        now = now.plusSeconds(30)
+        service.getValidQuote(quote.id())
+
+        then:
+        thrown(FxQuoteExpiredException)
+    }
+
+    def "見積もりのレートは、その後にテーブルが差し替えられても変わらない"() {
+        given:
+        def quote = service.quote(USD, Money.JPY)
+
+        when: "レートが更新されると"
+        provider.replace(FxRateTable.of(now, [new ExchangeRate(USD, Money.JPY, 155G)]))
+
+        then: "発行済みの見積もりは発行時のレートのまま"
+        service.getValidQuote(quote.id()).rate().rate() == 150G
+        service.quote(USD, Money.JPY).rate().rate() == 155G
+    }
+
+    def "レートが提供されていない通貨ペアは見積もりできない"() {
+        when:
+        service.quote(USD, EUR)
+
+        then:
+        thrown(FxRateUnavailableException)
+    }
+
+    def "存在しない見積もりIDは期限切れとして扱われる"() {
+        when:
+        service.getValidQuote(FxQuoteId.newId())
+
+        then:
+        thrown(FxQuoteExpiredException)
+    }
+
+    def "見積もりは共有ストアに保存され、発行したものとは別のインスタンスでも取得できる"() {
+        given: "同じストアを使う2つのインスタンス"
+        def otherInstance = new FxQuoteService(new FxRateProvider(), properties, repository, clock)
+
+        when:
+        def quote = service.quote(USD, Money.JPY)
+
+        then: "別のインスタンスでも同じレートの見積もりが取得できる"
+        otherInstance.getValidQuote(quote.id()) == quote
+    }
+
+    def "振込の通貨が口座の通貨と一致する場合、通貨をまたぐ振込では見積もりが返される"() {
+        given:
+        def quote = service.quote(USD, Money.JPY)
+
+        expect:
+        service.quoteForTransfer(SOURCE, USD, DESTINATION, Money.JPY, Money.of("100", USD), quote.id()) == quote
+        service.quoteForTransfer(SOURCE, Money.JPY, DESTINATION, Money.JPY, Money.of("1000"), null) == null
+    }
+
+    def "振込の通貨が口座の通貨と一致しない場合は、見積もりの有無に関わらず拒否される"() {
+        given:
+        def quote = service.quote(USD, Money.JPY)
+        def quoteId = quoted ? quote.id() : null
+
+        when:
+        service.quoteForTransfer(SOURCE, sourceCurrency, DESTINATION, destinationCurrency, Money.of("100", moneyCurrency), quoteId)
+
+        then:
+        def e = thrown(TransferCurrencyMismatchException)
+        e.accountId == rejected
+
+        where: "振込元の通貨 | 振込先の通貨 | 振込金額の通貨 | 見積もりの有無 | 拒否の理由"
+        sourceCurrency | destinationCurrency | moneyCurrency | quoted || rejected
+        Money.JPY      | Money.JPY           | USD           | false  || SOURCE      // 振込金額が振込元口座の通貨でない
+        USD            | Money.JPY           | USD           | false  || DESTINATION // 通貨をまたぐのに見積もりがない
+        Money.JPY      | Money.JPY           | Money.JPY     | true   || DESTINATION // 同じ通貨の口座間で見積もりがある
+        USD            | EUR                 | USD           | true   || DESTINATION // 見積もりの換算先が振込先口座の通貨でない
+        EUR            | Money.JPY           | EUR           | true   || SOURCE      // 見積もりの換算元が振込元口座の通貨でない
+    }
+
+    def "期限切れの見積もりは定期処理で削除される"() {
+        given:
+        def expired = service.quote(USD, Money.JPY)
+        now = now.plusSeconds(20)
+        def valid = service.quote(USD, Money.JPY)
+        now = now.plusSeconds(15)
+
+        when:
+        service.evictExpired()
+        now = now.minusSeconds(35)
+
+        then: "時刻を戻しても、削除された見積もりは取得できない"
+        service.getValidQuote(valid.id()) == valid
+
+        when:
+        service.getValidQuote(expired.id())
+
+        then:
+        thrown(FxQuoteExpiredException)
+    }
+
+    /**
+     * インスタンス間で共有するストアの代わりとなる、メモリ上の見積もりのリポジトリ。
+     */
+    static class InMemoryFxQuoteRepository implements FxQuoteRepository {
+
+        final Map<FxQuoteId, FxQuote> quotes = [:]
+
+        @Override
+        void save(FxQuote quote) {
+            quotes[quote.id()] = quote
+        }
+
+        @Override
+        Optional<FxQuote> findById(FxQuoteId id) {
+            Optional.ofNullable(quotes[id])
+        }
+
+        @Override
+        int deleteExpired(Instant now) {
+            def expired = quotes.values().findAll { it.isExpired(now) }
+            expired.each { quotes.remove(it.id()) }
+            expired.size()
+        }
+    }
+}
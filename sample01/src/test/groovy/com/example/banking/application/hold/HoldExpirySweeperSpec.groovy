@@ -0,0 +1,78 @@
+package com.example.banking.application.hold
+
+import com.example.banking.application.BatchJobFixtures
+import com.example.banking.domain.account.AccountId
+import com.example.banking.domain.account.AccountRepository
+import com.example.banking.domain.account.Money
+import com.example.banking.domain.hold.Hold
+import com.example.banking.domain.hold.HoldId
+import com.example.banking.domain.hold.HoldRepository
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+
+import java.time.Clock
+import java.time.Duration
+import java.time.Instant
+import java.util.concurrent.TimeUnit
+
+class HoldExpirySweeperSpec extends Specification {
+
+    static final Instant NOW = Instant.parse("2024-05-31T00:00:00Z")
+
+    HoldRepository holdRepository = Mock()
+    AccountRepository accountRepository = Mock()
+    def meterRegistry = new SimpleMeterRegistry()
+    def transactionManager = BatchJobFixtures.transactionManager()
+    def shards = BatchJobFixtures.singleShard()
+    Clock clock = Stub() {
+        instant() >> NOW
+    }
+    /** 2件ずつ解除する */
+    def properties = new HoldProperties(Duration.ofDays(7), Duration.ofDays(30), true, Duration.ofSeconds(10), 2)
+    def sweeper = new HoldExpirySweeper(holdRepository, accountRepository, shards, properties,
+            transactionManager, meterRegistry, clock)
+
+    def "期限切れの与信はバッチごとに解除され、口座ごとに合計した額の拘束が1回で解除される"() {
+        given: "口座Aの与信2件と口座Bの与信1件が期限切れ"
+        def accountA = AccountId.newId()
+        def accountB = AccountId.newId()
+        def batch1 = [expired(accountA, "3000", 60), expired(accountA, "2000", 30)]
+        def batch2 = [expired(accountB, "1000", 10)]
+
+        when:
+        def released = sweeper.sweep()
+
+        then: "1件目のバッチで口座Aの2件を解除する"
+        1 * holdRepository.findExpiredForUpdate(NOW, 2) >> batch1
+        2 * holdRepository.update({ it.status == Hold.Status.EXPIRED })
+        1 * accountRepository.releaseHold(accountA, Money.of("5000"))
+
+        then: "バッチが埋まったため続きを読み込み、件数が満たないバッチで終了する"
+        1 * holdRepository.findExpiredForUpdate(NOW, 2) >> batch2
+        1 * holdRepository.update({ it.status == Hold.Status.EXPIRED })
+        1 * accountRepository.releaseHold(accountB, Money.of("1000"))
+        0 * holdRepository.findExpiredForUpdate(*_)
+
+        and:
+        released == 3
+        meterRegistry.get("banking.hold.expirations").counter().count() == 3
+        meterRegistry.get("banking.hold.expiry.lag").timer().max(TimeUnit.SECONDS) == 60
+    }
+
+    def "無効にした場合は与信を読み込まない"() {
+        given:
+        def disabled = new HoldExpirySweeper(holdRepository, accountRepository, shards,
+                new HoldProperties(Duration.ofDays(7), Duration.ofDays(30), false, Duration.ofSeconds(10), 2),
+                transactionManager, meterRegistry, clock)
+
+        when:
+        disabled.sweep()
+
+        then:
+        0 * holdRepository._
+    }
+
+    private static Hold expired(AccountId accountId, String amount, long secondsAgo) {
+        Hold.reconstitute(HoldId.newId(), accountId, Money.of(amount), NOW.minusSeconds(secondsAgo), Hold.Status.OPEN, null, 0L)
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.banking.application.hold
+
+import com.example.banking.domain.account.Account
+import com.example.banking.domain.account.AccountId
+import com.example.banking.domain.account.AccountNumber
+import com.example.banking.domain.account.AccountRepository
+import com.example.banking.domain.account.CustomerName
+import com.example.banking.domain.account.InsufficientBalanceException
+import com.example.banking.domain.account.Money
+import com.example.banking.domain.hold.Hold
+import com.example.banking.domain.hold.HoldId
+import com.example.banking.domain.hold.HoldRepository
+import spock.lang.Specification
+
+import java.time.Clock
+import java.time.Duration
+import java.time.Instant
+
+class HoldServiceSpec extends Specification {
+
+    static final Instant NOW = Instant.parse("2024-05-31T00:00:00Z")
+
+    HoldRepository holdRepository = Mock()
+    AccountRepository accountRepository = Mock()
+    Clock clock = Stub() {
+        instant() >> NOW
+    }
+    def properties = new HoldProperties(Duration.ofDays(7), Duration.ofDays(30), true, Duration.ofSeconds(10), 500)
+    def service = new HoldService(holdRepository, accountRepository, properties, clock)
+
+    def accountId = AccountId.newId()
+
+    def "与信を登録すると、口座の残高を拘束してから与信を保存する"() {
+        given:
+        def held = account("10000", "3000", 1L)
+
+        when:
+        service.placeHold(accountId, Money.of("3000"), null)
+
+        then:
+        1 * accountRepository.placeHold(accountId, Money.of("3000")) >> Optional.of(held)
+
+        then:
+        1 * holdRepository.save({ it.status == Hold.Status.OPEN })
+    }
+
+    def "拘束できなかった与信は登録しない"() {
+        when:
+        service.placeHold(accountId, Money.of("30000"), null)
+
+        then:
+        1 * accountRepository.placeHold(accountId, Money.of("30000")) >> Optional.empty()
+        1 * accountRepository.findById(accountId) >> Optional.of(account("10000", "0", 0L))
+        thrown(InsufficientBalanceException)
+        0 * holdRepository.save(_)
+    }
+
+    def "与信を確定すると、与信を更新してから拘束額を出金する"() {
+        given:
+        def hold = open("3000")
+        def captured = account("7500", "0", 2L)
+
+        when:
+        service.capture(hold.getId(), Money.of("2500"))
+
+        then:
+        1 * holdRepository.findById(hold.getId()) >> Optional.of(hold)
+        1 * holdRepository.update({ it.status == Hold.Status.CAPTURED })
+
+        then: "与信を更新してから口座を更新する"
+        1 * accountRepository.captureHold(accountId, Money.of("3000"), Money.of("2500")) >> captured
+    }
+
+    def "解除済みの与信を再度解除しても、口座を更新しない"() {
+        given:
+        def hold = open("3000")
+        def released = account("10000", "0", 2L)
+
+        when: "1回目の解除"
+        service.release(hold.getId())
+
+        then:
+        1 * holdRepository.findById(hold.getId()) >> Optional.of(hold)
+        1 * accountRepository.releaseHold(accountId, Money.of("3000")) >> Optional.of(released)
+
+        when: "2回目の解除"
+        service.release(hold.getId())
+
+        then:
+        1 * holdRepository.findById(hold.getId()) >> Optional.of(hold)
+        0 * accountRepository._
+    }
+
+    private Hold open(String amount) {
+        Hold.reconstitute(HoldId.newId(), accountId, Money.of(amount), NOW.plusSeconds(3600), Hold.Status.OPEN, null, 0L)
+    }
+
+    private Account account(String balance, String held, long version) {
+        Account.reconstitute(accountId, new AccountNumber("0000000001"), new CustomerName("Aoi Sato"),
+                Money.of(balance), Money.of(held), version)
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.banking.application.interest
+
+import spock.lang.Specification
+
+class AccountIdRangeSpec extends Specification {
+
+    def "パーティションはUUIDの全範囲を隙間なく、重複なく覆う"() {
+        when:
+        def ranges = AccountIdRange.split(4)
+
+        then: "先頭は最小値から始まり、最後のパーティションは上限を持たない"
+        ranges*.partition() == [0, 1, 2, 3]
+        ranges.first().lowerInclusive() == new UUID(0L, 0L)
+        ranges.last().upperExclusive() == null
+
+        and: "各パーティションの上限は次のパーティションの下限と一致する"
+        (0..<3).every { ranges[it].upperExclusive() == ranges[it + 1].lowerInclusive() }
+
+        and: "境界は符号なしの順序で昇順に並ぶ"
+        ranges[2].lowerInclusive() == UUID.fromString("7fffffff-ffff-fffe-0000-000000000000")
+        Long.compareUnsigned(ranges[3].lowerInclusive().mostSignificantBits, ranges[2].lowerInclusive().mostSignificantBits) > 0
+    }
+
+    def "パーティション数が0以下の場合は例外が発生する"() {
+        when:
+        AccountIdRange.split(0)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
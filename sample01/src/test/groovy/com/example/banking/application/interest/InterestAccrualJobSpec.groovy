@@ -0,0 +1,198 @@
+package com.example.banking.application.interest
+
+import com.example.banking.application.BatchJobFixtures
+import com.example.banking.domain.account.AccountId
+import com.example.banking.domain.account.Money
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+
+import java.time.Duration
+import java.time.LocalDate
+import java.time.ZoneId
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentSkipListMap
+import java.util.function.Consumer
+
+class InterestAccrualJobSpec extends Specification {
+
+    static final LocalDate BUSINESS_DATE = LocalDate.of(2024, 4, 1)
+
+    def repository = new InMemoryInterestAccrualRepository()
+    def meterRegistry = new SimpleMeterRegistry()
+    def transactionManager = BatchJobFixtures.transactionManager()
+    def shards = BatchJobFixtures.singleShard()
+
+    /** 年利36.5%（1日0.1%）、2パーティション、3口座ごとにコミット */
+    def properties = new InterestAccrualProperties(true, "0 30 0 * * *", ZoneId.of("Asia/Tokyo"),
+            0.365G, 365, 2, 3, Duration.ZERO, Duration.ofHours(2))
+    def job = new InterestAccrualJob(repository, properties, shards, transactionManager, meterRegistry)
+
+    def "全パーティションの口座に1日分の利息が計上され、チェックポイントが完了となる"() {
+        given: "10口座に10000円ずつ"
+        def ids = (1..10).collect { repository.open(Money.of("10000")) }
+
+        when:
+        def result = job.run(BUSINESS_DATE)
+
+        then: "各口座に10円の利息が計上される"
+        result.accountsProcessed() == 10
+        ids.every { repository.balanceOf(it) == Money.of("10010") }
+
+        and: "すべてのパーティションが完了し、処理件数が記録される"
+        repository.findCheckpoints(BUSINESS_DATE)*.completed() == [true, true]
+        repository.findCheckpoints(BUSINESS_DATE)*.accountsProcessed().sum() == 10
+        meterRegistry.counter("banking.interest.accrual.accounts").count() == 10
+    }
+
+    def "完了した営業日を再実行しても、利息は二重に計上されない"() {
+        given:
+        def id = repository.open(Money.of("10000"))
+        job.run(BUSINESS_DATE)
+
+        when:
+        def result = job.run(BUSINESS_DATE)
+
+        then:
+        result.accountsProcessed() == 0
+        repository.balanceOf(id) == Money.of("10010")
+    }
+
+    def "途中で失敗した営業日を再実行すると、コミット済みの口座の次から再開する"() {
+        given: "1パーティションに7口座"
+        def singlePartition = new InterestAccrualProperties(true, "0 30 0 * * *", ZoneId.of("Asia/Tokyo"),
+                0.365G, 365, 1, 3, Duration.ZERO, Duration.ofHours(2))
+        def ids = (1..7).collect { repository.open(Money.of("10000")) }.sort { it.value() }
+        def failingJob = new InterestAccrualJob(repository, singlePartition, shards, transactionManager, meterRegistry)
+
+        and: "2チャンク目の書き込みで障害が発生する"
+        repository.failOnPostCall = 2
+
+        when:
+        failingJob.run(BUSINESS_DATE)
+
+        then: "最初のチャンク（3口座）のみが計上されている"
+        thrown(IllegalStateException)
+        ids.count { repository.balanceOf(it) == Money.of("10010") } == 3
+
+        when: "障害が解消してから再実行すると"
+        repository.failOnPostCall = -1
+        def result = failingJob.run(BUSINESS_DATE)
+
+        then: "残りの4口座のみが処理され、全口座に1回ずつ計上される"
+        result.accountsProcessed() == 4
+        ids.every { repository.balanceOf(it) == Money.of("10010") }
+    }
+
+    def "読み込み後にオンライン取引で更新された口座は、最新の残高から計算し直される"() {
+        given:
+        def id = repository.open(Money.of("10000"))
+
+        and: "カーソルで読み込んだ直後に、オンライン取引で10000円が入金される"
+        repository.afterScan = { AccountBalanceSnapshot snapshot ->
+            if (snapshot.accountId() == id) {
+                repository.deposit(id, Money.of("10000"))
+            }
+        }
+
+        when:
+        job.run(BUSINESS_DATE)
+
+        then: "入金後の残高20000円に対して利息が計上される"
+        repository.balanceOf(id) == Money.of("20020")
+        meterRegistry.counter("banking.interest.accrual.conflicts").count() == 1
+    }
+
+    def "利息が発生しない口座は更新されない"() {
+        given:
+        def id = repository.open(Money.of("100"))
+
+        when:
+        def result = job.run(BUSINESS_DATE)
+
+        then: "処理件数には含まれるが、バージョンは進まない"
+        result.accountsProcessed() == 1
+        repository.versionOf(id) == 0
+    }
+
+    /**
+     * テスト用のインメモリ実装。口座はIDの符号なし順序で保持する。
+     */
+    static class InMemoryInterestAccrualRepository implements InterestAccrualRepository {
+
+        private final NavigableMap<UUID, AccountBalanceSnapshot> accounts =
+                new ConcurrentSkipListMap<>(BatchJobFixtures.UNSIGNED_ORDER)
+        private final Map<List<Object>, InterestAccrualCheckpoint> checkpoints = new ConcurrentHashMap<>()
+        int postCalls = 0
+        int failOnPostCall = -1
+        Closure afterScan = {}
+
+        AccountId open(Money balance) {
+            def id = AccountId.newId()
+            accounts[id.value()] = new AccountBalanceSnapshot(id, balance, 0)
+            id
+        }
+
+        void deposit(AccountId id, Money money) {
+            def current = accounts[id.value()]
+            accounts[id.value()] = new AccountBalanceSnapshot(id, current.balance().add(money), current.version() + 1)
+        }
+
+        Money balanceOf(AccountId id) {
+            accounts[id.value()].balance()
+        }
+
+        long versionOf(AccountId id) {
+            accounts[id.value()].version()
+        }
+
+        @Override
+        void scan(AccountIdRange range, UUID afterAccountId, Consumer<AccountBalanceSnapshot> consumer) {
+            def from = afterAccountId ?: range.lowerInclusive()
+            def view = accounts.tailMap(from, afterAccountId == null)
+            if (range.upperExclusive() != null) {
+                view = view.headMap(range.upperExclusive(), false)
+            }
+            new ArrayList<>(view.values()).each { snapshot ->
+                afterScan(snapshot)
+                consumer.accept(snapshot)
+            }
+        }
+
+        @Override
+        synchronized List<AccountId> post(List<InterestPosting> postings) {
+            if (++postCalls == failOnPostCall) {
+                throw new IllegalStateException("Simulated failure")
+            }
+            def conflicted = []
+            postings.each { posting ->
+                def current = accounts[posting.accountId().value()]
+                if (current.version() != posting.expectedVersion()) {
+                    conflicted << posting.accountId()
+                } else {
+                    accounts[posting.accountId().value()] = new AccountBalanceSnapshot(posting.accountId(), posting.newBalance(), current.version() + 1)
+                }
+            }
+            conflicted
+        }
+
+        @Override
+        Optional<AccountBalanceSnapshot> findForUpdate(AccountId accountId) {
+            Optional.ofNullable(accounts[accountId.value()])
+        }
+
+        @Override
+        List<InterestAccrualCheckpoint> findCheckpoints(LocalDate businessDate) {
+            checkpoints.values().findAll { it.businessDate() == businessDate }.sort { it.partition() }
+        }
+
+        @Override
+        void createCheckpoints(List<InterestAccrualCheckpoint> created) {
+            created.each { saveCheckpoint(it) }
+        }
+
+        @Override
+        void saveCheckpoint(InterestAccrualCheckpoint checkpoint) {
+            checkpoints[[checkpoint.businessDate(), checkpoint.partition()]] = checkpoint
+        }
+    }
+}
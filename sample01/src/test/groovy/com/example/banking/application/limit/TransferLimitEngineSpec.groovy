@@ -0,0 +1,198 @@
+package com.example.banking.application.limit
+
+import com.example.banking.application.fx.FxRateProvider
+import com.example.banking.application.fx.FxRateTable
+import com.example.banking.application.fx.FxRateUnavailableException
+import com.example.banking.domain.account.AccountId
+import com.example.banking.domain.account.Money
+import com.example.banking.domain.fx.ExchangeRate
+import com.example.banking.domain.transfer.TransferChannel
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+
+import java.time.Clock
+import java.time.Instant
+
+class TransferLimitEngineSpec extends Specification {
+
+    /** テスト中の現在時刻（エポックミリ秒）。1分・1日の境界から少しずらしておく */
+    long now = 86_400_000L * 100 + 1_000
+
+    Clock clock = Stub() {
+        millis() >> { now }
+    }
+
+    def meterRegistry = new SimpleMeterRegistry()
+
+    def properties = new TransferLimitProperties(true, null, "standard", [
+            standard : new TransferLimitProperties.Profile(3, 10_000G, 5, 20_000G),
+            corporate: new TransferLimitProperties.Profile(100, 1_000_000G, 1000, 10_000_000G)
+    ], [:], [TransferChannel.STANDING_ORDER] as Set)
+
+    def rateProvider = new FxRateProvider()
+
+    def engine = new TransferLimitEngine(properties, rateProvider, meterRegistry, clock)
+    def accountId = AccountId.newId()
+
+    def "1分間の件数の上限を超える振込は拒否され、利用量は加算されない"() {
+        given: "上限の3件まで振込済み"
+        3.times { engine.acquire(accountId, Money.of("100"), TransferChannel.API) }
+
+        when: "4件目を依頼すると"
+        engine.acquire(accountId, Money.of("100"), TransferChannel.API)
+
+        then: "COUNT_PER_MINUTEの上限超過となる"
+        def e = thrown(TransferLimitExceededException)
+        e.limit == TransferLimit.COUNT_PER_MINUTE
+        e.accountId == accountId
+        meterRegistry.counter("banking.transfer.limit.rejections", "limit", "count_per_minute").count() == 1
+    }
+
+    def "1分間の金額の上限を超える振込は拒否される"() {
+        given:
+        engine.acquire(accountId, Money.of("9000"), TransferChannel.API)
+
+        when: "合計が10000円を超える振込を依頼すると"
+        engine.acquire(accountId, Money.of("1001"), TransferChannel.API)
+
+        then:
+        def e = thrown(TransferLimitExceededException)
+        e.limit == TransferLimit.AMOUNT_PER_MINUTE
+    }
+
+    def "直前のウィンドウの利用量は経過時間に応じて減衰する"() {
+        given: "上限の3件まで振込済み"
+        3.times { engine.acquire(accountId, Money.of("100"), TransferChannel.API) }
+
+        when: "ウィンドウの境界をまたいで、直前のウィンドウの2/3が経過すると"
+        now += 60_000L - 1_000 + 40_000
+        engine.acquire(accountId, Money.of("100"), TransferChannel.API)
+
+        then: "推定件数は1件となるため振込できる"
+        noExceptionThrown()
+    }
+
+    def "1日の件数の上限は、1分のウィンドウをまたいでも累積される"() {
+        when: "1分ごとに6件振込を依頼すると"
+        6.times {
+            engine.acquire(accountId, Money.of("100"), TransferChannel.API)
+            now += 60_000L
+        }
+
+        then: "6件目でCOUNT_PER_DAYの上限超過となる"
+        def e = thrown(TransferLimitExceededException)
+        e.limit == TransferLimit.COUNT_PER_DAY
+    }
+
+    def "外貨建ての振込は円に換算して金額の上限を判定する"() {
+        given: "1ドル=150円のレート"
+        def usd = Currency.getInstance("USD")
+        rateProvider.replace(FxRateTable.of(Instant.EPOCH, [new ExchangeRate(usd, Money.JPY, 150G)]))
+        engine.acquire(accountId, Money.of("60", usd), TransferChannel.API)
+
+        when: "合計が10000円を超えるドル建ての振込を依頼すると"
+        engine.acquire(accountId, Money.of("7", usd), TransferChannel.API)
+
+        then:
+        def e = thrown(TransferLimitExceededException)
+        e.limit == TransferLimit.AMOUNT_PER_MINUTE
+    }
+
+    def "円への換算レートがない通貨の振込は拒否される"() {
+        when:
+        engine.acquire(accountId, Money.of("1", Currency.getInstance("CHF")), TransferChannel.API)
+
+        then:
+        thrown(FxRateUnavailableException)
+    }
+
+    def "取り消した予約の利用量は上限の判定に含まれない"() {
+        given: "上限の3件まで振込済みで、そのうち1件の振込が確定しなかった"
+        def reservations = (1..3).collect { engine.acquire(accountId, Money.of("100"), TransferChannel.API) }
+        engine.release(reservations.last())
+
+        when: "次の振込を依頼すると"
+        engine.acquire(accountId, Money.of("100"), TransferChannel.API)
+
+        then: "取り消した1件分の枠で受け付けられる"
+        noExceptionThrown()
+
+        when: "さらに依頼すると"
+        engine.acquire(accountId, Money.of("100"), TransferChannel.API)
+
+        then: "上限超過となる"
+        thrown(TransferLimitExceededException)
+    }
+
+    def "1分のウィンドウが切り替わった後に取り消した予約も、1日のウィンドウから取り除かれる"() {
+        given: "1日の件数の上限（5件）まで振込済み"
+        def reservations = (1..5).collect {
+            now += 61_000L
+            engine.acquire(accountId, Money.of("100"), TransferChannel.API)
+        }
+
+        when: "1分のウィンドウが切り替わった後に最後の予約を取り消すと"
+        now += 61_000L
+        engine.release(reservations.last())
+        engine.acquire(accountId, Money.of("100"), TransferChannel.API)
+
+        then: "1日のウィンドウから取り除かれ、次の振込を受け付けられる"
+        noExceptionThrown()
+    }
+
+    def "上限の対象外とするチャネルの振込は判定も加算もされない"() {
+        when: "定期振込を上限の件数を超えて依頼すると"
+        def reservations = (1..10).collect { engine.acquire(accountId, Money.of("100"), TransferChannel.STANDING_ORDER) }
+
+        then: "拒否されず、利用量も加算されない"
+        reservations.every { it == TransferLimitReservation.NONE }
+        engine.drainDirty().isEmpty()
+    }
+
+    def "口座ごとに指定したプロファイルが適用される"() {
+        given: "corporateプロファイルを指定した口座"
+        def corporate = AccountId.newId()
+        def corporateEngine = new TransferLimitEngine(new TransferLimitProperties(true, null, "standard", properties.profiles(),
+                [(corporate.value()): "corporate"], [] as Set), rateProvider, meterRegistry, clock)
+
+        when: "standardの上限を超える件数を依頼しても"
+        10.times { corporateEngine.acquire(corporate, Money.of("100"), TransferChannel.API) }
+
+        then: "拒否されない"
+        noExceptionThrown()
+    }
+
+    def "変化した口座の利用状況のみがチェックポイントの対象となり、復元できる"() {
+        given:
+        engine.acquire(accountId, Money.of("500"), TransferChannel.API)
+
+        when: "変化した口座を取り出すと"
+        def changed = engine.drainDirty()
+
+        then: "振込した口座の利用状況のみが含まれ、2回目は空となる"
+        changed.keySet() == [accountId] as Set
+        changed[accountId].minute().currentCount() == 1
+        changed[accountId].day().currentAmount() == 500
+        engine.drainDirty().isEmpty()
+
+        when: "別のエンジンに復元すると"
+        def restored = new TransferLimitEngine(properties, rateProvider, meterRegistry, clock)
+        restored.restore(changed)
+        3.times { restored.acquire(accountId, Money.of("100"), TransferChannel.API) }
+
+        then: "復元した利用量も上限の判定に含まれる"
+        thrown(TransferLimitExceededException)
+    }
+
+    def "24時間以上振込のない口座はメモリから取り除かれる"() {
+        given:
+        engine.acquire(accountId, Money.of("100"), TransferChannel.API)
+
+        when: "2日後に取り除くと"
+        now += 2 * 86_400_000L
+        def evicted = engine.evictExpired()
+
+        then:
+        evicted == [accountId]
+    }
+}
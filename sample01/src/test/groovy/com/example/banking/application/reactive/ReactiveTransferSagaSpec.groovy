@@ -0,0 +1,84 @@
+package com.example.banking.application.reactive
+
+import com.example.banking.application.saga.TransferSagaMetrics
+import com.example.banking.domain.account.AccountId
+import com.example.banking.domain.account.Money
+import com.example.banking.domain.transfer.Transfer
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import io.micrometer.observation.ObservationRegistry
+import org.springframework.dao.DataAccessResourceFailureException
+import reactor.core.publisher.Mono
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+class ReactiveTransferSagaSpec extends Specification {
+
+    ReactiveTransferRepository transferRepository = Mock()
+    ReactiveAccountService accountService = Mock()
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry()
+    ReactiveTransferSaga saga = new ReactiveTransferSaga(transferRepository, accountService,
+            new TransferSagaMetrics(meterRegistry, ObservationRegistry.NOOP), new ReactiveSagaProperties(4, 16), meterRegistry)
+
+    def transfer = Transfer.request(AccountId.newId(), AccountId.newId(), Money.of("3000"))
+
+    def setup() {
+        saga.start()
+    }
+
+    def cleanup() {
+        saga.stop()
+    }
+
+    def "入金の後に完了の保存が失敗し続けた場合は、出金を取り消さずにREQUESTEDのまま残して警告する"() {
+        when: "Sagaを実行する"
+        saga.submit(transfer.id)
+        awaitFinished()
+
+        then: "出金と入金は行われる"
+        1 * accountService.debitTransfer(transfer.id, transfer.sourceAccountId, _, _) >> Mono.empty()
+        1 * accountService.creditTransfer(transfer.id, transfer.destinationAccountId, _) >> Mono.empty()
+
+        and: "保存は読み込み直して再試行されるが、すべて失敗する"
+        ReactiveTransferSaga.SETTLE_ATTEMPTS * transferRepository.findById(transfer.id) >> { Mono.just(requested()) }
+        ReactiveTransferSaga.SETTLE_ATTEMPTS * transferRepository.update({ it.status == Transfer.TransferStatus.COMPLETED }) >>
+                Mono.error(new DataAccessResourceFailureException("database unavailable"))
+
+        and: "出金は取り消されず、失敗ではなく止まったSagaとして計測する"
+        0 * accountService.reverseTransferDebit(*_)
+        meterRegistry.get("banking.saga.stuck").tag("stage", "complete").counter().count() == 1
+        meterRegistry.find("banking.saga.outcome").counters().every { it.count() == 0 }
+    }
+
+    def "補償に失敗した場合は、振込をREQUESTEDのまま残し、失敗としては計測しない"() {
+        when: "Sagaを実行する"
+        saga.submit(transfer.id)
+        awaitFinished()
+
+        then: "入金と補償の両方が失敗する"
+        1 * transferRepository.findById(transfer.id) >> Mono.just(transfer)
+        1 * accountService.debitTransfer(*_) >> Mono.empty()
+        1 * accountService.creditTransfer(*_) >> Mono.error(new IllegalArgumentException("Account not found"))
+        1 * accountService.reverseTransferDebit(transfer.id, transfer.sourceAccountId, Money.of("3000")) >>
+                Mono.error(new DataAccessResourceFailureException("database unavailable"))
+
+        and: "振込はREQUESTEDのまま保存されない"
+        0 * transferRepository.update(_)
+        transfer.status == Transfer.TransferStatus.REQUESTED
+
+        and: "補償の失敗と止まったSagaが計測され、失敗のカウンタは記録されない"
+        meterRegistry.get("banking.saga.compensations").tag("outcome", "failure").counter().count() == 1
+        meterRegistry.get("banking.saga.stuck").tag("stage", "compensate").counter().count() == 1
+        meterRegistry.get("banking.saga.outcome").tag("result", "failed").counter().count() == 0
+    }
+
+    private void awaitFinished() {
+        new PollingConditions(timeout: 5).eventually {
+            assert meterRegistry.get("banking.reactive.saga.pending").gauge().value() == 0
+        }
+    }
+
+    private Transfer requested() {
+        return Transfer.reconstitute(transfer.id, transfer.sourceAccountId, transfer.destinationAccountId, transfer.money,
+                Transfer.TransferStatus.REQUESTED, 0L)
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.banking.application.reactive
+
+import com.example.banking.application.fee.FeeEvaluationException
+import com.example.banking.application.fee.FeeRequest
+import com.example.banking.application.fee.FeeRuleEngine
+import com.example.banking.application.fx.FxQuoteService
+import com.example.banking.application.limit.TransferLimitEngine
+import com.example.banking.application.limit.TransferLimitReservation
+import com.example.banking.application.saga.SagaBacklogFullException
+import com.example.banking.application.service.AccountCurrencyCache
+import com.example.banking.domain.account.AccountId
+import com.example.banking.domain.account.AccountNotFoundException
+import com.example.banking.domain.account.Money
+import com.example.banking.domain.transfer.Transfer
+import com.example.banking.domain.transfer.TransferChannel
+import org.springframework.transaction.reactive.TransactionalOperator
+import reactor.core.publisher.Mono
+import spock.lang.Specification
+
+class ReactiveTransferServiceSpec extends Specification {
+
+    ReactiveTransferRepository transferRepository = Mock()
+    ReactiveAccountRepository accountRepository = Stub() {
+        findCurrencyById(_) >> Mono.just(Money.JPY)
+    }
+    AccountCurrencyCache accountCurrencyCache = new AccountCurrencyCache(100)
+    ReactiveTransferSaga transferSaga = Mock()
+    TransferLimitEngine transferLimitEngine = Mock()
+    FxQuoteService fxQuoteService = Mock()
+    FeeRuleEngine feeRuleEngine = Stub() {
+        evaluate(_) >> { FeeRequest request -> request.money().isLessThan(Money.of("30000")) ? Money.of("110") : Money.of("330") }
+    }
+    TransactionalOperator transactionalOperator = Stub() {
+        transactional(_ as Mono) >> { Mono mono -> mono }
+    }
+    ReactiveTransferService service = new ReactiveTransferService(transferRepository, accountRepository, accountCurrencyCache, transferLimitEngine, fxQuoteService, feeRuleEngine, transferSaga, transactionalOperator)
+
+    def sourceId = AccountId.newId()
+    def destinationId = AccountId.newId()
+
+    def "振込依頼はREQUESTEDで永続化され、Sagaのキューに投入される"() {
+        when: "振込を依頼すると"
+        def transfer = service.requestTransfer(sourceId, destinationId, Money.of("1000"), null).block()
+
+        then: "振込がREQUESTEDで保存され、Sagaに投入される"
+        1 * transferRepository.insert({ Transfer t -> t.status == Transfer.TransferStatus.REQUESTED }) >> Mono.empty()
+        1 * transferSaga.submit(_) >> true
+        0 * transferRepository.update(_)
+        transfer.status == Transfer.TransferStatus.REQUESTED
+    }
+
+    def "振込依頼にはサーブレット構成と同じルールで評価した振込手数料が記録される"() {
+        when: "振込を依頼すると"
+        def transfer = service.requestTransfer(sourceId, destinationId, Money.of("50000"), null).block()
+
+        then: "評価した手数料が振込に記録され、振込元からは振込金額と手数料の合計が出金される"
+        1 * transferRepository.insert({ Transfer t -> t.fee == Money.of("330") }) >> Mono.empty()
+        1 * transferSaga.submit(_) >> true
+        transfer.debitedMoney == Money.of("50330")
+    }
+
+    def "振込手数料を評価できない場合、振込は保存されず上限の利用量も加算されない"() {
+        given:
+        FeeRuleEngine failing = Stub() {
+            evaluate(_) >> { throw new FeeEvaluationException("Fee rules are not loaded") }
+        }
+        def service = new ReactiveTransferService(transferRepository, accountRepository, accountCurrencyCache, transferLimitEngine, fxQuoteService, failing, transferSaga, transactionalOperator)
+
+        when: "振込を依頼すると"
+        service.requestTransfer(sourceId, destinationId, Money.of("1000"), null).block()
+
+        then: "FeeEvaluationExceptionが通知される"
+        thrown(FeeEvaluationException)
+        0 * transferLimitEngine.acquire(*_)
+        0 * transferRepository.insert(_)
+        0 * transferSaga.submit(_)
+    }
+
+    def "Sagaのキューが満杯の場合、振込はFAILEDとなりSagaBacklogFullExceptionが通知される"() {
+        given:
+        def reservation = new TransferLimitReservation(sourceId, 100_000, 0)
+        transferRepository.insert(_) >> Mono.empty()
+        transferSaga.submit(_) >> false
+
+        when: "振込を依頼すると"
+        service.requestTransfer(sourceId, destinationId, Money.of("1000"), null).block()
+
+        then: "振込はFAILEDとして更新され、上限の利用量が取り消されて、例外が通知される"
+        1 * transferRepository.update({ Transfer t -> t.status == Transfer.TransferStatus.FAILED }) >> Mono.empty()
+        1 * transferLimitEngine.acquire(sourceId, Money.of("1000"), TransferChannel.API) >> reservation
+        1 * transferLimitEngine.release(reservation)
+        thrown(SagaBacklogFullException)
+    }
+
+    def "DBに存在しない口座への振込は拒否され、キャッシュにも登録されない"() {
+        given:
+        ReactiveAccountRepository accountRepository = Mock()
+        accountRepository.findCurrencyById(sourceId) >> Mono.just(Money.JPY)
+        def service = new ReactiveTransferService(transferRepository, accountRepository, accountCurrencyCache, transferLimitEngine, fxQuoteService, feeRuleEngine, transferSaga, transactionalOperator)
+
+        when: "振込を依頼すると"
+        service.requestTransfer(sourceId, destinationId, Money.of("1000"), null).block()
+
+        then: "DBで確認した上でAccountNotFoundExceptionが通知され、振込は保存されない"
+        1 * accountRepository.findCurrencyById(destinationId) >> Mono.empty()
+        thrown(AccountNotFoundException)
+        0 * transferRepository.insert(_)
+        0 * transferSaga.submit(_)
+        0 * transferLimitEngine.acquire(*_)
+        accountCurrencyCache.get(destinationId).isEmpty()
+    }
+
+    def "DBで確認した口座の通貨はキャッシュされ、以降の振込ではDBを読まない"() {
+        given:
+        ReactiveAccountRepository accountRepository = Mock()
+        def service = new ReactiveTransferService(transferRepository, accountRepository, accountCurrencyCache, transferLimitEngine, fxQuoteService, feeRuleEngine, transferSaga, transactionalOperator)
+        transferRepository.insert(_) >> Mono.empty()
+        transferSaga.submit(_) >> true
+
+        when: "同じ口座間で2回振込を依頼すると"
+        2.times { service.requestTransfer(sourceId, destinationId, Money.of("1000"), null).block() }
+
+        then: "通貨は口座ごとに1回だけDBから読み込まれる"
+        1 * accountRepository.findCurrencyById(sourceId) >> Mono.just(Money.JPY)
+        1 * accountRepository.findCurrencyById(destinationId) >> Mono.just(Money.JPY)
+        accountCurrencyCache.get(destinationId) == Optional.of(Money.JPY)
+    }
+}
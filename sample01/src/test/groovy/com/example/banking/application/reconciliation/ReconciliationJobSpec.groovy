@@ -0,0 +1,164 @@
+package com.example.banking.application.reconciliation
+
+import com.example.banking.application.BatchJobFixtures
+import com.example.banking.application.interest.AccountIdRange
+import com.example.banking.domain.account.AccountId
+import com.example.banking.domain.account.Money
+import com.example.banking.domain.transfer.Transfer
+import com.example.banking.domain.transfer.TransferId
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+
+import java.time.Clock
+import java.time.Duration
+import java.time.Instant
+import java.time.ZoneId
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.function.Consumer
+
+class ReconciliationJobSpec extends Specification {
+
+    static final Instant NOW = Instant.parse("2024-04-01T18:00:00Z")
+    static final Currency USD = Currency.getInstance("USD")
+
+    def repository = new InMemoryReconciliationRepository()
+    def meterRegistry = new SimpleMeterRegistry()
+    def transactionManager = BatchJobFixtures.transactionManager()
+    def shards = BatchJobFixtures.singleShard()
+    Clock clock = Stub() {
+        instant() >> NOW
+    }
+
+    /** 並列度4、16パーティション、不整合は最大2件までレポートに含める */
+    def properties = new ReconciliationProperties(true, "0 0 3 * * *", ZoneId.of("Asia/Tokyo"),
+            4, 16, Duration.ofMinutes(15), 2)
+    def job = new ReconciliationJob(repository, properties, shards, transactionManager, meterRegistry, clock)
+
+    def "残高と仕訳が一致し、振込の仕訳が揃っていれば不整合はない"() {
+        given: "100口座と、完了・補償済みの失敗・実行中の振込"
+        (1..100).each { repository.account(Money.of("10000"), 10000G) }
+        repository.transfer(Transfer.TransferStatus.COMPLETED, Money.of("3000"), 3000G, 3000G, 0G)
+        repository.transfer(Transfer.TransferStatus.FAILED, Money.of("3000"), 3000G, 0G, 3000G)
+        repository.transfer(Transfer.TransferStatus.FAILED, Money.of("3000"), 0G, 0G, 0G)
+        repository.transfer(Transfer.TransferStatus.REQUESTED, Money.of("3000"), 3000G, 0G, 0G, NOW.minusSeconds(60))
+
+        when:
+        def report = job.run()
+
+        then: "全パーティションの口座と振込が1回ずつ照合される"
+        report.isClean()
+        report.accountsChecked() == 100
+        report.transfersChecked() == 4
+        report.startedAt() == NOW
+        meterRegistry.counter("banking.reconciliation.accounts").count() == 100
+        meterRegistry.counter("banking.reconciliation.transfers").count() == 4
+    }
+
+    def "残高の不一致と、途中で止まったSagaを検出する"() {
+        given:
+        def mismatched = repository.account(Money.of("10000"), 9000G)
+        repository.account(Money.of("5000"), 5000G)
+        def uncompensated = repository.transfer(Transfer.TransferStatus.FAILED, Money.of("3000"), 3000G, 0G, 0G)
+        def halfApplied = repository.transfer(Transfer.TransferStatus.COMPLETED, Money.of("3000"), 3000G, 0G, 0G)
+        def stalled = repository.transfer(Transfer.TransferStatus.REQUESTED, Money.of("3000"), 3000G, 0G, 0G, NOW.minus(Duration.ofHours(1)))
+
+        when:
+        def report = job.run()
+
+        then:
+        report.discrepancyCount() == 4
+        meterRegistry.get("banking.reconciliation.discrepancies").gauge().value() == 4
+
+        and: "レポートには上限の2件のみが含まれる"
+        report.isTruncated()
+        report.discrepancies().size() == 2
+
+        and: "個々の振込の判定"
+        posting(uncompensated).check(NOW).get().type() == Discrepancy.Type.UNCOMPENSATED_TRANSFER
+        posting(halfApplied).check(NOW).get().type() == Discrepancy.Type.INCOMPLETE_TRANSFER
+        posting(stalled).check(NOW.minus(properties.stalledAfter())).get().type() == Discrepancy.Type.STALLED_TRANSFER
+        repository.accounts.find { it.accountId() == mismatched }.check().get().type() == Discrepancy.Type.BALANCE_MISMATCH
+    }
+
+    def "通貨をまたぐ振込の入金は、換算後の金額と照合される"() {
+        given: "100ドルを1ドル150円で換算して入金した振込"
+        def id = repository.fxTransfer(Transfer.TransferStatus.COMPLETED, Money.of("100.00", USD), Money.of("15000"), 100G, 15000G, 0G)
+
+        expect:
+        posting(id).check(NOW).isEmpty()
+        job.run().isClean()
+    }
+
+    def "失敗した振込に入金の仕訳がある場合は誤記帳として検出する"() {
+        given:
+        def id = repository.transfer(Transfer.TransferStatus.FAILED, Money.of("3000"), 3000G, 3000G, 3000G)
+
+        expect:
+        posting(id).check(NOW).get().type() == Discrepancy.Type.MISAPPLIED_TRANSFER
+    }
+
+    def "照合の実行中は、重複して実行できない"() {
+        given: "最初の口座の照合中に、もう一度実行しようとする"
+        repository.account(Money.of("10000"), 10000G)
+        Throwable nested = null
+        repository.onScan = {
+            try {
+                job.run()
+            } catch (IllegalStateException e) {
+                nested = e
+            }
+        }
+
+        when:
+        job.run()
+
+        then:
+        nested != null
+        !job.isRunning()
+    }
+
+    private TransferPostings posting(TransferId id) {
+        repository.transfers.find { it.transferId() == id }
+    }
+
+    /**
+     * テスト用のインメモリ実装。範囲の判定はUUIDの符号なし順序で行う。
+     */
+    static class InMemoryReconciliationRepository implements ReconciliationRepository {
+
+        final List<AccountLedgerBalance> accounts = new CopyOnWriteArrayList<>()
+        final List<TransferPostings> transfers = new CopyOnWriteArrayList<>()
+        Closure onScan = {}
+
+        AccountId account(Money balance, BigDecimal ledgerTotal) {
+            def id = AccountId.newId()
+            accounts << new AccountLedgerBalance(id, balance, ledgerTotal)
+            id
+        }
+
+        TransferId transfer(Transfer.TransferStatus status, Money money, BigDecimal debited, BigDecimal credited,
+                            BigDecimal reversed, Instant requestedAt = NOW.minusSeconds(1)) {
+            fxTransfer(status, money, money, debited, credited, reversed, requestedAt)
+        }
+
+        TransferId fxTransfer(Transfer.TransferStatus status, Money money, Money creditedMoney, BigDecimal debited,
+                            BigDecimal credited, BigDecimal reversed, Instant requestedAt = NOW.minusSeconds(1)) {
+            def id = TransferId.newId()
+            transfers << new TransferPostings(id, status, money, creditedMoney, requestedAt, debited, credited, reversed)
+            id
+        }
+
+        @Override
+        void scanAccounts(AccountIdRange range, Consumer<AccountLedgerBalance> consumer) {
+            accounts.findAll { BatchJobFixtures.contains(range, it.accountId().value()) }.each {
+                onScan()
+                consumer.accept(it)
+            }
+        }
+
+        @Override
+        void scanTransfers(AccountIdRange range, Consumer<TransferPostings> consumer) {
+            transfers.findAll { BatchJobFixtures.contains(range, it.transferId().value()) }.each { consumer.accept(it) }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.banking.application.saga
+
+import com.example.banking.domain.transfer.TransferPriority
+import spock.lang.Specification
+
+import static com.example.banking.domain.transfer.TransferPriority.BULK
+import static com.example.banking.domain.transfer.TransferPriority.NORMAL
+import static com.example.banking.domain.transfer.TransferPriority.URGENT
+
+class PriorityLanesSpec extends Specification {
+
+    def lanes = new PriorityLanes<String>(4, 1, 1000)
+
+    def "至急のレーンは、先に投入された他のレーンの要素より先に取り出される"() {
+        given:
+        (1..100).each { lanes.offer(BULK, "B$it") }
+        lanes.offer(NORMAL, "N1")
+        lanes.offer(URGENT, "U1")
+
+        expect:
+        lanes.poll(false) == "U1"
+    }
+
+    def "通常と一括の両方に要素がある場合、重みの比で取り出される"() {
+        given:
+        (1..100).each {
+            lanes.offer(BULK, "B$it")
+            lanes.offer(NORMAL, "N$it")
+        }
+
+        when:
+        def taken = (1..10).collect { lanes.poll(false) }
+
+        then: "4:1 で交互に取り出される"
+        taken == ["N1", "N2", "B1", "N3", "N4", "N5", "N6", "B2", "N7", "N8"]
+    }
+
+    def "一方のレーンが空の場合は、もう一方のレーンから続けて取り出される"() {
+        given:
+        (1..3).each { lanes.offer(BULK, "B$it") }
+
+        expect:
+        (1..3).collect { lanes.poll(false) } == ["B1", "B2", "B3"]
+        lanes.poll(false) == null
+    }
+
+    def "至急のみを取り出す場合は、他のレーンの要素を取り出さない"() {
+        given:
+        lanes.offer(NORMAL, "N1")
+
+        expect:
+        lanes.poll(true) == null
+        lanes.size(NORMAL) == 1
+    }
+
+    def "閉じた後は投入できず、待機中の取り出しはnullで戻る"() {
+        given:
+        def taken = null
+        def taker = Thread.start { taken = lanes.take(false) ?: "closed" }
+
+        when:
+        lanes.close()
+        taker.join(5000)
+
+        then:
+        taken == "closed"
+        !lanes.offer(TransferPriority.URGENT, "U1")
+    }
+
+    def "満杯のレーンには追加できず、取り出すと再び追加できる"() {
+        given:
+        def small = new PriorityLanes<String>(4, 1, 2)
+        small.offer(BULK, "B1")
+        small.offer(BULK, "B2")
+
+        expect: "一括のレーンは満杯だが、他のレーンには追加できる"
+        !small.offer(BULK, "B3")
+        small.offer(URGENT, "U1")
+        small.size(BULK) == 2
+
+        when:
+        small.poll(false)
+        small.poll(false)
+
+        then:
+        small.offer(BULK, "B3")
+    }
+
+    def "予約した枠は上限に数えられ、予約した枠への追加は満杯でも拒否されない"() {
+        given:
+        def small = new PriorityLanes<String>(4, 1, 2)
+        small.reserve(BULK)
+        small.offer(BULK, "B1")
+
+        expect: "予約を含めて満杯のため、新しい追加と予約はできない"
+        !small.offer(BULK, "B2")
+        !small.reserve(BULK)
+        small.size(BULK) == 1
+
+        and: "予約した枠には追加できる"
+        small.offerReserved(BULK, "B2")
+        small.size(BULK) == 2
+    }
+
+    def "解放した予約の枠には、再び追加できる"() {
+        given:
+        def small = new PriorityLanes<String>(4, 1, 1)
+        small.reserve(NORMAL)
+
+        expect:
+        !small.offer(NORMAL, "N1")
+
+        when:
+        small.release(NORMAL)
+
+        then:
+        small.offer(NORMAL, "N1")
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.banking.application.saga
+
+import com.example.banking.domain.transfer.TransferId
+import com.example.banking.domain.transfer.TransferPriority
+import io.micrometer.core.instrument.MockClock
+import io.micrometer.core.instrument.simple.SimpleConfig
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.transaction.support.TransactionSynchronization
+import org.springframework.transaction.support.TransactionSynchronizationManager
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.TimeUnit
+
+class TransferSagaDispatcherSpec extends Specification {
+
+    TransferSaga transferSaga = Mock()
+    def clock = new MockClock()
+    def meterRegistry = new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock)
+    /** レーンごとに2000件まで待てる */
+    def properties = new SagaLaneProperties(4, 1, 4, 1, Duration.ofSeconds(1), Duration.ofSeconds(10), Duration.ofMinutes(30), 2000)
+    // 実行スレッドを起動せず、runNextで呼び出し元のスレッドから1件ずつ実行する
+    def dispatcher = new TransferSagaDispatcher(transferSaga, properties, meterRegistry, false)
+
+    def cleanup() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization()
+        }
+    }
+
+    def "大量の一括振込の後に依頼された至急の振込が、先に実行される"() {
+        given:
+        def bulk = (1..1000).collect { event(TransferPriority.BULK) }
+        def urgent = event(TransferPriority.URGENT)
+        bulk.each { dispatcher.onTransferRequested(it) }
+        dispatcher.onTransferRequested(urgent)
+
+        when:
+        dispatcher.runNext(false)
+
+        then:
+        1 * transferSaga.handleTransferRequested(urgent)
+        meterRegistry.get("banking.saga.lane.queued").tag("lane", "bulk").gauge().value() == 1000
+    }
+
+    def "至急専用の実行スレッドは、至急以外の振込を実行しない"() {
+        given:
+        dispatcher.onTransferRequested(event(TransferPriority.NORMAL))
+
+        expect:
+        !dispatcher.runNext(true)
+        dispatcher.runNext(false)
+    }
+
+    def "依頼からSaga完了までの時間がレーンの目標を超えると、SLO違反として数えられる"() {
+        given:
+        dispatcher.onTransferRequested(event(TransferPriority.URGENT))
+        dispatcher.onTransferRequested(event(TransferPriority.URGENT))
+        transferSaga.handleTransferRequested(_) >> { clock.add(600, TimeUnit.MILLISECONDS) }
+
+        when:
+        dispatcher.runNext(false)
+        dispatcher.runNext(false)
+
+        then: "2件目は1件目の実行を待ったため、1.2秒かかる"
+        def latency = meterRegistry.get("banking.saga.lane.latency").tag("lane", "urgent").timer()
+        latency.count() == 2
+        latency.max(TimeUnit.MILLISECONDS) == 1200
+        meterRegistry.get("banking.saga.lane.wait").tag("lane", "urgent").timer().max(TimeUnit.MILLISECONDS) == 600
+        meterRegistry.get("banking.saga.lane.slo.breaches").tag("lane", "urgent").counter().count() == 1
+    }
+
+    def "Sagaが例外で中断しても、次の振込は実行される"() {
+        given:
+        def failing = event(TransferPriority.NORMAL)
+        def next = event(TransferPriority.NORMAL)
+        dispatcher.onTransferRequested(failing)
+        dispatcher.onTransferRequested(next)
+
+        when:
+        dispatcher.runNext(false)
+        dispatcher.runNext(false)
+
+        then:
+        1 * transferSaga.handleTransferRequested(failing) >> { throw new IllegalStateException("save failed") }
+        1 * transferSaga.handleTransferRequested(next)
+    }
+
+    def "満杯のレーンへの振込依頼は拒否され、他のレーンへの依頼は受け付けられる"() {
+        given: "一括のレーンが満杯"
+        2000.times { dispatcher.onTransferRequested(event(TransferPriority.BULK)) }
+
+        when:
+        dispatcher.onTransferRequested(event(TransferPriority.BULK))
+
+        then:
+        thrown(SagaBacklogFullException)
+        meterRegistry.get("banking.saga.lane.rejections").tag("lane", "bulk").counter().count() == 1
+        dispatcher.backlog() == 2000
+
+        when: "至急の振込は一括のレーンが満杯でも受け付けられる"
+        dispatcher.onTransferRequested(event(TransferPriority.URGENT))
+
+        then:
+        notThrown(SagaBacklogFullException)
+        dispatcher.backlog() == 2001
+    }
+
+    def "停止した後の振込依頼は拒否される"() {
+        given:
+        dispatcher.stop()
+
+        when:
+        dispatcher.onTransferRequested(event(TransferPriority.NORMAL))
+
+        then:
+        thrown(SagaBacklogFullException)
+    }
+
+    def "トランザクション内の振込依頼は、コミットされるまで実行スレッドに渡されない"() {
+        given: "振込依頼のトランザクションの中"
+        TransactionSynchronizationManager.initSynchronization()
+        def requested = event(TransferPriority.URGENT)
+
+        when:
+        dispatcher.onTransferRequested(requested)
+
+        then: "コミット前は振込が見えないため、Sagaは実行されない"
+        !dispatcher.runNext(false)
+        dispatcher.backlog() == 0
+        0 * transferSaga.handleTransferRequested(_)
+
+        when: "トランザクションがコミットされると"
+        complete(TransactionSynchronization.STATUS_COMMITTED)
+
+        then: "Sagaが実行される"
+        dispatcher.runNext(false)
+        1 * transferSaga.handleTransferRequested(requested)
+    }
+
+    def "コミット前の振込依頼もレーンの枠を使い、ロールバックされると枠が解放される"() {
+        given: "一括のレーンの枠を、コミット前の振込依頼で使い切る"
+        TransactionSynchronizationManager.initSynchronization()
+        2000.times { dispatcher.onTransferRequested(event(TransferPriority.BULK)) }
+
+        when:
+        dispatcher.onTransferRequested(event(TransferPriority.BULK))
+
+        then:
+        thrown(SagaBacklogFullException)
+
+        when: "トランザクションがロールバックされると"
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK)
+        dispatcher.onTransferRequested(event(TransferPriority.BULK))
+
+        then: "枠が解放され、振込はレーンに投入されない"
+        notThrown(SagaBacklogFullException)
+        dispatcher.backlog() == 1
+    }
+
+    private static void complete(int status) {
+        def synchronizations = TransactionSynchronizationManager.synchronizations
+        TransactionSynchronizationManager.clearSynchronization()
+        synchronizations.each { it.afterCompletion(status) }
+    }
+
+    private TransferRequestedEvent event(TransferPriority priority) {
+        new TransferRequestedEvent(this, TransferId.newId(), priority)
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.banking.application.saga
+
+import com.example.banking.application.service.TransferPostingUseCase
+import com.example.banking.domain.account.AccountId
+import com.example.banking.domain.account.InsufficientBalanceException
+import com.example.banking.domain.account.Money
+import com.example.banking.domain.transfer.Transfer
+import com.example.banking.domain.transfer.TransferRepository
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import io.micrometer.observation.ObservationRegistry
+import org.springframework.context.ApplicationEventPublisher
+import org.springframework.dao.DataAccessResourceFailureException
+import org.springframework.dao.OptimisticLockingFailureException
+import spock.lang.Specification
+
+class TransferSagaSpec extends Specification {
+
+    TransferRepository transferRepository = Mock()
+    TransferPostingUseCase transferPostingUseCase = Mock()
+    ApplicationEventPublisher eventPublisher = Mock()
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry()
+    ObservationRegistry observationRegistry = ObservationRegistry.create()
+    TransferSaga saga
+
+    def transfer = Transfer.request(AccountId.newId(), AccountId.newId(), Money.of("3000"))
+
+    def setup() {
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry))
+        saga = new TransferSaga(transferRepository, transferPostingUseCase, new TransferSagaMetrics(meterRegistry, observationRegistry),
+                eventPublisher)
+        transferRepository.findById(transfer.id) >> Optional.of(transfer)
+    }
+
+    def "出金と入金が成功すると完了として計測される"() {
+        when: "Sagaを実行する"
+        saga.handleTransferRequested(new TransferRequestedEvent(this, transfer.id))
+
+        then: "振込はCOMPLETEDとなる"
+        transfer.status == Transfer.TransferStatus.COMPLETED
+
+        and: "完了カウンタと各ステップのタイマーが記録される"
+        meterRegistry.get("banking.saga.outcome").tag("result", "completed").counter().count() == 1
+        meterRegistry.get("banking.saga.step").tags("step", "withdraw", "outcome", "success").timer().count() == 1
+        meterRegistry.get("banking.saga.step").tags("step", "deposit", "outcome", "success").timer().count() == 1
+        meterRegistry.get("banking.transfer.saga").timer().count() == 1
+
+        and: "結果の確定が通知される"
+        1 * eventPublisher.publishEvent({ it instanceof TransferSettledEvent && it.transferId == transfer.id && it.status == Transfer.TransferStatus.COMPLETED })
+    }
+
+    def "入金に失敗すると補償が行われ、補償回数が計測される"() {
+        given: "振込先への入金が失敗する"
+        transferPostingUseCase.credit(transfer.id, transfer.destinationAccountId, _) >> { throw new IllegalArgumentException("Account not found") }
+
+        when: "Sagaを実行する"
+        saga.handleTransferRequested(new TransferRequestedEvent(this, transfer.id))
+
+        then: "振込はFAILEDとなる"
+        transfer.status == Transfer.TransferStatus.FAILED
+
+        and: "振込元口座への出金が取り消される"
+        1 * transferPostingUseCase.reverseDebit(transfer.id, transfer.sourceAccountId, Money.of("3000"))
+
+        and: "補償のカウンタとタイマーが記録される"
+        meterRegistry.get("banking.saga.outcome").tag("result", "compensated").counter().count() == 1
+        meterRegistry.get("banking.saga.compensations").tag("outcome", "success").counter().count() == 1
+        meterRegistry.get("banking.saga.step").tags("step", "deposit", "outcome", "failure").timer().count() == 1
+        meterRegistry.get("banking.saga.step").tags("step", "compensate", "outcome", "success").timer().count() == 1
+    }
+
+    def "出金に失敗すると補償なしで失敗として計測される"() {
+        given: "振込元の残高が不足している"
+        transferPostingUseCase.debit(transfer.id, transfer.sourceAccountId, _, _) >> { throw new InsufficientBalanceException("Insufficient balance.") }
+
+        when: "Sagaを実行する"
+        saga.handleTransferRequested(new TransferRequestedEvent(this, transfer.id))
+
+        then: "振込はFAILEDとなり、入金は行われない"
+        transfer.status == Transfer.TransferStatus.FAILED
+        0 * transferPostingUseCase.credit(*_)
+
+        and: "失敗カウンタが記録され、失敗として結果の確定が通知される"
+        meterRegistry.get("banking.saga.outcome").tag("result", "failed").counter().count() == 1
+        1 * eventPublisher.publishEvent({ it instanceof TransferSettledEvent && it.status == Transfer.TransferStatus.FAILED })
+    }
+
+    def "入金の後に完了の保存が失敗しても、出金は取り消さずに読み込み直して保存し直す"() {
+        when: "Sagaを実行する"
+        saga.handleTransferRequested(new TransferRequestedEvent(this, transfer.id))
+
+        then: "最初の保存は競合で失敗し、読み込み直した振込をCOMPLETEDとして保存する"
+        2 * transferRepository.findById(transfer.id) >>> [Optional.of(transfer), Optional.of(requested())]
+        1 * transferRepository.save({ it.is(transfer) }) >> { throw new OptimisticLockingFailureException("conflict") }
+        1 * transferRepository.save({ !it.is(transfer) && it.status == Transfer.TransferStatus.COMPLETED })
+
+        and: "出金は取り消されず、完了として計測・通知される"
+        0 * transferPostingUseCase.reverseDebit(*_)
+        meterRegistry.get("banking.saga.outcome").tag("result", "completed").counter().count() == 1
+        1 * eventPublisher.publishEvent({ it instanceof TransferSettledEvent && it.status == Transfer.TransferStatus.COMPLETED })
+    }
+
+    def "入金の後に完了の保存が失敗し続けた場合は、出金を取り消さずにREQUESTEDのまま残して警告する"() {
+        given: "振込の保存が常に失敗する"
+        transferRepository.save(_) >> { throw new DataAccessResourceFailureException("database unavailable") }
+
+        when: "Sagaを実行する"
+        saga.handleTransferRequested(new TransferRequestedEvent(this, transfer.id))
+
+        then: "最初の読み込みに加えて、読み込み直して再試行する"
+        TransferSaga.SETTLE_ATTEMPTS * transferRepository.findById(transfer.id) >> { Optional.of(requested()) }
+
+        and: "入金は行われ、出金は取り消されない"
+        1 * transferPostingUseCase.credit(transfer.id, transfer.destinationAccountId, _)
+        0 * transferPostingUseCase.reverseDebit(*_)
+
+        and: "失敗としては扱わず、止まったSagaとして計測する"
+        0 * eventPublisher.publishEvent(_)
+        meterRegistry.get("banking.saga.stuck").tag("stage", "complete").counter().count() == 1
+        meterRegistry.find("banking.saga.outcome").counters().every { it.count() == 0 }
+        meterRegistry.get("banking.saga.compensations").tag("outcome", "success").counter().count() == 0
+    }
+
+    def "補償に失敗した場合は、振込をREQUESTEDのまま残し、失敗としては計測しない"() {
+        given: "入金と補償の両方が失敗する"
+        transferPostingUseCase.credit(*_) >> { throw new IllegalArgumentException("Account not found") }
+        transferPostingUseCase.reverseDebit(*_) >> { throw new DataAccessResourceFailureException("database unavailable") }
+
+        when: "Sagaを実行する"
+        saga.handleTransferRequested(new TransferRequestedEvent(this, transfer.id))
+
+        then: "振込はREQUESTEDのまま保存されない"
+        transfer.status == Transfer.TransferStatus.REQUESTED
+        0 * transferRepository.save(_)
+        0 * eventPublisher.publishEvent(_)
+
+        and: "補償の失敗と止まったSagaが計測され、失敗のカウンタは記録されない"
+        meterRegistry.get("banking.saga.compensations").tag("outcome", "failure").counter().count() == 1
+        meterRegistry.get("banking.saga.stuck").tag("stage", "compensate").counter().count() == 1
+        meterRegistry.get("banking.saga.outcome").tag("result", "failed").counter().count() == 0
+        meterRegistry.get("banking.saga.outcome").tag("result", "compensated").counter().count() == 0
+    }
+
+    private Transfer requested() {
+        return Transfer.reconstitute(transfer.id, transfer.sourceAccountId, transfer.destinationAccountId, transfer.money,
+                Transfer.TransferStatus.REQUESTED, 0L)
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.banking.application.saga
+
+import com.example.banking.application.service.TransferPostingUseCase
+import com.example.banking.domain.account.AccountId
+import com.example.banking.domain.account.Money
+import com.example.banking.domain.transfer.Transfer
+import com.example.banking.domain.transfer.TransferRepository
+import com.example.banking.infrastructure.persistence.MyBatisObservationInterceptor
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import io.micrometer.observation.Observation
+import io.micrometer.observation.ObservationRegistry
+import io.micrometer.observation.contextpropagation.ObservationThreadLocalAccessor
+import io.micrometer.tracing.handler.DefaultTracingObservationHandler
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext
+import io.micrometer.tracing.otel.bridge.OtelTracer
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter
+import io.opentelemetry.sdk.trace.SdkTracerProvider
+import io.opentelemetry.sdk.trace.data.SpanData
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor
+import org.apache.ibatis.builder.StaticSqlSource
+import org.apache.ibatis.executor.Executor
+import org.apache.ibatis.mapping.MappedStatement
+import org.apache.ibatis.mapping.SqlCommandType
+import org.apache.ibatis.plugin.Invocation
+import org.apache.ibatis.session.Configuration
+import org.springframework.context.ApplicationEventPublisher
+import spock.lang.Specification
+
+/**
+ * 振込依頼からSagaの非同期実行、MyBatisのステートメントまでのスパンが1つのトレースとして親子関係でつながることを検証する。
+ * スパンはOpenTelemetry SDKのメモリ上のエクスポータで受け取る。
+ */
+class TransferSagaTracingSpec extends Specification {
+
+    static final String UPDATE_STATEMENT = "com.example.banking.infrastructure.persistence.AccountMapper.update"
+
+    def exporter = InMemorySpanExporter.create()
+    def tracerProvider = SdkTracerProvider.builder()
+            .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+            .build()
+    def observationRegistry = ObservationRegistry.create()
+    def interceptor = new MyBatisObservationInterceptor(observationRegistry)
+
+    TransferRepository transferRepository = Mock()
+    TransferPostingUseCase transferPostingUseCase = Mock()
+    Executor executor = Mock()
+    TransferSaga saga
+
+    def transfer = Transfer.request(AccountId.newId(), AccountId.newId(), Money.of("3000"))
+
+    def setup() {
+        def tracer = new OtelTracer(tracerProvider.get("test"), new OtelCurrentTraceContext(), { } as OtelTracer.EventPublisher)
+        observationRegistry.observationConfig().observationHandler(new DefaultTracingObservationHandler(tracer))
+        // TransferRequestedEventが取得するスナップショットに、このレジストリの現在のObservationを含める
+        ObservationThreadLocalAccessor.getInstance().setObservationRegistry(observationRegistry)
+        saga = new TransferSaga(transferRepository, transferPostingUseCase,
+                new TransferSagaMetrics(new SimpleMeterRegistry(), observationRegistry), Mock(ApplicationEventPublisher))
+        transferRepository.findById(transfer.id) >> Optional.of(transfer)
+    }
+
+    def cleanup() {
+        ObservationThreadLocalAccessor.getInstance().setObservationRegistry(ObservationRegistry.create())
+        tracerProvider.close()
+    }
+
+    def "別スレッドで実行したSagaのスパンは、振込依頼のリクエストのスパンの子となる"() {
+        given: "リクエストの処理中に振込依頼イベントを発行する"
+        def request = Observation.start("http.server.requests", observationRegistry).contextualName("http post /api/transfers")
+        TransferRequestedEvent event
+        request.openScope().withCloseable {
+            event = new TransferRequestedEvent(this, transfer.id)
+        }
+        request.stop()
+
+        and: "出金・入金のステップでは、口座の更新のステートメントを実行する"
+        transferPostingUseCase.debit(*_) >> { interceptor.intercept(update()) }
+        transferPostingUseCase.credit(*_) >> { interceptor.intercept(update()) }
+
+        when: "リクエストが終わった後に、別のスレッドでSagaを実行すると"
+        def worker = Thread.start("saga-worker") { saga.handleTransferRequested(event) }
+        worker.join(5000)
+
+        then:
+        transfer.status == Transfer.TransferStatus.COMPLETED
+
+        and: "すべてのスパンがリクエストと同じトレースに属する"
+        def spans = exporter.finishedSpanItems
+        def requestSpan = span(spans, "http post /api/transfers")
+        spans*.traceId.unique() == [requestSpan.traceId]
+
+        and: "リクエスト → Saga → 各ステップ → ステートメントの順に親子関係でつながる"
+        def sagaSpan = span(spans, "transfer-saga")
+        def withdraw = span(spans, "transfer-saga withdraw")
+        def deposit = span(spans, "transfer-saga deposit")
+        sagaSpan.parentSpanId == requestSpan.spanId
+        withdraw.parentSpanId == sagaSpan.spanId
+        deposit.parentSpanId == sagaSpan.spanId
+        spans.findAll { it.name == "AccountMapper.update" }*.parentSpanId as Set == [withdraw.spanId, deposit.spanId] as Set
+    }
+
+    def "親となるObservationがない場合、ステートメントのスパンは作成しない"() {
+        when:
+        interceptor.intercept(update())
+
+        then:
+        1 * executor.update(_, _) >> 1
+        exporter.finishedSpanItems.isEmpty()
+    }
+
+    def "ステートメントのスパンには、ステートメントIDとコマンドの種類を記録する"() {
+        when:
+        Observation.createNotStarted("banking.saga.step", observationRegistry).contextualName("step").observe({
+            interceptor.intercept(update())
+        } as Runnable)
+
+        then:
+        def statement = span(exporter.finishedSpanItems, "AccountMapper.update")
+        statement.parentSpanId == span(exporter.finishedSpanItems, "step").spanId
+        statement.attributes.asMap().collectEntries { [(it.key.key): it.value] }
+                .subMap("mybatis.statement", "mybatis.command") == ["mybatis.statement": UPDATE_STATEMENT, "mybatis.command": "UPDATE"]
+    }
+
+    private Invocation update() {
+        def configuration = new Configuration()
+        def statement = new MappedStatement.Builder(configuration, UPDATE_STATEMENT,
+                new StaticSqlSource(configuration, "UPDATE accounts SET balance = ? WHERE id = ?"), SqlCommandType.UPDATE).build()
+        return new Invocation(executor, Executor.getMethod("update", MappedStatement, Object), [statement, null] as Object[])
+    }
+
+    private static SpanData span(List<SpanData> spans, String name) {
+        def found = spans.findAll { it.name == name }
+        assert found.size() == 1: "expected one span named ${name} in ${spans*.name}"
+        return found[0]
+    }
+}
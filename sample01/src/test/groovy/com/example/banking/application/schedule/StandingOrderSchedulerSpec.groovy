@@ -0,0 +1,256 @@
+package com.example.banking.application.schedule
+
+import com.example.banking.application.BatchJobFixtures
+import com.example.banking.application.limit.TransferLimit
+import com.example.banking.application.limit.TransferLimitExceededException
+import com.example.banking.application.service.RequestTransferUseCase
+import com.example.banking.application.service.TransferCommand
+import com.example.banking.domain.account.AccountId
+import com.example.banking.domain.account.AccountNotFoundException
+import com.example.banking.domain.account.Money
+import com.example.banking.domain.schedule.Recurrence
+import com.example.banking.domain.schedule.StandingOrder
+import com.example.banking.domain.schedule.StandingOrderId
+import com.example.banking.domain.schedule.StandingOrderRepository
+import com.example.banking.domain.transfer.TransferChannel
+import com.example.banking.domain.transfer.TransferPriority
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.dao.OptimisticLockingFailureException
+import org.springframework.dao.QueryTimeoutException
+import spock.lang.Specification
+
+import java.time.Clock
+import java.time.Duration
+import java.time.Instant
+import java.time.ZoneId
+import java.util.concurrent.Executor
+
+class StandingOrderSchedulerSpec extends Specification {
+
+    static final ZoneId TOKYO = ZoneId.of("Asia/Tokyo")
+    static final Instant NOW = Instant.parse("2024-05-31T00:00:00Z")
+
+    def repository = new InMemoryStandingOrderRepository()
+    def meterRegistry = new SimpleMeterRegistry()
+    RequestTransferUseCase requestTransferUseCase = Mock()
+    def transactionManager = BatchJobFixtures.transactionManager()
+    def shards = BatchJobFixtures.singleShard()
+    Instant now = NOW
+    Clock clock = Stub() {
+        instant() >> { now }
+    }
+
+    /** 5分先まで読み込み、毎秒1000件まで依頼する。実行スレッドの代わりに呼び出し元のスレッドで実行する */
+    def properties = new StandingOrderProperties(true, TOKYO, Duration.ofSeconds(1), 64, 3,
+            Duration.ofMinutes(1), Duration.ofMinutes(5), 2, 1000, 10, 1, 1000, Duration.ofSeconds(30))
+    def scheduler = new StandingOrderScheduler(repository, requestTransferUseCase, shards, properties,
+            transactionManager, meterRegistry, clock, { Runnable task -> task.run() } as Executor)
+
+    def "停止中に実行日時を過ぎた回は、再起動後の読み込みで遅れていた回から順にすべて実行される"() {
+        given: "3日前から毎日実行される定期振込"
+        def order = repository.add(Recurrence.DAILY, NOW.minus(Duration.ofDays(3)).plusSeconds(60))
+
+        when:
+        scheduler.load()
+        (1..3).each { scheduler.tick() }
+
+        then: "過ぎた3回分の振込が一括振込として依頼される"
+        3 * requestTransferUseCase.requestTransfer(new TransferCommand(order.sourceAccountId, order.destinationAccountId, Money.of("10000"), null,
+                TransferPriority.BULK, TransferChannel.STANDING_ORDER))
+
+        and: "次回の実行日時は現在時刻の後の回に進む"
+        repository.get(order.id).occurrences == 3
+        repository.get(order.id).nextFireAt == NOW.plusSeconds(60)
+        meterRegistry.counter("banking.schedule.fires", "outcome", "requested").count() == 3
+    }
+
+    def "読み込んだ回は、実行日時になるまで実行されない"() {
+        given:
+        def order = repository.add(Recurrence.ONCE, NOW.plusSeconds(90))
+        scheduler.load()
+
+        when:
+        now = NOW.plusSeconds(89)
+        scheduler.tick()
+
+        then:
+        0 * requestTransferUseCase.requestTransfer(*_)
+
+        when:
+        now = NOW.plusSeconds(90)
+        scheduler.tick()
+
+        then:
+        1 * requestTransferUseCase.requestTransfer(*_)
+        repository.get(order.id).status == StandingOrder.Status.COMPLETED
+    }
+
+    def "読み込みはページ単位で続きから行われ、範囲外の定期振込は読み込まれない"() {
+        given: "5分以内に実行予定の3件と、10分後に実行予定の1件（1ページ2件）"
+        (1..3).each { repository.add(Recurrence.ONCE, NOW.plusSeconds(it * 60)) }
+        repository.add(Recurrence.ONCE, NOW.plus(Duration.ofMinutes(10)))
+
+        when:
+        scheduler.load()
+
+        then:
+        scheduler.pending() == 3
+
+        when: "次の読み込みでは読み込み済みの定期振込を読み込まない"
+        scheduler.load()
+
+        then:
+        scheduler.pending() == 3
+    }
+
+    def "同じ回が重複して登録されても、振込は1回のみ依頼される"() {
+        given:
+        def order = repository.add(Recurrence.MONTHLY, NOW)
+
+        when:
+        scheduler.load()
+        scheduler.offer(repository.get(order.id))
+        scheduler.tick()
+
+        then:
+        1 * requestTransferUseCase.requestTransfer(*_)
+        meterRegistry.counter("banking.schedule.fires", "outcome", "skipped").count() == 1
+    }
+
+    def "振込が拒否された回は実行済みとして次の回に進む"() {
+        given:
+        def order = repository.add(Recurrence.MONTHLY, NOW)
+        requestTransferUseCase.requestTransfer(*_) >> { throw new AccountNotFoundException(order.destinationAccountId) }
+
+        when:
+        scheduler.fire(ScheduledFire.nextOf(order))
+
+        then:
+        repository.get(order.id).occurrences == 1
+        repository.get(order.id).nextFireAt == Instant.parse("2024-06-30T00:00:00Z")
+        meterRegistry.counter("banking.schedule.fires", "outcome", "rejected").count() == 1
+    }
+
+    def "振込上限を超えた回は飛ばさずに、待機時間の後に再実行される"() {
+        given:
+        def order = repository.add(Recurrence.MONTHLY, NOW)
+
+        when:
+        scheduler.fire(ScheduledFire.nextOf(order))
+
+        then: "回は進まず、再実行のために登録される"
+        1 * requestTransferUseCase.requestTransfer(*_) >> {
+            throw new TransferLimitExceededException(order.sourceAccountId, TransferLimit.COUNT_PER_DAY)
+        }
+        repository.get(order.id).occurrences == 0
+        scheduler.pending() == 1
+        meterRegistry.counter("banking.schedule.fires", "outcome", "rejected").count() == 0
+        meterRegistry.counter("banking.schedule.fires", "outcome", "retried").count() == 1
+    }
+
+    def "DBの障害で実行できなかった回は、待機時間の後に再実行される"() {
+        given:
+        def order = repository.add(Recurrence.ONCE, NOW)
+
+        when:
+        scheduler.fire(ScheduledFire.nextOf(order))
+
+        then: "回は進まず、再実行のために登録される"
+        1 * requestTransferUseCase.requestTransfer(*_) >> { throw new QueryTimeoutException("timeout") }
+        repository.get(order.id).occurrences == 0
+        scheduler.pending() == 1
+
+        when:
+        now = NOW.plusSeconds(30)
+        scheduler.tick()
+
+        then:
+        1 * requestTransferUseCase.requestTransfer(*_)
+        repository.get(order.id).status == StandingOrder.Status.COMPLETED
+    }
+
+    def "解約した定期振込の回は実行されない"() {
+        given:
+        def order = repository.add(Recurrence.DAILY, NOW)
+        scheduler.load()
+        repository.cancel(order.id)
+
+        when:
+        scheduler.tick()
+
+        then:
+        0 * requestTransferUseCase.requestTransfer(*_)
+    }
+
+    /**
+     * テスト用のインメモリ実装。保存・読み込みのたびにコピーし、DBと同様にバージョンを検査する。
+     */
+    static class InMemoryStandingOrderRepository implements StandingOrderRepository {
+
+        private final Map<StandingOrderId, StandingOrder> orders = [:]
+
+        StandingOrder add(Recurrence recurrence, Instant startAt) {
+            def order = StandingOrder.schedule(AccountId.newId(), AccountId.newId(), Money.of("10000"),
+                    recurrence, startAt, ZoneId.of("UTC"), null)
+            save(order)
+            order
+        }
+
+        StandingOrder get(StandingOrderId id) {
+            copy(orders[id])
+        }
+
+        void cancel(StandingOrderId id) {
+            def order = get(id)
+            order.cancel()
+            update(order)
+        }
+
+        @Override
+        void save(StandingOrder standingOrder) {
+            orders[standingOrder.id] = copy(standingOrder)
+        }
+
+        @Override
+        void update(StandingOrder standingOrder) {
+            if (orders[standingOrder.id].version != standingOrder.version) {
+                throw new OptimisticLockingFailureException("conflict")
+            }
+            orders[standingOrder.id] = copy(standingOrder, standingOrder.version + 1)
+        }
+
+        @Override
+        Optional<StandingOrder> findById(StandingOrderId id) {
+            Optional.ofNullable(orders[id]).map { copy(it) }
+        }
+
+        @Override
+        Optional<StandingOrder> findByIdForUpdate(StandingOrderId id, AccountId sourceAccountId) {
+            findById(id)
+        }
+
+        @Override
+        List<StandingOrder> findDue(Instant before, StandingOrder after, int limit) {
+            orders.values()
+                    .findAll { it.status == StandingOrder.Status.ACTIVE && it.nextFireAt.isBefore(before) }
+                    .findAll { after == null || compareKeys(it, after) > 0 }
+                    .sort { a, b -> compareKeys(a, b) }
+                    .take(limit)
+                    .collect { copy(it) }
+        }
+
+        private static int compareKeys(StandingOrder a, StandingOrder b) {
+            a.nextFireAt <=> b.nextFireAt ?: a.id.value() <=> b.id.value()
+        }
+
+        private static StandingOrder copy(StandingOrder order) {
+            copy(order, order.version)
+        }
+
+        private static StandingOrder copy(StandingOrder order, long version) {
+            StandingOrder.reconstitute(order.id, order.sourceAccountId, order.destinationAccountId, order.money,
+                    order.recurrence, order.startAt, order.zone, order.endAt, order.occurrences, order.nextFireAt,
+                    order.status, version)
+        }
+    }
+}
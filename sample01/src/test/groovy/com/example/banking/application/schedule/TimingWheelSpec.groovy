@@ -0,0 +1,77 @@
+package com.example.banking.application.schedule
+
+import spock.lang.Specification
+
+import java.time.Duration
+import java.time.Instant
+
+class TimingWheelSpec extends Specification {
+
+    static final Instant START = Instant.parse("2024-05-31T14:59:58.250Z")
+
+    /** 1秒刻み、8バケット×3階層（512秒）のホイール */
+    def wheel = new TimingWheel<String>(Duration.ofSeconds(1), 8, 3, START)
+
+    def "期限に達した要素のみが、期限の順に取り出される"() {
+        given:
+        wheel.schedule(START.plusSeconds(3), "c")
+        wheel.schedule(START.plusSeconds(1), "a")
+        wheel.schedule(START.plusSeconds(2), "b")
+
+        expect:
+        wheel.advanceTo(START.plusMillis(500)) == []
+        wheel.advanceTo(START.plusSeconds(2)) == ["a", "b"]
+        wheel.size() == 1
+        wheel.advanceTo(START.plusSeconds(10)) == ["c"]
+        wheel.size() == 0
+    }
+
+    def "上位の階層に置かれた要素は、カスケードで下位の階層に移されて期限どおりに取り出される"() {
+        given: "第1階層（8秒以上先）、第2階層（64秒以上先）、退避リスト（512秒以上先）の要素"
+        wheel.schedule(START.plusSeconds(20), "level1")
+        wheel.schedule(START.plusSeconds(200), "level2")
+        wheel.schedule(START.plusSeconds(1500), "overflow")
+
+        when: "1秒ずつ進めると"
+        def firedAt = [:]
+        (1..1600).each { second ->
+            wheel.advanceTo(START.plusSeconds(second)).each { firedAt[it] = second }
+        }
+
+        then: "各要素はちょうど期限のティックで取り出される"
+        firedAt == [level1: 20, level2: 200, overflow: 1500]
+    }
+
+    def "期限を過ぎて登録した要素は、次の前進で取り出される"() {
+        given:
+        wheel.advanceTo(START.plusSeconds(60))
+
+        when:
+        wheel.schedule(START, "late")
+
+        then:
+        wheel.size() == 1
+        wheel.advanceTo(START.plusSeconds(60)) == ["late"]
+    }
+
+    def "長時間前進しなかった場合も、その間に期限に達した要素がすべて取り出される"() {
+        given:
+        (1..1000).each { wheel.schedule(START.plusSeconds(it), "item-$it".toString()) }
+
+        when:
+        def due = wheel.advanceTo(START.plusSeconds(999))
+
+        then:
+        due.size() == 999
+        due == (1..999).collect { "item-$it".toString() }
+        wheel.size() == 1
+    }
+
+    def "バケット数が2のべき乗でない場合は作成できない"() {
+        when:
+        new TimingWheel<String>(Duration.ofSeconds(1), 60, 3, START)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.banking.application.service
+
+import com.example.banking.domain.account.AccountId
+import com.example.banking.domain.account.Money
+import spock.lang.Specification
+
+class AccountCurrencyCacheSpec extends Specification {
+
+    def "登録した口座の通貨を返し、登録していない口座は空を返す"() {
+        given:
+        def cache = new AccountCurrencyCache(10)
+        def known = AccountId.newId()
+        cache.put(known, Money.JPY)
+
+        expect:
+        cache.get(known) == Optional.of(Money.JPY)
+        cache.get(AccountId.newId()).isEmpty()
+    }
+
+    def "上限に達すると、1件を追い出してから登録する"() {
+        given:
+        def cache = new AccountCurrencyCache(3)
+        def ids = (1..3).collect { AccountId.newId() }
+        ids.each { cache.put(it, Money.JPY) }
+
+        when:
+        def added = AccountId.newId()
+        cache.put(added, Currency.getInstance("USD"))
+
+        then:
+        cache.size() == 3
+        cache.get(added) == Optional.of(Currency.getInstance("USD"))
+        ids.count { cache.get(it).isPresent() } == 2
+
+        when: "登録済みの口座を登録し直しても追い出さない"
+        cache.put(added, Currency.getInstance("USD"))
+
+        then:
+        cache.size() == 3
+    }
+
+    def "上限が0の場合はキャッシュしない"() {
+        given:
+        def cache = new AccountCurrencyCache(0)
+        def accountId = AccountId.newId()
+
+        when:
+        cache.put(accountId, Money.JPY)
+
+        then:
+        cache.get(accountId).isEmpty()
+        cache.size() == 0
+    }
+}
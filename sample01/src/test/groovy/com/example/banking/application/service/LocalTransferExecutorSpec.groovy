@@ -0,0 +1,84 @@
+package com.example.banking.application.service
+
+import com.example.banking.domain.account.*
+import com.example.banking.domain.transfer.Transfer
+import com.example.banking.domain.transfer.TransferRepository
+import spock.lang.Specification
+
+class LocalTransferExecutorSpec extends Specification {
+
+    AccountRepository accountRepository = Mock()
+    TransferRepository transferRepository = Mock()
+    LocalTransferExecutor executor = new LocalTransferExecutor(accountRepository, transferRepository)
+
+    def "両口座が存在する場合、単一トランザクション内で振込が完了する"() {
+        given: "残高10000円の振込元口座と振込先口座"
+        def source = Account.open(new AccountNumber("111"), new CustomerName("Source User"), Money.of("10000"))
+        def destination = Account.open(new AccountNumber("222"), new CustomerName("Dest User"), Money.of("5000"))
+        accountRepository.findByIdForUpdate(source.id) >> Optional.of(source)
+        accountRepository.findByIdForUpdate(destination.id) >> Optional.of(destination)
+
+        and: "3000円の振込"
+        def transfer = Transfer.request(source.id, destination.id, Money.of("3000"))
+
+        when: "ファストパスで実行すると"
+        executor.execute(transfer)
+
+        then: "振込はCOMPLETEDとなり、両口座の残高が更新される"
+        transfer.status == Transfer.TransferStatus.COMPLETED
+        source.balance == Money.of("7000")
+        destination.balance == Money.of("8000")
+        1 * accountRepository.save(source)
+        1 * accountRepository.save(destination)
+        1 * transferRepository.save(transfer)
+    }
+
+    def "行ロックは振込の向きに関わらずAccountIdの昇順で取得される"() {
+        given: "IDの大小が決まった2つの口座"
+        def low = Account.reconstitute(new AccountId(new UUID(0L, 1L)), new AccountNumber("111"), new CustomerName("Low"), Money.of("10000"), 0L)
+        def high = Account.reconstitute(new AccountId(new UUID(0L, 2L)), new AccountNumber("222"), new CustomerName("High"), Money.of("10000"), 0L)
+
+        and: "IDの大きい口座から小さい口座への振込"
+        def transfer = Transfer.request(high.id, low.id, Money.of("100"))
+
+        when: "ファストパスで実行すると"
+        executor.execute(transfer)
+
+        then: "小さいIDの口座が先にロックされる"
+        1 * accountRepository.findByIdForUpdate(low.id) >> Optional.of(low)
+
+        then: "続いて大きいIDの口座がロックされる"
+        1 * accountRepository.findByIdForUpdate(high.id) >> Optional.of(high)
+    }
+
+    def "残高不足の場合、口座を更新せずに振込がFAILEDとなる"() {
+        given: "残高1000円の振込元口座"
+        def source = Account.open(new AccountNumber("111"), new CustomerName("Poor User"), Money.of("1000"))
+        def destination = Account.open(new AccountNumber("222"), new CustomerName("Rich User"), Money.of("50000"))
+        accountRepository.findByIdForUpdate(source.id) >> Optional.of(source)
+        accountRepository.findByIdForUpdate(destination.id) >> Optional.of(destination)
+        def transfer = Transfer.request(source.id, destination.id, Money.of("3000"))
+
+        when: "ファストパスで実行すると"
+        executor.execute(transfer)
+
+        then: "振込はFAILEDとして確定し、口座は保存されない"
+        transfer.status == Transfer.TransferStatus.FAILED
+        0 * accountRepository.save(_)
+        1 * transferRepository.save(transfer)
+    }
+
+    def "口座が見つからない場合はAccountNotFoundExceptionとなり、振込は保存されない"() {
+        given: "存在しない振込先口座"
+        def transfer = Transfer.request(AccountId.newId(), AccountId.newId(), Money.of("100"))
+        accountRepository.findByIdForUpdate(_) >> Optional.empty()
+
+        when: "ファストパスで実行すると"
+        executor.execute(transfer)
+
+        then: "AccountNotFoundExceptionがスローされ、振込は保存されない"
+        thrown(AccountNotFoundException)
+        transfer.status == Transfer.TransferStatus.REQUESTED
+        0 * transferRepository.save(_)
+    }
+}
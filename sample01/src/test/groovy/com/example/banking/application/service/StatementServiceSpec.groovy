@@ -0,0 +1,78 @@
+package com.example.banking.application.service
+
+import com.example.banking.domain.account.AccountId
+import com.example.banking.domain.account.Money
+import com.example.banking.domain.transfer.AccountMovement
+import com.example.banking.domain.transfer.TransferId
+import com.example.banking.domain.transfer.TransferRepository
+import spock.lang.Specification
+
+import java.time.Instant
+import java.util.stream.Stream
+
+class StatementServiceSpec extends Specification {
+
+    static final Instant FROM = Instant.parse("2024-03-31T15:00:00Z")
+    static final Instant TO = Instant.parse("2024-04-30T15:00:00Z")
+
+    TransferRepository transferRepository = Mock()
+    StatementService service = new StatementService(transferRepository)
+    AccountId accountId = AccountId.newId()
+
+    def "明細は読み込むたびにカーソルから1件ずつ渡され、読み終わるとクローズされる"() {
+        given:
+        def closed = 0
+        transferRepository.streamMovements(accountId, FROM, TO) >> {
+            Stream.of(movement(1), movement(2), movement(3)).onClose { closed++ }
+        }
+
+        when: "同じ明細を2回読み込むと"
+        def passes = service.exportStatement(accountId, FROM, TO) { statement ->
+            def first = []
+            def second = []
+            statement.forEach { first << it; true }
+            statement.forEach { second << it; true }
+            [first, second]
+        }
+
+        then: "どちらも同じ明細が返され、カーソルはそれぞれクローズされる"
+        passes[0]*.amount() == [Money.of("1"), Money.of("2"), Money.of("3")]
+        passes[1] == passes[0]
+        closed == 2
+    }
+
+    def "sinkがfalseを返すと、残りの明細は読み込まずにクローズされる"() {
+        given:
+        def closed = false
+        def read = 0
+        transferRepository.streamMovements(accountId, FROM, TO) >> {
+            Stream.iterate(1, { it + 1 }).limit(1000).map { read++; movement(it) }.onClose { closed = true }
+        }
+
+        when: "2件目で打ち切ると"
+        def received = service.exportStatement(accountId, FROM, TO) { statement ->
+            def movements = []
+            statement.forEach { movements << it; movements.size() < 2 }
+            movements
+        }
+
+        then:
+        received.size() == 2
+        read == 2
+        closed
+    }
+
+    def "期間の終了日時が開始日時より前の場合は例外となる"() {
+        when:
+        service.exportStatement(accountId, TO, FROM) { null }
+
+        then:
+        thrown(IllegalArgumentException)
+        0 * transferRepository.streamMovements(*_)
+    }
+
+    private AccountMovement movement(int amount) {
+        new AccountMovement(TransferId.newId(), FROM.plusSeconds(amount), AccountMovement.Direction.CREDIT,
+                AccountId.newId(), Money.of(String.valueOf(amount)), Money.zero())
+    }
+}
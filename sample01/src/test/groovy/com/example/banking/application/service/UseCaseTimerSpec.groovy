@@ -0,0 +1,62 @@
+package com.example.banking.application.service
+
+import com.example.banking.domain.account.AccountNumber
+import com.example.banking.domain.account.AccountRepository
+import com.example.banking.domain.account.CustomerName
+import com.example.banking.domain.account.Money
+import io.micrometer.core.instrument.MeterRegistry
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAspectsAutoConfiguration
+import org.springframework.boot.autoconfigure.AutoConfigurations
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration
+import org.springframework.boot.env.YamlPropertySourceLoader
+import org.springframework.boot.test.context.runner.ApplicationContextRunner
+import org.springframework.core.env.PropertySource
+import org.springframework.core.io.ClassPathResource
+import spock.lang.Specification
+
+import java.util.function.Supplier
+
+/**
+ * application.ymlの設定で、ユースケースの{@code @Timed}が{@code banking.usecase}タイマーとして記録されることを検証する。
+ */
+class UseCaseTimerSpec extends Specification {
+
+    AccountRepository accountRepository = Stub() {
+        nextAccountNumber() >> new AccountNumber("1234567")
+    }
+
+    def runner = new ApplicationContextRunner()
+            .withInitializer { context -> context.environment.propertySources.addLast(applicationProperties()) }
+            .withConfiguration(AutoConfigurations.of(AopAutoConfiguration, MetricsAspectsAutoConfiguration))
+            .withBean(MeterRegistry, { new SimpleMeterRegistry() } as Supplier)
+            .withBean(AccountRepository, { accountRepository } as Supplier)
+            .withBean(AccountService)
+
+    def "ユースケースを呼び出すと、ユースケース名のタグ付きでタイマーに記録される"() {
+        expect:
+        runner.run { context ->
+            context.getBean(OpenAccountUseCase).openAccount(new CustomerName("Taro Suzuki"), Money.of("1000"))
+
+            def timer = context.getBean(MeterRegistry).find("banking.usecase").tag("usecase", "openAccount").timer()
+            assert timer != null
+            assert timer.count() == 1
+        }
+    }
+
+    def "アノテーションの計測を無効にすると、タイマーは登録されない"() {
+        expect:
+        runner.withPropertyValues("micrometer.observations.annotations.enabled=false").run { context ->
+            context.getBean(OpenAccountUseCase).openAccount(new CustomerName("Taro Suzuki"), Money.of("1000"))
+
+            assert context.getBean(MeterRegistry).find("banking.usecase").timer() == null
+        }
+    }
+
+    /**
+     * application.ymlのうち、プロファイルを指定しない共通の設定。
+     */
+    private static PropertySource<?> applicationProperties() {
+        return new YamlPropertySourceLoader().load("application.yml", new ClassPathResource("application.yml"))[0]
+    }
+}
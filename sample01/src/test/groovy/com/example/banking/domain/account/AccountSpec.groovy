@@ -1,5 +1,7 @@
 package com.example.banking.domain.account
 
+import com.example.banking.domain.event.AccountBalanceChanged
+import com.example.banking.domain.event.AccountOpened
 import spock.lang.Specification
 
 class AccountSpec extends Specification {
@@ -63,4 +65,82 @@ class AccountSpec extends Specification {
         then: "IllegalStateExceptionが発生する"
         thrown(IllegalStateException)
     }
-} 
\ No newline at end of file
+
+    def "与信で拘束されている額を超えて出金することはできない"() {
+        given: "残高10000円のうち8000円が与信で拘束されている口座"
+        def account = Account.reconstitute(AccountId.newId(), new AccountNumber("13579"), new CustomerName("Jiro Kato"),
+                Money.of("10000"), Money.of("8000"), 3L)
+
+        expect: "利用可能残高は2000円"
+        account.availableBalance == Money.of("2000")
+
+        when: "3000円を出金しようとすると"
+        account.withdraw(Money.of("3000"))
+
+        then: "InsufficientBalanceExceptionが発生し、残高は変わらない"
+        thrown(InsufficientBalanceException)
+        account.balance == Money.of("10000")
+    }
+
+    def "残高の変更はすべて仕訳として記録され、取り出すと空になる"() {
+        given: "初期預金10000円の口座"
+        def account = Account.open(new AccountNumber("24680"), new CustomerName("Ichiro Kato"), Money.of("10000"))
+        def transferId = UUID.randomUUID()
+
+        when: "入金・出金・振込の出金と取り消しを行うと"
+        account.deposit(Money.of("5000"))
+        account.withdraw(Money.of("2000"))
+        account.debitTransfer(transferId, Money.of("3000"))
+        account.reverseTransferDebit(transferId, Money.of("3000"))
+        def entries = account.pullPendingEntries()
+
+        then: "操作の順に仕訳が記録され、仕訳の合計は残高と一致する"
+        entries*.type() == [AccountEntry.Type.OPENING, AccountEntry.Type.DEPOSIT, AccountEntry.Type.WITHDRAWAL,
+                            AccountEntry.Type.TRANSFER_DEBIT, AccountEntry.Type.TRANSFER_REVERSAL]
+        entries.findAll { it.type().isTransfer() }*.transferId().every { it == transferId }
+        entries.sum { it.signedAmount() } == account.balance.amount()
+
+        and: "取り出した仕訳は二重に記録されない"
+        account.pullPendingEntries().isEmpty()
+    }
+
+    def "振込手数料は振込の金額と合わせて残高を判定し、別の仕訳として記録される"() {
+        given: "初期預金10000円の口座"
+        def account = Account.open(new AccountNumber("11223"), new CustomerName("Jiro Suzuki"), Money.of("10000"))
+        def transferId = UUID.randomUUID()
+
+        when: "金額と手数料の合計が残高を超える振込を出金すると"
+        account.debitTransfer(transferId, Money.of("9900"), Money.of("330"))
+
+        then: "InsufficientBalanceExceptionが発生し、残高は変わらない"
+        thrown(InsufficientBalanceException)
+        account.balance == Money.of("10000")
+
+        when: "残高の範囲内の振込を出金すると"
+        account.debitTransfer(transferId, Money.of("3000"), Money.of("330"))
+        def entries = account.pullPendingEntries().drop(1)
+
+        then: "振込の出金と手数料が別々の仕訳となる"
+        account.balance == Money.of("6670")
+        entries*.type() == [AccountEntry.Type.TRANSFER_DEBIT, AccountEntry.Type.TRANSFER_FEE]
+        entries*.amount() == [Money.of("3000"), Money.of("330")]
+    }
+
+    def "口座の開設と残高の変化はドメインイベントとして記録され、取り出すと空になる"() {
+        given: "初期預金10000円の口座"
+        def account = Account.open(new AccountNumber("13579"), new CustomerName("Hanako Sato"), Money.of("10000"))
+
+        when: "入金と出金を行うと"
+        account.deposit(Money.of("5000"))
+        account.withdraw(Money.of("2000"))
+        def events = account.pullDomainEvents()
+
+        then: "開設と、仕訳ごとの変化後の残高が発生した順に記録される"
+        events*.class == [AccountOpened, AccountBalanceChanged, AccountBalanceChanged, AccountBalanceChanged]
+        events.every { it.partitionKey() == account.id }
+        events.drop(1)*.balance() == [Money.of("10000"), Money.of("15000"), Money.of("13000")]
+
+        and:
+        account.pullDomainEvents().isEmpty()
+    }
+}
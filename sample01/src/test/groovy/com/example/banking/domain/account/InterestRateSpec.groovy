@@ -0,0 +1,30 @@
+package com.example.banking.domain.account
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class InterestRateSpec extends Specification {
+
+    @Unroll
+    def "残高 #balance の日次利息は補助単位未満を切り捨てて #expected となる"() {
+        given: "年利0.1%、年365日"
+        def rate = new InterestRate(0.001G, 365)
+
+        expect:
+        rate.dailyInterest(balance) == expected
+
+        where:
+        balance                                       | expected
+        Money.of("10000000")                          | Money.of("27")
+        Money.of("100000")                            | Money.of("0")
+        Money.of("1000000.00", Currency.getInstance("USD")) | Money.of("2.73", Currency.getInstance("USD"))
+    }
+
+    def "負の年利は指定できない"() {
+        when:
+        new InterestRate(-0.01G, 365)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
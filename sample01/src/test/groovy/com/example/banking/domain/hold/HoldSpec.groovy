@@ -0,0 +1,91 @@
+package com.example.banking.domain.hold
+
+import com.example.banking.domain.account.AccountId
+import com.example.banking.domain.account.Money
+import spock.lang.Specification
+
+import java.time.Duration
+import java.time.Instant
+
+class HoldSpec extends Specification {
+
+    static final Instant NOW = Instant.parse("2024-05-31T00:00:00Z")
+
+    def hold = Hold.place(AccountId.newId(), Money.of("10000"), NOW.plus(Duration.ofDays(7)), NOW)
+
+    def "登録した与信は、拘束中の状態で生成される"() {
+        expect:
+        hold.status == Hold.Status.OPEN
+        hold.capturedAmount == null
+        !hold.isExpiredAt(NOW)
+    }
+
+    def "有効期限が現在時刻以前の与信は登録できない"() {
+        when:
+        Hold.place(AccountId.newId(), Money.of("10000"), NOW, NOW)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "与信の金額以下で確定でき、確定後は解除できない"() {
+        when:
+        hold.capture(Money.of("8000"), NOW.plusSeconds(60))
+
+        then:
+        hold.status == Hold.Status.CAPTURED
+        hold.capturedAmount == Money.of("8000")
+
+        when:
+        hold.release()
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+    def "与信の金額を超えて確定することはできない"() {
+        when:
+        hold.capture(Money.of("10001"), NOW.plusSeconds(60))
+
+        then:
+        thrown(IllegalArgumentException)
+        hold.status == Hold.Status.OPEN
+    }
+
+    def "有効期限を過ぎた与信は確定できず、期限切れとして解除される"() {
+        given:
+        def expiry = NOW.plus(Duration.ofDays(7))
+
+        when:
+        hold.capture(Money.of("10000"), expiry)
+
+        then:
+        thrown(IllegalStateException)
+
+        when:
+        hold.expire(expiry)
+
+        then:
+        hold.status == Hold.Status.EXPIRED
+    }
+
+    def "有効期限前の与信は期限切れにできない"() {
+        when:
+        hold.expire(NOW.plusSeconds(60))
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+    def "解除済み・期限切れの与信を解除しても何も起きない"() {
+        given:
+        hold.release()
+
+        when:
+        hold.release()
+
+        then:
+        noExceptionThrown()
+        hold.status == Hold.Status.RELEASED
+    }
+}
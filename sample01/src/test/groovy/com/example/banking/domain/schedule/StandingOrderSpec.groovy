@@ -0,0 +1,125 @@
+package com.example.banking.domain.schedule
+
+import com.example.banking.domain.account.AccountId
+import com.example.banking.domain.account.Money
+import spock.lang.Specification
+
+import java.time.Instant
+import java.time.LocalDateTime
+import java.time.ZoneId
+
+class StandingOrderSpec extends Specification {
+
+    static final ZoneId TOKYO = ZoneId.of("Asia/Tokyo")
+
+    static Instant tokyo(String localDateTime) {
+        LocalDateTime.parse(localDateTime).atZone(TOKYO).toInstant()
+    }
+
+    def "登録した定期振込は、初回の実行日時を次回の実行日時とするACTIVE状態で生成される"() {
+        when:
+        def order = StandingOrder.schedule(AccountId.newId(), AccountId.newId(), Money.of("10000"),
+                Recurrence.MONTHLY, tokyo("2024-01-31T09:00"), TOKYO, null)
+
+        then:
+        order.status == StandingOrder.Status.ACTIVE
+        order.nextFireAt == tokyo("2024-01-31T09:00")
+        order.occurrences == 0
+    }
+
+    def "毎月31日の振込は、月末が31日より前の月は月末日に実行され、翌月は再び31日に実行される"() {
+        given:
+        def order = StandingOrder.schedule(AccountId.newId(), AccountId.newId(), Money.of("10000"),
+                Recurrence.MONTHLY, tokyo("2024-01-31T09:00"), TOKYO, null)
+
+        when:
+        def fired = (1..3).collect {
+            order.advance()
+            order.nextFireAt
+        }
+
+        then:
+        fired == [tokyo("2024-02-29T09:00"), tokyo("2024-03-31T09:00"), tokyo("2024-04-30T09:00")]
+    }
+
+    def "予約振込は1回実行すると完了する"() {
+        given:
+        def order = StandingOrder.schedule(AccountId.newId(), AccountId.newId(), Money.of("10000"),
+                Recurrence.ONCE, tokyo("2024-05-01T09:00"), TOKYO, null)
+
+        when:
+        order.advance()
+
+        then:
+        order.status == StandingOrder.Status.COMPLETED
+        order.nextFireAt == null
+        !order.isDueAt(tokyo("2024-05-01T09:00"))
+    }
+
+    def "次の回が最終の実行期限を過ぎる場合は完了する"() {
+        given: "毎週、2回目の実行日の翌日まで"
+        def order = StandingOrder.schedule(AccountId.newId(), AccountId.newId(), Money.of("10000"),
+                Recurrence.WEEKLY, tokyo("2024-05-01T09:00"), TOKYO, tokyo("2024-05-09T00:00"))
+
+        when:
+        order.advance()
+
+        then:
+        order.isDueAt(tokyo("2024-05-08T09:00"))
+
+        when:
+        order.advance()
+
+        then:
+        order.status == StandingOrder.Status.COMPLETED
+        order.occurrences == 2
+    }
+
+    def "実行日時が次回の実行日時と異なる回は、実行済みまたは重複とみなされる"() {
+        given:
+        def order = StandingOrder.schedule(AccountId.newId(), AccountId.newId(), Money.of("10000"),
+                Recurrence.DAILY, tokyo("2024-05-01T09:00"), TOKYO, null)
+        order.advance()
+
+        expect:
+        !order.isDueAt(tokyo("2024-05-01T09:00"))
+        order.isDueAt(tokyo("2024-05-02T09:00"))
+    }
+
+    def "解約した定期振込は実行されず、再度の解約は何もしない"() {
+        given:
+        def order = StandingOrder.schedule(AccountId.newId(), AccountId.newId(), Money.of("10000"),
+                Recurrence.DAILY, tokyo("2024-05-01T09:00"), TOKYO, null)
+
+        when:
+        order.cancel()
+        order.cancel()
+
+        then:
+        order.status == StandingOrder.Status.CANCELLED
+        !order.isDueAt(tokyo("2024-05-01T09:00"))
+
+        when:
+        order.advance()
+
+        then:
+        thrown(IllegalStateException)
+    }
+
+    def "自分自身への定期振込や、初回より前に終わる定期振込は登録できない"() {
+        given:
+        def accountId = AccountId.newId()
+
+        when:
+        StandingOrder.schedule(accountId, destination ?: accountId, Money.of("10000"),
+                Recurrence.DAILY, tokyo("2024-05-01T09:00"), TOKYO, endAt)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        where:
+        destination       | endAt
+        null              | null
+        AccountId.newId() | tokyo("2024-04-30T09:00")
+    }
+}
@@ -2,8 +2,13 @@ package com.example.banking.domain.transfer
 
 import com.example.banking.domain.account.AccountId
 import com.example.banking.domain.account.Money
+import com.example.banking.domain.fx.ExchangeRate
+import com.example.banking.domain.fx.FxQuote
+import com.example.banking.domain.fx.FxQuoteId
 import spock.lang.Specification
 
+import java.time.Instant
+
 class TransferSpec extends Specification {
 
     def "振込依頼が正しく生成される"() {
@@ -21,7 +26,8 @@ class TransferSpec extends Specification {
         transfer.destinationAccountId == destinationAccountId
         transfer.money == money
         transfer.status == Transfer.TransferStatus.REQUESTED
-        transfer.version == null
+        transfer.version == 0L
+        !transfer.persisted
     }
 
     def "completeメソッドで状態がCOMPLETEDに遷移する"() {
@@ -57,4 +63,74 @@ class TransferSpec extends Specification {
         then: "IllegalStateExceptionが発生する"
         thrown(IllegalStateException)
     }
-} 
\ No newline at end of file
+
+    def "見積もりを指定した振込は、ロックしたレートで換算した金額が入金額となる"() {
+        given: "1ドル=150.25円の見積もり"
+        def usd = Currency.getInstance("USD")
+        def expiresAt = Instant.parse("2024-01-01T00:00:30Z")
+        def quote = new FxQuote(FxQuoteId.newId(), new ExchangeRate(usd, Money.JPY, 150.25G), expiresAt)
+
+        when: "100.10ドルの振込を依頼すると"
+        def transfer = Transfer.request(AccountId.newId(), AccountId.newId(), Money.of("100.10", usd), quote)
+
+        then: "円の補助単位の桁数に銀行型丸めで換算される"
+        transfer.creditedMoney == new Money(15040G, Money.JPY)
+        transfer.rateExpiresAt == expiresAt
+
+        and: "有効期限の時刻以降はレートが期限切れとなる"
+        !transfer.isRateExpired(expiresAt.minusMillis(1))
+        transfer.isRateExpired(expiresAt)
+    }
+
+    def "同一通貨の振込は換算されず、レートの期限切れにもならない"() {
+        given:
+        def transfer = Transfer.request(AccountId.newId(), AccountId.newId(), Money.of("100"))
+
+        expect:
+        transfer.creditedMoney == Money.of("100")
+        !transfer.isRateExpired(Instant.MAX)
+    }
+
+    def "振込額の通貨が見積もりの換算元通貨と異なる場合は例外が発生する"() {
+        given: "ドルから円への見積もり"
+        def usd = Currency.getInstance("USD")
+        def quote = new FxQuote(FxQuoteId.newId(), new ExchangeRate(usd, Money.JPY, 150G), Instant.now().plusSeconds(30))
+
+        when: "円建ての振込に指定すると"
+        Transfer.request(AccountId.newId(), AccountId.newId(), Money.of("100"), quote)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "振込手数料を指定した振込は、振込金額と手数料の合計を出金額とする"() {
+        when: "手数料330円の振込を依頼すると"
+        def transfer = Transfer.request(AccountId.newId(), AccountId.newId(), Money.of("3000"), Money.of("330"),
+                TransferPriority.NORMAL)
+
+        then: "入金額は振込金額のまま、出金額は手数料を含む"
+        transfer.fee == Money.of("330")
+        transfer.creditedMoney == Money.of("3000")
+        transfer.debitedMoney == Money.of("3330")
+
+        and: "手数料を指定しない振込の手数料はゼロ"
+        Transfer.request(AccountId.newId(), AccountId.newId(), Money.of("3000")).debitedMoney == Money.of("3000")
+    }
+
+    def "振込の状態の遷移はドメインイベントとして振込元口座の順序で記録される"() {
+        given:
+        def sourceAccountId = AccountId.newId()
+        def transfer = Transfer.request(sourceAccountId, AccountId.newId(), Money.of("3000"))
+
+        when: "振込が完了すると"
+        transfer.complete()
+        def events = transfer.pullDomainEvents()
+
+        then: "依頼と完了のイベントが記録される"
+        events*.status() == [Transfer.TransferStatus.REQUESTED, Transfer.TransferStatus.COMPLETED]
+        events.every { it.transferId() == transfer.id.value() && it.partitionKey() == sourceAccountId }
+
+        and:
+        transfer.pullDomainEvents().isEmpty()
+    }
+}
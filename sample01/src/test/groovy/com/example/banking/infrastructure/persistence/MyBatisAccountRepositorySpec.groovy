@@ -1,6 +1,7 @@
 package com.example.banking.infrastructure.persistence
 
 import com.example.banking.domain.account.Account
+import com.example.banking.domain.account.AccountId
 import com.example.banking.domain.account.AccountNumber
 import com.example.banking.domain.account.CustomerName
 import com.example.banking.domain.account.Money
@@ -95,4 +96,75 @@ class MyBatisAccountRepositorySpec extends Specification {
         then: "IllegalStateException（楽観的ロック失敗）が発生する"
         thrown(IllegalStateException)
     }
-} 
\ No newline at end of file
+
+    def "口座のバージョンのみを取得できる"() {
+        given: "一度更新された口座"
+        def account = Account.open(repository.nextAccountNumber(), new CustomerName("Shiro Ito"), Money.of("10000"))
+        repository.save(account)
+        def savedAccount = repository.findById(account.getId()).get()
+        savedAccount.deposit(Money.of("1000"))
+        repository.save(savedAccount)
+
+        expect: "更新後のバージョンが取得でき、存在しない口座は空となる"
+        repository.findVersionById(account.getId()) == Optional.of(1L)
+        repository.findVersionById(AccountId.newId()) == Optional.empty()
+    }
+
+    def "口座の通貨のみを取得できる"() {
+        given: "米ドル建ての口座"
+        def account = Account.open(repository.nextAccountNumber(), new CustomerName("Hanako Kimura"), Money.of("100", Currency.getInstance("USD")))
+        repository.save(account)
+
+        expect: "口座の通貨が取得でき、存在しない口座は空となる"
+        repository.findCurrencyById(account.getId()) == Optional.of(Currency.getInstance("USD"))
+        repository.findCurrencyById(AccountId.newId()) == Optional.empty()
+    }
+
+    def "複数口座のバージョンをまとめて取得できる"() {
+        given: "2つの口座"
+        def account1 = Account.open(repository.nextAccountNumber(), new CustomerName("Goro Kato"), Money.of("10000"))
+        def account2 = Account.open(repository.nextAccountNumber(), new CustomerName("Rokuro Sato"), Money.of("10000"))
+        repository.save(account1)
+        repository.save(account2)
+        def missing = AccountId.newId()
+
+        when: "存在しない口座を含めて取得すると"
+        def versions = repository.findVersionsByIds([account1.getId(), account2.getId(), missing])
+
+        then: "存在する口座のバージョンのみが返される"
+        versions == [(account1.getId()): 0L, (account2.getId()): 0L]
+
+        and: "空のコレクションでは空のマップが返される"
+        repository.findVersionsByIds([]).isEmpty()
+    }
+
+    def "与信は利用可能残高の範囲でのみ拘束でき、確定すると拘束が解除されて出金される"() {
+        given: "残高10000円の口座"
+        def account = Account.open(repository.nextAccountNumber(), new CustomerName("Nanami Mori"), Money.of("10000"))
+        repository.save(account)
+
+        when: "6000円を拘束した後、さらに5000円を拘束しようとすると"
+        def first = repository.placeHold(account.getId(), Money.of("6000"))
+        def second = repository.placeHold(account.getId(), Money.of("5000"))
+
+        then: "2件目は利用可能残高が不足するため拘束されない"
+        first.get().getHeldBalance() == Money.of("6000")
+        second.isEmpty()
+        with(repository.findById(account.getId()).get()) {
+            getHeldBalance() == Money.of("6000")
+            getAvailableBalance() == Money.of("4000")
+            getVersion() == 1L
+        }
+
+        when: "拘束した6000円のうち4500円で確定すると"
+        def captured = repository.captureHold(account.getId(), Money.of("6000"), Money.of("4500"))
+
+        then: "拘束が解除され、確定額のみが出金される"
+        captured.getBalance() == Money.of("5500")
+        with(repository.findById(account.getId()).get()) {
+            getBalance() == Money.of("5500")
+            getHeldBalance() == Money.of("0")
+            getAvailableBalance() == Money.of("5500")
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.banking.infrastructure.persistence
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.transaction.support.TransactionSynchronizationManager
+import spock.lang.Specification
+
+import javax.sql.DataSource
+import java.sql.Connection
+import java.sql.SQLException
+import java.time.Duration
+
+class ReadReplicaRoutingDataSourceSpec extends Specification {
+
+    static final Duration MAX_LAG = Duration.ofSeconds(5)
+
+    def primaryConnection = Stub(Connection)
+    def replica1Connection = Stub(Connection)
+    def replica2Connection = Stub(Connection)
+    DataSource primary = Stub() { getConnection() >> primaryConnection }
+    DataSource replica1DataSource = Mock()
+    DataSource replica2DataSource = Stub() { getConnection() >> replica2Connection }
+    def replica1 = new ReadReplica("replica1", replica1DataSource)
+    def replica2 = new ReadReplica("replica2", replica2DataSource)
+    def meterRegistry = new SimpleMeterRegistry()
+    def dataSource = new ReadReplicaRoutingDataSource(primary, [replica1, replica2], meterRegistry)
+
+    def setup() {
+        replica1DataSource.getConnection() >> replica1Connection
+        replica1.lagChecked(0.5, MAX_LAG)
+        replica2.lagChecked(0.5, MAX_LAG)
+    }
+
+    def cleanup() {
+        TransactionSynchronizationManager.setActualTransactionActive(false)
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false)
+    }
+
+    def "読み取り専用トランザクションはレプリカに順番に振り分けられる"() {
+        given:
+        inTransaction(true)
+
+        expect:
+        (1..4).collect { dataSource.connection } == [replica1Connection, replica2Connection, replica1Connection, replica2Connection]
+        meterRegistry.counter("banking.datasource.reads", "target", "replica").count() == 4
+    }
+
+    def "更新を伴うトランザクションとトランザクション外の操作はプライマリを使用する"() {
+        expect: "トランザクション外"
+        dataSource.connection == primaryConnection
+
+        when: "更新を伴うトランザクション"
+        inTransaction(false)
+
+        then:
+        dataSource.connection == primaryConnection
+        meterRegistry.counter("banking.datasource.reads", "target", "primary").count() == 0
+    }
+
+    def "遅延が許容範囲を超えたレプリカには振り分けない"() {
+        given:
+        inTransaction(true)
+        replica1.lagChecked(6, MAX_LAG)
+
+        expect:
+        (1..2).collect { dataSource.connection } == [replica2Connection, replica2Connection]
+    }
+
+    def "使用できるレプリカがない場合はプライマリで読み込む"() {
+        given:
+        inTransaction(true)
+        replica1.markUnavailable()
+        replica2.lagChecked(10, MAX_LAG)
+
+        expect:
+        dataSource.connection == primaryConnection
+        meterRegistry.counter("banking.datasource.reads", "target", "primary").count() == 1
+    }
+
+    def "接続を取得できないレプリカは振り分け先から外し、次のレプリカを使用する"() {
+        given:
+        inTransaction(true)
+
+        when:
+        def connection = dataSource.connection
+
+        then:
+        1 * replica1DataSource.getConnection() >> { throw new SQLException("connection refused") }
+        connection == replica2Connection
+        !replica1.isAvailable()
+    }
+
+    private static void inTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.setActualTransactionActive(true)
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly)
+    }
+}
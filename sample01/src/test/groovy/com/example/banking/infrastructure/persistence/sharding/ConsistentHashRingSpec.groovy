@@ -0,0 +1,60 @@
+package com.example.banking.infrastructure.persistence.sharding
+
+import com.example.banking.domain.account.AccountId
+import spock.lang.Specification
+
+class ConsistentHashRingSpec extends Specification {
+
+    static final List<AccountId> ACCOUNTS = (1..30_000).collect { AccountId.newId() }
+
+    def "同じシャード構成からは、設定の順序やインスタンスによらず同じ割り当てになる"() {
+        given:
+        def ring = new ConsistentHashRing(["shard1", "shard2", "shard3"], 128)
+        def reordered = new ConsistentHashRing(["shard3", "shard1", "shard2"], 128)
+
+        expect:
+        ACCOUNTS.every { ring.shardOf(it) == reordered.shardOf(it) }
+    }
+
+    def "口座は各シャードにほぼ均等に割り当てられる"() {
+        given:
+        def ring = new ConsistentHashRing(["shard1", "shard2", "shard3"], 128)
+
+        when:
+        def counts = ACCOUNTS.countBy { ring.shardOf(it) }
+
+        then: "平均（1万口座）から±15%以内"
+        counts.keySet() == ["shard1", "shard2", "shard3"] as Set
+        counts.values().every { Math.abs(it - 10_000) < 1_500 }
+    }
+
+    def "シャードを追加すると、追加したシャードに割り当てられる口座だけが移動する"() {
+        given:
+        def before = new ConsistentHashRing(["shard1", "shard2", "shard3"], 128)
+        def after = new ConsistentHashRing(["shard1", "shard2", "shard3", "shard4"], 128)
+
+        when:
+        def moved = ACCOUNTS.findAll { before.shardOf(it) != after.shardOf(it) }
+
+        then: "移動する口座はすべて新しいシャードへ移り、その数はおよそ4分の1"
+        moved.every { after.shardOf(it) == "shard4" }
+        Math.abs(moved.size() - 7_500) < 1_500
+    }
+
+    def "シャードを外すと、そのシャードの口座だけが他のシャードへ移動する"() {
+        given:
+        def before = new ConsistentHashRing(["shard1", "shard2", "shard3"], 128)
+        def after = new ConsistentHashRing(["shard1", "shard3"], 128)
+
+        expect:
+        ACCOUNTS.every { before.shardOf(it) == "shard2" || before.shardOf(it) == after.shardOf(it) }
+    }
+
+    def "シャードが1つもない場合は構成できない"() {
+        when:
+        new ConsistentHashRing([], 128)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
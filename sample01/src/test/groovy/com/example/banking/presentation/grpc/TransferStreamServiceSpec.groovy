@@ -0,0 +1,211 @@
+package com.example.banking.presentation.grpc
+
+import com.example.banking.application.saga.TransferSagaDispatcher
+import com.example.banking.application.saga.TransferSettledEvent
+import com.example.banking.application.service.GetAccountQuery
+import com.example.banking.application.service.RequestTransferUseCase
+import com.example.banking.application.service.TransferCommand
+import com.example.banking.domain.account.AccountId
+import com.example.banking.domain.account.AccountNotFoundException
+import com.example.banking.domain.account.Money
+import com.example.banking.domain.transfer.Transfer
+import com.example.banking.domain.transfer.TransferChannel
+import com.example.banking.domain.transfer.TransferPriority
+import com.example.banking.presentation.grpc.v1.GetAccountRequest
+import com.example.banking.presentation.grpc.v1.RejectionReason
+import com.example.banking.presentation.grpc.v1.SubmitTransferRequest
+import com.example.banking.presentation.grpc.v1.TransferStreamGrpc
+import com.example.banking.presentation.grpc.v1.TransferUpdate
+import io.grpc.ManagedChannel
+import io.grpc.Server
+import io.grpc.Status
+import io.grpc.StatusRuntimeException
+import io.grpc.inprocess.InProcessChannelBuilder
+import io.grpc.inprocess.InProcessServerBuilder
+import io.grpc.stub.StreamObserver
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.TimeUnit
+
+class TransferStreamServiceSpec extends Specification {
+
+    static final UUID SOURCE = UUID.randomUUID()
+    static final UUID DESTINATION = UUID.randomUUID()
+
+    RequestTransferUseCase requestTransferUseCase = Mock()
+    GetAccountQuery getAccountQuery = Stub()
+    TransferSagaDispatcher sagaDispatcher = Stub()
+    def meterRegistry = new SimpleMeterRegistry()
+    // 1件ずつ受信し、実行を待っているSagaが10件以上の間は受信を止める
+    def properties = new GrpcProperties(true, 0, null, 10, 100, 1, Duration.ofMillis(200), Duration.ofSeconds(1))
+    int sagaBacklog = 0
+
+    TransferStreamService service
+    Server server
+    ManagedChannel channel
+    def updates = new LinkedBlockingQueue<TransferUpdate>()
+    def streamCompleted = new CountDownLatch(1)
+
+    def setup() {
+        sagaDispatcher.backlog() >> { sagaBacklog }
+        service = new TransferStreamService(requestTransferUseCase, getAccountQuery, sagaDispatcher, properties, meterRegistry)
+        def name = InProcessServerBuilder.generateName()
+        server = InProcessServerBuilder.forName(name).addService(service).build().start()
+        channel = InProcessChannelBuilder.forName(name).build()
+    }
+
+    def cleanup() {
+        channel.shutdownNow()
+        server.shutdownNow()
+    }
+
+    def "受け付けた振込には、受け付けの応答の後にSagaの結果が同じストリームで通知される"() {
+        given:
+        def transfer = Transfer.request(new AccountId(SOURCE), new AccountId(DESTINATION), Money.of("1000.50"), TransferPriority.URGENT)
+        def requests = openStream()
+
+        when:
+        requests.onNext(submission(7))
+        def accepted = updates.poll(5, TimeUnit.SECONDS)
+        service.onTransferSettled(new TransferSettledEvent(this, transfer.id, Transfer.TransferStatus.COMPLETED))
+        def outcome = updates.poll(5, TimeUnit.SECONDS)
+
+        then:
+        1 * requestTransferUseCase.requestTransfer(new TransferCommand(new AccountId(SOURCE), new AccountId(DESTINATION), Money.of("1000.50"), null,
+                TransferPriority.URGENT, TransferChannel.GRPC)) >> transfer
+        accepted.correlationId == 7
+        accepted.status == TransferUpdate.Status.STATUS_ACCEPTED
+        GrpcValues.toUuid(accepted.transferId) == transfer.id.value()
+        outcome.correlationId == 7
+        outcome.status == TransferUpdate.Status.STATUS_COMPLETED
+    }
+
+    def "受け付けの応答より先にSagaの結果が確定しても、結果は通知される"() {
+        given:
+        def transfer = Transfer.request(new AccountId(SOURCE), new AccountId(DESTINATION), Money.of("1000.50"))
+        requestTransferUseCase.requestTransfer(*_) >> {
+            service.onTransferSettled(new TransferSettledEvent(this, transfer.id, Transfer.TransferStatus.FAILED))
+            transfer
+        }
+        def requests = openStream()
+
+        when:
+        requests.onNext(submission(1))
+
+        then:
+        updates.poll(5, TimeUnit.SECONDS).status == TransferUpdate.Status.STATUS_ACCEPTED
+        updates.poll(5, TimeUnit.SECONDS).status == TransferUpdate.Status.STATUS_FAILED
+    }
+
+    def "受け付けられない振込は理由とともに拒否され、ストリームは続けて使用できる"() {
+        given:
+        def transfer = Transfer.request(new AccountId(SOURCE), new AccountId(DESTINATION), Money.of("1000.50"))
+        requestTransferUseCase.requestTransfer(*_) >> { throw new AccountNotFoundException(new AccountId(DESTINATION)) } >> transfer
+        def requests = openStream()
+
+        when:
+        requests.onNext(submission(1))
+        requests.onNext(submission(2))
+        def rejected = updates.poll(5, TimeUnit.SECONDS)
+        def accepted = updates.poll(5, TimeUnit.SECONDS)
+
+        then:
+        rejected.correlationId == 1
+        rejected.status == TransferUpdate.Status.STATUS_REJECTED
+        rejected.rejectionReason == RejectionReason.REJECTION_REASON_ACCOUNT_NOT_FOUND
+        rejected.transferId.isEmpty()
+        accepted.correlationId == 2
+        accepted.status == TransferUpdate.Status.STATUS_ACCEPTED
+    }
+
+    def "Sagaが滞留している間は受信を止め、滞留が解消すると受信を再開する"() {
+        given:
+        sagaBacklog = 10
+        requestTransferUseCase.requestTransfer(*_) >> {
+            Transfer.request(new AccountId(SOURCE), new AccountId(DESTINATION), Money.of("1000.50"))
+        }
+        def requests = openStream()
+
+        when:
+        (1..3).each { requests.onNext(submission(it)) }
+        service.resumeStreams()
+
+        then:
+        updates.poll(300, TimeUnit.MILLISECONDS) == null
+        meterRegistry.get("banking.grpc.backpressure.pauses").counter().count() >= 1
+
+        when:
+        sagaBacklog = 0
+        service.resumeStreams()
+
+        then:
+        (1..3).collect { updates.poll(5, TimeUnit.SECONDS).correlationId } == [1L, 2L, 3L]
+    }
+
+    def "クライアントが送信を終えても、結果を待っている振込がすべて確定するまでストリームは閉じない"() {
+        given:
+        def transfer = Transfer.request(new AccountId(SOURCE), new AccountId(DESTINATION), Money.of("1000.50"))
+        requestTransferUseCase.requestTransfer(*_) >> transfer
+        def requests = openStream()
+        requests.onNext(submission(1))
+        updates.poll(5, TimeUnit.SECONDS)
+
+        when:
+        requests.onCompleted()
+
+        then:
+        !streamCompleted.await(200, TimeUnit.MILLISECONDS)
+
+        when:
+        service.onTransferSettled(new TransferSettledEvent(this, transfer.id, Transfer.TransferStatus.COMPLETED))
+
+        then:
+        streamCompleted.await(5, TimeUnit.SECONDS)
+        updates.poll().status == TransferUpdate.Status.STATUS_COMPLETED
+    }
+
+    def "存在しない口座の照会は NOT_FOUND となる"() {
+        given:
+        getAccountQuery.getAccountDetails(_) >> Optional.empty()
+
+        when:
+        TransferStreamGrpc.newBlockingStub(channel)
+                .getAccount(GetAccountRequest.newBuilder().setAccountId(GrpcValues.toBytes(SOURCE)).build())
+
+        then:
+        def e = thrown(StatusRuntimeException)
+        e.status.code == Status.Code.NOT_FOUND
+    }
+
+    private StreamObserver<SubmitTransferRequest> openStream() {
+        TransferStreamGrpc.newStub(channel).submitTransfers(new StreamObserver<TransferUpdate>() {
+            @Override
+            void onNext(TransferUpdate update) {
+                updates.add(update)
+            }
+
+            @Override
+            void onError(Throwable t) {
+            }
+
+            @Override
+            void onCompleted() {
+                streamCompleted.countDown()
+            }
+        })
+    }
+
+    private static SubmitTransferRequest submission(long correlationId) {
+        SubmitTransferRequest.newBuilder()
+                .setCorrelationId(correlationId)
+                .setSourceAccountId(GrpcValues.toBytes(SOURCE))
+                .setDestinationAccountId(GrpcValues.toBytes(DESTINATION))
+                .setAmount(GrpcValues.toDecimal(new BigDecimal("1000.50")))
+                .setPriority(com.example.banking.presentation.grpc.v1.TransferPriority.TRANSFER_PRIORITY_URGENT)
+                .build()
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.banking.presentation.rest
+
+import com.example.banking.application.service.DepositUseCase
+import com.example.banking.application.service.GetAccountQuery
+import com.example.banking.application.service.OpenAccountUseCase
+import com.example.banking.domain.account.Account
+import com.example.banking.domain.account.AccountId
+import com.example.banking.domain.account.AccountNumber
+import com.example.banking.domain.account.CustomerName
+import com.example.banking.domain.account.Money
+import groovy.json.JsonOutput
+import org.springframework.http.HttpHeaders
+import org.springframework.http.MediaType
+import org.springframework.test.web.servlet.MockMvc
+import org.springframework.test.web.servlet.setup.MockMvcBuilders
+import spock.lang.Specification
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status
+
+class AccountControllerSpec extends Specification {
+
+    GetAccountQuery getAccountQuery = Mock()
+    MockMvc mockMvc = MockMvcBuilders.standaloneSetup(
+            new AccountController(Mock(OpenAccountUseCase), Mock(DepositUseCase), getAccountQuery)).build()
+
+    def accountId = AccountId.newId()
+
+    def "口座を取得すると、バージョンの弱いETagとVary: Acceptを返す"() {
+        when:
+        def result = mockMvc.perform(get("/api/accounts/{id}", accountId.value()))
+
+        then:
+        1 * getAccountQuery.getAccountVersion(accountId) >> Optional.of(3L)
+        1 * getAccountQuery.getAccountDetails(accountId) >> Optional.of(account(3L))
+        result.andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, 'W/"3"'))
+                .andExpect(header().string(HttpHeaders.VARY, "Accept"))
+                .andExpect(jsonPath('$.accountId').value(accountId.value().toString()))
+    }
+
+    def "If-None-Matchが現在のバージョンと一致する場合は、口座を読み込まずに304を返す"() {
+        when:
+        def result = mockMvc.perform(get("/api/accounts/{id}", accountId.value())
+                .header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch))
+
+        then:
+        1 * getAccountQuery.getAccountVersion(accountId) >> Optional.of(3L)
+        0 * getAccountQuery.getAccountDetails(_)
+        result.andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, 'W/"3"'))
+                .andExpect(header().string(HttpHeaders.VARY, "Accept"))
+                .andExpect(content().string(""))
+
+        where: "弱い比較のため、強いETagとして送られても一致する"
+        ifNoneMatch << ['W/"3"', '"3"', 'W/"2", W/"3"']
+    }
+
+    def "If-None-Matchのバージョンが古い場合は、新しいETagとともに口座を返す"() {
+        when:
+        def result = mockMvc.perform(get("/api/accounts/{id}", accountId.value())
+                .header(HttpHeaders.IF_NONE_MATCH, 'W/"2"'))
+
+        then:
+        1 * getAccountQuery.getAccountVersion(accountId) >> Optional.of(3L)
+        1 * getAccountQuery.getAccountDetails(accountId) >> Optional.of(account(3L))
+        result.andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, 'W/"3"'))
+                .andExpect(jsonPath('$.accountId').value(accountId.value().toString()))
+    }
+
+    def "存在しない口座は404を返す"() {
+        when:
+        def result = mockMvc.perform(get("/api/accounts/{id}", accountId.value())
+                .header(HttpHeaders.IF_NONE_MATCH, 'W/"3"'))
+
+        then:
+        1 * getAccountQuery.getAccountVersion(accountId) >> Optional.empty()
+        0 * getAccountQuery.getAccountDetails(_)
+        result.andExpect(status().isNotFound())
+    }
+
+    def "変更確認は、バージョンが異なる口座と存在しない口座のみを返す"() {
+        given:
+        def unchanged = AccountId.newId()
+        def changed = AccountId.newId()
+        def unknown = AccountId.newId()
+        def missing = AccountId.newId()
+        def body = """{"knownVersions": {
+                "${unchanged.value()}": 1,
+                "${changed.value()}": 1,
+                "${unknown.value()}": null,
+                "${missing.value()}": 1}}"""
+
+        when:
+        def result = mockMvc.perform(post("/api/accounts/changes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+
+        then: "バージョンのみを一括で参照し、口座は読み込まない"
+        1 * getAccountQuery.getAccountVersions({ it as Set == [unchanged, changed, unknown, missing] as Set }) >>
+                [(unchanged): 1L, (changed): 2L, (unknown): 5L]
+        0 * getAccountQuery.getAccountDetails(_)
+        result.andExpect(status().isOk())
+                .andExpect(jsonPath('$.changed.length()').value(2))
+                .andExpect(jsonPath('$.changed[?(@.accountId == "%s")].version', changed.value().toString()).value(2))
+                .andExpect(jsonPath('$.changed[?(@.accountId == "%s")].version', unknown.value().toString()).value(5))
+                .andExpect(jsonPath('$.notFound.length()').value(1))
+                .andExpect(jsonPath('$.notFound[0]').value(missing.value().toString()))
+    }
+
+    def "変更確認は1回に1000口座まで"() {
+        given:
+        def knownVersions = (1..1001).collectEntries { [(UUID.randomUUID().toString()): 1] }
+        def body = JsonOutput.toJson([knownVersions: knownVersions])
+
+        when:
+        def result = mockMvc.perform(post("/api/accounts/changes")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+
+        then:
+        0 * getAccountQuery._
+        result.andExpect(status().isBadRequest())
+    }
+
+    private Account account(long version) {
+        return Account.reconstitute(accountId, new AccountNumber("1234567"), new CustomerName("Taro Suzuki"),
+                Money.of("1000"), version)
+    }
+}
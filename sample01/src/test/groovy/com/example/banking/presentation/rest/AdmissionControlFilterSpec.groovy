@@ -0,0 +1,76 @@
+package com.example.banking.presentation.rest
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import jakarta.servlet.FilterChain
+import org.springframework.mock.web.MockHttpServletRequest
+import org.springframework.mock.web.MockHttpServletResponse
+import spock.lang.Specification
+
+import java.time.Duration
+
+class AdmissionControlFilterSpec extends Specification {
+
+    def meterRegistry = new SimpleMeterRegistry()
+    /** 参照系・更新系とも上限1件 */
+    def properties = new AdmissionControlProperties(true,
+            new AdmissionControlProperties.Limit(1, 1, 1, 2.0, 0.2, 600, 0.9),
+            new AdmissionControlProperties.Limit(1, 1, 1, 2.0, 0.2, 600, 0.9),
+            Duration.ofSeconds(2))
+    def filter = new AdmissionControlFilter(properties, new ObjectMapper(), meterRegistry)
+
+    def "上限を超えたリクエストは、コントローラを呼び出さずに503とRetry-Afterで拒否される"() {
+        given: "振込依頼の実行中に、次の振込依頼が届く"
+        FilterChain second = Mock()
+        MockHttpServletResponse response = new MockHttpServletResponse()
+        FilterChain first = { req, res -> filter.doFilter(request("POST", "/api/transfers"), response, second) } as FilterChain
+
+        when:
+        filter.doFilter(request("POST", "/api/transfers"), new MockHttpServletResponse(), first)
+
+        then:
+        0 * second.doFilter(_, _)
+        response.status == 503
+        response.getHeader("Retry-After") == "2"
+        response.contentType == "application/problem+json"
+        meterRegistry.get("banking.admission.rejections").tag("kind", "write").counter().count() == 1
+    }
+
+    def "参照系と更新系の上限は独立している"() {
+        given: "振込依頼の実行中に、口座照会が届く"
+        FilterChain read = Mock()
+        MockHttpServletResponse response = new MockHttpServletResponse()
+        FilterChain write = { req, res -> filter.doFilter(request("GET", "/api/accounts/1"), response, read) } as FilterChain
+
+        when:
+        filter.doFilter(request("POST", "/api/transfers"), new MockHttpServletResponse(), write)
+
+        then:
+        1 * read.doFilter(_, _)
+        response.status == 200
+        meterRegistry.get("banking.admission.inflight").tag("kind", "write").gauge().value() == 0
+    }
+
+    def "サーバーエラーで終了したリクエストはドロップとして数え、実行枠を返却する"() {
+        given:
+        FilterChain failing = { req, res -> res.status = 500 } as FilterChain
+
+        when:
+        filter.doFilter(request("GET", "/api/accounts/1"), new MockHttpServletResponse(), failing)
+
+        then:
+        meterRegistry.get("banking.admission.drops").tag("kind", "read").counter().count() == 1
+        meterRegistry.get("banking.admission.inflight").tag("kind", "read").gauge().value() == 0
+    }
+
+    def "入出金明細のエクスポートと口座・振込以外のAPIは制限しない"() {
+        expect:
+        filter.shouldNotFilter(request("GET", "/api/accounts/1/statement"))
+        filter.shouldNotFilter(request("POST", "/api/standing-orders"))
+        !filter.shouldNotFilter(request("POST", "/api/accounts/changes"))
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        new MockHttpServletRequest(method, uri)
+    }
+}
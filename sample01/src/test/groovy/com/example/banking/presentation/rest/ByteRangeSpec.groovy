@@ -0,0 +1,76 @@
+package com.example.banking.presentation.rest
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class ByteRangeSpec extends Specification {
+
+    @Unroll
+    def "Rangeヘッダ '#header' は長さ1000のレスポンスの #first-#last を指す"() {
+        expect:
+        def range = ByteRange.parse(header).get().resolve(1000).get()
+        range.first() == first
+        range.last() == last
+        range.contentRange(1000) == "bytes $first-$last/1000"
+
+        where:
+        header           || first | last
+        "bytes=0-99"     || 0     | 99
+        "bytes=900-"     || 900   | 999
+        "bytes=900-5000" || 900   | 999
+        "bytes=-100"     || 900   | 999
+        "bytes=-5000"    || 0     | 999
+    }
+
+    @Unroll
+    def "対応していない形式 '#header' は無視される"() {
+        expect:
+        ByteRange.parse(header).isEmpty()
+
+        where:
+        header << ["bytes=0-99,200-299", "bytes=100-50", "items=0-10", "bytes=-", "bytes=99999999999999999999-"]
+    }
+
+    def "レスポンスに含まれない範囲は満たせない"() {
+        expect:
+        ByteRange.parse("bytes=1000-").get().resolve(1000).isEmpty()
+        ByteRange.parse("bytes=-0").get().resolve(1000).isEmpty()
+        ByteRange.parse("bytes=0-").get().resolve(0).isEmpty()
+    }
+
+    def "範囲外のバイトは破棄され、範囲の末尾まで書き出すと完了となる"() {
+        given:
+        def out = new ByteArrayOutputStream()
+        def ranged = new ByteRangeOutputStream(out, 3, 6)
+
+        when: "複数回に分けて書き込むと"
+        ranged.write("012".bytes)
+        ranged.write('3' as char)
+        ranged.write("45".bytes)
+
+        then:
+        new String(out.toByteArray()) == "345"
+        !ranged.isComplete()
+
+        when:
+        ranged.write("6789".bytes)
+
+        then:
+        new String(out.toByteArray()) == "3456"
+        ranged.isComplete()
+        ranged.position() == 10
+    }
+
+    def "カウント用のストリームは何も書き出さずにバイト数を数える"() {
+        given:
+        def counter = ByteRangeOutputStream.counting()
+
+        when:
+        counter.write(new byte[8192])
+        counter.write(1)
+
+        then:
+        counter.position() == 8193
+        !counter.isComplete()
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.banking.presentation.rest
+
+import com.example.banking.domain.transfer.TransferPriority
+import com.fasterxml.jackson.databind.node.BinaryNode
+import org.springframework.http.MediaType
+import org.springframework.http.converter.HttpMessageConverter
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter
+import spock.lang.Specification
+
+class CborWebConfigSpec extends Specification {
+
+    def cborMapper = CborWebConfig.cborObjectMapper(Jackson2ObjectMapperBuilder.json())
+    def jsonMapper = Jackson2ObjectMapperBuilder.json().build()
+
+    def "振込リクエストはCBORで往復でき、UUIDは16バイトのバイト列で表される"() {
+        given:
+        def request = new TransferRequest(UUID.randomUUID(), UUID.randomUUID(), new BigDecimal("123456.78"),
+                "JPY", null, TransferPriority.URGENT)
+
+        when:
+        byte[] payload = cborMapper.writeValueAsBytes(request)
+        def tree = cborMapper.readTree(payload)
+
+        then:
+        cborMapper.readValue(payload, TransferRequest) == request
+        tree.get("sourceAccountId") instanceof BinaryNode
+        tree.get("sourceAccountId").binaryValue().length == 16
+        payload.length < jsonMapper.writeValueAsBytes(request).length
+    }
+
+    def "口座詳細の金額はスケールを保ったまま往復できる"() {
+        given:
+        def response = new AccountDetailsResponse(UUID.randomUUID(), "1234567890", "Taro Yamada",
+                new BigDecimal("1000.50"), new BigDecimal("0.00"), new BigDecimal("1000.50"), "JPY")
+
+        when:
+        def decoded = cborMapper.readValue(cborMapper.writeValueAsBytes(response), AccountDetailsResponse)
+
+        then:
+        decoded == response
+        decoded.heldBalance().scale() == 2
+    }
+
+    def "CBORのコンバータは末尾に追加され、既定のCBORのコンバータを置き換える"() {
+        given:
+        def json = new MappingJackson2HttpMessageConverter()
+        List<HttpMessageConverter<?>> converters = [new MappingJackson2CborHttpMessageConverter(), json]
+
+        when:
+        new CborWebConfig(Jackson2ObjectMapperBuilder.json()).extendMessageConverters(converters)
+
+        then:
+        converters.size() == 2
+        converters[0].is(json)
+        converters[1] instanceof MappingJackson2CborHttpMessageConverter
+        converters[1].getSupportedMediaTypes().contains(MediaType.APPLICATION_CBOR)
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.banking.presentation.rest
+
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+class GradientConcurrencyLimiterSpec extends Specification {
+
+    def limiter = new GradientConcurrencyLimiter(new AdmissionControlProperties.Limit(20, 4, 150, 2.0, 0.2, 600, 0.9))
+
+    def "上限に達すると、実行枠を返却するまで新たなリクエストを受け付けない"() {
+        given:
+        20.times { assert limiter.tryAcquire() }
+
+        expect:
+        !limiter.tryAcquire()
+
+        when:
+        limiter.release()
+
+        then:
+        limiter.tryAcquire()
+    }
+
+    def "上限まで使われている間、応答時間が平常であれば上限を広げる"() {
+        when:
+        100.times { saturateAndComplete(10) }
+
+        then:
+        limiter.limit == 150
+    }
+
+    def "応答時間が平常時の許容倍率を超えると上限を下げ、回復すると再び広げる"() {
+        given: "平常時は10ms"
+        100.times { saturateAndComplete(10) }
+
+        when: "DBが遅くなり100msかかるようになると"
+        50.times { saturateAndComplete(100) }
+
+        then: "上限は下限付近まで下がる"
+        limiter.limit < 10
+        limiter.limit >= 4
+
+        when: "応答時間が10msに戻ると"
+        300.times { saturateAndComplete(10) }
+
+        then:
+        limiter.limit == 150
+    }
+
+    def "応答時間が得られないままエラーで終了するリクエストが続くと、ドロップとして上限を下げる"() {
+        given: "平常時は10msで、上限は最大まで広がっている"
+        100.times { saturateAndComplete(10) }
+
+        when: "DBのタイムアウトでリクエストがエラーになり続けると"
+        40.times {
+            while (limiter.tryAcquire()) {
+            }
+            limiter.releaseDropped()
+        }
+
+        then: "上限は1件ごとに0.9倍になり、下限まで下がる"
+        limiter.limit == 4
+    }
+
+    def "上限の半分も使われていない間は、エラーで終了しても上限を変えない"() {
+        when:
+        10.times {
+            limiter.tryAcquire()
+            limiter.releaseDropped()
+        }
+
+        then:
+        limiter.limit == 20
+        limiter.inflight == 0
+    }
+
+    def "上限の半分も使われていない間は、上限を変えない"() {
+        when:
+        100.times {
+            limiter.tryAcquire()
+            limiter.release(TimeUnit.MILLISECONDS.toNanos(10))
+        }
+
+        then:
+        limiter.limit == 20
+    }
+
+    /** 上限まで実行枠を確保した状態で、1件のリクエストが完了する */
+    private void saturateAndComplete(long rttMillis) {
+        while (limiter.tryAcquire()) {
+        }
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(rttMillis))
+    }
+}
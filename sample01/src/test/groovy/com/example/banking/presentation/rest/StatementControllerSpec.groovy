@@ -0,0 +1,136 @@
+package com.example.banking.presentation.rest
+
+import com.example.banking.application.service.ExportStatementQuery
+import com.example.banking.application.service.ExportStatementQuery.Statement
+import com.example.banking.application.service.GetAccountQuery
+import com.example.banking.domain.account.AccountId
+import com.example.banking.domain.account.Money
+import com.example.banking.domain.transfer.AccountMovement
+import com.example.banking.domain.transfer.TransferId
+import com.fasterxml.jackson.databind.ObjectMapper
+import org.springframework.http.HttpHeaders
+import org.springframework.test.web.servlet.MockMvc
+import org.springframework.test.web.servlet.MvcResult
+import org.springframework.test.web.servlet.RequestBuilder
+import org.springframework.test.web.servlet.setup.MockMvcBuilders
+import spock.lang.Specification
+
+import java.time.Duration
+import java.time.Instant
+import java.time.ZoneId
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request
+
+class StatementControllerSpec extends Specification {
+
+    ExportStatementQuery exportStatementQuery = Mock()
+    GetAccountQuery getAccountQuery = Stub()
+    MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new StatementController(exportStatementQuery, getAccountQuery,
+            new StatementProperties(ZoneId.of("Asia/Tokyo"), 4, Duration.ofMinutes(30)), new ObjectMapper())).build()
+
+    def accountId = AccountId.newId()
+    def movements = [movement("2026-04-01T01:00:00Z"), movement("2026-04-02T01:00:00Z")]
+
+    def setup() {
+        getAccountQuery.getAccountVersion(accountId) >> Optional.of(1L)
+        exportStatementQuery.exportStatement(accountId, _, _, _) >> { args -> args[3].doWithStatement(statement()) }
+    }
+
+    def "明細の全体を、明細の件数から求めた強いETagとともに返す"() {
+        when:
+        def response = export(statementRequest())
+
+        then:
+        1 * exportStatementQuery.countStatementMovements(accountId, _, _) >> 2L
+        response.status == 200
+        response.getHeader(HttpHeaders.ETAG) == '"2"'
+        response.getHeader(HttpHeaders.ACCEPT_RANGES) == "bytes"
+    }
+
+    def "部分取得もエクスポートのスレッドプールで書き出し、If-RangeのETagが一致する場合は範囲を返す"() {
+        given:
+        exportStatementQuery.countStatementMovements(*_) >> 2L
+        def full = export(statementRequest()).contentAsByteArray
+
+        and:
+        def range = statementRequest().header(HttpHeaders.RANGE, "bytes=0-9")
+        if (ifRange != null) {
+            range.header(HttpHeaders.IF_RANGE, ifRange)
+        }
+
+        when:
+        def response = export(range)
+
+        then:
+        response.status == 206
+        response.getHeader(HttpHeaders.ETAG) == '"2"'
+        response.getHeader(HttpHeaders.CONTENT_RANGE) == "bytes 0-9/${full.length}"
+        response.contentAsByteArray == full[0..9] as byte[]
+
+        where: "If-Rangeがない場合は、常に範囲を返す"
+        ifRange << ['"2"', null]
+    }
+
+    def "If-RangeのETagが現在の明細と一致しない場合は、範囲を無視して全体を返す"() {
+        given:
+        exportStatementQuery.countStatementMovements(*_) >> 2L
+        def full = export(statementRequest()).contentAsByteArray
+
+        when:
+        def response = export(statementRequest()
+                .header(HttpHeaders.RANGE, "bytes=0-9")
+                .header(HttpHeaders.IF_RANGE, ifRange))
+
+        then:
+        response.status == 200
+        response.getHeader(HttpHeaders.ETAG) == '"2"'
+        response.getHeader(HttpHeaders.CONTENT_RANGE) == null
+        response.contentAsByteArray == full
+
+        where: "弱いETagと日付は、強い比較で一致しない"
+        ifRange << ['"1"', 'W/"2"', "Wed, 01 Apr 2026 00:00:00 GMT"]
+    }
+
+    def "gzipで圧縮する場合は、圧縮しない場合と異なるETagを返す"() {
+        when:
+        def response = export(statementRequest().header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+
+        then:
+        1 * exportStatementQuery.countStatementMovements(accountId, _, _) >> 2L
+        response.getHeader(HttpHeaders.CONTENT_ENCODING) == "gzip"
+        response.getHeader(HttpHeaders.ETAG) == '"2-gzip"'
+    }
+
+    private def statementRequest() {
+        return get("/api/accounts/{id}/statement", accountId.value())
+                .param("from", "2026-04-01")
+                .param("to", "2026-04-30")
+    }
+
+    /**
+     * 明細はStreamingResponseBodyとして非同期に書き出されるため、非同期処理の完了後のレスポンスを返す。
+     */
+    private def export(RequestBuilder builder) {
+        MvcResult started = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn()
+        return mockMvc.perform(asyncDispatch(started)).andReturn().response
+    }
+
+    private Statement statement() {
+        return { sink ->
+            for (movement in movements) {
+                if (!sink.accept(movement)) {
+                    break
+                }
+            }
+        } as Statement
+    }
+
+    private static AccountMovement movement(String requestedAt) {
+        return new AccountMovement(TransferId.newId(), Instant.parse(requestedAt), AccountMovement.Direction.DEBIT,
+                AccountId.newId(), Money.of("1000"), Money.of("0"))
+    }
+}
@@ -129,4 +129,28 @@ class TransferE2ESpec extends Specification {
         def updatedSource = accountRepository.findById(sourceAccount.getId()).get()
         updatedSource.getBalance() == Money.of("1000")
     }
-} 
\ No newline at end of file
+
+    def "存在しない口座への振込リクエストは、振込を作成せずに422で拒否される"() {
+        given: "存在する振込元口座と、存在しない振込先口座"
+        def sourceAccount = Account.open(accountRepository.nextAccountNumber(), new CustomerName("Known User"), Money.of("10000"))
+        accountRepository.save(sourceAccount)
+        def unknownAccountId = AccountId.newId()
+
+        and: "存在しない口座への振込リクエスト"
+        def request = new TransferRequest(
+                sourceAccountId: sourceAccount.getId().value(),
+                destinationAccountId: unknownAccountId.value(),
+                amount: 1000
+        )
+
+        when: "振込APIを呼び出す"
+        def response = restTemplate.postForEntity("/api/transfers", request, Map.class)
+
+        then: "422 Unprocessable Entity と、存在しない口座のIDが返される"
+        response.statusCode == HttpStatus.UNPROCESSABLE_ENTITY
+        response.body.accountId == unknownAccountId.value().toString()
+
+        and: "振込元口座の残高は変更されていない"
+        accountRepository.findById(sourceAccount.getId()).get().getBalance() == Money.of("10000")
+    }
+}
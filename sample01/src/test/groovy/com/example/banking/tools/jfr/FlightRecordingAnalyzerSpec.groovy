@@ -0,0 +1,78 @@
+package com.example.banking.tools.jfr
+
+import com.example.banking.application.jfr.AccountOperationEvent
+import com.example.banking.application.jfr.RepositoryOperationEvent
+import com.example.banking.application.jfr.SagaStepEvent
+import com.example.banking.application.jfr.TransferRequestEvent
+import com.example.banking.domain.account.AccountId
+import com.example.banking.domain.account.Money
+import com.example.banking.domain.transfer.Transfer
+import jdk.jfr.Recording
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Path
+import java.time.Duration
+
+class FlightRecordingAnalyzerSpec extends Specification {
+
+    @TempDir
+    Path directory
+
+    def "記録した振込依頼とSagaのステップから、ステップごとの内訳と遅い振込を集計する"() {
+        given: "閾値なしで銀行のイベントを記録する"
+        def recording = new Recording()
+        [TransferRequestEvent, SagaStepEvent, RepositoryOperationEvent, AccountOperationEvent].each {
+            recording.enable(it).withThreshold(Duration.ZERO)
+        }
+        recording.start()
+        def source = AccountId.newId()
+        def destination = AccountId.newId()
+
+        and: "振込2件。遅い方は入金に失敗して補償する"
+        transfer(source, destination, 2, ["withdraw": 1, "deposit": 1], "success")
+        def slow = transfer(source, destination, 2, ["withdraw": 1, "deposit": 30, "compensate": 5], "OptimisticLockingFailureException")
+        def load = RepositoryOperationEvent.begin("account", "load", source.value())
+        load.finish(RepositoryOperationEvent.CONFLICT)
+
+        when:
+        recording.stop()
+        def file = directory.resolve("banking.jfr")
+        recording.dump(file)
+        recording.close()
+        def report = FlightRecordingAnalyzer.analyze(file, 1)
+
+        then: "Sagaのステップは結果ごとに集計される"
+        def steps = report.breakdowns().findAll { it.event() == "banking.SagaStep" }
+        steps.collect { [it.operation(), it.outcome(), it.count()] } as Set == [
+                ["compensate", "success", 1],
+                ["deposit", "OptimisticLockingFailureException", 1],
+                ["deposit", "success", 1],
+                ["withdraw", "success", 2]] as Set
+        report.breakdowns().find { it.event() == "banking.RepositoryOperation" }.with {
+            operation() == "account load" && outcome() == "conflict"
+        }
+
+        and: "最も遅い振込の内訳に依頼とすべてのステップが含まれる"
+        report.slowestTransfers()*.transferId() == [slow.id.value().toString()]
+        report.slowestTransfers()[0].phases().keySet() as List == ["request", "withdraw", "deposit", "compensate"]
+        report.slowestTransfers()[0].phases()["deposit"] >= Duration.ofMillis(30)
+    }
+
+    /** 振込依頼と、指定した時間（ミリ秒）ずつかかるSagaのステップを記録する */
+    private static Transfer transfer(AccountId source, AccountId destination, long requestMillis, Map<String, Long> steps,
+                                     String depositOutcome) {
+        def money = Money.of("1000")
+        def request = TransferRequestEvent.begin(source, destination, money)
+        def transfer = Transfer.request(source, destination, money)
+        request.accepted(transfer, "saga")
+        Thread.sleep(requestMillis)
+        request.finish("REQUESTED")
+        steps.each { step, millis ->
+            def event = SagaStepEvent.begin(step, transfer.id, step == "deposit" ? destination : source, money)
+            Thread.sleep(millis)
+            event.finish(step == "deposit" ? depositOutcome : "success")
+        }
+        return transfer
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.banking.tools.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * JFRの記録ファイルから、口座・振込のイベント（{@code banking.*}）を読み込み、所要時間の内訳を集計するツール。
+ *
+ * - 操作ごとの内訳: イベントの種類・操作（Sagaのステップ、リポジトリの読み込み・保存など）・結果ごとの件数と所要時間の分位点
+ * - 遅い振込: 振込IDごとに、振込依頼とSagaの各ステップの所要時間を合計し、合計の大きい順に表示する
+ *
+ * イベントは閾値を超えたもののみが記録されるため、件数と分位点は閾値を超えた操作についての値です。
+ * 振込の内訳も、閾値以下で終わったステップは含みません。
+ *
+ * 使い方: {@code ./gradlew analyzeRecording -Precording=build/banking.jfr [-Ptop=10]}
+ * 開発者向けのツールのため、toolsソースセットに置き、アプリケーションのjarには含めません。
+ */
+public final class FlightRecordingAnalyzer {
+
+    private static final String PREFIX = "banking.";
+
+    private FlightRecordingAnalyzer() {
+    }
+
+    /**
+     * 1つのイベントの種類・操作・結果の所要時間の集計。
+     *
+     * @param event イベントの名前
+     * @param operation 操作（Sagaのステップ、リポジトリの集約と操作など）
+     * @param outcome 結果
+     */
+    public record LatencyBreakdown(String event, String operation, String outcome, int count,
+                                   Duration p50, Duration p90, Duration p99, Duration max, Duration total) {
+    }
+
+    /**
+     * 1件の振込の所要時間の内訳。
+     *
+     * @param transferId 振込ID
+     * @param phases 振込依頼（{@code request}）とSagaの各ステップの所要時間。記録された順
+     * @param total 内訳の合計
+     */
+    public record TransferTimeline(String transferId, Map<String, Duration> phases, Duration total) {
+    }
+
+    /**
+     * 集計結果。
+     *
+     * @param breakdowns 操作ごとの内訳。イベントの名前・操作・結果の順
+     * @param slowestTransfers 内訳の合計が大きい順の振込
+     */
+    public record Report(List<LatencyBreakdown> breakdowns, List<TransferTimeline> slowestTransfers) {
+
+        /**
+         * 集計結果を表形式で出力します。
+         */
+        public void print(PrintStream out) {
+            out.println("Latency breakdown (only operations over their recording threshold)");
+            out.printf("%-28s %-26s %-28s %7s %10s %10s %10s %10s %12s%n",
+                    "event", "operation", "outcome", "count", "p50 ms", "p90 ms", "p99 ms", "max ms", "total ms");
+            for (LatencyBreakdown b : breakdowns) {
+                out.printf("%-28s %-26s %-28s %7d %10.2f %10.2f %10.2f %10.2f %12.1f%n",
+                        b.event(), b.operation(), b.outcome(), b.count(),
+                        millis(b.p50()), millis(b.p90()), millis(b.p99()), millis(b.max()), millis(b.total()));
+            }
+            out.println();
+            out.println("Slowest transfers (request and saga steps over their threshold)");
+            for (TransferTimeline t : slowestTransfers) {
+                StringBuilder phases = new StringBuilder();
+                t.phases().forEach((phase, duration) -> phases.append(String.format(" %s=%.2f", phase, millis(duration))));
+                out.printf("%s total=%.2f ms:%s%n", t.transferId(), millis(t.total()), phases);
+            }
+        }
+
+        private static double millis(Duration duration) {
+            return duration.toNanos() / 1_000_000.0;
+        }
+    }
+
+    /**
+     * 記録ファイルを集計します。
+     *
+     * @param recording JFRの記録ファイル
+     * @param top 表示する遅い振込の件数
+     * @return 集計結果
+     * @throws IOException 記録ファイルを読み込めない場合
+     */
+    public static Report analyze(Path recording, int top) throws IOException {
+        Map<List<String>, List<Duration>> durations = new TreeMap<>(Comparator
+                .<List<String>, String>comparing(key -> key.get(0))
+                .thenComparing(key -> key.get(1))
+                .thenComparing(key -> key.get(2)));
+        Map<String, Map<String, Duration>> transfers = new HashMap<>();
+
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                String name = event.getEventType().getName();
+                if (!name.startsWith(PREFIX)) {
+                    continue;
+                }
+                String operation = operationOf(name, event);
+                durations.computeIfAbsent(List.of(name, operation, valueOf(event, "outcome")), key -> new ArrayList<>())
+                        .add(event.getDuration());
+
+                String transferId = event.hasField("transferId") ? event.getString("transferId") : null;
+                if (transferId != null) {
+                    String phase = name.equals("banking.TransferRequest") ? "request" : operation;
+                    transfers.computeIfAbsent(transferId, id -> new LinkedHashMap<>())
+                            .merge(phase, event.getDuration(), Duration::plus);
+                }
+            }
+        }
+
+        List<LatencyBreakdown> breakdowns = new ArrayList<>();
+        durations.forEach((key, values) -> breakdowns.add(summarize(key.get(0), key.get(1), key.get(2), values)));
+
+        List<TransferTimeline> timelines = new ArrayList<>();
+        transfers.forEach((id, phases) -> timelines.add(new TransferTimeline(id, phases,
+                phases.values().stream().reduce(Duration.ZERO, Duration::plus))));
+        timelines.sort(Comparator.comparing(TransferTimeline::total).reversed());
+        return new Report(breakdowns, List.copyOf(timelines.subList(0, Math.min(top, timelines.size()))));
+    }
+
+    /**
+     * イベントの種類ごとに、内訳の単位とする操作を返します。
+     */
+    private static String operationOf(String name, RecordedEvent event) {
+        return switch (name) {
+            case "banking.RepositoryOperation" -> valueOf(event, "aggregate") + " " + valueOf(event, "operation");
+            case "banking.SagaStep" -> valueOf(event, "step");
+            case "banking.TransferRequest" -> valueOf(event, "path");
+            default -> event.hasField("operation") ? valueOf(event, "operation") : "-";
+        };
+    }
+
+    private static String valueOf(RecordedEvent event, String field) {
+        String value = event.hasField(field) ? event.getString(field) : null;
+        return value == null ? "-" : value;
+    }
+
+    private static LatencyBreakdown summarize(String event, String operation, String outcome, List<Duration> values) {
+        values.sort(Comparator.naturalOrder());
+        Duration total = values.stream().reduce(Duration.ZERO, Duration::plus);
+        return new LatencyBreakdown(event, operation, outcome, values.size(),
+                percentile(values, 0.50), percentile(values, 0.90), percentile(values, 0.99), values.get(values.size() - 1), total);
+    }
+
+    private static Duration percentile(List<Duration> sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index));
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: FlightRecordingAnalyzer <recording.jfr> [top]");
+            System.exit(2);
+        }
+        int top = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        analyze(Path.of(args[0]), top).print(System.out);
+    }
+}